@@ -0,0 +1,86 @@
+package local.complexfractal.model;
+
+/**
+ * The {@code ComplexFloatExpBenchmark} compares the speed of the perturbation iterations calculated in {@code double}
+ * and in {@link ComplexFloatExp}. It isn't a unit test and is run manually.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public class ComplexFloatExpBenchmark {
+    /**
+     * Runs the iterations {@code d = 2 * W * d + d^2 + dc} of the perturbation in {@code double} and returns time in
+     * nanoseconds per iteration.
+     */
+    private static double timeDouble(double[] wRe, double[] wIm, int repeats) {
+        double sum = 0.0;
+        long time = System.nanoTime();
+        for (int k = 0; k < repeats; k++) {
+            double dRe = 1e-300 * k;
+            double dIm = 1e-300;
+            double dcRe = 1e-300;
+            double dcIm = 2e-300;
+            for (int n = 0; n < wRe.length; n++) {
+                double tmpRe = 2.0 * wRe[n] + dRe;
+                double tmpIm = 2.0 * wIm[n] + dIm;
+                double newRe = tmpRe * dRe - tmpIm * dIm + dcRe;
+                dIm = tmpRe * dIm + tmpIm * dRe + dcIm;
+                dRe = newRe;
+            }
+            sum += dRe + dIm;
+        }
+        time = System.nanoTime() - time;
+        if (Double.isNaN(sum)) {
+            throw new IllegalStateException("the iterations diverged");
+        }
+        return (double) time / repeats / wRe.length;
+    }
+
+    /**
+     * Runs the iterations {@code d = 2 * W * d + d^2 + dc} of the perturbation with floatexp values and returns time in
+     * nanoseconds per iteration.
+     */
+    private static double timeFloatExp(double[] wRe, double[] wIm, int repeats) {
+        double sum = 0.0;
+        ComplexFloatExp d = new ComplexFloatExp();
+        ComplexFloatExp dc = new ComplexFloatExp(1.0, 2.0, -2000);
+        ComplexFloatExp tmp = new ComplexFloatExp();
+        long time = System.nanoTime();
+        for (int k = 0; k < repeats; k++) {
+            d.assign(k, 1.0, -2000);
+            for (int n = 0; n < wRe.length; n++) {
+                tmp.assign(d).sqrAndAsg();
+                d.mulAndAsg(2.0 * wRe[n], 2.0 * wIm[n]).addAndAsg(tmp).addAndAsg(dc);
+            }
+            sum += d.getExponent();
+        }
+        time = System.nanoTime() - time;
+        if (Double.isNaN(sum)) {
+            throw new IllegalStateException("the iterations diverged");
+        }
+        return (double) time / repeats / wRe.length;
+    }
+
+    /**
+     * Prints the time of the iteration in {@code double} and in floatexp values.
+     *
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        // orbit of the point inside of the main cardioid of the Mandelbrot set
+        double[] wRe = new double[1000];
+        double[] wIm = new double[1000];
+        for (int n = 1; n < wRe.length; n++) {
+            wRe[n] = wRe[n - 1] * wRe[n - 1] - wIm[n - 1] * wIm[n - 1];
+            wRe[n] -= 0.1;
+            wIm[n] = 2.0 * wRe[n - 1] * wIm[n - 1] + 0.1;
+        }
+        int repeats = 2000;
+        // warming up
+        timeDouble(wRe, wIm, repeats);
+        timeFloatExp(wRe, wIm, repeats);
+        double timeDouble = timeDouble(wRe, wIm, repeats);
+        double timeFloatExp = timeFloatExp(wRe, wIm, repeats);
+        System.out.printf("double: %.2f ns/iteration, floatexp: %.2f ns/iteration (%.1f times slower)%n",
+                timeDouble, timeFloatExp, timeFloatExp / timeDouble);
+    }
+}
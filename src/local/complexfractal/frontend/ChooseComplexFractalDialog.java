@@ -5,6 +5,7 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.BorderPane;
@@ -28,6 +29,8 @@ public class ChooseComplexFractalDialog extends BaseDialog {
     private TextField complexFractalParamMaxIter;
     @FXML
     private TextField complexFractalParamCriticalR;
+    @FXML
+    private CheckBox complexFractalParamPeriodicityCheck;
     // settings of the Mandelbrot set
     private MandelbrotSetPropertyVersion mandelbrotSetProducer;
     @FXML
@@ -216,14 +219,17 @@ public class ChooseComplexFractalDialog extends BaseDialog {
         // bind properties of the Mandelbrot set producer to text fields
         mandelbrotSetProducer.criticalRProperty().bindBidirectional(complexFractalParamCriticalR.textProperty());
         mandelbrotSetProducer.maxIterProperty().bindBidirectional(complexFractalParamMaxIter.textProperty());
+        mandelbrotSetProducer.periodicityCheckProperty().bindBidirectional(complexFractalParamPeriodicityCheck.selectedProperty());
         // bind properties of the Julia set producer to text fields
         juliaSetProducer.criticalRProperty().bindBidirectional(complexFractalParamCriticalR.textProperty());
         juliaSetProducer.maxIterProperty().bindBidirectional(complexFractalParamMaxIter.textProperty());
+        juliaSetProducer.periodicityCheckProperty().bindBidirectional(complexFractalParamPeriodicityCheck.selectedProperty());
         juliaSetProducer.c1Property().bindBidirectional(juliaSetParamC1.textProperty());
         juliaSetProducer.c2Property().bindBidirectional(juliaSetParamC2.textProperty());
         // bind properties of the complex fractal version 1 producer to text fields
         complexFractalVersion1Producer.criticalRProperty().bindBidirectional(complexFractalParamCriticalR.textProperty());
         complexFractalVersion1Producer.maxIterProperty().bindBidirectional(complexFractalParamMaxIter.textProperty());
+        complexFractalVersion1Producer.periodicityCheckProperty().bindBidirectional(complexFractalParamPeriodicityCheck.selectedProperty());
         complexFractalVersion1Producer.n1Property().bindBidirectional(complexFractalVersion1ParamN1.textProperty());
         complexFractalVersion1Producer.n2Property().bindBidirectional(complexFractalVersion1ParamN2.textProperty());
     }
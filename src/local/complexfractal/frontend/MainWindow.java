@@ -9,6 +9,8 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.control.Alert;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.RadioButton;
 import javafx.scene.control.ToggleGroup;
 import javafx.scene.input.MouseEvent;
@@ -17,8 +19,8 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import local.complexfractal.model.ComplexFractal;
 import local.complexfractal.util.ComplexFractalCanvasDrawer;
+import local.complexfractal.util.ComplexPlaneView;
 import local.complexfractal.util.IterativePaletteSin;
-import local.complexfractal.util.Point2DTransformer;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -45,6 +47,9 @@ public class MainWindow {
     // indicator of the work
     @FXML
     private Circle workIndicator;
+    // arithmetic of the current image
+    @FXML
+    private Label tierLabel;
 
     // toggles of the navigation modes
     @FXML
@@ -101,6 +106,8 @@ public class MainWindow {
         fd.workProperty().addListener(updateWorkIndicator);
         // set initial value of the indicator
         updateWorkIndicator.invalidated(fd.workProperty());
+        // show the arithmetic, which has been selected for the current zoom
+        fd.tierProperty().addListener((obs, oldTier, newTier) -> tierLabel.setText(newTier == null ? "" : newTier.getDescription()));
     }
 
     /**
@@ -150,11 +157,11 @@ public class MainWindow {
     private void canvasMouseDrag(MouseEvent event) {
         if (isTranslateChosen()) {
             // shift image
-            Point2DTransformer prevTr = fd.getTransform();
+            ComplexPlaneView prevView = fd.getView();
             fd.translateImage(event.getX() - xMouseCanvas, event.getY() - yMouseCanvas);
-            Point2DTransformer nextTr = fd.getTransform();
-            // store coordinate of the mouse on the canvas if transform is changed
-            if (!nextTr.equals(prevTr)) {
+            ComplexPlaneView nextView = fd.getView();
+            // store coordinate of the mouse on the canvas if view is changed
+            if (!nextView.equals(prevView)) {
                 xMouseCanvas = event.getX();
                 yMouseCanvas = event.getY();
             }
@@ -215,12 +222,22 @@ public class MainWindow {
         if (event.getClickCount() >= 2) {
             // scale image
             if (isZoomInChosen())
-                fd.scaleImage(1 / scaleCoefficient, 1 / scaleCoefficient, event.getX(), event.getY());
+                fd.scaleImage(1 / scaleCoefficient, event.getX(), event.getY());
             else
-                fd.scaleImage(scaleCoefficient, scaleCoefficient, event.getX(), event.getY());
+                fd.scaleImage(scaleCoefficient, event.getX(), event.getY());
         }
     }
 
+    /**
+     * Switches the smooth coloring of the fractal.
+     *
+     * @param actionEvent event of the check box
+     */
+    @FXML
+    private void switchSmoothColoring(ActionEvent actionEvent) {
+        fd.setSmoothColoring(((CheckBox) actionEvent.getSource()).isSelected());
+    }
+
     /**
      * Opens save dialog.
      */
@@ -238,7 +255,8 @@ public class MainWindow {
         // set current fractal parameters
         saveDialog.setComplexFractalChecker(fd.getFractal());
         saveDialog.setIterativePalette(fd.getPalette());
-        saveDialog.setTransform(fd.getTransform());
+        saveDialog.setView(fd.getView());
+        saveDialog.setSmoothColoring(fd.isSmoothColoring());
 
         // show dialog
         saveDialog.showAndWait();
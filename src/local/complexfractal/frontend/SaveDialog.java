@@ -16,8 +16,8 @@ import javafx.stage.Stage;
 import local.complexfractal.model.ComplexFractalChecker;
 import local.complexfractal.util.BaseDialog;
 import local.complexfractal.util.ComplexFractalDrawer;
+import local.complexfractal.util.ComplexPlaneView;
 import local.complexfractal.util.IterativePalette;
-import local.complexfractal.util.Point2DTransformer;
 
 import javax.imageio.ImageIO;
 import java.io.File;
@@ -55,7 +55,7 @@ public class SaveDialog extends BaseDialog {
     // parameters for drawing the fractal
     private ComplexFractalChecker complexFractalChecker;
     private IterativePalette iterativePalette;
-    private Point2DTransformer transform;
+    private ComplexPlaneView view;
     // fractal drawer
     private ComplexFractalDrawer fd = new ComplexFractalDrawer();
 
@@ -92,22 +92,22 @@ public class SaveDialog extends BaseDialog {
     }
 
     /**
-     * Gets current affine transform.
+     * Gets current view of the image on the complex plane.
      *
-     * @return affine transform
+     * @return view
      */
-    public Point2DTransformer getTransform() {
-        return transform;
+    public ComplexPlaneView getView() {
+        return view;
     }
 
     /**
-     * Sets affine transform.
-     * This transform applies after transform getting from {@link local.complexfractal.util.ComplexFractalDrawer#calculateInitialTransform}.
+     * Sets view of the image on the complex plane.
+     * The view doesn't depend on the size of the image.
      *
-     * @param transform new affine transform
+     * @param view new view
      */
-    public void setTransform(Point2DTransformer transform) {
-        this.transform = Objects.requireNonNull(transform);
+    public void setView(ComplexPlaneView view) {
+        this.view = Objects.requireNonNull(view);
     }
 
     /**
@@ -128,6 +128,24 @@ public class SaveDialog extends BaseDialog {
         this.iterativePalette = iterativePalette;
     }
 
+    /**
+     * Checks usage of the smooth coloring.
+     *
+     * @return true, if the smooth coloring is used
+     */
+    public boolean isSmoothColoring() {
+        return fd.isSmoothColoring();
+    }
+
+    /**
+     * Sets usage of the smooth coloring.
+     *
+     * @param smoothColoring if it's true, the smooth coloring is used
+     */
+    public void setSmoothColoring(boolean smoothColoring) {
+        fd.setSmoothColoring(smoothColoring);
+    }
+
     /**
      * Gets checker of the fractal.
      *
@@ -206,9 +224,9 @@ public class SaveDialog extends BaseDialog {
         if (fractalChecker == null) {
             throw new IllegalStateException("ComplexFractalChecker isn't set");
         }
-        Point2DTransformer transform = getTransform();
-        if (transform == null) {
-            throw new IllegalArgumentException("Point2DTransformer isn't set");
+        ComplexPlaneView view = getView();
+        if (view == null) {
+            throw new IllegalArgumentException("ComplexPlaneView isn't set");
         }
         IterativePalette palette = getIterativePalette();
         if (palette == null) {
@@ -253,7 +271,7 @@ public class SaveDialog extends BaseDialog {
         fd.setPermitWork(true);
         new Thread(() -> {
             // start drawing
-            fd.drawFractal(ComplexFractalDrawer.calculateInitialTransform(width, height).addAfter(getTransform()),
+            fd.drawFractal(view,
                     getComplexFractalChecker(), getIterativePalette());
 
             // if fractal has been drawn, than try to save it
@@ -0,0 +1,504 @@
+package local.complexfractal.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * The {@code ComplexDoubleDouble} is helper class for complex calculation with double-double precision. The real and
+ * imaginary parts are unevaluated sums of two {@code double} values (high and low parts, {@code |low| <= ulp(high) /
+ * 2}), so they have about 106 bits of the mantissa, but the exponent range of {@code double}.
+ * <p>
+ * The exact products of the {@code double} values are calculated by Dekker's algorithm with Veltkamp's splitting (the
+ * project is compiled for JDK 8, so {@code Math.fma} isn't available), the exact sums are calculated by Knuth's
+ * algorithm. The results of the operations have the relative error about {@code 2^-104}.
+ * <p>
+ * This class doesn't check case with NaN in the real and image part of a complex number. Objects of this class are
+ * mutable.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public final class ComplexDoubleDouble {
+    /**
+     * Factor of Veltkamp's splitting of the {@code double} value into two halves: {@code 2^27 + 1}.
+     */
+    private static final double splitter = 134217729.0;
+
+    // real part
+    private double reHi;
+    private double reLo;
+    // imaginary part
+    private double imHi;
+    private double imLo;
+
+    /**
+     * Creates the complex number.
+     *
+     * @param reHi high part of the real part
+     * @param reLo low part of the real part
+     * @param imHi high part of the imaginary part
+     * @param imLo low part of the imaginary part
+     */
+    public ComplexDoubleDouble(double reHi, double reLo, double imHi, double imLo) {
+        assign(reHi, reLo, imHi, imLo);
+    }
+
+    /**
+     * Creates the complex number.
+     *
+     * @param real real part
+     * @param imag imaginary part
+     */
+    public ComplexDoubleDouble(double real, double imag) {
+        this(real, 0.0, imag, 0.0);
+    }
+
+    /**
+     * Creates the complex number with value 0.
+     */
+    public ComplexDoubleDouble() {
+        this(0.0, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param val value
+     * @throws NullPointerException if val is null
+     */
+    public ComplexDoubleDouble(ComplexDoubleDouble val) {
+        assign(Objects.requireNonNull(val, "val is null"));
+    }
+
+    /**
+     * Creates the complex number from the {@link BigDecimal} values (they are rounded to double-double precision).
+     *
+     * @param real real part
+     * @param imag imaginary part
+     * @return complex number
+     * @throws NullPointerException if real or imag is null
+     */
+    public static ComplexDoubleDouble valueOf(BigDecimal real, BigDecimal imag) {
+        Objects.requireNonNull(real, "real is null");
+        Objects.requireNonNull(imag, "imag is null");
+        double reHi = real.doubleValue();
+        double imHi = imag.doubleValue();
+        double reLo = (Double.isInfinite(reHi) ? 0.0 : real.subtract(new BigDecimal(reHi)).doubleValue());
+        double imLo = (Double.isInfinite(imHi) ? 0.0 : imag.subtract(new BigDecimal(imHi)).doubleValue());
+        return new ComplexDoubleDouble(reHi, reLo, imHi, imLo);
+    }
+
+    /**
+     * Calculates the rounding error of the product: {@code a * b = p + error} exactly, where {@code p} is the rounded
+     * product.
+     *
+     * @param a first factor
+     * @param b second factor
+     * @param p rounded product {@code a * b}
+     * @return rounding error
+     */
+    static double productError(double a, double b, double p) {
+        double t = splitter * a;
+        double aHi = t - (t - a);
+        double aLo = a - aHi;
+        t = splitter * b;
+        double bHi = t - (t - b);
+        double bLo = b - bHi;
+        return ((aHi * bHi - p) + aHi * bLo + aLo * bHi) + aLo * bLo;
+    }
+
+    /**
+     * Calculates the rounding error of the sum: {@code a + b = s + error} exactly, where {@code s} is the rounded sum.
+     *
+     * @param a first summand
+     * @param b second summand
+     * @param s rounded sum {@code a + b}
+     * @return rounding error
+     */
+    static double sumError(double a, double b, double s) {
+        double bb = s - a;
+        return (a - (s - bb)) + (b - bb);
+    }
+
+    /**
+     * Adds number.
+     * <p>
+     * {@code result = l + r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return {@code result}
+     */
+    public ComplexDoubleDouble add(ComplexDoubleDouble r) {
+        return new ComplexDoubleDouble(this).addAndAsg(r);
+    }
+
+    /**
+     * Subtracts number.
+     * <p>
+     * {@code result = l - r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return {@code result}
+     */
+    public ComplexDoubleDouble sub(ComplexDoubleDouble r) {
+        return new ComplexDoubleDouble(this).subAndAsg(r);
+    }
+
+    /**
+     * Multiply by number.
+     * <p>
+     * {@code result = l * r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return {@code result}
+     */
+    public ComplexDoubleDouble mul(ComplexDoubleDouble r) {
+        return new ComplexDoubleDouble(this).mulAndAsg(r);
+    }
+
+    /**
+     * Divide by number.
+     * <p>
+     * {@code result = l / r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return {@code result}
+     */
+    public ComplexDoubleDouble div(ComplexDoubleDouble r) {
+        return new ComplexDoubleDouble(this).divAndAsg(r);
+    }
+
+    /**
+     * Raises to the power.
+     * <p>
+     * {@code result = l ^ n}, where {@code l} - this object
+     *
+     * @param n power
+     * @return {@code result}
+     */
+    public ComplexDoubleDouble pow(int n) {
+        return new ComplexDoubleDouble(this).powAndAsg(n);
+    }
+
+    /**
+     * Adds and assigns result to this object.
+     * <p>
+     * {@code l = l + r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexDoubleDouble addAndAsg(ComplexDoubleDouble r) {
+        double s = reHi + r.reHi;
+        double e = sumError(reHi, r.reHi, s) + (reLo + r.reLo);
+        reHi = s + e;
+        reLo = e - (reHi - s);
+        s = imHi + r.imHi;
+        e = sumError(imHi, r.imHi, s) + (imLo + r.imLo);
+        imHi = s + e;
+        imLo = e - (imHi - s);
+        return this;
+    }
+
+    /**
+     * Adds the number with {@code double} parts and assigns result to this object.
+     * <p>
+     * {@code l = l + (real + imag * i)}, where {@code l} - this object
+     *
+     * @param real real part of the right argument
+     * @param imag imaginary part of the right argument
+     * @return this object
+     */
+    public ComplexDoubleDouble addAndAsg(double real, double imag) {
+        double s = reHi + real;
+        double e = sumError(reHi, real, s) + reLo;
+        reHi = s + e;
+        reLo = e - (reHi - s);
+        s = imHi + imag;
+        e = sumError(imHi, imag, s) + imLo;
+        imHi = s + e;
+        imLo = e - (imHi - s);
+        return this;
+    }
+
+    /**
+     * Subtracts and assigns result to this object.
+     * <p>
+     * {@code l = l - r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexDoubleDouble subAndAsg(ComplexDoubleDouble r) {
+        double s = reHi - r.reHi;
+        double e = sumError(reHi, -r.reHi, s) + (reLo - r.reLo);
+        reHi = s + e;
+        reLo = e - (reHi - s);
+        s = imHi - r.imHi;
+        e = sumError(imHi, -r.imHi, s) + (imLo - r.imLo);
+        imHi = s + e;
+        imLo = e - (imHi - s);
+        return this;
+    }
+
+    /**
+     * Multiply and assigns result to this object.
+     * <p>
+     * {@code l = l * r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexDoubleDouble mulAndAsg(ComplexDoubleDouble r) {
+        // products of the parts: p + e, where e includes the products of the high and low parts
+        double p1 = reHi * r.reHi;
+        double e1 = productError(reHi, r.reHi, p1) + (reHi * r.reLo + reLo * r.reHi);
+        double p2 = imHi * r.imHi;
+        double e2 = productError(imHi, r.imHi, p2) + (imHi * r.imLo + imLo * r.imHi);
+        double p3 = reHi * r.imHi;
+        double e3 = productError(reHi, r.imHi, p3) + (reHi * r.imLo + reLo * r.imHi);
+        double p4 = imHi * r.reHi;
+        double e4 = productError(imHi, r.reHi, p4) + (imHi * r.reLo + imLo * r.reHi);
+        // real part: p1 - p2, imaginary part: p3 + p4
+        double s = p1 - p2;
+        double e = sumError(p1, -p2, s) + (e1 - e2);
+        reHi = s + e;
+        reLo = e - (reHi - s);
+        s = p3 + p4;
+        e = sumError(p3, p4, s) + (e3 + e4);
+        imHi = s + e;
+        imLo = e - (imHi - s);
+        return this;
+    }
+
+    /**
+     * Squares and assigns result to this object.
+     * <p>
+     * {@code l = l * l}, where {@code l} - this object
+     *
+     * @return this object
+     */
+    public ComplexDoubleDouble sqrAndAsg() {
+        double p1 = reHi * reHi;
+        double e1 = productError(reHi, reHi, p1) + 2.0 * reHi * reLo;
+        double p2 = imHi * imHi;
+        double e2 = productError(imHi, imHi, p2) + 2.0 * imHi * imLo;
+        // imaginary part: 2 * re * im (multiplication by 2 is exact)
+        double p3 = reHi * imHi;
+        double e3 = productError(reHi, imHi, p3) + (reHi * imLo + reLo * imHi);
+        double s = p1 - p2;
+        double e = sumError(p1, -p2, s) + (e1 - e2);
+        reHi = s + e;
+        reLo = e - (reHi - s);
+        imHi = 2.0 * (p3 + e3);
+        imLo = 2.0 * (e3 - (p3 + e3 - p3));
+        return this;
+    }
+
+    /**
+     * Divide and assigns result to this object.
+     * <p>
+     * {@code l = l / r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexDoubleDouble divAndAsg(ComplexDoubleDouble r) {
+        // l / r = l * conj(r) / |r|^2
+        ComplexDoubleDouble conj = new ComplexDoubleDouble(r.reHi, r.reLo, -r.imHi, -r.imLo);
+        ComplexDoubleDouble d = new ComplexDoubleDouble(r).mulAndAsg(conj);
+        mulAndAsg(conj);
+        // division of the real double-double values: q1 = l / d, correction from the remainder l - q1 * d
+        double dHi = d.reHi;
+        double dLo = d.reLo;
+        double q1 = reHi / dHi;
+        double p = q1 * dHi;
+        double rem = ((reHi - p) - productError(q1, dHi, p) + reLo - q1 * dLo) / dHi;
+        reHi = q1 + rem;
+        reLo = rem - (reHi - q1);
+        q1 = imHi / dHi;
+        p = q1 * dHi;
+        rem = ((imHi - p) - productError(q1, dHi, p) + imLo - q1 * dLo) / dHi;
+        imHi = q1 + rem;
+        imLo = rem - (imHi - q1);
+        return this;
+    }
+
+    /**
+     * Raises to the power and assigns result to this object.
+     * <p>
+     * {@code l = l ^ n}, where {@code l} - this object
+     *
+     * @param n power
+     * @return this object
+     */
+    public ComplexDoubleDouble powAndAsg(int n) {
+        ComplexDoubleDouble base = new ComplexDoubleDouble(this);
+        assign(1.0, 0.0, 0.0, 0.0);
+        if (n != 0) {
+            long pow = Math.abs((long) n);
+            while (true) {
+                if (pow % 2 == 1)
+                    mulAndAsg(base);
+                pow >>>= 1;
+                if (pow <= 0)
+                    break;
+                base.sqrAndAsg();
+            }
+            if (n < 0)
+                assign(new ComplexDoubleDouble(1.0, 0.0).divAndAsg(this));
+        }
+        return this;
+    }
+
+    /**
+     * Assigns the value of the right argument.
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexDoubleDouble assign(ComplexDoubleDouble r) {
+        return assign(r.reHi, r.reLo, r.imHi, r.imLo);
+    }
+
+    /**
+     * Assigns the value.
+     *
+     * @param reHi high part of the real part
+     * @param reLo low part of the real part
+     * @param imHi high part of the imaginary part
+     * @param imLo low part of the imaginary part
+     * @return this object
+     */
+    public ComplexDoubleDouble assign(double reHi, double reLo, double imHi, double imLo) {
+        this.reHi = reHi;
+        this.reLo = reLo;
+        this.imHi = imHi;
+        this.imLo = imLo;
+        return this;
+    }
+
+    /**
+     * Calculates square of the absolute value of this number with double precision.
+     *
+     * @return square absolute value
+     */
+    public double squareAbs() {
+        return reHi * reHi + imHi * imHi;
+    }
+
+    /**
+     * Calculates square of the distance to the other number with double precision (the difference is calculated with
+     * the low parts, so it's exact for the close numbers).
+     *
+     * @param r other number
+     * @return square of the distance
+     */
+    public double squareDistance(ComplexDoubleDouble r) {
+        double dRe = (reHi - r.reHi) + (reLo - r.reLo);
+        double dIm = (imHi - r.imHi) + (imLo - r.imLo);
+        return dRe * dRe + dIm * dIm;
+    }
+
+    /**
+     * Gets high part of the real part.
+     *
+     * @return high part of the real part
+     */
+    public double getReal() {
+        return reHi;
+    }
+
+    /**
+     * Gets low part of the real part.
+     *
+     * @return low part of the real part
+     */
+    public double getRealLow() {
+        return reLo;
+    }
+
+    /**
+     * Gets high part of the imaginary part.
+     *
+     * @return high part of the imaginary part
+     */
+    public double getImag() {
+        return imHi;
+    }
+
+    /**
+     * Gets low part of the imaginary part.
+     *
+     * @return low part of the imaginary part
+     */
+    public double getImagLow() {
+        return imLo;
+    }
+
+    /**
+     * Gets exact value of the real part.
+     *
+     * @return real part
+     * @throws NumberFormatException if the real part isn't finite
+     */
+    public BigDecimal getRealBigDecimal() {
+        return new BigDecimal(reHi).add(new BigDecimal(reLo));
+    }
+
+    /**
+     * Gets exact value of the imaginary part.
+     *
+     * @return imaginary part
+     * @throws NumberFormatException if the imaginary part isn't finite
+     */
+    public BigDecimal getImagBigDecimal() {
+        return new BigDecimal(imHi).add(new BigDecimal(imLo));
+    }
+
+    /**
+     * Gets string representation of the complex number.
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return "(" + reHi + " + " + reLo + ") + (" + imHi + " + " + imLo + ")i";
+    }
+
+    /**
+     * Tests that complex number are equals.
+     *
+     * @param obj object for compare
+     * @return true, if objects are equal, otherwise false
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ComplexDoubleDouble))
+            return false;
+        ComplexDoubleDouble rightArg = (ComplexDoubleDouble) obj;
+        return reHi == rightArg.reHi && reLo == rightArg.reLo && imHi == rightArg.imHi && imLo == rightArg.imLo;
+    }
+
+    /**
+     * Gets hash code of the number.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        // adding of zero replaces -0.0 with 0.0, because they are equal
+        int hash = Double.hashCode(reHi + 0.0);
+        hash = 31 * hash + Double.hashCode(reLo + 0.0);
+        hash = 31 * hash + Double.hashCode(imHi + 0.0);
+        return 31 * hash + Double.hashCode(imLo + 0.0);
+    }
+
+    /**
+     * Gets independent copy of this number.
+     *
+     * @return copy of this number
+     */
+    public ComplexDoubleDouble copy() {
+        return new ComplexDoubleDouble(this);
+    }
+}
@@ -0,0 +1,562 @@
+package local.complexfractal.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * The {@code ComplexFixedPoint} is helper class for complex calculation with 128-bit fixed-point precision. The real
+ * and imaginary parts are signed 128-bit integers (two's complement, high and low 64-bit limbs) scaled by {@code
+ * 2^-120}, so they have 120 bits after the binary point and the absolute value less than {@link #maxAbs}. The precision
+ * is absolute (not relative), so it's suitable for the orbits inside the small bound (for example, {@code |z| < 2.0}).
+ * <p>
+ * The products are calculated with integer multiplications only: the high 64 bits of the products of the limbs are
+ * calculated by {@link #multiplyHigh(long, long)} (the project is compiled for JDK 8, so {@code Math.multiplyHigh}
+ * isn't available). The results of the multiplications are truncated, the error is less than {@code 2^-118}.
+ * <p>
+ * This class doesn't check overflow: the caller must keep the values and the results of the operations in the range.
+ * Objects of this class are mutable.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public final class ComplexFixedPoint {
+    /**
+     * Number of the bits after the binary point.
+     */
+    public static final int fractionBits = 120;
+    /**
+     * Upper bound of the absolute values of the real and imaginary parts (exclusive).
+     */
+    public static final double maxAbs = 128.0;
+    /**
+     * Unit in the last place: {@code 2^-120}.
+     */
+    private static final BigDecimal ulp = BigDecimal.ONE.divide(new BigDecimal(BigInteger.ONE.shiftLeft(fractionBits)));
+    /**
+     * Scaled unit: {@code 2^120}.
+     */
+    private static final BigDecimal unit = new BigDecimal(BigInteger.ONE.shiftLeft(fractionBits));
+    /**
+     * Value of the unit of the high limb: {@code 2^-56}.
+     */
+    private static final double highUnit = Math.scalb(1.0, 64 - fractionBits);
+    /**
+     * Unit in the last place as {@code double} value.
+     */
+    private static final double ulpDouble = Math.scalb(1.0, -fractionBits);
+    /**
+     * Mask of the low limb for conversion to {@link BigInteger}.
+     */
+    private static final BigInteger lowMask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    // real part
+    private long reHi;
+    private long reLo;
+    // imaginary part
+    private long imHi;
+    private long imLo;
+    // result of the last multiplication or conversion (see multiply and convert)
+    private long tmpHi;
+    private long tmpLo;
+
+    /**
+     * Creates the complex number from the double-double values (see {@link ComplexDoubleDouble}).
+     *
+     * @param reHi high part of the real part
+     * @param reLo low part of the real part
+     * @param imHi high part of the imaginary part
+     * @param imLo low part of the imaginary part
+     */
+    public ComplexFixedPoint(double reHi, double reLo, double imHi, double imLo) {
+        assign(reHi, reLo, imHi, imLo);
+    }
+
+    /**
+     * Creates the complex number.
+     *
+     * @param real real part
+     * @param imag imaginary part
+     */
+    public ComplexFixedPoint(double real, double imag) {
+        this(real, 0.0, imag, 0.0);
+    }
+
+    /**
+     * Creates the complex number with value 0.
+     */
+    public ComplexFixedPoint() {
+        this(0.0, 0.0, 0.0, 0.0);
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param val value
+     * @throws NullPointerException if val is null
+     */
+    public ComplexFixedPoint(ComplexFixedPoint val) {
+        assign(Objects.requireNonNull(val, "val is null"));
+    }
+
+    /**
+     * Creates the complex number from the {@link BigDecimal} values (they are rounded toward zero to the multiple of
+     * {@code 2^-120}).
+     *
+     * @param real real part
+     * @param imag imaginary part
+     * @return complex number
+     * @throws NullPointerException     if real or imag is null
+     * @throws IllegalArgumentException if absolute value of real or imag isn't less than {@link #maxAbs}
+     */
+    public static ComplexFixedPoint valueOf(BigDecimal real, BigDecimal imag) {
+        Objects.requireNonNull(real, "real is null");
+        Objects.requireNonNull(imag, "imag is null");
+        BigInteger re = toBigInteger(real);
+        BigInteger im = toBigInteger(imag);
+        ComplexFixedPoint result = new ComplexFixedPoint();
+        result.reHi = re.shiftRight(64).longValue();
+        result.reLo = re.longValue();
+        result.imHi = im.shiftRight(64).longValue();
+        result.imLo = im.longValue();
+        return result;
+    }
+
+    /**
+     * Converts the value to the scaled integer.
+     */
+    private static BigInteger toBigInteger(BigDecimal value) {
+        if (value.abs().compareTo(BigDecimal.valueOf(maxAbs)) >= 0)
+            throw new IllegalArgumentException("value is out of range");
+        return value.multiply(unit).setScale(0, RoundingMode.DOWN).toBigIntegerExact();
+    }
+
+    /**
+     * Checks that the {@code double} value may be converted to the fixed-point value.
+     *
+     * @param value value
+     * @return true, if absolute value is less than {@link #maxAbs}
+     */
+    public static boolean isInRange(double value) {
+        return Math.abs(value) < maxAbs;
+    }
+
+    /**
+     * Calculates the high 64 bits of the 128-bit product of the signed values (same as {@code Math.multiplyHigh} of
+     * JDK 9).
+     *
+     * @param x first factor
+     * @param y second factor
+     * @return high 64 bits of the product
+     */
+    static long multiplyHigh(long x, long y) {
+        // product of the 32-bit halves
+        long x1 = x >> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32;
+        long y2 = y & 0xFFFFFFFFL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    /**
+     * Calculates the high 64 bits of the 128-bit product of the unsigned values.
+     *
+     * @param x first factor
+     * @param y second factor
+     * @return high 64 bits of the product
+     */
+    static long unsignedMultiplyHigh(long x, long y) {
+        return multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    /**
+     * Calculates the carry of the unsigned sum {@code s = a + b}.
+     */
+    private static long carry(long a, long b, long s) {
+        return ((a & b) | ((a | b) & ~s)) >>> 63;
+    }
+
+    /**
+     * Converts the {@code double} value to the limbs (the value must be in the range) and stores them to {@code tmpHi}
+     * and {@code tmpLo}. The value is rounded toward zero.
+     */
+    private void convert(double value) {
+        // the integer and fractional parts of the scaled absolute value are exact
+        double abs = Math.abs(value) / highUnit;
+        double hi = Math.floor(abs);
+        double lo = (abs - hi) * 0x1p64;
+        long loLimb = (lo >= 0x1p63 ? (long) (lo - 0x1p63) | Long.MIN_VALUE : (long) lo);
+        long hiLimb = (long) hi;
+        if (value < 0.0) {
+            loLimb = -loLimb;
+            hiLimb = ~hiLimb + (loLimb == 0 ? 1 : 0);
+        }
+        tmpHi = hiLimb;
+        tmpLo = loLimb;
+    }
+
+    /**
+     * Converts the limbs to the {@code double} value. The absolute value is converted, so the parts aren't cancelled.
+     */
+    private static double toDouble(long high, long low) {
+        boolean negative = high < 0;
+        if (negative) {
+            low = -low;
+            high = ~high + (low == 0 ? 1 : 0);
+        }
+        double unsignedLow = (double) (low >>> 1) * 2.0 + (double) (low & 1L);
+        double abs = (double) high * highUnit + unsignedLow * ulpDouble;
+        return (negative ? -abs : abs);
+    }
+
+    /**
+     * Converts the limbs to the {@link BigDecimal} value.
+     */
+    private static BigDecimal toBigDecimal(long high, long low) {
+        BigInteger value = BigInteger.valueOf(high).shiftLeft(64).or(BigInteger.valueOf(low).and(lowMask));
+        return new BigDecimal(value).multiply(ulp);
+    }
+
+    /**
+     * Multiplies the fixed-point values and stores the result to {@code tmpHi} and {@code tmpLo}. The product of the
+     * absolute values is calculated from the products of the limbs, the bits from 120 to 247 are the result.
+     */
+    private void multiply(long aHi, long aLo, long bHi, long bLo) {
+        boolean negative = (aHi ^ bHi) < 0;
+        if (aHi < 0) {
+            aLo = -aLo;
+            aHi = ~aHi + (aLo == 0 ? 1 : 0);
+        }
+        if (bHi < 0) {
+            bLo = -bLo;
+            bHi = ~bHi + (bLo == 0 ? 1 : 0);
+        }
+        // products of the limbs (the low bits of the product of the low limbs don't affect the result)
+        long p0 = unsignedMultiplyHigh(aLo, bLo);
+        long p1Lo = aHi * bLo;
+        long p1Hi = unsignedMultiplyHigh(aHi, bLo);
+        long p2Lo = aLo * bHi;
+        long p2Hi = unsignedMultiplyHigh(aLo, bHi);
+        long p3Lo = aHi * bHi;
+        long p3Hi = multiplyHigh(aHi, bHi);
+        // word 1 (bits from 64 to 127)
+        long w1 = p0 + p1Lo;
+        long c = carry(p0, p1Lo, w1);
+        long t = w1 + p2Lo;
+        c += carry(w1, p2Lo, t);
+        w1 = t;
+        // word 2 (bits from 128 to 191)
+        long w2 = p1Hi + c;
+        c = carry(p1Hi, c, w2);
+        t = w2 + p2Hi;
+        c += carry(w2, p2Hi, t);
+        w2 = t;
+        t = w2 + p3Lo;
+        c += carry(w2, p3Lo, t);
+        w2 = t;
+        // word 3 (bits from 192 to 255)
+        long w3 = p3Hi + c;
+        // shift by 120 bits
+        long hi = (w3 << (128 - fractionBits)) | (w2 >>> (fractionBits - 64));
+        long lo = (w2 << (128 - fractionBits)) | (w1 >>> (fractionBits - 64));
+        if (negative) {
+            lo = -lo;
+            hi = ~hi + (lo == 0 ? 1 : 0);
+        }
+        tmpHi = hi;
+        tmpLo = lo;
+    }
+
+    /**
+     * Adds number.
+     * <p>
+     * {@code result = l + r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return {@code result}
+     */
+    public ComplexFixedPoint add(ComplexFixedPoint r) {
+        return new ComplexFixedPoint(this).addAndAsg(r);
+    }
+
+    /**
+     * Subtracts number.
+     * <p>
+     * {@code result = l - r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return {@code result}
+     */
+    public ComplexFixedPoint sub(ComplexFixedPoint r) {
+        return new ComplexFixedPoint(this).subAndAsg(r);
+    }
+
+    /**
+     * Multiply by number.
+     * <p>
+     * {@code result = l * r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return {@code result}
+     */
+    public ComplexFixedPoint mul(ComplexFixedPoint r) {
+        return new ComplexFixedPoint(this).mulAndAsg(r);
+    }
+
+    /**
+     * Adds and assigns result to this object.
+     * <p>
+     * {@code l = l + r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexFixedPoint addAndAsg(ComplexFixedPoint r) {
+        long lo = reLo + r.reLo;
+        reHi = reHi + r.reHi + carry(reLo, r.reLo, lo);
+        reLo = lo;
+        lo = imLo + r.imLo;
+        imHi = imHi + r.imHi + carry(imLo, r.imLo, lo);
+        imLo = lo;
+        return this;
+    }
+
+    /**
+     * Adds the number with {@code double} parts and assigns result to this object.
+     * <p>
+     * {@code l = l + (real + imag * i)}, where {@code l} - this object
+     *
+     * @param real real part of the right argument
+     * @param imag imaginary part of the right argument
+     * @return this object
+     */
+    public ComplexFixedPoint addAndAsg(double real, double imag) {
+        convert(real);
+        long sum = reLo + tmpLo;
+        reHi = reHi + tmpHi + carry(reLo, tmpLo, sum);
+        reLo = sum;
+        convert(imag);
+        sum = imLo + tmpLo;
+        imHi = imHi + tmpHi + carry(imLo, tmpLo, sum);
+        imLo = sum;
+        return this;
+    }
+
+    /**
+     * Subtracts and assigns result to this object.
+     * <p>
+     * {@code l = l - r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexFixedPoint subAndAsg(ComplexFixedPoint r) {
+        // l - r = l + ~r + 1
+        long lo = reLo - r.reLo;
+        reHi = reHi - r.reHi - (Long.compareUnsigned(reLo, r.reLo) < 0 ? 1 : 0);
+        reLo = lo;
+        lo = imLo - r.imLo;
+        imHi = imHi - r.imHi - (Long.compareUnsigned(imLo, r.imLo) < 0 ? 1 : 0);
+        imLo = lo;
+        return this;
+    }
+
+    /**
+     * Multiply and assigns result to this object.
+     * <p>
+     * {@code l = l * r}, where {@code l} - this object
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexFixedPoint mulAndAsg(ComplexFixedPoint r) {
+        // real part: re * r.re - im * r.im
+        multiply(reHi, reLo, r.reHi, r.reLo);
+        long p1Hi = tmpHi;
+        long p1Lo = tmpLo;
+        multiply(imHi, imLo, r.imHi, r.imLo);
+        long newReLo = p1Lo - tmpLo;
+        long newReHi = p1Hi - tmpHi - (Long.compareUnsigned(p1Lo, tmpLo) < 0 ? 1 : 0);
+        // imaginary part: re * r.im + im * r.re
+        multiply(reHi, reLo, r.imHi, r.imLo);
+        p1Hi = tmpHi;
+        p1Lo = tmpLo;
+        multiply(imHi, imLo, r.reHi, r.reLo);
+        imLo = p1Lo + tmpLo;
+        imHi = p1Hi + tmpHi + carry(p1Lo, tmpLo, imLo);
+        reHi = newReHi;
+        reLo = newReLo;
+        return this;
+    }
+
+    /**
+     * Squares and assigns result to this object. It needs two multiplications: {@code (re + im) * (re - im)} and {@code
+     * re * im}.
+     * <p>
+     * {@code l = l * l}, where {@code l} - this object
+     *
+     * @return this object
+     */
+    public ComplexFixedPoint sqrAndAsg() {
+        // imaginary part: 2 * re * im
+        multiply(reHi, reLo, imHi, imLo);
+        long newImHi = (tmpHi << 1) | (tmpLo >>> 63);
+        long newImLo = tmpLo << 1;
+        // real part: (re + im) * (re - im)
+        long sumLo = reLo + imLo;
+        long sumHi = reHi + imHi + carry(reLo, imLo, sumLo);
+        long diffLo = reLo - imLo;
+        long diffHi = reHi - imHi - (Long.compareUnsigned(reLo, imLo) < 0 ? 1 : 0);
+        multiply(sumHi, sumLo, diffHi, diffLo);
+        reHi = tmpHi;
+        reLo = tmpLo;
+        imHi = newImHi;
+        imLo = newImLo;
+        return this;
+    }
+
+    /**
+     * Assigns the value of the right argument.
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexFixedPoint assign(ComplexFixedPoint r) {
+        reHi = r.reHi;
+        reLo = r.reLo;
+        imHi = r.imHi;
+        imLo = r.imLo;
+        return this;
+    }
+
+    /**
+     * Assigns the double-double value (the parts are rounded toward zero to the multiple of {@code 2^-120}). The
+     * absolute values of the high parts must be less than {@link #maxAbs}.
+     *
+     * @param reHi high part of the real part
+     * @param reLo low part of the real part
+     * @param imHi high part of the imaginary part
+     * @param imLo low part of the imaginary part
+     * @return this object
+     */
+    public ComplexFixedPoint assign(double reHi, double reLo, double imHi, double imLo) {
+        convert(reHi);
+        this.reHi = tmpHi;
+        this.reLo = tmpLo;
+        convert(imHi);
+        this.imHi = tmpHi;
+        this.imLo = tmpLo;
+        return addAndAsg(reLo, imLo);
+    }
+
+    /**
+     * Calculates square of the absolute value of this number with double precision.
+     *
+     * @return square absolute value
+     */
+    public double squareAbs() {
+        double re = getReal();
+        double im = getImag();
+        return re * re + im * im;
+    }
+
+    /**
+     * Calculates square of the distance to the other number with double precision (the difference is calculated
+     * exactly).
+     *
+     * @param r other number
+     * @return square of the distance
+     */
+    public double squareDistance(ComplexFixedPoint r) {
+        double dRe = toDouble(reHi - r.reHi - (Long.compareUnsigned(reLo, r.reLo) < 0 ? 1 : 0), reLo - r.reLo);
+        double dIm = toDouble(imHi - r.imHi - (Long.compareUnsigned(imLo, r.imLo) < 0 ? 1 : 0), imLo - r.imLo);
+        return dRe * dRe + dIm * dIm;
+    }
+
+    /**
+     * Gets real part with double precision.
+     *
+     * @return real part
+     */
+    public double getReal() {
+        return toDouble(reHi, reLo);
+    }
+
+    /**
+     * Gets imaginary part with double precision.
+     *
+     * @return imaginary part
+     */
+    public double getImag() {
+        return toDouble(imHi, imLo);
+    }
+
+    /**
+     * Gets exact value of the real part.
+     *
+     * @return real part
+     */
+    public BigDecimal getRealBigDecimal() {
+        return toBigDecimal(reHi, reLo);
+    }
+
+    /**
+     * Gets exact value of the imaginary part.
+     *
+     * @return imaginary part
+     */
+    public BigDecimal getImagBigDecimal() {
+        return toBigDecimal(imHi, imLo);
+    }
+
+    /**
+     * Gets string representation of the complex number.
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return getRealBigDecimal().toString() + " + " + getImagBigDecimal().toString() + "i";
+    }
+
+    /**
+     * Tests that complex number are equals.
+     *
+     * @param obj object for compare
+     * @return true, if objects are equal, otherwise false
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ComplexFixedPoint))
+            return false;
+        ComplexFixedPoint rightArg = (ComplexFixedPoint) obj;
+        return reHi == rightArg.reHi && reLo == rightArg.reLo && imHi == rightArg.imHi && imLo == rightArg.imLo;
+    }
+
+    /**
+     * Gets hash code of the number.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        int hash = Long.hashCode(reHi);
+        hash = 31 * hash + Long.hashCode(reLo);
+        hash = 31 * hash + Long.hashCode(imHi);
+        return 31 * hash + Long.hashCode(imLo);
+    }
+
+    /**
+     * Gets independent copy of this number.
+     *
+     * @return copy of this number
+     */
+    public ComplexFixedPoint copy() {
+        return new ComplexFixedPoint(this);
+    }
+}
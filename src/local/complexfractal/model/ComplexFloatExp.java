@@ -0,0 +1,366 @@
+package local.complexfractal.model;
+
+/**
+ * The {@code ComplexFloatExp} is helper class for complex numbers with extended exponent range ("floatexp"). The value
+ * is {@code (re + i * im) * 2^exponent}, where the real and the imaginary parts of the mantissa are {@code double}
+ * values and the greatest absolute value of them is in the range [1, 2) (or both are zero). The parts have the common
+ * exponent, so the operations need only one normalization.
+ * <p>
+ * It's used for the differences of the orbits in the perturbation ({@link QuadraticFractalPerturbation}), if they are
+ * less than the minimal normal {@code double} value (the step between the points less than {@code 1e-308}). The
+ * operations are several times slower than the operations of {@code double}, so the values must be converted to {@code
+ * double} as soon as the range allows.
+ * <p>
+ * Objects of this class are mutable. This class doesn't check NaN and infinite values.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public class ComplexFloatExp {
+    /**
+     * Minimal exponent of the mantissa, which is normalized by multiplication by the power of two.
+     */
+    private static final int minFastExponent = Double.MIN_EXPONENT + 1;
+    /**
+     * Maximal exponent of the mantissa, which is normalized by multiplication by the power of two.
+     */
+    private static final int maxFastExponent = Double.MAX_EXPONENT - 1;
+    /**
+     * Maximal difference of the exponents of the terms of the sum, which changes the greater term.
+     */
+    private static final int maxExponentDiff = 64;
+
+    private double re;
+    private double im;
+    private int exponent;
+
+    /**
+     * Creates complex number {@code (re + i * im) * 2^exponent}.
+     *
+     * @param re       real part of the mantissa
+     * @param im       imaginary part of the mantissa
+     * @param exponent exponent
+     */
+    public ComplexFloatExp(double re, double im, int exponent) {
+        assign(re, im, exponent);
+    }
+
+    /**
+     * Creates complex number with the value of the {@code double} values.
+     *
+     * @param re real part
+     * @param im imaginary part
+     */
+    public ComplexFloatExp(double re, double im) {
+        this(re, im, 0);
+    }
+
+    /**
+     * Creates complex number from the real and the imaginary parts.
+     *
+     * @param re real part
+     * @param im imaginary part
+     */
+    public ComplexFloatExp(FloatExp re, FloatExp im) {
+        this(0.0, 0.0, 0);
+        int exp = Math.max(re.getExponent(), im.getExponent());
+        assign(re.getMantissa() * pow2(re.getExponent() - exp), im.getMantissa() * pow2(im.getExponent() - exp), exp);
+    }
+
+    /**
+     * Creates zero.
+     */
+    public ComplexFloatExp() {
+        this(0.0, 0.0, 0);
+    }
+
+    /**
+     * Gets power of two {@code 2^n} (it's zero for {@code n < -1022}).
+     */
+    private static double pow2(int n) {
+        return (n < Double.MIN_EXPONENT ? 0.0 : FloatExp.pow2(n));
+    }
+
+    /**
+     * Normalizes the mantissa.
+     */
+    private void normalize() {
+        double max = Math.max(Math.abs(re), Math.abs(im));
+        int shift = Math.getExponent(max);
+        if (shift >= minFastExponent && shift <= maxFastExponent) {
+            // common case: the mantissa is normal double value
+            double factor = FloatExp.pow2(-shift);
+            re *= factor;
+            im *= factor;
+            exponent += shift;
+        } else if (max == 0.0) {
+            re = 0.0;
+            im = 0.0;
+            exponent = FloatExp.zeroExponent;
+        } else {
+            if (shift < Double.MIN_EXPONENT) {
+                // subnormal value
+                re *= 0x1p54;
+                im *= 0x1p54;
+                exponent -= 54;
+                shift = Math.getExponent(Math.max(Math.abs(re), Math.abs(im)));
+            }
+            re = Math.scalb(re, -shift);
+            im = Math.scalb(im, -shift);
+            exponent += shift;
+        }
+    }
+
+    /**
+     * Assigns value {@code (re + i * im) * 2^exponent}.
+     *
+     * @param re       real part of the mantissa
+     * @param im       imaginary part of the mantissa
+     * @param exponent exponent
+     * @return this object
+     */
+    public ComplexFloatExp assign(double re, double im, int exponent) {
+        this.re = re;
+        this.im = im;
+        this.exponent = exponent;
+        normalize();
+        return this;
+    }
+
+    /**
+     * Assigns value of the other number.
+     *
+     * @param r other number
+     * @return this object
+     */
+    public ComplexFloatExp assign(ComplexFloatExp r) {
+        re = r.re;
+        im = r.im;
+        exponent = r.exponent;
+        return this;
+    }
+
+    /**
+     * Adds complex number and assigns result to this object.
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexFloatExp addAndAsg(ComplexFloatExp r) {
+        int diff = r.exponent - exponent;
+        if (diff <= 0) {
+            if (diff >= -maxExponentDiff) {
+                double factor = FloatExp.pow2(diff);
+                re += r.re * factor;
+                im += r.im * factor;
+                normalize();
+            }
+        } else if (diff <= maxExponentDiff) {
+            double factor = FloatExp.pow2(-diff);
+            re = re * factor + r.re;
+            im = im * factor + r.im;
+            exponent = r.exponent;
+            normalize();
+        } else {
+            assign(r);
+        }
+        return this;
+    }
+
+    /**
+     * Subtracts complex number and assigns result to this object.
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexFloatExp subAndAsg(ComplexFloatExp r) {
+        return addAndAsg(r.copy().negAndAsg());
+    }
+
+    /**
+     * Multiplies by complex number and assigns result to this object.
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexFloatExp mulAndAsg(ComplexFloatExp r) {
+        double tmp = re * r.re - im * r.im;
+        im = re * r.im + im * r.re;
+        re = tmp;
+        exponent += r.exponent;
+        normalize();
+        return this;
+    }
+
+    /**
+     * Multiplies by complex number {@code rRe + i * rIm} and assigns result to this object.
+     *
+     * @param rRe real part of right argument
+     * @param rIm imaginary part of right argument
+     * @return this object
+     */
+    public ComplexFloatExp mulAndAsg(double rRe, double rIm) {
+        double tmp = re * rRe - im * rIm;
+        im = re * rIm + im * rRe;
+        re = tmp;
+        normalize();
+        return this;
+    }
+
+    /**
+     * Multiplies by real number and assigns result to this object.
+     *
+     * @param r right argument
+     * @return this object
+     */
+    public ComplexFloatExp mulAndAsg(FloatExp r) {
+        re *= r.getMantissa();
+        im *= r.getMantissa();
+        exponent += r.getExponent();
+        normalize();
+        return this;
+    }
+
+    /**
+     * Squares this number and assigns result to this object.
+     *
+     * @return this object
+     */
+    public ComplexFloatExp sqrAndAsg() {
+        double tmp = re * im;
+        re = (re + im) * (re - im);
+        im = tmp + tmp;
+        exponent += exponent;
+        normalize();
+        return this;
+    }
+
+    /**
+     * Multiplies by power of two and assigns result to this object.
+     *
+     * @param n exponent of the power of two
+     * @return this object
+     */
+    public ComplexFloatExp scalbAndAsg(int n) {
+        if (re != 0.0 || im != 0.0)
+            exponent += n;
+        return this;
+    }
+
+    /**
+     * Negates this number and assigns result to this object.
+     *
+     * @return this object
+     */
+    public ComplexFloatExp negAndAsg() {
+        re = -re;
+        im = -im;
+        return this;
+    }
+
+    /**
+     * Gets absolute value.
+     *
+     * @return absolute value
+     */
+    public FloatExp abs() {
+        return FloatExp.valueOf(Math.hypot(re, im), exponent);
+    }
+
+    /**
+     * Gets real part.
+     *
+     * @return real part
+     */
+    public FloatExp getReal() {
+        return FloatExp.valueOf(re, exponent);
+    }
+
+    /**
+     * Gets imaginary part.
+     *
+     * @return imaginary part
+     */
+    public FloatExp getImag() {
+        return FloatExp.valueOf(im, exponent);
+    }
+
+    /**
+     * Gets real part rounded to {@code double}.
+     *
+     * @return real part
+     */
+    public double getRealDouble() {
+        return Math.scalb(re, Math.max(exponent, Double.MIN_EXPONENT - 60));
+    }
+
+    /**
+     * Gets imaginary part rounded to {@code double}.
+     *
+     * @return imaginary part
+     */
+    public double getImagDouble() {
+        return Math.scalb(im, Math.max(exponent, Double.MIN_EXPONENT - 60));
+    }
+
+    /**
+     * Gets exponent: {@code 2^exponent <= max(|re|, |im|) < 2^(exponent + 1)} (for zero it's very small negative
+     * number).
+     *
+     * @return exponent
+     */
+    public int getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Tests that the number is zero.
+     *
+     * @return true, if the number is zero
+     */
+    public boolean isZero() {
+        return re == 0.0 && im == 0.0;
+    }
+
+    /**
+     * Creates copy of this number.
+     *
+     * @return copy
+     */
+    public ComplexFloatExp copy() {
+        return new ComplexFloatExp().assign(this);
+    }
+
+    /**
+     * Tests that numbers are equal.
+     *
+     * @param obj object for compare
+     * @return true, if objects are equal, otherwise false
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ComplexFloatExp))
+            return false;
+        ComplexFloatExp rightArg = (ComplexFloatExp) obj;
+        return re == rightArg.re && im == rightArg.im && exponent == rightArg.exponent;
+    }
+
+    /**
+     * Gets hash code of the number.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Double.hashCode(re) + Double.hashCode(im)) + exponent;
+    }
+
+    /**
+     * Gets string representation of the number.
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return getReal() + " + " + getImag() + "i";
+    }
+}
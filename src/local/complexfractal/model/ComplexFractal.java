@@ -4,6 +4,12 @@ import local.complexfractal.util.Point2D;
 
 /**
  * A {@code ComplexFractal} is base class for the fractals.
+ * <p>
+ * The fractal can use the periodicity check of the orbits (Brent's algorithm): the point of the orbit is saved
+ * periodically (the interval between savings is doubled after each saving) and if the orbit returns to the saved point
+ * then the orbit is periodic and the point belongs to the fractal, so the iterations are stopped. The orbit is
+ * considered returned if the distance to the saved point is less than the tolerance. The tolerance is proportional to
+ * the distance between the neighboring points of the segment (size of the pixel of the view).
  *
  * @author Kochin Konstantin Alexandrovich
  */
@@ -16,16 +22,42 @@ public abstract class ComplexFractal implements ComplexFractalChecker {
      * Maximum number of the iteration, after that if point remains in circle, it includes in the fractal set.
      */
     private int maxIter;
+    /**
+     * Indicator that the periodicity check of the orbits is used.
+     */
+    private boolean periodicityCheck;
+
+    /**
+     * Ratio of the tolerance of the periodicity check to the distance between neighboring points of the segment.
+     */
+    private static final double periodicityToleranceRatio = 1.0 / 1024.0;
+    /**
+     * Tolerance of the periodicity check, when the distance between neighboring points is unknown (for example, if the
+     * single point is checked).
+     */
+    private static final double defaultPeriodicityTolerance = 1e-10;
 
     /**
      * Constructor.
      *
+     * @param maxIter          maximum number of the iteration
+     * @param criticalR        radius of the bound
+     * @param periodicityCheck if it's true, the periodicity check of the orbits is used
+     */
+    protected ComplexFractal(int maxIter, double criticalR, boolean periodicityCheck) {
+        setMaxIter(maxIter);
+        setCriticalR(criticalR);
+        this.periodicityCheck = periodicityCheck;
+    }
+
+    /**
+     * Constructor. The periodicity check of the orbits isn't used.
+     *
      * @param maxIter   maximum number of the iteration
      * @param criticalR radius of the bound
      */
     protected ComplexFractal(int maxIter, double criticalR) {
-        setMaxIter(maxIter);
-        setCriticalR(criticalR);
+        this(maxIter, criticalR, false);
     }
 
     /**
@@ -48,6 +80,24 @@ public abstract class ComplexFractal implements ComplexFractalChecker {
     @Override
     abstract public int numberIter(Point2D p);
 
+    /**
+     * Checks that points of the segment belong the fractal. The point with index {@code i} has the coordinate {@code
+     * (x0 + i * dx, y0 + i * dy)} on complex plane and its result ({@code 0} if the point belongs to the fractal,
+     * otherwise number of iterations) is stored to {@code iters[i]}.
+     *
+     * @param x0    x coordinate of the point with index 0
+     * @param y0    y coordinate of the point with index 0
+     * @param dx    x step between neighboring points
+     * @param dy    y step between neighboring points
+     * @param iters array for results
+     * @param from  index of the first point (inclusive)
+     * @param to    index of the last point (exclusive)
+     * @throws NullPointerException           if {@code iters} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code iters} bounds
+     */
+    @Override
+    abstract public void numberIter(double x0, double y0, double dx, double dy, int[] iters, int from, int to);
+
     /**
      * Gets radius of the bound.
      *
@@ -90,6 +140,72 @@ public abstract class ComplexFractal implements ComplexFractalChecker {
         this.maxIter = maxIter;
     }
 
+    /**
+     * Checks that the periodicity check of the orbits is used.
+     *
+     * @return true, if the periodicity check is used
+     */
+    public boolean isPeriodicityCheck() {
+        return periodicityCheck;
+    }
+
+    /**
+     * Gets square of the tolerance of the periodicity check for the segment with step {@code (dx, dy)}. If the step is
+     * zero, the default tolerance is used.
+     *
+     * @param dx x step between neighboring points
+     * @param dy y step between neighboring points
+     * @return square of the tolerance or {@code 0.0} if the periodicity check isn't used
+     */
+    protected double getPeriodicityTolerance2(double dx, double dy) {
+        if (!periodicityCheck)
+            return 0.0;
+        double pixelSize = Math.hypot(dx, dy);
+        double tolerance = pixelSize > 0.0 ? pixelSize * periodicityToleranceRatio : defaultPeriodicityTolerance;
+        return tolerance * tolerance;
+    }
+
+    /**
+     * Rounds the value to single precision, if {@code single} is true, otherwise returns the value. The lane kernels
+     * check the points with {@code double} and with {@code float} by the same code: the values are kept in {@code
+     * double} variables, but the parameters and the points are rounded with this method and the operations are done
+     * with {@code float} in the last case.
+     *
+     * @param value  value
+     * @param single if it's true, the value is rounded to {@code float}
+     * @return rounded value
+     */
+    protected static double round(double value, boolean single) {
+        return (single ? (float) value : value);
+    }
+
+    /**
+     * Converts number of the iteration to continuous (smooth) number of the iteration (normalized iteration count):
+     * <p>
+     * {@code mu = numIter + 1 - log(log(|z|) / log(criticalR)) / log(degree)},
+     * <p>
+     * where {@code z} is the first point of the orbit outside of the bound and {@code degree} is the degree of the
+     * function of the fractal. The fractional part is limited by the range [0, 1], so {@code numIter <= mu <= numIter +
+     * 1}. If {@code numIter} is zero (point of the fractal), it returns {@code 0.0}. If the degree is less than two or
+     * the radius of the bound isn't greater than one, it returns {@code numIter}.
+     *
+     * @param numIter   number of the iteration
+     * @param squareAbs square of the absolute value of the first point of the orbit outside of the bound
+     * @param degree    degree of the function of the fractal
+     * @return continuous number of the iteration
+     */
+    protected double normalizeNumberIter(int numIter, double squareAbs, double degree) {
+        if (numIter == 0)
+            return 0.0;
+        if (degree < 2.0 || criticalR <= 1.0)
+            return numIter;
+        // log(|z|) = log(|z|^2) / 2
+        double fraction = Math.log(0.5 * Math.log(squareAbs) / Math.log(criticalR)) / Math.log(degree);
+        // limit fraction (it also replaces NaN to zero)
+        fraction = (fraction > 1.0 ? 1.0 : (fraction > 0.0 ? fraction : 0.0));
+        return numIter + 1.0 - fraction;
+    }
+
     /**
      * Tests that fractal checkers are equal.
      *
@@ -102,7 +218,7 @@ public abstract class ComplexFractal implements ComplexFractalChecker {
             return false;
         }
         ComplexFractal rightArg = (ComplexFractal) obj;
-        return criticalR == rightArg.criticalR && maxIter == rightArg.maxIter;
+        return criticalR == rightArg.criticalR && maxIter == rightArg.maxIter && periodicityCheck == rightArg.periodicityCheck;
     }
 
 }
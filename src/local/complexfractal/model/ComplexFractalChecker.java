@@ -2,6 +2,8 @@ package local.complexfractal.model;
 
 import local.complexfractal.util.Point2D;
 
+import java.util.Objects;
+
 /**
  * A {@code ComplexFractalChecker} is interface for checking that a point belongs to the fractal.
  *
@@ -19,4 +21,305 @@ public interface ComplexFractalChecker {
      * @throws NullPointerException if {@code p} is {@code null}
      */
     int numberIter(Point2D p);
+
+    /**
+     * Checks that points of the segment belong the fractal. The point with index {@code i} has the coordinate {@code
+     * (x0 + i * dx, y0 + i * dy)} on complex plane and its result is stored to {@code iters[i]}. Only points with
+     * indexes from {@code from} (inclusive) to {@code to} (exclusive) are checked.
+     * <p>
+     * Default implementation invokes {@link #numberIter(Point2D)} for each point of the segment. The implementations
+     * should override this method if they can check the points without creating objects for each point.
+     *
+     * @param x0    x coordinate of the point with index 0
+     * @param y0    y coordinate of the point with index 0
+     * @param dx    x step between neighboring points
+     * @param dy    y step between neighboring points
+     * @param iters array for results
+     * @param from  index of the first point (inclusive)
+     * @param to    index of the last point (exclusive)
+     * @throws NullPointerException           if {@code iters} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code iters} bounds
+     */
+    default void numberIter(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        for (int i = from; i < to; i++) {
+            iters[i] = numberIter(new Point2D(x0 + i * dx, y0 + i * dy));
+        }
+    }
+
+    /**
+     * Checks that points of the segment belong the fractal using lanes. The lane kernel iterates several points at once
+     * (one point per lane) and loads the next point of the segment to the lane as soon as the point of the lane is
+     * checked, so the lanes don't wait for the slowest point and independent calculations of the points can be
+     * executed by the processor simultaneously. The results are same as the results of the {@link #numberIter(double,
+     * double, double, double, int[], int, int)}.
+     * <p>
+     * Default implementation invokes {@link #numberIter(double, double, double, double, int[], int, int)}, so the
+     * fractals without lane kernel are checked by the scalar kernel.
+     *
+     * @param x0    x coordinate of the point with index 0
+     * @param y0    y coordinate of the point with index 0
+     * @param dx    x step between neighboring points
+     * @param dy    y step between neighboring points
+     * @param iters array for results
+     * @param from  index of the first point (inclusive)
+     * @param to    index of the last point (exclusive)
+     * @throws NullPointerException           if {@code iters} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code iters} bounds
+     */
+    default void numberIterLanes(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        numberIter(x0, y0, dx, dy, iters, from, to);
+    }
+
+    /**
+     * Checks that point belongs the fractal and returns continuous (smooth) number of the iteration. It returns
+     * {@code 0.0}, if it's point of the fractal, otherwise positive number which isn't less than the result of the
+     * {@link #numberIter(Point2D)} and less than this result plus one. The fractional part is calculated from the
+     * distance of the point of the orbit to the bound, so the neighboring points have close values.
+     * <p>
+     * Default implementation returns result of the {@link #numberIter(Point2D)} (fractional part is zero).
+     *
+     * @param p point
+     * @return {@code 0.0} if the point belongs to the fractal, otherwise some positive number
+     * @throws NullPointerException if {@code p} is {@code null}
+     */
+    default double smoothNumberIter(Point2D p) {
+        return numberIter(p);
+    }
+
+    /**
+     * Checks that points of the segment belong the fractal and stores continuous (smooth) numbers of the iteration to
+     * {@code values}. The points of the segment are defined same as in the {@link #numberIter(double, double, double,
+     * double, int[], int, int)}.
+     * <p>
+     * Default implementation invokes {@link #smoothNumberIter(Point2D)} for each point of the segment.
+     *
+     * @param x0     x coordinate of the point with index 0
+     * @param y0     y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param values array for results
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     * @throws NullPointerException           if {@code values} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code values} bounds
+     */
+    default void smoothNumberIter(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        for (int i = from; i < to; i++) {
+            values[i] = smoothNumberIter(new Point2D(x0 + i * dx, y0 + i * dy));
+        }
+    }
+
+    /**
+     * Checks that points of the segment belong the fractal using lanes and stores continuous (smooth) numbers of the
+     * iteration to {@code values}. The results are same as the results of the {@link #smoothNumberIter(double, double,
+     * double, double, double[], int, int)}.
+     * <p>
+     * Default implementation invokes {@link #smoothNumberIter(double, double, double, double, double[], int, int)}.
+     *
+     * @param x0     x coordinate of the point with index 0
+     * @param y0     y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param values array for results
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     * @throws NullPointerException           if {@code values} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code values} bounds
+     */
+    default void smoothNumberIterLanes(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        smoothNumberIter(x0, y0, dx, dy, values, from, to);
+    }
+
+    /**
+     * Checks that point belongs the fractal and estimates the distance from the point to the fractal (see {@link
+     * DistanceEstimate}). The number of the iteration of the result is same as the result of the {@link
+     * #numberIter(Point2D)}.
+     * <p>
+     * Default implementation invokes {@link #numberIter(Point2D)}, the distance is {@code 0.0} for the points of the
+     * fractal and {@code NaN} (unknown) for the other points.
+     *
+     * @param p point
+     * @return number of the iteration and estimate of the distance
+     * @throws NullPointerException if {@code p} is {@code null}
+     */
+    default DistanceEstimate distanceEstimate(Point2D p) {
+        int iter = numberIter(p);
+        return new DistanceEstimate(iter, iter == 0 ? 0.0 : Double.NaN);
+    }
+
+    /**
+     * Checks that points of the segment belong the fractal and estimates the distances from the points to the fractal.
+     * The points of the segment are defined same as in the {@link #numberIter(double, double, double, double, int[],
+     * int, int)}, the numbers of the iteration are stored to {@code iters} and the estimates of the distance are stored
+     * to {@code distances} (see {@link #distanceEstimate(Point2D)}).
+     * <p>
+     * Default implementation invokes {@link #distanceEstimate(Point2D)} for each point of the segment.
+     *
+     * @param x0        x coordinate of the point with index 0
+     * @param y0        y coordinate of the point with index 0
+     * @param dx        x step between neighboring points
+     * @param dy        y step between neighboring points
+     * @param iters     array for numbers of the iteration
+     * @param distances array for estimates of the distance
+     * @param from      index of the first point (inclusive)
+     * @param to        index of the last point (exclusive)
+     * @throws NullPointerException           if {@code iters} or {@code distances} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code iters} or {@code distances}
+     *                                        bounds
+     */
+    default void distanceEstimate(double x0, double y0, double dx, double dy, int[] iters, double[] distances, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        Objects.requireNonNull(distances, "distances is null");
+        for (int i = from; i < to; i++) {
+            DistanceEstimate estimate = distanceEstimate(new Point2D(x0 + i * dx, y0 + i * dy));
+            iters[i] = estimate.getNumberIter();
+            distances[i] = estimate.getDistance();
+        }
+    }
+
+    /**
+     * Checks that points of the segment belong the fractal using lanes with single precision ({@code float}). The
+     * points of the segment are defined same as in the {@link #numberIter(double, double, double, double, int[], int,
+     * int)}. This kernel may be used, if the step between the neighboring points is much greater than the precision of
+     * {@code float}: the results are almost same as the results of the {@link #numberIterLanes(double, double, double,
+     * double, int[], int, int)} (they may differ for some points near the boundary of the fractal).
+     * <p>
+     * Default implementation invokes {@link #numberIterLanes(double, double, double, double, int[], int, int)}, so the
+     * fractals without single precision kernel are checked with double precision.
+     *
+     * @param x0    x coordinate of the point with index 0
+     * @param y0    y coordinate of the point with index 0
+     * @param dx    x step between neighboring points
+     * @param dy    y step between neighboring points
+     * @param iters array for results
+     * @param from  index of the first point (inclusive)
+     * @param to    index of the last point (exclusive)
+     * @throws NullPointerException           if {@code iters} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code iters} bounds
+     */
+    default void numberIterFloatLanes(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        numberIterLanes(x0, y0, dx, dy, iters, from, to);
+    }
+
+    /**
+     * Checks that points of the segment belong the fractal using lanes with single precision ({@code float}) and stores
+     * continuous (smooth) numbers of the iteration to {@code values}. See {@link #numberIterFloatLanes(double, double,
+     * double, double, int[], int, int)}.
+     * <p>
+     * Default implementation invokes {@link #smoothNumberIterLanes(double, double, double, double, double[], int,
+     * int)}.
+     *
+     * @param x0     x coordinate of the point with index 0
+     * @param y0     y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param values array for results
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     * @throws NullPointerException           if {@code values} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code values} bounds
+     */
+    default void smoothNumberIterFloatLanes(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        smoothNumberIterLanes(x0, y0, dx, dy, values, from, to);
+    }
+
+    /**
+     * Checks that points of the segment belong the fractal with double-double precision (see {@link
+     * ComplexDoubleDouble}). The point with index {@code i} has the coordinate {@code (x0 + x0Low + i * dx, y0 + y0Low
+     * + i * dy)} on complex plane, so the coordinates of the points keep the precision, when the step between the
+     * neighboring points is comparable with the precision of {@code double}. The results are stored same as in the
+     * {@link #numberIter(double, double, double, double, int[], int, int)}.
+     * <p>
+     * Default implementation invokes {@link #numberIter(double, double, double, double, int[], int, int)} (the low parts
+     * of the coordinates are ignored), so the fractals without double-double kernel are checked with double precision.
+     *
+     * @param x0    high part of the x coordinate of the point with index 0
+     * @param x0Low low part of the x coordinate of the point with index 0
+     * @param y0    high part of the y coordinate of the point with index 0
+     * @param y0Low low part of the y coordinate of the point with index 0
+     * @param dx    x step between neighboring points
+     * @param dy    y step between neighboring points
+     * @param iters array for results
+     * @param from  index of the first point (inclusive)
+     * @param to    index of the last point (exclusive)
+     * @throws NullPointerException           if {@code iters} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code iters} bounds
+     */
+    default void numberIterDoubleDouble(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, int from, int to) {
+        numberIter(x0, y0, dx, dy, iters, from, to);
+    }
+
+    /**
+     * Checks that points of the segment belong the fractal with double-double precision and stores continuous (smooth)
+     * numbers of the iteration to {@code values}. See {@link #numberIterDoubleDouble(double, double, double, double,
+     * double, double, int[], int, int)}.
+     * <p>
+     * Default implementation invokes {@link #smoothNumberIter(double, double, double, double, double[], int, int)}.
+     *
+     * @param x0     high part of the x coordinate of the point with index 0
+     * @param x0Low  low part of the x coordinate of the point with index 0
+     * @param y0     high part of the y coordinate of the point with index 0
+     * @param y0Low  low part of the y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param values array for results
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     * @throws NullPointerException           if {@code values} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code values} bounds
+     */
+    default void smoothNumberIterDoubleDouble(double x0, double x0Low, double y0, double y0Low, double dx, double dy, double[] values, int from, int to) {
+        smoothNumberIter(x0, y0, dx, dy, values, from, to);
+    }
+
+    /**
+     * Checks that points of the segment belong the fractal with 128-bit fixed-point precision (see {@link
+     * ComplexFixedPoint}). The points of the segment are defined same as in the {@link #numberIterDoubleDouble(double,
+     * double, double, double, double, double, int[], int, int)}. The fixed-point kernel may be used, if the orbits are
+     * checked inside the small bound: it has about 120 bits of the precision and uses only integer multiplications.
+     * <p>
+     * Default implementation invokes {@link #numberIterDoubleDouble(double, double, double, double, double, double,
+     * int[], int, int)}, so the fractals without fixed-point kernel are checked with double-double precision.
+     *
+     * @param x0    high part of the x coordinate of the point with index 0
+     * @param x0Low low part of the x coordinate of the point with index 0
+     * @param y0    high part of the y coordinate of the point with index 0
+     * @param y0Low low part of the y coordinate of the point with index 0
+     * @param dx    x step between neighboring points
+     * @param dy    y step between neighboring points
+     * @param iters array for results
+     * @param from  index of the first point (inclusive)
+     * @param to    index of the last point (exclusive)
+     * @throws NullPointerException           if {@code iters} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code iters} bounds
+     */
+    default void numberIterFixedPoint(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, int from, int to) {
+        numberIterDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, iters, from, to);
+    }
+
+    /**
+     * Checks that points of the segment belong the fractal with 128-bit fixed-point precision and stores continuous
+     * (smooth) numbers of the iteration to {@code values}. See {@link #numberIterFixedPoint(double, double, double,
+     * double, double, double, int[], int, int)}.
+     * <p>
+     * Default implementation invokes {@link #smoothNumberIterDoubleDouble(double, double, double, double, double,
+     * double, double[], int, int)}.
+     *
+     * @param x0     high part of the x coordinate of the point with index 0
+     * @param x0Low  low part of the x coordinate of the point with index 0
+     * @param y0     high part of the y coordinate of the point with index 0
+     * @param y0Low  low part of the y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param values array for results
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     * @throws NullPointerException           if {@code values} is {@code null}
+     * @throws ArrayIndexOutOfBoundsException if {@code from} or {@code to} is out of {@code values} bounds
+     */
+    default void smoothNumberIterFixedPoint(double x0, double x0Low, double y0, double y0Low, double dx, double dy, double[] values, int from, int to) {
+        smoothNumberIterDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, values, from, to);
+    }
 }
@@ -1,5 +1,7 @@
 package local.complexfractal.model;
 
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
@@ -22,6 +24,10 @@ public abstract class ComplexFractalPropertyVersion<T extends ComplexFractal> {
      * Defines maximum number of iterations for algorithm of the drawing the fractal.
      */
     private SimpleStringProperty maxIter = new SimpleStringProperty();
+    /**
+     * Defines usage of the periodicity check of the orbits for algorithm of the drawing the fractal.
+     */
+    private SimpleBooleanProperty periodicityCheck = new SimpleBooleanProperty();
 
     /**
      * Default constructor.
@@ -54,8 +60,20 @@ public abstract class ComplexFractalPropertyVersion<T extends ComplexFractal> {
         return maxIter;
     }
 
+    final public boolean isPeriodicityCheck() {
+        return periodicityCheck.get();
+    }
+
+    final public void setPeriodicityCheck(boolean val) {
+        periodicityCheck.set(val);
+    }
+
+    public BooleanProperty periodicityCheckProperty() {
+        return periodicityCheck;
+    }
+
     /**
-     * Sets {@code criticalR} and {@code maxIter} properties from {@code ComplexFractal}.
+     * Sets {@code criticalR}, {@code maxIter} and {@code periodicityCheck} properties from {@code ComplexFractal}.
      *
      * @param val ComplexFractal object
      * @throws NullPointerException if val if null
@@ -64,6 +82,7 @@ public abstract class ComplexFractalPropertyVersion<T extends ComplexFractal> {
         Objects.requireNonNull(val);
         setCriticalR(String.format(Locale.ENGLISH, "%f", val.getCriticalR()));
         setMaxIter(String.valueOf(val.getMaxIter()));
+        setPeriodicityCheck(val.isPeriodicityCheck());
     }
 
     /**
@@ -2,6 +2,7 @@ package local.complexfractal.model;
 
 import local.complexfractal.util.Point2D;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -10,27 +11,113 @@ import java.util.Objects;
  * This fractal calculates as Mandelbrot set, but Mandelbrot set uses function: F(z) = z^2 + c, whereas this fractal
  * uses function: F(z) = z^n1 + z^n2 + c, where n1 and n2 integer parameters
  * <p>
+ * The interior points of the fractal can be detected with the periodicity check of the orbits.
+ * <p>
+ * The powers of the points of the orbit are calculated in the local variables by the same algorithm as {@link
+ * ComplexNumber#powAndAsg} (the squarings of the point are shared between the powers z^n1 and z^n2), so the numbers
+ * of the iteration are same as the numbers calculated with {@code ComplexNumber} for all powers. The operations of the
+ * algorithm are planned once for the powers of the fractal (the multiplications by one are replaced by the
+ * assignments, which change only the sign of zero), so the bits of the powers aren't checked on every iteration.
+ * <p>
  * The objects of this class are immutable.
  *
  * @author Kochin Konstantin Alexandrovich
  */
 public final class ComplexFractalVersion1 extends ComplexFractal {
+    /**
+     * Number of the lanes of the lane kernel.
+     */
+    private static final int laneWidth = 8;
+
+    // operations of the plan of the powers
+    /**
+     * Squaring of the current power of z.
+     */
+    private static final byte square = 0;
+    /**
+     * Multiplication of z^n1 by the current power of z.
+     */
+    private static final byte multiply1 = 1;
+    /**
+     * Multiplication of z^n2 by the current power of z.
+     */
+    private static final byte multiply2 = 2;
+    /**
+     * Assignment of the current power of z to z^n1 (the first multiplication by one).
+     */
+    private static final byte assign1 = 3;
+    /**
+     * Assignment of the current power of z to z^n2 (the first multiplication by one).
+     */
+    private static final byte assign2 = 4;
+
     // parameters of the fractal
     private int n1;
     private int n2;
+    /**
+     * Plan of the calculation of the powers z^|n1| and z^|n2|: the operations of the square-and-multiply algorithm of
+     * {@link ComplexNumber#powAndAsg} for both powers with shared squarings, unrolled for the powers when the fractal is
+     * created.
+     */
+    private final byte[] plan;
 
     /**
      * Constructor.
      *
+     * @param n1               power n1
+     * @param n2               power n2
+     * @param maxIter          maximum number of the iteration
+     * @param criticalR        radius of the bound
+     * @param periodicityCheck if it's true, the periodicity check of the orbits is used
+     */
+    public ComplexFractalVersion1(int n1, int n2, int maxIter, double criticalR, boolean periodicityCheck) {
+        super(maxIter, criticalR, periodicityCheck);
+        setN1(n1);
+        setN2(n2);
+        plan = createPlan(Math.abs(n1), Math.abs(n2));
+    }
+
+    /**
+     * Creates the plan of the calculation of the powers z^pow1 and z^pow2. The bits of the powers are processed from
+     * the lowest: the power of z is multiplied to z^pow1 and z^pow2, if their bits are set (the first multiplication by
+     * one is replaced by the assignment), and then it's squared, if the powers have higher bits.
+     *
+     * @param pow1 non-negative power
+     * @param pow2 non-negative power
+     * @return plan of the calculation
+     */
+    private static byte[] createPlan(int pow1, int pow2) {
+        byte[] plan = new byte[3 * Integer.SIZE];
+        int length = 0;
+        boolean first1 = true;
+        boolean first2 = true;
+        while (pow1 > 0 || pow2 > 0) {
+            if ((pow1 & 1) != 0) {
+                plan[length++] = (first1 ? assign1 : multiply1);
+                first1 = false;
+            }
+            if ((pow2 & 1) != 0) {
+                plan[length++] = (first2 ? assign2 : multiply2);
+                first2 = false;
+            }
+            pow1 >>>= 1;
+            pow2 >>>= 1;
+            if (pow1 > 0 || pow2 > 0)
+                plan[length++] = square;
+        }
+        return Arrays.copyOf(plan, length);
+    }
+
+    /**
+     * Constructor. The periodicity check of the orbits isn't used.
+     *
      * @param n1        power n1
      * @param n2        power n2
      * @param maxIter   maximum number of the iteration
      * @param criticalR radius of the bound
      */
     public ComplexFractalVersion1(int n1, int n2, int maxIter, double criticalR) {
-        super(maxIter, criticalR);
-        setN1(n1);
-        setN2(n2);
+        this(n1, n2, maxIter, criticalR, false);
     }
 
     /**
@@ -40,10 +127,12 @@ public final class ComplexFractalVersion1 extends ComplexFractal {
      * <p>
      * {@code matIter = 1024},
      * <p>
-     * {@code criticalR = 2.0}
+     * {@code criticalR = 2.0},
+     * <p>
+     * the periodicity check is used.
      */
     public ComplexFractalVersion1() {
-        this(6, 1, 1024, 2.0);
+        this(6, 1, 1024, 2.0, true);
     }
 
     /**
@@ -52,30 +141,523 @@ public final class ComplexFractalVersion1 extends ComplexFractal {
     @Override
     public int numberIter(Point2D p) {
         Objects.requireNonNull(p, "p is null");
+        return numberIter(p.getX(), p.getY(), getMaxIter(), getCriticalR() * getCriticalR(), getPeriodicityTolerance2(0.0, 0.0), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double smoothNumberIter(Point2D p) {
+        Objects.requireNonNull(p, "p is null");
+        double[] squareAbs = new double[1];
+        int iter = numberIter(p.getX(), p.getY(), getMaxIter(), getCriticalR() * getCriticalR(), getPeriodicityTolerance2(0.0, 0.0), squareAbs);
+        return normalizeNumberIter(iter, squareAbs[0], Math.max(n1, n2));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIter(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegment(x0, y0, dx, dy, iters, null, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIter(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegment(x0, y0, dx, dy, null, values, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIterLanes(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegmentLanes(x0, y0, dx, dy, iters, null, from, to, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIterLanes(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegmentLanes(x0, y0, dx, dy, null, values, from, to, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIterFloatLanes(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegmentLanes(x0, y0, dx, dy, iters, null, from, to, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIterFloatLanes(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegmentLanes(x0, y0, dx, dy, null, values, from, to, true);
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIterDoubleDouble(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegmentDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, iters, null, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIterDoubleDouble(double x0, double x0Low, double y0, double y0Low, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegmentDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, null, values, from, to);
+    }
+
+    /**
+     * Checks the points of the segment. The results are stored to {@code iters}, if it isn't null, otherwise
+     * continuous numbers of the iteration are stored to {@code values}.
+     *
+     * @param x0     x coordinate of the point with index 0
+     * @param y0     y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     */
+    private void checkSegment(double x0, double y0, double dx, double dy, int[] iters, double[] values, int from, int to) {
         int maxIter = getMaxIter();
+        double r2 = getCriticalR() * getCriticalR();
+        double periodicityTolerance2 = getPeriodicityTolerance2(dx, dy);
+        double[] squareAbs = (iters != null ? null : new double[1]);
+        for (int i = from; i < to; i++) {
+            int iter = numberIter(x0 + i * dx, y0 + i * dy, maxIter, r2, periodicityTolerance2, squareAbs);
+            if (iters != null)
+                iters[i] = iter;
+            else
+                values[i] = normalizeNumberIter(iter, squareAbs[0], Math.max(n1, n2));
+        }
+    }
+
+    /**
+     * Checks the points of the segment using lanes. The results are stored to {@code iters}, if it isn't null,
+     * otherwise continuous numbers of the iteration are stored to {@code values}. If {@code single} is true, the
+     * points are checked with {@code float} (see {@link #round(double, boolean)}).
+     *
+     * @param x0     x coordinate of the point with index 0
+     * @param y0     y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     * @param single if it's true, single precision is used
+     */
+    private void checkSegmentLanes(double x0, double y0, double dx, double dy, int[] iters, double[] values, int from, int to, boolean single) {
+        int maxIter = getMaxIter();
+        double r2 = round(getCriticalR() * getCriticalR(), single);
+        double degree = Math.max(n1, n2);
+        double periodicityTolerance2 = round(getPeriodicityTolerance2(dx, dy), single);
+        boolean periodicityCheck = periodicityTolerance2 > 0.0;
+        // state of the lanes: index of the point (-1 if lane is empty), c, current point and number of iterations
+        int[] index = new int[laneWidth];
+        double[] cRe = new double[laneWidth];
+        double[] cIm = new double[laneWidth];
+        double[] zRe = new double[laneWidth];
+        double[] zIm = new double[laneWidth];
+        int[] iter = new int[laneWidth];
+        // state of the periodicity check of the lanes
+        double[] savedRe = new double[laneWidth];
+        double[] savedIm = new double[laneWidth];
+        int[] steps = new int[laneWidth];
+        int[] checkPeriod = new int[laneWidth];
+
+        // load first points to the lanes
+        int next = from;
+        int activeLanes = 0;
+        for (int l = 0; l < laneWidth; l++) {
+            if (next < to) {
+                index[l] = next;
+                cRe[l] = zRe[l] = round(x0 + next * dx, single);
+                cIm[l] = zIm[l] = round(y0 + next * dy, single);
+                iter[l] = 1;
+                savedRe[l] = Double.NaN;
+                savedIm[l] = Double.NaN;
+                steps[l] = 0;
+                checkPeriod[l] = 1;
+                next++;
+                activeLanes++;
+            } else {
+                index[l] = -1;
+            }
+        }
+
+        // iterate the lanes until all points are checked
+        while (activeLanes > 0) {
+            for (int l = 0; l < laneWidth; l++) {
+                if (index[l] < 0)
+                    continue;
+                double re = zRe[l];
+                double im = zIm[l];
+                // square of the absolute value of z and square of the distance to the saved point
+                double squareAbs;
+                double savedDistance2;
+                if (single) {
+                    float fRe = (float) re;
+                    float fIm = (float) im;
+                    float dRe = fRe - (float) savedRe[l];
+                    float dIm = fIm - (float) savedIm[l];
+                    squareAbs = fRe * fRe + fIm * fIm;
+                    savedDistance2 = dRe * dRe + dIm * dIm;
+                } else {
+                    double dRe = re - savedRe[l];
+                    double dIm = im - savedIm[l];
+                    squareAbs = re * re + im * im;
+                    savedDistance2 = dRe * dRe + dIm * dIm;
+                }
+                boolean periodic = false;
+                if (iter[l] < maxIter && squareAbs < r2 && !Double.isNaN(im) && !Double.isNaN(re)) {
+                    if (periodicityCheck) {
+                        if (savedDistance2 < periodicityTolerance2) {
+                            periodic = true;
+                        } else if (++steps[l] >= checkPeriod[l]) {
+                            steps[l] = 0;
+                            checkPeriod[l] <<= 1;
+                            savedRe[l] = re;
+                            savedIm[l] = im;
+                        }
+                    }
+                    if (!periodic) {
+                        // z = c + z^n1 + z^n2
+                        if (single)
+                            stepFloat(zRe, zIm, cRe[l], cIm[l], l);
+                        else
+                            step(zRe, zIm, cRe[l], cIm[l], l);
+                        iter[l]++;
+                        continue;
+                    }
+                }
+                // store result and load next point to the lane
+                int result = (periodic || squareAbs < r2 ? 0 : iter[l]);
+                if (iters != null)
+                    iters[index[l]] = result;
+                else
+                    values[index[l]] = normalizeNumberIter(result, squareAbs, degree);
+                if (next < to) {
+                    index[l] = next;
+                    cRe[l] = zRe[l] = round(x0 + next * dx, single);
+                    cIm[l] = zIm[l] = round(y0 + next * dy, single);
+                    iter[l] = 1;
+                    savedRe[l] = Double.NaN;
+                    savedIm[l] = Double.NaN;
+                    steps[l] = 0;
+                    checkPeriod[l] = 1;
+                    next++;
+                } else {
+                    index[l] = -1;
+                    activeLanes--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the points of the segment with double-double precision. The results are stored to {@code iters}, if it
+     * isn't null, otherwise continuous numbers of the iteration are stored to {@code values}. The periodicity check
+     * isn't used.
+     *
+     * @param x0     high part of the x coordinate of the point with index 0
+     * @param x0Low  low part of the x coordinate of the point with index 0
+     * @param y0     high part of the y coordinate of the point with index 0
+     * @param y0Low  low part of the y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     */
+    private void checkSegmentDoubleDouble(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, double[] values, int from, int to) {
+        int maxIter = getMaxIter();
+        double r2 = getCriticalR() * getCriticalR();
+        ComplexDoubleDouble c = new ComplexDoubleDouble();
+        ComplexDoubleDouble z = new ComplexDoubleDouble();
+        ComplexDoubleDouble powN1 = new ComplexDoubleDouble();
+        ComplexDoubleDouble powN2 = new ComplexDoubleDouble();
+        for (int i = from; i < to; i++) {
+            c.assign(x0, x0Low, y0, y0Low).addAndAsg(i * dx, i * dy);
+            z.assign(c);
+            // 1 - special case for point outside of the bound
+            int iter = 1;
+            while (iter < maxIter && z.squareAbs() < r2 && !Double.isNaN(z.getImag()) && !Double.isNaN(z.getReal())) {
+                // z = c + z^n1 + z^n2
+                powN1.assign(z).powAndAsg(n1);
+                powN2.assign(z).powAndAsg(n2);
+                z.assign(c).addAndAsg(powN1).addAndAsg(powN2);
+                iter++;
+            }
+            double squareAbs = z.squareAbs();
+            if (squareAbs < r2)
+                iter = 0;
+            if (iters != null)
+                iters[i] = iter;
+            else
+                values[i] = normalizeNumberIter(iter, squareAbs, Math.max(n1, n2));
+        }
+    }
+
+    /**
+     * Checks that point belongs the fractal.
+     *
+     * @param x             x coordinate of the point
+     * @param y             y coordinate of the point
+     * @param maxIter       maximum number of the iteration
+     * @param r2            square of the radius of the bound
+     * @param tol2          square of the tolerance of the periodicity check ({@code 0.0} if the check isn't used)
+     * @param lastSquareAbs array for square of the absolute value of the first point of the orbit outside of the bound
+     *                      (it's stored to the element with index 0, if the array isn't null and the point doesn't
+     *                      belong to the fractal)
+     * @return {@code 0} if the point belongs to the fractal, otherwise number of iterations
+     */
+    private int numberIter(double x, double y, int maxIter, double r2, double tol2, double[] lastSquareAbs) {
         // 1 - special case for point outside of the bound
         int iter = 1;
-        double r2 = getCriticalR() * getCriticalR();
-        ComplexNumber initP = new ComplexNumber(p.getX(), p.getY());
-        ComplexNumber z = new ComplexNumber(0, 0);
-        ComplexNumber powN1 = new ComplexNumber();
-        ComplexNumber powN2 = new ComplexNumber();
+        // current point (real and imaginary part are kept in the local variables without creating ComplexNumber)
+        double zRe = x;
+        double zIm = y;
+        // state of the periodicity check: saved point of the orbit, number of the iterations since saving and interval
+        // between savings
+        double savedRe = Double.NaN;
+        double savedIm = Double.NaN;
+        int steps = 0;
+        int checkPeriod = 1;
 
         // test point
-        z.assign(initP);
-        while (iter < maxIter && z.squareAbs() < r2 && !Double.isNaN(z.getImag()) && !Double.isNaN(z.getReal())) {
-            powN1.assign(z).powAndAsg(n1);
-            powN2.assign(z).powAndAsg(n2);
-            z.assign(initP).addAndAsg(powN1).addAndAsg(powN2);
+        while (iter < maxIter && zRe * zRe + zIm * zIm < r2 && !Double.isNaN(zIm) && !Double.isNaN(zRe)) {
+            if (tol2 > 0.0) {
+                double dRe = zRe - savedRe;
+                double dIm = zIm - savedIm;
+                // the orbit has returned to the saved point, so it's periodic and doesn't leave the bound
+                if (dRe * dRe + dIm * dIm < tol2)
+                    return 0;
+                if (++steps >= checkPeriod) {
+                    steps = 0;
+                    checkPeriod <<= 1;
+                    savedRe = zRe;
+                    savedIm = zIm;
+                }
+            }
+            // z = c + z^n1 + z^n2 (the powers are calculated by the plan)
+            double r = zRe;
+            double i = zIm;
+            double res1Re = 1;
+            double res1Im = 0;
+            double res2Re = 1;
+            double res2Im = 0;
+            for (byte operation : plan) {
+                switch (operation) {
+                    case square: {
+                        double tmpRe = r * r - i * i;
+                        double tmpIm = r * i + i * r;
+                        r = tmpRe;
+                        i = tmpIm;
+                        break;
+                    }
+                    case multiply1: {
+                        double tmpRe = res1Re * r - res1Im * i;
+                        double tmpIm = res1Re * i + res1Im * r;
+                        res1Re = tmpRe;
+                        res1Im = tmpIm;
+                        break;
+                    }
+                    case multiply2: {
+                        double tmpRe = res2Re * r - res2Im * i;
+                        double tmpIm = res2Re * i + res2Im * r;
+                        res2Re = tmpRe;
+                        res2Im = tmpIm;
+                        break;
+                    }
+                    case assign1:
+                        res1Re = r;
+                        res1Im = i;
+                        break;
+                    default:
+                        res2Re = r;
+                        res2Im = i;
+                        break;
+                }
+            }
+
+            if (n1 < 0) {
+                double tmpD = res1Re * res1Re + res1Im * res1Im;
+                res1Re = res1Re / tmpD;
+                res1Im = -res1Im / tmpD;
+            }
+            if (n2 < 0) {
+                double tmpD = res2Re * res2Re + res2Im * res2Im;
+                res2Re = res2Re / tmpD;
+                res2Im = -res2Im / tmpD;
+            }
+            zRe = x + res1Re + res2Re;
+            zIm = y + res1Im + res2Im;
             iter++;
         }
-        if (z.squareAbs() < r2) {
+        double squareAbs = zRe * zRe + zIm * zIm;
+        if (squareAbs < r2) {
             iter = 0;
+        } else if (lastSquareAbs != null) {
+            lastSquareAbs[0] = squareAbs;
         }
         return iter;
     }
 
+    /**
+     * Calculates the next point of the orbit of the lane: {@code z = c + z^n1 + z^n2}. The powers are calculated by
+     * the plan same as in the {@link #numberIter(double, double, int, double, double, double[])}, so the lanes have the
+     * same results as the scalar kernel.
+     *
+     * @param zRe real parts of the current points of the lanes
+     * @param zIm imaginary parts of the current points of the lanes
+     * @param cRe real part of the parameter c of the lane
+     * @param cIm imaginary part of the parameter c of the lane
+     * @param l   index of the lane
+     */
+    private void step(double[] zRe, double[] zIm, double cRe, double cIm, int l) {
+        double r = zRe[l];
+        double i = zIm[l];
+        double res1Re = 1;
+        double res1Im = 0;
+        double res2Re = 1;
+        double res2Im = 0;
+        for (byte operation : plan) {
+            switch (operation) {
+                case square: {
+                    double tmpRe = r * r - i * i;
+                    double tmpIm = r * i + i * r;
+                    r = tmpRe;
+                    i = tmpIm;
+                    break;
+                }
+                case multiply1: {
+                    double tmpRe = res1Re * r - res1Im * i;
+                    double tmpIm = res1Re * i + res1Im * r;
+                    res1Re = tmpRe;
+                    res1Im = tmpIm;
+                    break;
+                }
+                case multiply2: {
+                    double tmpRe = res2Re * r - res2Im * i;
+                    double tmpIm = res2Re * i + res2Im * r;
+                    res2Re = tmpRe;
+                    res2Im = tmpIm;
+                    break;
+                }
+                case assign1:
+                    res1Re = r;
+                    res1Im = i;
+                    break;
+                default:
+                    res2Re = r;
+                    res2Im = i;
+                    break;
+            }
+        }
+
+        if (n1 < 0) {
+            double tmpD = res1Re * res1Re + res1Im * res1Im;
+            res1Re = res1Re / tmpD;
+            res1Im = -res1Im / tmpD;
+        }
+        if (n2 < 0) {
+            double tmpD = res2Re * res2Re + res2Im * res2Im;
+            res2Re = res2Re / tmpD;
+            res2Im = -res2Im / tmpD;
+        }
+        zRe[l] = cRe + res1Re + res2Re;
+        zIm[l] = cIm + res1Im + res2Im;
+    }
+
+    /**
+     * Calculates the next point of the orbit of the lane with single precision. See {@link #step(double[], double[],
+     * double, double, int)}.
+     *
+     * @param zRe real parts of the current points of the lanes
+     * @param zIm imaginary parts of the current points of the lanes
+     * @param cRe real part of the parameter c of the lane
+     * @param cIm imaginary part of the parameter c of the lane
+     * @param l   index of the lane
+     */
+    private void stepFloat(double[] zRe, double[] zIm, double cRe, double cIm, int l) {
+        float r = (float) zRe[l];
+        float i = (float) zIm[l];
+        float res1Re = 1;
+        float res1Im = 0;
+        float res2Re = 1;
+        float res2Im = 0;
+        for (byte operation : plan) {
+            switch (operation) {
+                case square: {
+                    float tmpRe = r * r - i * i;
+                    float tmpIm = r * i + i * r;
+                    r = tmpRe;
+                    i = tmpIm;
+                    break;
+                }
+                case multiply1: {
+                    float tmpRe = res1Re * r - res1Im * i;
+                    float tmpIm = res1Re * i + res1Im * r;
+                    res1Re = tmpRe;
+                    res1Im = tmpIm;
+                    break;
+                }
+                case multiply2: {
+                    float tmpRe = res2Re * r - res2Im * i;
+                    float tmpIm = res2Re * i + res2Im * r;
+                    res2Re = tmpRe;
+                    res2Im = tmpIm;
+                    break;
+                }
+                case assign1:
+                    res1Re = r;
+                    res1Im = i;
+                    break;
+                default:
+                    res2Re = r;
+                    res2Im = i;
+                    break;
+            }
+        }
+
+        if (n1 < 0) {
+            float tmpD = res1Re * res1Re + res1Im * res1Im;
+            res1Re = res1Re / tmpD;
+            res1Im = -res1Im / tmpD;
+        }
+        if (n2 < 0) {
+            float tmpD = res2Re * res2Re + res2Im * res2Im;
+            res2Re = res2Re / tmpD;
+            res2Im = -res2Im / tmpD;
+        }
+        zRe[l] = (float) cRe + res1Re + res2Re;
+        zIm[l] = (float) cIm + res1Im + res2Im;
+    }
+
     /**
      * Gets the power n1.
      *
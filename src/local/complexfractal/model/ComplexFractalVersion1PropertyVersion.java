@@ -87,7 +87,7 @@ public class ComplexFractalVersion1PropertyVersion extends ComplexFractalPropert
     @Override
     public ComplexFractalVersion1 createComplexFractal() {
         try {
-            return new ComplexFractalVersion1(Integer.parseInt(getN1()), Integer.parseInt(getN2()), parseMaxIter(), parseCriticalR());
+            return new ComplexFractalVersion1(Integer.parseInt(getN1()), Integer.parseInt(getN2()), parseMaxIter(), parseCriticalR(), isPeriodicityCheck());
         } catch (IllegalStateException | NumberFormatException e) {
             throw new IllegalStateException("Uncorrected state of the fractal property.", e);
         }
@@ -0,0 +1,136 @@
+package local.complexfractal.model;
+
+/**
+ * The {@code DistanceEstimate} is the result of the checking of the point with the exterior distance estimation (see
+ * {@link ComplexFractalChecker#distanceEstimate(local.complexfractal.util.Point2D)}): the number of the iteration (same
+ * as the result of the {@link ComplexFractalChecker#numberIter(local.complexfractal.util.Point2D)}, so the palettes can
+ * color it as usual) and the estimate of the distance from the point to the fractal.
+ * <p>
+ * For the Mandelbrot set and the Julia sets the estimate is calculated from the derivative of the orbit {@code dz}
+ * ({@code dz/dc} for the Mandelbrot set and {@code dz/dz0} for the Julia set):
+ * <p>
+ * {@code estimate = 2 * |z| * log|z| / |dz|},
+ * <p>
+ * where {@code z} is the point of the orbit far outside of the bound. By the Koebe 1/4 theorem the distance to the
+ * fractal is in the range {@code (estimate / 4, estimate)} for the points near the fractal (the bounds are asymptotic,
+ * they aren't valid for the points, which are far from the fractal in comparison with its size), so the circle with
+ * radius {@link #getLowerBound()} around the point doesn't contain the points of the fractal.
+ * <p>
+ * The estimate is {@code 0.0} for the points of the fractal and {@code NaN}, if the fractal doesn't calculate the
+ * estimate. Objects of this class are immutable.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public final class DistanceEstimate {
+    /**
+     * Square of the radius, which the orbit leaves before the estimate is calculated (the estimate is accurate for the
+     * points of the orbit far outside of the bound).
+     */
+    static final double estimateR2 = 1e10;
+    /**
+     * Maximum number of the iterations after leaving the bound, which are used for the estimate.
+     */
+    static final int maxEstimateIter = 64;
+
+    private final int numberIter;
+    private final double distance;
+
+    /**
+     * Constructor.
+     *
+     * @param numberIter number of the iteration ({@code 0} for the points of the fractal)
+     * @param distance   estimate of the distance to the fractal ({@code NaN}, if it's unknown)
+     */
+    public DistanceEstimate(int numberIter, double distance) {
+        this.numberIter = numberIter;
+        this.distance = distance;
+    }
+
+    /**
+     * Calculates estimate of the distance {@code 2 * |z| * log|z| / |dz|} from the point of the orbit outside of the
+     * bound and the derivative of the orbit.
+     *
+     * @param squareAbs   square of the absolute value of the point of the orbit
+     * @param squareAbsDz square of the absolute value of the derivative
+     * @return estimate of the distance (it's zero, if the derivative has overflowed)
+     */
+    static double estimate(double squareAbs, double squareAbsDz) {
+        // 2 * |z| * log|z| / |dz| = sqrt(|z|^2 / |dz|^2) * log(|z|^2)
+        double estimate = Math.sqrt(squareAbs / squareAbsDz) * Math.log(squareAbs);
+        // the derivative of the long orbits near the fractal may overflow to infinity or NaN
+        return (Double.isNaN(estimate) ? 0.0 : estimate);
+    }
+
+    /**
+     * Gets number of the iteration.
+     *
+     * @return {@code 0} if the point belongs to the fractal, otherwise number of the iteration
+     */
+    public int getNumberIter() {
+        return numberIter;
+    }
+
+    /**
+     * Gets estimate of the distance from the point to the fractal.
+     *
+     * @return estimate of the distance ({@code 0.0} for the points of the fractal, {@code NaN} if it's unknown)
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * Gets lower bound of the distance from the point to the fractal ({@code getDistance() / 4}).
+     *
+     * @return lower bound of the distance ({@code NaN} if it's unknown)
+     */
+    public double getLowerBound() {
+        return 0.25 * distance;
+    }
+
+    /**
+     * Checks that the distance estimate proves that the circle with the radius {@code radius} around the point doesn't
+     * contain the points of the fractal (for example, the circle, that covers the neighboring pixels).
+     *
+     * @param radius radius of the circle
+     * @return true, if the circle doesn't contain the points of the fractal, false if it may contain them or the
+     * distance is unknown
+     */
+    public boolean isFartherThan(double radius) {
+        return getLowerBound() > radius;
+    }
+
+    /**
+     * Tests that results are equal.
+     *
+     * @param obj object for compare
+     * @return true, if objects are equal, otherwise false
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof DistanceEstimate))
+            return false;
+        DistanceEstimate rightArg = (DistanceEstimate) obj;
+        return numberIter == rightArg.numberIter && Double.compare(distance, rightArg.distance) == 0;
+    }
+
+    /**
+     * Gets hash code of the result.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return 31 * numberIter + Double.hashCode(distance);
+    }
+
+    /**
+     * Gets string representation of the result.
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return "DistanceEstimate [numberIter " + numberIter + ", distance " + distance + "]";
+    }
+}
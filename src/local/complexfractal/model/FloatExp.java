@@ -0,0 +1,324 @@
+package local.complexfractal.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * The {@code FloatExp} is helper class for real numbers with extended exponent range ("floatexp"): the value is {@code
+ * mantissa * 2^exponent}, where {@code mantissa} is {@code double} value with absolute value in the range [1, 2) (or
+ * zero) and {@code exponent} is {@code int} value. It has the precision of {@code double}, but the values are neither
+ * rounded to zero nor to infinity, when they are outside of the range of {@code double} (for example, the steps between
+ * the points of the images with the scale less than {@code 1e-308}).
+ * <p>
+ * The complex numbers with extended exponent range are represented by {@link ComplexFloatExp}. This class doesn't check
+ * NaN and infinite values. Objects of this class are immutable.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public final class FloatExp implements Comparable<FloatExp> {
+    /**
+     * Exponent of zero.
+     */
+    static final int zeroExponent = Integer.MIN_VALUE / 4;
+
+    /**
+     * Zero.
+     */
+    public static final FloatExp ZERO = new FloatExp(0.0, zeroExponent);
+    /**
+     * One.
+     */
+    public static final FloatExp ONE = new FloatExp(1.0, 0);
+
+    /**
+     * Mask of exponent bits of {@code double} value.
+     */
+    static final long exponentMask = 0x7FF0000000000000L;
+
+    private final double mantissa;
+    private final int exponent;
+
+    /**
+     * Constructor (the mantissa must be normalized).
+     *
+     * @param mantissa mantissa
+     * @param exponent exponent
+     */
+    private FloatExp(double mantissa, int exponent) {
+        this.mantissa = mantissa;
+        this.exponent = exponent;
+    }
+
+    /**
+     * Gets power of two {@code 2^n} for {@code n} in the range of the normal {@code double} values.
+     *
+     * @param n exponent (from -1022 to 1023)
+     * @return power of two
+     */
+    static double pow2(int n) {
+        return Double.longBitsToDouble((long) (n + 1023) << 52);
+    }
+
+    /**
+     * Creates the number {@code mantissa * 2^exponent} (the mantissa may be any finite {@code double} value).
+     *
+     * @param mantissa mantissa
+     * @param exponent exponent
+     * @return number
+     */
+    public static FloatExp valueOf(double mantissa, int exponent) {
+        if (mantissa == 0.0)
+            return ZERO;
+        int shift = Math.getExponent(mantissa);
+        if (shift == Double.MIN_EXPONENT - 1) {
+            // subnormal value
+            mantissa *= 0x1p54;
+            exponent -= 54;
+            shift = Math.getExponent(mantissa);
+        }
+        // replaces the exponent bits of the mantissa by the zero exponent
+        long bits = Double.doubleToRawLongBits(mantissa) & ~exponentMask | (long) Double.MAX_EXPONENT << 52;
+        return new FloatExp(Double.longBitsToDouble(bits), exponent + shift);
+    }
+
+    /**
+     * Creates the number with the value of the {@code double} value.
+     *
+     * @param value value
+     * @return number
+     */
+    public static FloatExp valueOf(double value) {
+        return valueOf(value, 0);
+    }
+
+    /**
+     * Creates the number from the {@link BigDecimal} value (it's rounded to the precision of {@code double}).
+     *
+     * @param value value
+     * @return number
+     * @throws NullPointerException if value is null
+     */
+    public static FloatExp valueOf(BigDecimal value) {
+        Objects.requireNonNull(value, "value is null");
+        if (value.signum() == 0)
+            return ZERO;
+        // value = v * 2^exponent, where v is in the range of double: v = value * 5^exponent / 10^exponent
+        int exponent = (int) ((value.precision() - value.scale()) * (Math.log(10.0) / Math.log(2.0)));
+        BigDecimal v = (exponent >= 0
+                ? value.multiply(BigDecimal.valueOf(5).pow(exponent)).scaleByPowerOfTen(-exponent)
+                : value.multiply(BigDecimal.valueOf(2).pow(-exponent)));
+        return valueOf(v.doubleValue(), exponent);
+    }
+
+    /**
+     * Adds number.
+     *
+     * @param r right argument
+     * @return {@code this + r}
+     */
+    public FloatExp add(FloatExp r) {
+        if (exponent < r.exponent)
+            return r.add(this);
+        int diff = r.exponent - exponent;
+        if (diff < -64)
+            return this;
+        return valueOf(mantissa + r.mantissa * pow2(diff), exponent);
+    }
+
+    /**
+     * Subtracts number.
+     *
+     * @param r right argument
+     * @return {@code this - r}
+     */
+    public FloatExp subtract(FloatExp r) {
+        return add(r.negate());
+    }
+
+    /**
+     * Multiplies by number.
+     *
+     * @param r right argument
+     * @return {@code this * r}
+     */
+    public FloatExp multiply(FloatExp r) {
+        if (mantissa == 0.0 || r.mantissa == 0.0)
+            return ZERO;
+        return valueOf(mantissa * r.mantissa, exponent + r.exponent);
+    }
+
+    /**
+     * Divides by number.
+     *
+     * @param r right argument
+     * @return {@code this / r}
+     * @throws ArithmeticException if r is zero
+     */
+    public FloatExp divide(FloatExp r) {
+        if (r.mantissa == 0.0)
+            throw new ArithmeticException("division by zero");
+        if (mantissa == 0.0)
+            return ZERO;
+        return valueOf(mantissa / r.mantissa, exponent - r.exponent);
+    }
+
+    /**
+     * Multiplies by power of two.
+     *
+     * @param n exponent of the power of two
+     * @return {@code this * 2^n}
+     */
+    public FloatExp scalb(int n) {
+        return (mantissa == 0.0 ? ZERO : new FloatExp(mantissa, exponent + n));
+    }
+
+    /**
+     * Calculates square root.
+     *
+     * @return square root
+     * @throws ArithmeticException if this number is negative
+     */
+    public FloatExp sqrt() {
+        if (mantissa < 0.0)
+            throw new ArithmeticException("square root of negative number");
+        if (mantissa == 0.0)
+            return ZERO;
+        // the exponent must be even
+        int odd = exponent & 1;
+        return valueOf(Math.sqrt(mantissa * (1 + odd)), (exponent - odd) / 2);
+    }
+
+    /**
+     * Gets negated number.
+     *
+     * @return {@code -this}
+     */
+    public FloatExp negate() {
+        return (mantissa == 0.0 ? ZERO : new FloatExp(-mantissa, exponent));
+    }
+
+    /**
+     * Gets absolute value.
+     *
+     * @return {@code |this|}
+     */
+    public FloatExp abs() {
+        return (mantissa < 0.0 ? negate() : this);
+    }
+
+    /**
+     * Gets sign of the number.
+     *
+     * @return -1, 0 or 1
+     */
+    public int signum() {
+        return (int) Math.signum(mantissa);
+    }
+
+    /**
+     * Gets mantissa (the absolute value is in the range [1, 2) or zero).
+     *
+     * @return mantissa
+     */
+    public double getMantissa() {
+        return mantissa;
+    }
+
+    /**
+     * Gets exponent (for zero it's very small negative number).
+     *
+     * @return exponent
+     */
+    public int getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Converts the number to {@code double} value (it's rounded to zero or infinity, if it's outside of the range of
+     * {@code double}).
+     *
+     * @return value
+     */
+    public double doubleValue() {
+        if (exponent < Double.MIN_EXPONENT - 60)
+            return 0.0 * mantissa;
+        if (exponent > Double.MAX_EXPONENT + 1)
+            return Double.POSITIVE_INFINITY * mantissa;
+        return Math.scalb(mantissa, exponent);
+    }
+
+    /**
+     * Converts the number to {@link BigDecimal} (the conversion is exact).
+     *
+     * @return value
+     */
+    public BigDecimal toBigDecimal() {
+        if (mantissa == 0.0)
+            return BigDecimal.ZERO;
+        BigDecimal m = new BigDecimal(mantissa);
+        BigDecimal power = new BigDecimal(BigInteger.ONE.shiftLeft(Math.abs(exponent)));
+        return (exponent >= 0 ? m.multiply(power) : m.divide(power));
+    }
+
+    /**
+     * Compares the numbers.
+     *
+     * @param r other number
+     * @return negative number, zero or positive number, if this number is less, equal or greater than {@code r}
+     */
+    @Override
+    public int compareTo(FloatExp r) {
+        int sign = signum();
+        if (sign != r.signum())
+            return Integer.compare(sign, r.signum());
+        if (exponent != r.exponent)
+            return (exponent < r.exponent ? -sign : sign);
+        return Double.compare(mantissa, r.mantissa);
+    }
+
+    /**
+     * Tests that numbers are equal.
+     *
+     * @param obj object for compare
+     * @return true, if objects are equal, otherwise false
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof FloatExp))
+            return false;
+        FloatExp rightArg = (FloatExp) obj;
+        return mantissa == rightArg.mantissa && exponent == rightArg.exponent;
+    }
+
+    /**
+     * Gets hash code of the number.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(mantissa) + exponent;
+    }
+
+    /**
+     * Gets string representation of the number in the decimal scientific notation (for example, {@code
+     * 1.2345678901234567e-400}).
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        if (mantissa == 0.0)
+            return "0.0";
+        // |this| = 10^log10, the decimal mantissa is 10^(log10 - floor(log10))
+        double log10 = Math.log10(Math.abs(mantissa)) + exponent * Math.log10(2.0);
+        long decimalExponent = (long) Math.floor(log10);
+        double decimalMantissa = Math.pow(10.0, log10 - decimalExponent);
+        if (decimalMantissa >= 10.0) {
+            decimalMantissa /= 10.0;
+            decimalExponent++;
+        }
+        return (mantissa < 0.0 ? "-" : "") + decimalMantissa + "e" + decimalExponent;
+    }
+}
@@ -11,26 +11,92 @@ import java.util.Objects;
  * <p>
  * where: {@code c1} and  {@code c2} parameters {(@code c1} and  {@code c2} are complex number).
  * <p>
+ * The function is calculated in the canonical form {@code G(w) = w^2 + c} with the change of variables {@code w = z +
+ * c1 / 2}, where {@code c = c2 + c1 / 2 - c1^2 / 4}, so the iteration doesn't need multiplication by {@code c1}. The
+ * bound of the orbit is the same: the point {@code z = w - c1 / 2} must be inside the circle with radius {@code
+ * criticalR}. The numbers of the iterations are same as for {@code F(z)} up to rounding errors of the change of
+ * variables (if {@code c1} is zero, they are equal).
+ * <p>
+ * If the function has the attracting cycle, it's found once by the constructor (the cycle attracts the orbit of the
+ * critical point {@code w = 0}, then the point of the cycle is refined by the Newton's method for {@code G^p(w) = w},
+ * where {@code p} is the period). The orbits of all points of the interior of the set converge to the cycle, so the
+ * iteration of the point is stopped as soon as the orbit enters the neighborhood of the point of the cycle, which is
+ * mapped into itself by {@code G^p} (it's checked on the points of its boundary), instead of {@code maxIter}
+ * iterations. The points of the attracting cycles (interior of the set) can be also detected with the periodicity
+ * check of the orbits.
+ * <p>
  * The objects of this class are immutable.
  *
  * @author Kochin Konstantin Alexandrovich
  */
 public final class JuliaSet extends ComplexFractal {
+    /**
+     * Number of the lanes of the lane kernel.
+     */
+    private static final int laneWidth = 8;
+    /**
+     * Degree of the function of the fractal.
+     */
+    private static final double degree = 2.0;
+    /**
+     * Number of the iterations of the critical point before the search of the attracting cycle.
+     */
+    private static final int cycleTransient = 4096;
+    /**
+     * Maximum period of the attracting cycle, which can be found.
+     */
+    private static final int maxCyclePeriod = 1024;
+    /**
+     * Maximum distance of the orbit of the critical point from the point of the cycle after {@link #cycleTransient}
+     * iterations relative to {@code 1 + |w|}.
+     */
+    private static final double cycleTolerance = 1e-6;
+    /**
+     * Number of the points of the boundary of the neighborhood of the cycle, which are checked.
+     */
+    private static final int cycleCheckPoints = 64;
+
     private ComplexNumber c1;
     private ComplexNumber c2;
+    // canonical form: shift of the variable (c1 / 2) and parameter c
+    private double shiftRe;
+    private double shiftIm;
+    private double cRe;
+    private double cIm;
+    // attracting cycle of the canonical form: point of the cycle, square of the radius of its neighborhood in the
+    // basin of the cycle (0.0 if the cycle isn't found) and period (0 if the cycle isn't found)
+    private double cycleRe;
+    private double cycleIm;
+    private double cycleR2;
+    private int cyclePeriod;
 
     /**
      * Constructor.
      *
+     * @param c1               coefficient c1
+     * @param c2               coefficient c2
+     * @param maxIter          maximum number of the iteration
+     * @param criticalR        radius of the bound
+     * @param periodicityCheck if it's true, the periodicity check of the orbits is used
+     */
+    public JuliaSet(ComplexNumber c1, ComplexNumber c2, int maxIter, double criticalR, boolean periodicityCheck) {
+        super(maxIter, criticalR, periodicityCheck);
+        setC1(c1);
+        setC2(c2);
+        setCanonicalForm();
+        setAttractingCycle();
+    }
+
+    /**
+     * Constructor. The periodicity check of the orbits isn't used.
+     *
      * @param c1        coefficient c1
      * @param c2        coefficient c2
      * @param maxIter   maximum number of the iteration
      * @param criticalR radius of the bound
      */
     public JuliaSet(ComplexNumber c1, ComplexNumber c2, int maxIter, double criticalR) {
-        super(maxIter, criticalR);
-        setC1(c1);
-        setC2(c2);
+        this(c1, c2, maxIter, criticalR, false);
     }
 
     /**
@@ -40,10 +106,12 @@ public final class JuliaSet extends ComplexFractal {
      * <p>
      * {@code matIter = 1024},
      * <p>
-     * {@code criticalR = 2.0}
+     * {@code criticalR = 2.0},
+     * <p>
+     * the periodicity check is used.
      */
     public JuliaSet() {
-        this(new ComplexNumber(0.0, 0.0), new ComplexNumber(-0.8, 0.2), 1024, 2.0);
+        this(new ComplexNumber(0.0, 0.0), new ComplexNumber(-0.8, 0.2), 1024, 2.0, true);
     }
 
 
@@ -53,28 +121,891 @@ public final class JuliaSet extends ComplexFractal {
     @Override
     public int numberIter(Point2D p) {
         Objects.requireNonNull(p, "p is null");
+        return numberIter(p.getX(), p.getY(), getMaxIter(), getCriticalR() * getCriticalR(), getPeriodicityTolerance2(0.0, 0.0), null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double smoothNumberIter(Point2D p) {
+        Objects.requireNonNull(p, "p is null");
+        double[] squareAbs = new double[1];
+        int iter = numberIter(p.getX(), p.getY(), getMaxIter(), getCriticalR() * getCriticalR(), getPeriodicityTolerance2(0.0, 0.0), squareAbs);
+        return normalizeNumberIter(iter, squareAbs[0], degree);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIter(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegment(x0, y0, dx, dy, iters, null, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIter(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegment(x0, y0, dx, dy, null, values, from, to);
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIterLanes(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegmentLanes(x0, y0, dx, dy, iters, null, from, to, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIterLanes(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegmentLanes(x0, y0, dx, dy, null, values, from, to, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIterFloatLanes(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegmentLanes(x0, y0, dx, dy, iters, null, from, to, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIterFloatLanes(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegmentLanes(x0, y0, dx, dy, null, values, from, to, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIterDoubleDouble(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegmentDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, iters, null, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIterDoubleDouble(double x0, double x0Low, double y0, double y0Low, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegmentDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, null, values, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIterFixedPoint(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegmentFixedPoint(x0, x0Low, y0, y0Low, dx, dy, iters, null, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIterFixedPoint(double x0, double x0Low, double y0, double y0Low, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegmentFixedPoint(x0, x0Low, y0, y0Low, dx, dy, null, values, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The derivative {@code dz/dz0} is calculated with the orbit.
+     */
+    @Override
+    public DistanceEstimate distanceEstimate(Point2D p) {
+        Objects.requireNonNull(p, "p is null");
+        int[] iters = new int[1];
+        double[] distances = new double[1];
+        distanceEstimate(p.getX(), p.getY(), 0.0, 0.0, iters, distances, 0, 1);
+        return new DistanceEstimate(iters[0], distances[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The derivative {@code dz/dz0} is calculated with the orbit.
+     */
+    @Override
+    public void distanceEstimate(double x0, double y0, double dx, double dy, int[] iters, double[] distances, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        Objects.requireNonNull(distances, "distances is null");
+        int maxIter = getMaxIter();
+        double r2 = getCriticalR() * getCriticalR();
+        double periodicityTolerance2 = getPeriodicityTolerance2(dx, dy);
+        for (int i = from; i < to; i++) {
+            iters[i] = distanceEstimate(x0 + i * dx, y0 + i * dy, maxIter, r2, periodicityTolerance2, distances, i);
+        }
+    }
+
+    /**
+     * Checks the points of the segment. The results are stored to {@code iters}, if it isn't null, otherwise
+     * continuous numbers of the iteration are stored to {@code values}.
+     *
+     * @param x0     x coordinate of the point with index 0
+     * @param y0     y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     */
+    private void checkSegment(double x0, double y0, double dx, double dy, int[] iters, double[] values, int from, int to) {
         int maxIter = getMaxIter();
+        double r2 = getCriticalR() * getCriticalR();
+        double periodicityTolerance2 = getPeriodicityTolerance2(dx, dy);
+        double[] squareAbs = (iters != null ? null : new double[1]);
+        for (int i = from; i < to; i++) {
+            int iter = numberIter(x0 + i * dx, y0 + i * dy, maxIter, r2, periodicityTolerance2, squareAbs);
+            if (iters != null)
+                iters[i] = iter;
+            else
+                values[i] = normalizeNumberIter(iter, squareAbs[0], degree);
+        }
+    }
+
+    /**
+     * Checks the points of the segment using lanes. The results are stored to {@code iters}, if it isn't null, otherwise
+     * continuous numbers of the iteration are stored to {@code values}. If {@code single} is true, the points are
+     * checked with {@code float} (see {@link #round(double, boolean)}).
+     *
+     * @param x0     x coordinate of the point with index 0
+     * @param y0     y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     * @param single if it's true, single precision is used
+     */
+    private void checkSegmentLanes(double x0, double y0, double dx, double dy, int[] iters, double[] values, int from, int to, boolean single) {
+        int maxIter = getMaxIter();
+        double r2 = round(getCriticalR() * getCriticalR(), single);
+        // canonical form of the function
+        double shiftRe = round(this.shiftRe, single);
+        double shiftIm = round(this.shiftIm, single);
+        double cRe = round(this.cRe, single);
+        double cIm = round(this.cIm, single);
+        // attracting cycle
+        double cycleRe = round(this.cycleRe, single);
+        double cycleIm = round(this.cycleIm, single);
+        double cycleR2 = round(this.cycleR2, single);
+        double periodicityTolerance2 = round(getPeriodicityTolerance2(dx, dy), single);
+        boolean periodicityCheck = periodicityTolerance2 > 0.0;
+        // state of the lanes: index of the point (-1 if lane is empty), current point w and number of iterations
+        int[] index = new int[laneWidth];
+        double[] wRe = new double[laneWidth];
+        double[] wIm = new double[laneWidth];
+        int[] iter = new int[laneWidth];
+        // state of the periodicity check of the lanes
+        double[] savedRe = new double[laneWidth];
+        double[] savedIm = new double[laneWidth];
+        int[] steps = new int[laneWidth];
+        int[] checkPeriod = new int[laneWidth];
+
+        // load first points to the lanes
+        int next = from;
+        int activeLanes = 0;
+        for (int l = 0; l < laneWidth; l++) {
+            if (next < to) {
+                index[l] = next;
+                wRe[l] = round(round(x0 + next * dx, single) + shiftRe, single);
+                wIm[l] = round(round(y0 + next * dy, single) + shiftIm, single);
+                iter[l] = 1;
+                savedRe[l] = Double.NaN;
+                savedIm[l] = Double.NaN;
+                steps[l] = 0;
+                checkPeriod[l] = 1;
+                next++;
+                activeLanes++;
+            } else {
+                index[l] = -1;
+            }
+        }
+
+        // iterate the lanes until all points are checked
+        while (activeLanes > 0) {
+            for (int l = 0; l < laneWidth; l++) {
+                if (index[l] < 0)
+                    continue;
+                double re = wRe[l];
+                double im = wIm[l];
+                // square of the absolute value of z = w - c1 / 2 (the bound is checked for z), squares of the
+                // distances to the attracting cycle and to the saved point and the next point w = c + w^2 (the
+                // precision is checked once per iteration)
+                double squareAbs;
+                double cycleDistance2;
+                double savedDistance2;
+                double nextRe;
+                double nextIm;
+                if (single) {
+                    float fRe = (float) re;
+                    float fIm = (float) im;
+                    float zRe = fRe - (float) shiftRe;
+                    float zIm = fIm - (float) shiftIm;
+                    float cycleDRe = fRe - (float) cycleRe;
+                    float cycleDIm = fIm - (float) cycleIm;
+                    float dRe = fRe - (float) savedRe[l];
+                    float dIm = fIm - (float) savedIm[l];
+                    float tmp = fRe * fIm;
+                    squareAbs = zRe * zRe + zIm * zIm;
+                    cycleDistance2 = cycleDRe * cycleDRe + cycleDIm * cycleDIm;
+                    savedDistance2 = dRe * dRe + dIm * dIm;
+                    nextRe = (float) cRe + (fRe * fRe - fIm * fIm);
+                    nextIm = (float) cIm + (tmp + tmp);
+                } else {
+                    double zRe = re - shiftRe;
+                    double zIm = im - shiftIm;
+                    double cycleDRe = re - cycleRe;
+                    double cycleDIm = im - cycleIm;
+                    double dRe = re - savedRe[l];
+                    double dIm = im - savedIm[l];
+                    double tmp = re * im;
+                    squareAbs = zRe * zRe + zIm * zIm;
+                    cycleDistance2 = cycleDRe * cycleDRe + cycleDIm * cycleDIm;
+                    savedDistance2 = dRe * dRe + dIm * dIm;
+                    nextRe = cRe + (re * re - im * im);
+                    nextIm = cIm + (tmp + tmp);
+                }
+                boolean interior = false;
+                if (iter[l] < maxIter && squareAbs < r2) {
+                    if (cycleDistance2 < cycleR2) {
+                        // the orbit has entered the neighborhood of the attracting cycle
+                        interior = true;
+                    } else if (periodicityCheck) {
+                        if (savedDistance2 < periodicityTolerance2) {
+                            interior = true;
+                        } else if (++steps[l] >= checkPeriod[l]) {
+                            steps[l] = 0;
+                            checkPeriod[l] <<= 1;
+                            savedRe[l] = re;
+                            savedIm[l] = im;
+                        }
+                    }
+                    if (!interior) {
+                        wRe[l] = nextRe;
+                        wIm[l] = nextIm;
+                        iter[l]++;
+                        continue;
+                    }
+                }
+                // store result and load next point to the lane
+                int result = (interior || squareAbs < r2 ? 0 : iter[l]);
+                if (iters != null)
+                    iters[index[l]] = result;
+                else
+                    values[index[l]] = normalizeNumberIter(result, squareAbs, degree);
+                if (next < to) {
+                    index[l] = next;
+                    wRe[l] = round(round(x0 + next * dx, single) + shiftRe, single);
+                    wIm[l] = round(round(y0 + next * dy, single) + shiftIm, single);
+                    iter[l] = 1;
+                    savedRe[l] = Double.NaN;
+                    savedIm[l] = Double.NaN;
+                    steps[l] = 0;
+                    checkPeriod[l] = 1;
+                    next++;
+                } else {
+                    index[l] = -1;
+                    activeLanes--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the points of the segment with double-double precision. The results are stored to {@code iters}, if it
+     * isn't null, otherwise continuous numbers of the iteration are stored to {@code values}.
+     *
+     * @param x0     high part of the x coordinate of the point with index 0
+     * @param x0Low  low part of the x coordinate of the point with index 0
+     * @param y0     high part of the y coordinate of the point with index 0
+     * @param y0Low  low part of the y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     */
+    private void checkSegmentDoubleDouble(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, double[] values, int from, int to) {
+        int maxIter = getMaxIter();
+        double r2 = getCriticalR() * getCriticalR();
+        double periodicityTolerance2 = getPeriodicityTolerance2(dx, dy);
+        // canonical form of the function
+        double shiftRe = this.shiftRe;
+        double shiftIm = this.shiftIm;
+        ComplexDoubleDouble c = new ComplexDoubleDouble(cRe, cIm);
+        ComplexDoubleDouble w = new ComplexDoubleDouble();
+        ComplexDoubleDouble saved = new ComplexDoubleDouble();
+        for (int i = from; i < to; i++) {
+            // w = z + c1 / 2
+            w.assign(x0, x0Low, y0, y0Low).addAndAsg(i * dx, i * dy).addAndAsg(shiftRe, shiftIm);
+            // 1 - special case for point outside of the bound
+            int iter = 1;
+            // state of the periodicity check (see numberIter)
+            saved.assign(Double.NaN, 0.0, Double.NaN, 0.0);
+            int steps = 0;
+            int checkPeriod = 1;
+            double zRe = w.getReal() - shiftRe;
+            double zIm = w.getImag() - shiftIm;
+            while (iter < maxIter && zRe * zRe + zIm * zIm < r2) {
+                double cycleDRe = w.getReal() - cycleRe;
+                double cycleDIm = w.getImag() - cycleIm;
+                // the orbit has entered the neighborhood of the attracting cycle
+                if (cycleDRe * cycleDRe + cycleDIm * cycleDIm < cycleR2) {
+                    iter = maxIter;
+                    break;
+                }
+                if (periodicityTolerance2 > 0.0) {
+                    if (w.squareDistance(saved) < periodicityTolerance2) {
+                        iter = maxIter;
+                        break;
+                    }
+                    if (++steps >= checkPeriod) {
+                        steps = 0;
+                        checkPeriod <<= 1;
+                        saved.assign(w);
+                    }
+                }
+                // w = c + w^2
+                w.sqrAndAsg().addAndAsg(c);
+                zRe = w.getReal() - shiftRe;
+                zIm = w.getImag() - shiftIm;
+                iter++;
+            }
+            double squareAbs = zRe * zRe + zIm * zIm;
+            if (squareAbs < r2)
+                iter = 0;
+            if (iters != null)
+                iters[i] = iter;
+            else
+                values[i] = normalizeNumberIter(iter, squareAbs, degree);
+        }
+    }
+
+    /**
+     * Checks the points of the segment with 128-bit fixed-point precision. The results are stored to {@code iters}, if
+     * it isn't null, otherwise continuous numbers of the iteration are stored to {@code values}.
+     * <p>
+     * The points {@code z} of the orbit are inside the bound, so {@code |w| < criticalR + |c1 / 2|} and the parts of
+     * {@code w^2 + c} are less than {@code (criticalR + |c1 / 2|)^2 + |c|}. If it isn't less than {@link
+     * ComplexFixedPoint#maxAbs}, the segment is checked with double-double precision. The points outside of the square
+     * {@code |x| < criticalR, |y| < criticalR} are outside of the bound, they are checked with double-double precision
+     * too.
+     *
+     * @param x0     high part of the x coordinate of the point with index 0
+     * @param x0Low  low part of the x coordinate of the point with index 0
+     * @param y0     high part of the y coordinate of the point with index 0
+     * @param y0Low  low part of the y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     */
+    private void checkSegmentFixedPoint(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, double[] values, int from, int to) {
+        double r = getCriticalR();
+        double maxW = r + Math.hypot(shiftRe, shiftIm);
+        if (!(maxW * maxW + Math.hypot(cRe, cIm) < ComplexFixedPoint.maxAbs)) {
+            checkSegmentDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, iters, values, from, to);
+            return;
+        }
+        int maxIter = getMaxIter();
+        double r2 = r * r;
+        double periodicityTolerance2 = getPeriodicityTolerance2(dx, dy);
+        // canonical form of the function
+        double shiftRe = this.shiftRe;
+        double shiftIm = this.shiftIm;
+        ComplexFixedPoint c = new ComplexFixedPoint(cRe, cIm);
+        ComplexFixedPoint w = new ComplexFixedPoint();
+        ComplexFixedPoint saved = new ComplexFixedPoint();
+        for (int i = from; i < to; i++) {
+            if (!(Math.abs(x0 + i * dx) < r && Math.abs(y0 + i * dy) < r)) {
+                checkSegmentDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, iters, values, i, i + 1);
+                continue;
+            }
+            // w = z + c1 / 2
+            w.assign(x0, x0Low, y0, y0Low).addAndAsg(i * dx, i * dy).addAndAsg(shiftRe, shiftIm);
+            // 1 - special case for point outside of the bound
+            int iter = 1;
+            // state of the periodicity check (see numberIter)
+            boolean saving = false;
+            int steps = 0;
+            int checkPeriod = 1;
+            double zRe = w.getReal() - shiftRe;
+            double zIm = w.getImag() - shiftIm;
+            while (iter < maxIter && zRe * zRe + zIm * zIm < r2) {
+                double cycleDRe = w.getReal() - cycleRe;
+                double cycleDIm = w.getImag() - cycleIm;
+                // the orbit has entered the neighborhood of the attracting cycle
+                if (cycleDRe * cycleDRe + cycleDIm * cycleDIm < cycleR2) {
+                    iter = maxIter;
+                    break;
+                }
+                if (periodicityTolerance2 > 0.0) {
+                    if (saving && w.squareDistance(saved) < periodicityTolerance2) {
+                        iter = maxIter;
+                        break;
+                    }
+                    if (++steps >= checkPeriod) {
+                        steps = 0;
+                        checkPeriod <<= 1;
+                        saved.assign(w);
+                        saving = true;
+                    }
+                }
+                // w = c + w^2
+                w.sqrAndAsg().addAndAsg(c);
+                zRe = w.getReal() - shiftRe;
+                zIm = w.getImag() - shiftIm;
+                iter++;
+            }
+            double squareAbs = zRe * zRe + zIm * zIm;
+            if (squareAbs < r2)
+                iter = 0;
+            if (iters != null)
+                iters[i] = iter;
+            else
+                values[i] = normalizeNumberIter(iter, squareAbs, degree);
+        }
+    }
+
+    /**
+     * Checks that point belongs the fractal.
+     *
+     * @param x             x coordinate of the point
+     * @param y             y coordinate of the point
+     * @param maxIter       maximum number of the iteration
+     * @param r2            square of the radius of the bound
+     * @param tol2          square of the tolerance of the periodicity check ({@code 0.0} if the check isn't used)
+     * @param lastSquareAbs array for square of the absolute value of the first point of the orbit outside of the bound
+     *                      (it's stored to the element with index 0, if the array isn't null and the point doesn't
+     *                      belong to the fractal)
+     * @return {@code 0} if the point belongs to the fractal, otherwise number of iterations
+     */
+    private int numberIter(double x, double y, int maxIter, double r2, double tol2, double[] lastSquareAbs) {
         // 1 - special case for point outside of the bound
         int iter = 1;
-        double r2 = getCriticalR() * getCriticalR();
-        ComplexNumber z = new ComplexNumber(p.getX(), p.getY());
-        ComplexNumber zPow2 = new ComplexNumber();
-        ComplexNumber zPow1 = new ComplexNumber();
+        // canonical form of the function
+        double shiftRe = this.shiftRe;
+        double shiftIm = this.shiftIm;
+        double cRe = this.cRe;
+        double cIm = this.cIm;
+        // attracting cycle
+        double cycleRe = this.cycleRe;
+        double cycleIm = this.cycleIm;
+        double cycleR2 = this.cycleR2;
+        // current point w and point z = w - c1 / 2 (real and imaginary part are kept in the local variables without
+        // creating ComplexNumber)
+        double wRe = x + shiftRe;
+        double wIm = y + shiftIm;
+        double zRe = wRe - shiftRe;
+        double zIm = wIm - shiftIm;
+        // state of the periodicity check: saved point of the orbit, number of the iterations since saving and interval
+        // between savings
+        double savedRe = Double.NaN;
+        double savedIm = Double.NaN;
+        int steps = 0;
+        int checkPeriod = 1;
 
         // test point
-        while (iter < maxIter && z.squareAbs() < r2) {
-            zPow2.assign(z).mulAndAsg(z);
-            zPow1.assign(z).mulAndAsg(c1);
-            z.assign(c2).addAndAsg(zPow1).addAndAsg(zPow2);
+        while (iter < maxIter && zRe * zRe + zIm * zIm < r2) {
+            double cycleDRe = wRe - cycleRe;
+            double cycleDIm = wIm - cycleIm;
+            // the orbit has entered the neighborhood of the attracting cycle, so it doesn't leave the bound
+            if (cycleDRe * cycleDRe + cycleDIm * cycleDIm < cycleR2)
+                return 0;
+            if (tol2 > 0.0) {
+                double dRe = wRe - savedRe;
+                double dIm = wIm - savedIm;
+                // the orbit has returned to the saved point, so it's periodic and doesn't leave the bound
+                if (dRe * dRe + dIm * dIm < tol2)
+                    return 0;
+                if (++steps >= checkPeriod) {
+                    steps = 0;
+                    checkPeriod <<= 1;
+                    savedRe = wRe;
+                    savedIm = wIm;
+                }
+            }
+            // w = c + w^2
+            double tmp = wRe * wIm;
+            wRe = cRe + (wRe * wRe - wIm * wIm);
+            wIm = cIm + (tmp + tmp);
+            zRe = wRe - shiftRe;
+            zIm = wIm - shiftIm;
             iter++;
         }
-        if (z.squareAbs() < r2) {
+        double squareAbs = zRe * zRe + zIm * zIm;
+        if (squareAbs < r2) {
             iter = 0;
+        } else if (lastSquareAbs != null) {
+            lastSquareAbs[0] = squareAbs;
         }
         return iter;
     }
 
+    /**
+     * Checks that point belongs the fractal and estimates the distance from the point to the fractal. The orbit is
+     * iterated with the derivative {@code dz/dz0} (it's same as the derivative of {@code w}): {@code dz = 2 * w * dz}.
+     * After leaving the bound the orbit is iterated until it goes far outside of the bound (see {@link
+     * DistanceEstimate#estimateR2}), so the estimate is accurate, but the number of the iteration is same as in {@link
+     * #numberIter(double, double, int, double, double, double[])}.
+     *
+     * @param x         x coordinate of the point
+     * @param y         y coordinate of the point
+     * @param maxIter   maximum number of the iteration
+     * @param r2        square of the radius of the bound
+     * @param tol2      square of the tolerance of the periodicity check ({@code 0.0} if the check isn't used)
+     * @param distances array for estimates of the distance
+     * @param index     index of the estimate of the point in {@code distances}
+     * @return {@code 0} if the point belongs to the fractal, otherwise number of iterations
+     */
+    private int distanceEstimate(double x, double y, int maxIter, double r2, double tol2, double[] distances, int index) {
+        // 1 - special case for point outside of the bound
+        int iter = 1;
+        // canonical form of the function
+        double shiftRe = this.shiftRe;
+        double shiftIm = this.shiftIm;
+        double cRe = this.cRe;
+        double cIm = this.cIm;
+        // attracting cycle
+        double cycleRe = this.cycleRe;
+        double cycleIm = this.cycleIm;
+        double cycleR2 = this.cycleR2;
+        // current point w, point z = w - c1 / 2 and derivative dz/dz0
+        double wRe = x + shiftRe;
+        double wIm = y + shiftIm;
+        double zRe = wRe - shiftRe;
+        double zIm = wIm - shiftIm;
+        double dzRe = 1.0;
+        double dzIm = 0.0;
+        // state of the periodicity check
+        double savedRe = Double.NaN;
+        double savedIm = Double.NaN;
+        int steps = 0;
+        int checkPeriod = 1;
+
+        // test point
+        while (iter < maxIter && zRe * zRe + zIm * zIm < r2) {
+            double cycleDRe = wRe - cycleRe;
+            double cycleDIm = wIm - cycleIm;
+            // the orbit has entered the neighborhood of the attracting cycle, so it doesn't leave the bound
+            if (cycleDRe * cycleDRe + cycleDIm * cycleDIm < cycleR2) {
+                distances[index] = 0.0;
+                return 0;
+            }
+            if (tol2 > 0.0) {
+                double dRe = wRe - savedRe;
+                double dIm = wIm - savedIm;
+                // the orbit has returned to the saved point, so it's periodic and doesn't leave the bound
+                if (dRe * dRe + dIm * dIm < tol2) {
+                    distances[index] = 0.0;
+                    return 0;
+                }
+                if (++steps >= checkPeriod) {
+                    steps = 0;
+                    checkPeriod <<= 1;
+                    savedRe = wRe;
+                    savedIm = wIm;
+                }
+            }
+            // dz = 2 * w * dz
+            double tmpDzRe = 2.0 * (wRe * dzRe - wIm * dzIm);
+            dzIm = 2.0 * (wRe * dzIm + wIm * dzRe);
+            dzRe = tmpDzRe;
+            // w = c + w^2
+            double tmp = wRe * wIm;
+            wRe = cRe + (wRe * wRe - wIm * wIm);
+            wIm = cIm + (tmp + tmp);
+            zRe = wRe - shiftRe;
+            zIm = wIm - shiftIm;
+            iter++;
+        }
+        if (zRe * zRe + zIm * zIm < r2) {
+            distances[index] = 0.0;
+            return 0;
+        }
+        // the orbit goes far outside of the bound for the accurate estimate
+        double squareAbs = wRe * wRe + wIm * wIm;
+        for (int k = 0; k < DistanceEstimate.maxEstimateIter && squareAbs < DistanceEstimate.estimateR2; k++) {
+            double tmpDzRe = 2.0 * (wRe * dzRe - wIm * dzIm);
+            dzIm = 2.0 * (wRe * dzIm + wIm * dzRe);
+            dzRe = tmpDzRe;
+            double tmp = wRe * wIm;
+            wRe = cRe + (wRe * wRe - wIm * wIm);
+            wIm = cIm + (tmp + tmp);
+            squareAbs = wRe * wRe + wIm * wIm;
+        }
+        distances[index] = DistanceEstimate.estimate(squareAbs, dzRe * dzRe + dzIm * dzIm);
+        return iter;
+    }
+
+    /**
+     * Calculates the shift of the variable and the parameter {@code c} of the canonical form {@code w^2 + c}.
+     */
+    private void setCanonicalForm() {
+        shiftRe = c1.getReal() / 2.0;
+        shiftIm = c1.getImag() / 2.0;
+        // c = c2 + c1 / 2 - (c1 / 2)^2
+        cRe = c2.getReal() + shiftRe - (shiftRe * shiftRe - shiftIm * shiftIm);
+        cIm = c2.getImag() + shiftIm - (shiftRe * shiftIm + shiftIm * shiftRe);
+    }
+
+    /**
+     * Finds the attracting cycle of the canonical form {@code G(w) = w^2 + c} and the neighborhood of its point, which
+     * belongs to the basin of the cycle. The cycle attracts the orbit of the critical point {@code w = 0}, so after
+     * {@link #cycleTransient} iterations this orbit must be within {@link #cycleTolerance} (relative to {@code 1 + |w|})
+     * of the point of the cycle, and it returns within the doubled tolerance after the period and its multiples. The
+     * period is the smallest of these returns, for which the Newton's method for {@code G^p(w) - w = 0} converges, so
+     * the period is tried before its multiples. The cycle is attracting, if its multiplier {@code (G^p)'(w)} is less
+     * than 1 by the absolute value. The radius of the neighborhood is halved until {@code G^p} maps the points of its
+     * boundary into the circle with the radius {@code (1 + |multiplier|) / 2} of it, and half of this radius is used
+     * for the margin. The cycle isn't found, if the orbit of the critical point escapes or the refined point isn't
+     * within the tolerance of the orbit (the multiplier is close to 1, so the orbit converges too slowly, and its
+     * returns don't define the period).
+     */
+    private void setAttractingCycle() {
+        cycleRe = 0.0;
+        cycleIm = 0.0;
+        cycleR2 = 0.0;
+        cyclePeriod = 0;
+        // the orbit outside of the circle with the radius 1/2 + sqrt(1/4 + |c|) escapes
+        double escapeR = 0.5 + Math.sqrt(0.25 + Math.hypot(cRe, cIm));
+        double escapeR2 = escapeR * escapeR;
+
+        // orbit of the critical point
+        double re = 0.0;
+        double im = 0.0;
+        for (int k = 0; k < cycleTransient; k++) {
+            double tmp = re * im;
+            re = cRe + (re * re - im * im);
+            im = cIm + (tmp + tmp);
+            if (!(re * re + im * im <= escapeR2))
+                return;
+        }
+
+        // period of the cycle: the smallest return of the orbit, for which the Newton's method converges
+        double startRe = re;
+        double startIm = im;
+        double scale = 1.0 + Math.hypot(startRe, startIm);
+        double maxReturn = 2.0 * cycleTolerance * scale;
+        double[] point = new double[2];
+        int period = 0;
+        for (int p = 1; p <= maxCyclePeriod && period == 0; p++) {
+            double tmp = re * im;
+            re = cRe + (re * re - im * im);
+            im = cIm + (tmp + tmp);
+            if (Math.hypot(re - startRe, im - startIm) < maxReturn && refineCycle(startRe, startIm, p, point))
+                period = p;
+        }
+        if (period == 0)
+            return;
+        re = point[0];
+        im = point[1];
+        // the orbit hasn't converged to the cycle
+        if (!(Math.hypot(re - startRe, im - startIm) < cycleTolerance * scale))
+            return;
+
+        // multiplier of the cycle
+        double[] value = new double[4];
+        iterateCycle(re, im, period, value);
+        double multiplier = Math.hypot(value[2], value[3]);
+        if (!(multiplier < 1.0))
+            return;
+
+        // neighborhood of the point of the cycle, which is mapped into itself
+        double contraction = 0.5 * (1.0 + multiplier);
+        for (double r = 0.5; r > 1e-12; r *= 0.5) {
+            if (isMappedInto(re, im, r, period, contraction)) {
+                cycleRe = re;
+                cycleIm = im;
+                cycleR2 = 0.25 * r * r;
+                cyclePeriod = period;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Refines the point of the cycle by the Newton's method {@code w = w - (G^p(w) - w) / ((G^p)'(w) - 1)}.
+     *
+     * @param re     real part of the initial point
+     * @param im     imaginary part of the initial point
+     * @param period period of the cycle {@code p}
+     * @param point  array for real and imaginary parts of the refined point
+     * @return true, if the method has converged
+     */
+    private boolean refineCycle(double re, double im, int period, double[] point) {
+        double[] value = new double[4];
+        for (int k = 0; k < 64; k++) {
+            iterateCycle(re, im, period, value);
+            double fRe = value[0] - re;
+            double fIm = value[1] - im;
+            double dfRe = value[2] - 1.0;
+            double dfIm = value[3];
+            double squareAbsDf = dfRe * dfRe + dfIm * dfIm;
+            if (!(squareAbsDf > 0.0))
+                return false;
+            double deltaRe = (fRe * dfRe + fIm * dfIm) / squareAbsDf;
+            double deltaIm = (fIm * dfRe - fRe * dfIm) / squareAbsDf;
+            re -= deltaRe;
+            im -= deltaIm;
+            // the step is comparable with the rounding errors
+            if (Math.hypot(deltaRe, deltaIm) <= 1e-14 * (1.0 + Math.hypot(re, im))) {
+                point[0] = re;
+                point[1] = im;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calculates {@code G^p(w)} and its derivative {@code (G^p)'(w)}, which is product of {@code 2 * w} for the
+     * points of the orbit.
+     *
+     * @param re     real part of w
+     * @param im     imaginary part of w
+     * @param period number of the iterations {@code p}
+     * @param value  array for real and imaginary parts of {@code G^p(w)} and of the derivative
+     */
+    private void iterateCycle(double re, double im, int period, double[] value) {
+        double dRe = 1.0;
+        double dIm = 0.0;
+        for (int k = 0; k < period; k++) {
+            double tmpDRe = 2.0 * (re * dRe - im * dIm);
+            dIm = 2.0 * (re * dIm + im * dRe);
+            dRe = tmpDRe;
+            double tmp = re * im;
+            re = cRe + (re * re - im * im);
+            im = cIm + (tmp + tmp);
+        }
+        value[0] = re;
+        value[1] = im;
+        value[2] = dRe;
+        value[3] = dIm;
+    }
+
+    /**
+     * Checks that {@code G^p} maps the points of the circle with the radius {@code r} around the point of the cycle
+     * into the circle with the radius {@code contraction * r}.
+     *
+     * @param re          real part of the point of the cycle
+     * @param im          imaginary part of the point of the cycle
+     * @param r           radius of the circle
+     * @param period      period of the cycle
+     * @param contraction ratio of the radii of the circles
+     * @return true, if all checked points are mapped into the circle
+     */
+    private boolean isMappedInto(double re, double im, double r, int period, double contraction) {
+        double[] value = new double[4];
+        double maxR2 = contraction * contraction * r * r;
+        for (int k = 0; k < cycleCheckPoints; k++) {
+            double angle = 2.0 * Math.PI * k / cycleCheckPoints;
+            iterateCycle(re + r * Math.cos(angle), im + r * Math.sin(angle), period, value);
+            double dRe = value[0] - re;
+            double dIm = value[1] - im;
+            if (!(dRe * dRe + dIm * dIm < maxR2))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets real part of the shift of the variable of the canonical form ({@code c1 / 2}).
+     *
+     * @return real part of the shift
+     */
+    double getShiftRe() {
+        return shiftRe;
+    }
+
+    /**
+     * Gets imaginary part of the shift of the variable of the canonical form ({@code c1 / 2}).
+     *
+     * @return imaginary part of the shift
+     */
+    double getShiftIm() {
+        return shiftIm;
+    }
+
+    /**
+     * Gets real part of the parameter {@code c} of the canonical form.
+     *
+     * @return real part of the parameter
+     */
+    double getCanonicalCRe() {
+        return cRe;
+    }
+
+    /**
+     * Gets imaginary part of the parameter {@code c} of the canonical form.
+     *
+     * @return imaginary part of the parameter
+     */
+    double getCanonicalCIm() {
+        return cIm;
+    }
+
+    /**
+     * Gets period of the attracting cycle of the canonical form.
+     *
+     * @return period of the cycle ({@code 0} if the cycle isn't found)
+     */
+    int getCyclePeriod() {
+        return cyclePeriod;
+    }
+
+    /**
+     * Gets real part of the point of the attracting cycle of the canonical form.
+     *
+     * @return real part of the point
+     */
+    double getCycleRe() {
+        return cycleRe;
+    }
+
+    /**
+     * Gets imaginary part of the point of the attracting cycle of the canonical form.
+     *
+     * @return imaginary part of the point
+     */
+    double getCycleIm() {
+        return cycleIm;
+    }
+
+    /**
+     * Gets radius of the neighborhood of the point of the attracting cycle, which belongs to the basin of the cycle.
+     *
+     * @return radius of the neighborhood ({@code 0.0} if the cycle isn't found)
+     */
+    double getCycleRadius() {
+        return Math.sqrt(cycleR2);
+    }
+
     /**
      * Gets copy of the coefficient c1.
      *
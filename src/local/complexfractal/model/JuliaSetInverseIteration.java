@@ -0,0 +1,248 @@
+package local.complexfractal.model;
+
+import local.complexfractal.util.Point2D;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code JuliaSetInverseIteration} finds the points of the boundary of the Julia set (the Julia set in the strict
+ * sense) using the modified inverse iteration method (MIIM). The points are got by the iterations of the inverse
+ * function {@code w = +-sqrt(w' - c)} of the canonical form (see {@link JuliaSet}) from the repelling fixed point, which
+ * belongs to the boundary. The inverse function is contracting near the boundary, so the preimages converge to the
+ * boundary, but they are distributed very unevenly. Hence the preimages of the point are calculated only if the pixel
+ * of the point has been hit less than {@code maxHits} times.
+ * <p>
+ * It's much faster than the checking of all points of the image, because only the pixels of the boundary are visited,
+ * but it doesn't give the numbers of the iteration (only the hits of the pixels). The points outside of the image are
+ * counted on the coarse grid over the disk, which contains the Julia set, so the parts of the boundary, that are visible
+ * only through the points outside of the image, may be covered worse at the deep zoom.
+ * <p>
+ * The subtrees of the preimages are processed in parallel. Objects of this class are immutable.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public final class JuliaSetInverseIteration {
+    /**
+     * Number of the cells of the side of the coarse grid for the points outside of the image.
+     */
+    private static final int coarseSize = 256;
+    /**
+     * Number of the levels of the preimages, which are calculated before the parallel processing of the subtrees.
+     */
+    private static final int parallelLevels = 8;
+    /**
+     * Maximum depth of the preimages.
+     */
+    private static final int maxDepth = 4096;
+
+    private final JuliaSet fractal;
+    private final int maxHits;
+
+    /**
+     * Constructor.
+     *
+     * @param fractal Julia set
+     * @param maxHits maximum number of the hits of the pixel, after which the preimages of the points of the pixel
+     *                aren't calculated
+     * @throws NullPointerException     if fractal is null
+     * @throws IllegalArgumentException if maxHits isn't positive
+     */
+    public JuliaSetInverseIteration(JuliaSet fractal, int maxHits) {
+        this.fractal = Objects.requireNonNull(fractal, "fractal is null");
+        if (maxHits <= 0)
+            throw new IllegalArgumentException("maxHits <= 0");
+        this.maxHits = maxHits;
+    }
+
+    /**
+     * Counts the hits of the pixels of the image by the points of the boundary of the Julia set. The pixel with
+     * coordinates {@code (i, j)} has the point {@code origin + i * stepX + j * stepY} on the complex plane (same as for
+     * the segments of {@link ComplexFractalChecker#numberIter(double, double, double, double, int[], int, int)}) and its
+     * hits are stored to {@code hits[j * w + i]} (it's zero, if the pixel doesn't contain the boundary, and not greater
+     * than {@code maxHits}).
+     *
+     * @param origin point of the pixel {@code (0, 0)}
+     * @param stepX  step between the neighboring pixels of the row
+     * @param stepY  step between the neighboring pixels of the column
+     * @param w      width of the image
+     * @param h      height of the image
+     * @param hits   array for the hits of the pixels (the size isn't less than {@code w * h})
+     * @throws NullPointerException     if origin, stepX, stepY or hits is null
+     * @throws IllegalArgumentException if w or h isn't positive, hits is too small or the steps are degenerate
+     */
+    public void countHits(Point2D origin, Point2D stepX, Point2D stepY, int w, int h, int[] hits) {
+        Objects.requireNonNull(origin, "origin is null");
+        Objects.requireNonNull(stepX, "stepX is null");
+        Objects.requireNonNull(stepY, "stepY is null");
+        Objects.requireNonNull(hits, "hits is null");
+        if (w <= 0 || h <= 0)
+            throw new IllegalArgumentException("w or h isn't positive");
+        if (hits.length < w * h)
+            throw new IllegalArgumentException("hits.length < w * h");
+        double det = stepX.getX() * stepY.getY() - stepY.getX() * stepX.getY();
+        if (!(Math.abs(det) > 0.0) || Double.isInfinite(det))
+            throw new IllegalArgumentException("steps are degenerate");
+
+        Grid grid = new Grid(origin, stepX, stepY, det, w, h);
+        // the first levels of the tree of the preimages are subtrees for parallel processing
+        double[] beta = repellingFixedPoint();
+        int numSeeds = 1 << parallelLevels;
+        double[] seedsRe = new double[numSeeds];
+        double[] seedsIm = new double[numSeeds];
+        seedsRe[0] = beta[0];
+        seedsIm[0] = beta[1];
+        for (int n = 1; n < numSeeds; n <<= 1) {
+            for (int k = 0; k < n; k++) {
+                double[] root = sqrt(seedsRe[k] - fractal.getCanonicalCRe(), seedsIm[k] - fractal.getCanonicalCIm());
+                seedsRe[k] = root[0];
+                seedsIm[k] = root[1];
+                seedsRe[k + n] = -root[0];
+                seedsIm[k + n] = -root[1];
+            }
+        }
+        IntStream.range(0, numSeeds).parallel().forEach(k -> traverse(seedsRe[k], seedsIm[k], grid));
+
+        for (int k = 0; k < w * h; k++)
+            hits[k] = grid.hits.get(k);
+    }
+
+    /**
+     * Gets repelling fixed point {@code beta = (1 + sqrt(1 - 4c)) / 2} of the canonical form, which belongs to the
+     * boundary of the Julia set for all {@code c}.
+     *
+     * @return real and imaginary parts of the fixed point
+     */
+    double[] repellingFixedPoint() {
+        double[] root = sqrt(1.0 - 4.0 * fractal.getCanonicalCRe(), -4.0 * fractal.getCanonicalCIm());
+        return new double[]{0.5 * (1.0 + root[0]), 0.5 * root[1]};
+    }
+
+    /**
+     * Calculates principal square root of the complex number.
+     *
+     * @param re real part of the number
+     * @param im imaginary part of the number
+     * @return real and imaginary parts of the square root
+     */
+    private static double[] sqrt(double re, double im) {
+        double abs = Math.hypot(re, im);
+        return new double[]{Math.sqrt(0.5 * (abs + re)), Math.copySign(Math.sqrt(0.5 * (abs - re)), im)};
+    }
+
+    /**
+     * Visits the subtree of the preimages of the point (depth-first).
+     *
+     * @param re   real part of the point of the canonical form
+     * @param im   imaginary part of the point of the canonical form
+     * @param grid hits of the pixels
+     */
+    private void traverse(double re, double im, Grid grid) {
+        double cRe = fractal.getCanonicalCRe();
+        double cIm = fractal.getCanonicalCIm();
+        // stack of the points (each visited point adds at most one point to the stack)
+        double[] stackRe = new double[maxDepth + 2];
+        double[] stackIm = new double[maxDepth + 2];
+        int[] stackDepth = new int[maxDepth + 2];
+        int size = 0;
+        stackRe[size] = re;
+        stackIm[size] = im;
+        stackDepth[size] = 0;
+        size++;
+        while (size > 0) {
+            size--;
+            double wRe = stackRe[size];
+            double wIm = stackIm[size];
+            int depth = stackDepth[size];
+            if (!grid.hit(wRe, wIm, maxHits) || depth >= maxDepth)
+                continue;
+            // preimages w = +-sqrt(w' - c)
+            double dRe = wRe - cRe;
+            double dIm = wIm - cIm;
+            double abs = Math.hypot(dRe, dIm);
+            double rootRe = Math.sqrt(0.5 * (abs + dRe));
+            double rootIm = Math.copySign(Math.sqrt(0.5 * (abs - dRe)), dIm);
+            stackRe[size] = rootRe;
+            stackIm[size] = rootIm;
+            stackDepth[size] = depth + 1;
+            size++;
+            stackRe[size] = -rootRe;
+            stackIm[size] = -rootIm;
+            stackDepth[size] = depth + 1;
+            size++;
+        }
+    }
+
+    /**
+     * Hits of the pixels of the image and of the cells of the coarse grid for the points outside of the image.
+     */
+    private final class Grid {
+        final AtomicIntegerArray hits;
+        final AtomicIntegerArray coarseHits = new AtomicIntegerArray(coarseSize * coarseSize);
+        // origin of the image in the coordinates of the canonical form and inverse matrix of the steps
+        final double originRe;
+        final double originIm;
+        final double invXX;
+        final double invXY;
+        final double invYX;
+        final double invYY;
+        final int w;
+        final int h;
+        // radius of the disk, which contains the Julia set
+        final double radius;
+
+        Grid(Point2D origin, Point2D stepX, Point2D stepY, double det, int w, int h) {
+            this.w = w;
+            this.h = h;
+            hits = new AtomicIntegerArray(w * h);
+            originRe = origin.getX() + fractal.getShiftRe();
+            originIm = origin.getY() + fractal.getShiftIm();
+            invXX = stepY.getY() / det;
+            invXY = -stepY.getX() / det;
+            invYX = -stepX.getY() / det;
+            invYY = stepX.getX() / det;
+            // |w| > R, where R = 1/2 + sqrt(1/4 + |c|), means |w^2 + c| > |w|
+            radius = 0.5 + Math.sqrt(0.25 + Math.hypot(fractal.getCanonicalCRe(), fractal.getCanonicalCIm()));
+        }
+
+        /**
+         * Adds hit of the point, if its pixel (or its cell of the coarse grid) has been hit less than {@code maxHits}
+         * times.
+         *
+         * @return true, if hit has been added
+         */
+        boolean hit(double re, double im, int maxHits) {
+            double dRe = re - originRe;
+            double dIm = im - originIm;
+            double u = Math.floor(invXX * dRe + invXY * dIm + 0.5);
+            double v = Math.floor(invYX * dRe + invYY * dIm + 0.5);
+            if (u >= 0 && u < w && v >= 0 && v < h)
+                return increment(hits, (int) v * w + (int) u, maxHits);
+            int i = cell(re);
+            int j = cell(im);
+            return increment(coarseHits, j * coarseSize + i, maxHits);
+        }
+
+        /**
+         * Gets index of the cell of the coarse grid for the coordinate.
+         */
+        private int cell(double coordinate) {
+            int index = (int) ((coordinate + radius) / (2.0 * radius) * coarseSize);
+            return Math.max(0, Math.min(coarseSize - 1, index));
+        }
+
+        /**
+         * Increments the element of the array, if it's less than {@code maxHits}.
+         */
+        private boolean increment(AtomicIntegerArray array, int index, int maxHits) {
+            int value;
+            do {
+                value = array.get(index);
+                if (value >= maxHits)
+                    return false;
+            } while (!array.compareAndSet(index, value, value + 1));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package local.complexfractal.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * A {@code JuliaSetPerturbation} checks the points of the {@link JuliaSet} for the deep zoom using the perturbation
+ * theory (see {@link QuadraticFractalPerturbation}). The orbit is calculated in the canonical form {@code w^2 + c} of
+ * the Julia set, the offset of the point from the center is added to the initial point {@code w}.
+ * <p>
+ * The objects of this class are thread-safe.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public final class JuliaSetPerturbation extends QuadraticFractalPerturbation {
+    private final JuliaSet fractal;
+
+    /**
+     * Constructor. It calculates the reference orbit of the center and the series approximation for the points inside
+     * the circle with radius {@code radius}. The step, the radius and the offsets of the points are given in units
+     * {@code 2^scaleExponent}, so the step can be less than the minimal {@code double} value.
+     *
+     * @param fractal       Julia set
+     * @param centerRe      real part of the center
+     * @param centerIm      imaginary part of the center
+     * @param step          step between the neighboring points (it defines the precision of the reference orbits)
+     * @param radius        radius of the series approximation ({@code 0.0} if the iterations aren't skipped)
+     * @param scaleExponent exponent of the units {@code 2^scaleExponent} of the step, the radius and the offsets
+     * @throws NullPointerException     if fractal, centerRe or centerIm is null
+     * @throws IllegalArgumentException if step isn't positive number or radius is negative or infinite
+     */
+    public JuliaSetPerturbation(JuliaSet fractal, BigDecimal centerRe, BigDecimal centerIm, double step, double radius, int scaleExponent) {
+        super(Objects.requireNonNull(fractal, "fractal is null"), centerRe, centerIm, step, radius, false,
+                fractal.getShiftRe(), fractal.getShiftIm(), fractal.getCanonicalCRe(), fractal.getCanonicalCIm(), scaleExponent);
+        this.fractal = fractal;
+    }
+
+    /**
+     * Constructor. It calculates the reference orbit of the center and the series approximation for the points inside
+     * the circle with radius {@code radius}.
+     *
+     * @param fractal  Julia set
+     * @param centerRe real part of the center
+     * @param centerIm imaginary part of the center
+     * @param step     step between the neighboring points (it defines the precision of the reference orbits)
+     * @param radius   radius of the series approximation ({@code 0.0} if the iterations aren't skipped)
+     * @throws NullPointerException     if fractal, centerRe or centerIm is null
+     * @throws IllegalArgumentException if step isn't positive number or radius is negative or infinite
+     */
+    public JuliaSetPerturbation(JuliaSet fractal, BigDecimal centerRe, BigDecimal centerIm, double step, double radius) {
+        this(fractal, centerRe, centerIm, step, radius, 0);
+    }
+
+    /**
+     * Constructor. It calculates the reference orbit of the center, the iterations aren't skipped.
+     *
+     * @param fractal  Julia set
+     * @param centerRe real part of the center
+     * @param centerIm imaginary part of the center
+     * @param step     step between the neighboring points (it defines the precision of the reference orbits)
+     * @throws NullPointerException     if fractal, centerRe or centerIm is null
+     * @throws IllegalArgumentException if step isn't positive number
+     */
+    public JuliaSetPerturbation(JuliaSet fractal, BigDecimal centerRe, BigDecimal centerIm, double step) {
+        this(fractal, centerRe, centerIm, step, 0.0);
+    }
+
+    /**
+     * Gets the Julia set.
+     *
+     * @return Julia set
+     */
+    public JuliaSet getFractal() {
+        return fractal;
+    }
+}
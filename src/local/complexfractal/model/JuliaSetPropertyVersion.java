@@ -77,7 +77,7 @@ public class JuliaSetPropertyVersion extends ComplexFractalPropertyVersion<Julia
     @Override
     public JuliaSet createComplexFractal() {
         try {
-            return new JuliaSet(ComplexNumber.valueOf(getC1()), ComplexNumber.valueOf(getC2()), parseMaxIter(), parseCriticalR());
+            return new JuliaSet(ComplexNumber.valueOf(getC1()), ComplexNumber.valueOf(getC2()), parseMaxIter(), parseCriticalR(), isPeriodicityCheck());
         } catch (IllegalStateException | NumberFormatException e) {
             throw new IllegalStateException("Uncorrected state of the fractal property.", e);
         }
@@ -3,23 +3,74 @@ package local.complexfractal.model;
 import local.complexfractal.util.Point2D;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A {@code MandelbrotSet} class checks belonging of a point to Mandelbrot set.
- * The objects of this class are immutable.
+ * <p>
+ * The points inside the main cardioid and the period-2 bulb belong to the set, so they can be checked without the
+ * iterations (if the radius of the bound isn't less than {@code 2.0}). This check can be disabled for comparing the
+ * results with the plain iterations. The number of the points, that have been checked this way, is counted. The other
+ * points of the set (for example, points of the minibrots) can be detected with the periodicity check of the orbits.
+ * <p>
+ * The objects of this class are immutable (except the counter of the points inside the main cardioid and the bulb).
  *
  * @author Kochin Konstantin Alexandrovich
  */
 public final class MandelbrotSet extends ComplexFractal {
+    /**
+     * Number of the lanes of the lane kernel.
+     */
+    private static final int laneWidth = 8;
+    /**
+     * Degree of the function of the fractal.
+     */
+    private static final double degree = 2.0;
+
+    /**
+     * Indicator that the points inside the main cardioid and the period-2 bulb are checked without the iterations.
+     */
+    private final boolean cardioidCheck;
+    /**
+     * Number of the points that have been checked as points inside the main cardioid or the period-2 bulb.
+     */
+    private final LongAdder numberCardioidPoints = new LongAdder();
 
     /**
      * Constructor.
      *
+     * @param maxIter          maximum number of the iteration
+     * @param criticalR        radius of the bound
+     * @param cardioidCheck    if it's true, the points inside the main cardioid and the period-2 bulb are checked
+     *                         without the iterations
+     * @param periodicityCheck if it's true, the periodicity check of the orbits is used
+     */
+    public MandelbrotSet(int maxIter, double criticalR, boolean cardioidCheck, boolean periodicityCheck) {
+        super(maxIter, criticalR, periodicityCheck);
+        this.cardioidCheck = cardioidCheck;
+    }
+
+    /**
+     * Constructor. The periodicity check of the orbits isn't used.
+     *
+     * @param maxIter       maximum number of the iteration
+     * @param criticalR     radius of the bound
+     * @param cardioidCheck if it's true, the points inside the main cardioid and the period-2 bulb are checked without
+     *                      the iterations
+     */
+    public MandelbrotSet(int maxIter, double criticalR, boolean cardioidCheck) {
+        this(maxIter, criticalR, cardioidCheck, false);
+    }
+
+    /**
+     * Constructor. The points inside the main cardioid and the period-2 bulb are checked without the iterations, the
+     * periodicity check of the orbits isn't used.
+     *
      * @param maxIter   maximum number of the iteration
      * @param criticalR radius of the bound
      */
     public MandelbrotSet(int maxIter, double criticalR) {
-        super(maxIter, criticalR);
+        this(maxIter, criticalR, true);
     }
 
 
@@ -28,10 +79,42 @@ public final class MandelbrotSet extends ComplexFractal {
      * <p>
      * {@code matIter = 1024},
      * <p>
-     * {@code criticalR = 2.0}
+     * {@code criticalR = 2.0},
+     * <p>
+     * the cardioid check and the periodicity check are used.
      */
     public MandelbrotSet() {
-        super(1024, 2.0);
+        this(1024, 2.0, true, true);
+    }
+
+    /**
+     * Checks that point is inside the main cardioid or the period-2 bulb of the Mandelbrot set.
+     *
+     * @param x x coordinate of the point
+     * @param y y coordinate of the point
+     * @return true, if point is inside the main cardioid or the period-2 bulb, otherwise false
+     */
+    private static boolean isInsideCardioidOrBulb(double x, double y) {
+        double y2 = y * y;
+        // period-2 bulb: circle with center -1 and radius 1/4
+        double xBulb = x + 1.0;
+        if (xBulb * xBulb + y2 < 0.0625)
+            return true;
+        // main cardioid: q * (q + (x - 1/4)) < y^2 / 4, where q = (x - 1/4)^2 + y^2
+        double xCardioid = x - 0.25;
+        double q = xCardioid * xCardioid + y2;
+        return q * (q + xCardioid) < 0.25 * y2;
+    }
+
+    /**
+     * Checks that the points inside the main cardioid and the period-2 bulb are checked without the iterations. It
+     * requires that the radius of the bound isn't less than {@code 2.0}, because the orbits of the points of the
+     * Mandelbrot set don't leave the circle with radius 2.0.
+     *
+     * @return true, if cardioid check is used
+     */
+    private boolean useCardioidCheck() {
+        return cardioidCheck && getCriticalR() >= 2.0;
     }
 
     /**
@@ -40,22 +123,614 @@ public final class MandelbrotSet extends ComplexFractal {
     @Override
     public int numberIter(Point2D p) {
         Objects.requireNonNull(p, "p is null");
+        if (useCardioidCheck() && isInsideCardioidOrBulb(p.getX(), p.getY())) {
+            numberCardioidPoints.increment();
+            return 0;
+        }
+        return numberIter(p.getX(), p.getY(), getMaxIter(), getCriticalR() * getCriticalR(), getPeriodicityTolerance2(0.0, 0.0), null);
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double smoothNumberIter(Point2D p) {
+        Objects.requireNonNull(p, "p is null");
+        if (useCardioidCheck() && isInsideCardioidOrBulb(p.getX(), p.getY())) {
+            numberCardioidPoints.increment();
+            return 0.0;
+        }
+        double[] squareAbs = new double[1];
+        int iter = numberIter(p.getX(), p.getY(), getMaxIter(), getCriticalR() * getCriticalR(), getPeriodicityTolerance2(0.0, 0.0), squareAbs);
+        return normalizeNumberIter(iter, squareAbs[0], degree);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIter(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegment(x0, y0, dx, dy, iters, null, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIter(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegment(x0, y0, dx, dy, null, values, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIterLanes(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegmentLanes(x0, y0, dx, dy, iters, null, from, to, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIterLanes(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegmentLanes(x0, y0, dx, dy, null, values, from, to, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIterFloatLanes(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegmentLanes(x0, y0, dx, dy, iters, null, from, to, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIterFloatLanes(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegmentLanes(x0, y0, dx, dy, null, values, from, to, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIterDoubleDouble(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegmentDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, iters, null, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIterDoubleDouble(double x0, double x0Low, double y0, double y0Low, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegmentDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, null, values, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIterFixedPoint(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegmentFixedPoint(x0, x0Low, y0, y0Low, dx, dy, iters, null, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIterFixedPoint(double x0, double x0Low, double y0, double y0Low, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegmentFixedPoint(x0, x0Low, y0, y0Low, dx, dy, null, values, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The derivative {@code dz/dc} is calculated with the orbit.
+     */
+    @Override
+    public DistanceEstimate distanceEstimate(Point2D p) {
+        Objects.requireNonNull(p, "p is null");
+        int[] iters = new int[1];
+        double[] distances = new double[1];
+        distanceEstimate(p.getX(), p.getY(), 0.0, 0.0, iters, distances, 0, 1);
+        return new DistanceEstimate(iters[0], distances[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The derivative {@code dz/dc} is calculated with the orbit.
+     */
+    @Override
+    public void distanceEstimate(double x0, double y0, double dx, double dy, int[] iters, double[] distances, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        Objects.requireNonNull(distances, "distances is null");
+        int maxIter = getMaxIter();
+        double r2 = getCriticalR() * getCriticalR();
+        double periodicityTolerance2 = getPeriodicityTolerance2(dx, dy);
+        boolean cardioidCheck = useCardioidCheck();
+        long cardioidPoints = 0;
+        for (int i = from; i < to; i++) {
+            double x = x0 + i * dx;
+            double y = y0 + i * dy;
+            if (cardioidCheck && isInsideCardioidOrBulb(x, y)) {
+                iters[i] = 0;
+                distances[i] = 0.0;
+                cardioidPoints++;
+            } else {
+                iters[i] = distanceEstimate(x, y, maxIter, r2, periodicityTolerance2, distances, i);
+            }
+        }
+        numberCardioidPoints.add(cardioidPoints);
+    }
+
+    /**
+     * Checks the points of the segment. The results are stored to {@code iters}, if it isn't null, otherwise
+     * continuous numbers of the iteration are stored to {@code values}.
+     *
+     * @param x0     x coordinate of the point with index 0
+     * @param y0     y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     */
+    private void checkSegment(double x0, double y0, double dx, double dy, int[] iters, double[] values, int from, int to) {
+        int maxIter = getMaxIter();
+        double r2 = getCriticalR() * getCriticalR();
+        double periodicityTolerance2 = getPeriodicityTolerance2(dx, dy);
+        boolean cardioidCheck = useCardioidCheck();
+        long cardioidPoints = 0;
+        double[] squareAbs = (iters != null ? null : new double[1]);
+        for (int i = from; i < to; i++) {
+            double x = x0 + i * dx;
+            double y = y0 + i * dy;
+            int iter;
+            if (cardioidCheck && isInsideCardioidOrBulb(x, y)) {
+                iter = 0;
+                cardioidPoints++;
+            } else {
+                iter = numberIter(x, y, maxIter, r2, periodicityTolerance2, squareAbs);
+            }
+            if (iters != null)
+                iters[i] = iter;
+            else
+                values[i] = normalizeNumberIter(iter, squareAbs[0], degree);
+        }
+        numberCardioidPoints.add(cardioidPoints);
+    }
+
+    /**
+     * Checks the points of the segment using lanes. The results are stored to {@code iters}, if it isn't null,
+     * otherwise continuous numbers of the iteration are stored to {@code values}. If {@code single} is true, the
+     * points are checked with {@code float} (see {@link #round(double, boolean)}).
+     *
+     * @param x0     x coordinate of the point with index 0
+     * @param y0     y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     * @param single if it's true, single precision is used
+     */
+    private void checkSegmentLanes(double x0, double y0, double dx, double dy, int[] iters, double[] values, int from, int to, boolean single) {
+        int maxIter = getMaxIter();
+        double r2 = round(getCriticalR() * getCriticalR(), single);
+        double periodicityTolerance2 = round(getPeriodicityTolerance2(dx, dy), single);
+        boolean periodicityCheck = periodicityTolerance2 > 0.0;
+        boolean cardioidCheck = useCardioidCheck();
+        long cardioidPoints = 0;
+        // state of the lanes: index of the point (-1 if lane is empty), c, current point and number of iterations
+        int[] index = new int[laneWidth];
+        double[] cRe = new double[laneWidth];
+        double[] cIm = new double[laneWidth];
+        double[] zRe = new double[laneWidth];
+        double[] zIm = new double[laneWidth];
+        int[] iter = new int[laneWidth];
+        // state of the periodicity check of the lanes
+        double[] savedRe = new double[laneWidth];
+        double[] savedIm = new double[laneWidth];
+        int[] steps = new int[laneWidth];
+        int[] checkPeriod = new int[laneWidth];
+
+        // load first points to the lanes
+        // (the points inside the main cardioid and the period-2 bulb aren't loaded)
+        int next = from;
+        int activeLanes = 0;
+        for (int l = 0; l < laneWidth; l++) {
+            while (cardioidCheck && next < to && isInsideCardioidOrBulb(x0 + next * dx, y0 + next * dy)) {
+                if (iters != null)
+                    iters[next] = 0;
+                else
+                    values[next] = 0.0;
+                cardioidPoints++;
+                next++;
+            }
+            if (next < to) {
+                index[l] = next;
+                cRe[l] = round(x0 + next * dx, single);
+                cIm[l] = round(y0 + next * dy, single);
+                iter[l] = 1;
+                savedRe[l] = Double.NaN;
+                savedIm[l] = Double.NaN;
+                steps[l] = 0;
+                checkPeriod[l] = 1;
+                next++;
+                activeLanes++;
+            } else {
+                index[l] = -1;
+            }
+        }
+
+        // iterate the lanes until all points are checked
+        while (activeLanes > 0) {
+            for (int l = 0; l < laneWidth; l++) {
+                if (index[l] < 0)
+                    continue;
+                double re = zRe[l];
+                double im = zIm[l];
+                // square of the absolute value of z, square of the distance to the saved point and the next point z =
+                // z * z + c (the precision is checked once per iteration)
+                double squareAbs;
+                double savedDistance2;
+                double nextRe;
+                double nextIm;
+                if (single) {
+                    float fRe = (float) re;
+                    float fIm = (float) im;
+                    float sqrRe = fRe * fRe;
+                    float sqrIm = fIm * fIm;
+                    float dRe = fRe - (float) savedRe[l];
+                    float dIm = fIm - (float) savedIm[l];
+                    squareAbs = sqrRe + sqrIm;
+                    savedDistance2 = dRe * dRe + dIm * dIm;
+                    nextRe = (sqrRe - sqrIm) + (float) cRe[l];
+                    nextIm = (fRe * fIm + fIm * fRe) + (float) cIm[l];
+                } else {
+                    double sqrRe = re * re;
+                    double sqrIm = im * im;
+                    double dRe = re - savedRe[l];
+                    double dIm = im - savedIm[l];
+                    squareAbs = sqrRe + sqrIm;
+                    savedDistance2 = dRe * dRe + dIm * dIm;
+                    nextRe = (sqrRe - sqrIm) + cRe[l];
+                    nextIm = (re * im + im * re) + cIm[l];
+                }
+                boolean periodic = false;
+                if (iter[l] < maxIter && squareAbs < r2) {
+                    if (periodicityCheck) {
+                        if (savedDistance2 < periodicityTolerance2) {
+                            periodic = true;
+                        } else if (++steps[l] >= checkPeriod[l]) {
+                            steps[l] = 0;
+                            checkPeriod[l] <<= 1;
+                            savedRe[l] = re;
+                            savedIm[l] = im;
+                        }
+                    }
+                    if (!periodic) {
+                        zRe[l] = nextRe;
+                        zIm[l] = nextIm;
+                        iter[l]++;
+                        continue;
+                    }
+                }
+                // store result and load next point to the lane
+                int result = (periodic || squareAbs < r2 ? 0 : iter[l]);
+                if (iters != null)
+                    iters[index[l]] = result;
+                else
+                    values[index[l]] = normalizeNumberIter(result, squareAbs, degree);
+                while (cardioidCheck && next < to && isInsideCardioidOrBulb(x0 + next * dx, y0 + next * dy)) {
+                    if (iters != null)
+                        iters[next] = 0;
+                    else
+                        values[next] = 0.0;
+                    cardioidPoints++;
+                    next++;
+                }
+                if (next < to) {
+                    index[l] = next;
+                    cRe[l] = round(x0 + next * dx, single);
+                    cIm[l] = round(y0 + next * dy, single);
+                    zRe[l] = 0.0;
+                    zIm[l] = 0.0;
+                    iter[l] = 1;
+                    savedRe[l] = Double.NaN;
+                    savedIm[l] = Double.NaN;
+                    steps[l] = 0;
+                    checkPeriod[l] = 1;
+                    next++;
+                } else {
+                    index[l] = -1;
+                    activeLanes--;
+                }
+            }
+        }
+        numberCardioidPoints.add(cardioidPoints);
+    }
+
+    /**
+     * Checks the points of the segment with double-double precision. The results are stored to {@code iters}, if it
+     * isn't null, otherwise continuous numbers of the iteration are stored to {@code values}. The check of the main
+     * cardioid isn't used (it would need double-double precision near the boundary of the cardioid).
+     *
+     * @param x0     high part of the x coordinate of the point with index 0
+     * @param x0Low  low part of the x coordinate of the point with index 0
+     * @param y0     high part of the y coordinate of the point with index 0
+     * @param y0Low  low part of the y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     */
+    private void checkSegmentDoubleDouble(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, double[] values, int from, int to) {
         int maxIter = getMaxIter();
+        double r2 = getCriticalR() * getCriticalR();
+        double periodicityTolerance2 = getPeriodicityTolerance2(dx, dy);
+        ComplexDoubleDouble c = new ComplexDoubleDouble();
+        ComplexDoubleDouble z = new ComplexDoubleDouble();
+        ComplexDoubleDouble saved = new ComplexDoubleDouble();
+        for (int i = from; i < to; i++) {
+            c.assign(x0, x0Low, y0, y0Low).addAndAsg(i * dx, i * dy);
+            z.assign(0.0, 0.0, 0.0, 0.0);
+            // 1 - special case for point outside of the bound
+            int iter = 1;
+            // state of the periodicity check (see numberIter)
+            saved.assign(Double.NaN, 0.0, Double.NaN, 0.0);
+            int steps = 0;
+            int checkPeriod = 1;
+            while (iter < maxIter && z.squareAbs() < r2) {
+                if (periodicityTolerance2 > 0.0) {
+                    if (z.squareDistance(saved) < periodicityTolerance2) {
+                        iter = maxIter;
+                        break;
+                    }
+                    if (++steps >= checkPeriod) {
+                        steps = 0;
+                        checkPeriod <<= 1;
+                        saved.assign(z);
+                    }
+                }
+                // z = z^2 + c
+                z.sqrAndAsg().addAndAsg(c);
+                iter++;
+            }
+            double squareAbs = z.squareAbs();
+            if (squareAbs < r2)
+                iter = 0;
+            if (iters != null)
+                iters[i] = iter;
+            else
+                values[i] = normalizeNumberIter(iter, squareAbs, degree);
+        }
+    }
+
+    /**
+     * Checks the points of the segment with 128-bit fixed-point precision. The results are stored to {@code iters}, if
+     * it isn't null, otherwise continuous numbers of the iteration are stored to {@code values}.
+     * <p>
+     * The points of the orbit are inside the bound and the points of the segment are inside the square {@code |x| <
+     * criticalR, |y| < criticalR}, so the parts of {@code z^2 + c} are less than {@code criticalR^2 + criticalR}. If
+     * it isn't less than {@link ComplexFixedPoint#maxAbs}, the segment is checked with double-double precision. The
+     * points outside of the square leave the bound after the first iteration, they are checked with double-double
+     * precision too.
+     *
+     * @param x0     high part of the x coordinate of the point with index 0
+     * @param x0Low  low part of the x coordinate of the point with index 0
+     * @param y0     high part of the y coordinate of the point with index 0
+     * @param y0Low  low part of the y coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     */
+    private void checkSegmentFixedPoint(double x0, double x0Low, double y0, double y0Low, double dx, double dy, int[] iters, double[] values, int from, int to) {
+        double r = getCriticalR();
+        if (!(r * r + r < ComplexFixedPoint.maxAbs)) {
+            checkSegmentDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, iters, values, from, to);
+            return;
+        }
+        int maxIter = getMaxIter();
+        double r2 = r * r;
+        double periodicityTolerance2 = getPeriodicityTolerance2(dx, dy);
+        ComplexFixedPoint c = new ComplexFixedPoint();
+        ComplexFixedPoint z = new ComplexFixedPoint();
+        ComplexFixedPoint saved = new ComplexFixedPoint();
+        for (int i = from; i < to; i++) {
+            if (!(Math.abs(x0 + i * dx) < r && Math.abs(y0 + i * dy) < r)) {
+                checkSegmentDoubleDouble(x0, x0Low, y0, y0Low, dx, dy, iters, values, i, i + 1);
+                continue;
+            }
+            c.assign(x0, x0Low, y0, y0Low).addAndAsg(i * dx, i * dy);
+            z.assign(0.0, 0.0, 0.0, 0.0);
+            // 1 - special case for point outside of the bound
+            int iter = 1;
+            // state of the periodicity check (see numberIter)
+            boolean saving = false;
+            int steps = 0;
+            int checkPeriod = 1;
+            double squareAbs = 0.0;
+            while (iter < maxIter && squareAbs < r2) {
+                if (periodicityTolerance2 > 0.0) {
+                    if (saving && z.squareDistance(saved) < periodicityTolerance2) {
+                        iter = maxIter;
+                        break;
+                    }
+                    if (++steps >= checkPeriod) {
+                        steps = 0;
+                        checkPeriod <<= 1;
+                        saved.assign(z);
+                        saving = true;
+                    }
+                }
+                // z = z^2 + c
+                z.sqrAndAsg().addAndAsg(c);
+                squareAbs = z.squareAbs();
+                iter++;
+            }
+            if (squareAbs < r2)
+                iter = 0;
+            if (iters != null)
+                iters[i] = iter;
+            else
+                values[i] = normalizeNumberIter(iter, squareAbs, degree);
+        }
+    }
+
+    /**
+     * Checks that point belongs the fractal.
+     *
+     * @param x             x coordinate of the point
+     * @param y             y coordinate of the point
+     * @param maxIter       maximum number of the iteration
+     * @param r2            square of the radius of the bound
+     * @param tol2          square of the tolerance of the periodicity check ({@code 0.0} if the check isn't used)
+     * @param lastSquareAbs array for square of the absolute value of the first point of the orbit outside of the bound
+     *                      (it's stored to the element with index 0, if the array isn't null and the point doesn't
+     *                      belong to the fractal)
+     * @return {@code 0} if the point belongs to the fractal, otherwise number of iterations
+     */
+    private static int numberIter(double x, double y, int maxIter, double r2, double tol2, double[] lastSquareAbs) {
         // 1 - special case for point outside of the bound
         int iter = 1;
-        double r2 = getCriticalR() * getCriticalR();
-        ComplexNumber startP = new ComplexNumber(p.getX(), p.getY());
-        ComplexNumber currentP = new ComplexNumber(0.0, 0.0);
+        // current point (real and imaginary part are kept in the local variables without creating ComplexNumber)
+        double zRe = 0.0;
+        double zIm = 0.0;
+        // state of the periodicity check: saved point of the orbit, number of the iterations since saving and interval
+        // between savings
+        double savedRe = Double.NaN;
+        double savedIm = Double.NaN;
+        int steps = 0;
+        int checkPeriod = 1;
 
         // test point
-        while (iter < maxIter && currentP.squareAbs() < r2) {
-            currentP.mulAndAsg(currentP).addAndAsg(startP);
+        while (iter < maxIter && zRe * zRe + zIm * zIm < r2) {
+            if (tol2 > 0.0) {
+                double dRe = zRe - savedRe;
+                double dIm = zIm - savedIm;
+                // the orbit has returned to the saved point, so it's periodic and doesn't leave the bound
+                if (dRe * dRe + dIm * dIm < tol2)
+                    return 0;
+                if (++steps >= checkPeriod) {
+                    steps = 0;
+                    checkPeriod <<= 1;
+                    savedRe = zRe;
+                    savedIm = zIm;
+                }
+            }
+            // z = z * z + c
+            double tmpRe = zRe * zRe - zIm * zIm;
+            double tmpIm = zRe * zIm + zIm * zRe;
+            zRe = tmpRe + x;
+            zIm = tmpIm + y;
             iter++;
         }
-        if (currentP.squareAbs() < r2) {
+        double squareAbs = zRe * zRe + zIm * zIm;
+        if (squareAbs < r2) {
             iter = 0;
+        } else if (lastSquareAbs != null) {
+            lastSquareAbs[0] = squareAbs;
+        }
+        return iter;
+    }
+
+    /**
+     * Checks that point belongs the fractal and estimates the distance from the point to the fractal. The orbit is
+     * iterated with the derivative {@code dz/dc}: {@code dz = 2 * z * dz + 1}. After leaving the bound the orbit is
+     * iterated until it goes far outside of the bound (see {@link DistanceEstimate#estimateR2}), so the estimate is
+     * accurate, but the number of the iteration is same as in {@link #numberIter(double, double, int, double, double,
+     * double[])}.
+     *
+     * @param x         x coordinate of the point
+     * @param y         y coordinate of the point
+     * @param maxIter   maximum number of the iteration
+     * @param r2        square of the radius of the bound
+     * @param tol2      square of the tolerance of the periodicity check ({@code 0.0} if the check isn't used)
+     * @param distances array for estimates of the distance
+     * @param index     index of the estimate of the point in {@code distances}
+     * @return {@code 0} if the point belongs to the fractal, otherwise number of iterations
+     */
+    private static int distanceEstimate(double x, double y, int maxIter, double r2, double tol2, double[] distances, int index) {
+        // 1 - special case for point outside of the bound
+        int iter = 1;
+        // current point and derivative dz/dc
+        double zRe = 0.0;
+        double zIm = 0.0;
+        double dzRe = 0.0;
+        double dzIm = 0.0;
+        // state of the periodicity check
+        double savedRe = Double.NaN;
+        double savedIm = Double.NaN;
+        int steps = 0;
+        int checkPeriod = 1;
+
+        // test point
+        while (iter < maxIter && zRe * zRe + zIm * zIm < r2) {
+            if (tol2 > 0.0) {
+                double dRe = zRe - savedRe;
+                double dIm = zIm - savedIm;
+                // the orbit has returned to the saved point, so it's periodic and doesn't leave the bound
+                if (dRe * dRe + dIm * dIm < tol2) {
+                    distances[index] = 0.0;
+                    return 0;
+                }
+                if (++steps >= checkPeriod) {
+                    steps = 0;
+                    checkPeriod <<= 1;
+                    savedRe = zRe;
+                    savedIm = zIm;
+                }
+            }
+            // dz = 2 * z * dz + 1
+            double tmpDzRe = 2.0 * (zRe * dzRe - zIm * dzIm) + 1.0;
+            dzIm = 2.0 * (zRe * dzIm + zIm * dzRe);
+            dzRe = tmpDzRe;
+            // z = z * z + c
+            double tmpRe = zRe * zRe - zIm * zIm;
+            double tmpIm = zRe * zIm + zIm * zRe;
+            zRe = tmpRe + x;
+            zIm = tmpIm + y;
+            iter++;
+        }
+        double squareAbs = zRe * zRe + zIm * zIm;
+        if (squareAbs < r2) {
+            distances[index] = 0.0;
+            return 0;
+        }
+        // the orbit goes far outside of the bound for the accurate estimate
+        for (int k = 0; k < DistanceEstimate.maxEstimateIter && squareAbs < DistanceEstimate.estimateR2; k++) {
+            double tmpDzRe = 2.0 * (zRe * dzRe - zIm * dzIm) + 1.0;
+            dzIm = 2.0 * (zRe * dzIm + zIm * dzRe);
+            dzRe = tmpDzRe;
+            double tmpRe = zRe * zRe - zIm * zIm;
+            double tmpIm = zRe * zIm + zIm * zRe;
+            zRe = tmpRe + x;
+            zIm = tmpIm + y;
+            squareAbs = zRe * zRe + zIm * zIm;
         }
+        distances[index] = DistanceEstimate.estimate(squareAbs, dzRe * dzRe + dzIm * dzIm);
         return iter;
     }
 
@@ -64,6 +739,32 @@ public final class MandelbrotSet extends ComplexFractal {
      */
     @Override
     public boolean equals(Object obj) {
-        return obj instanceof MandelbrotSet && super.equals(obj);
+        return obj instanceof MandelbrotSet && super.equals(obj) && cardioidCheck == ((MandelbrotSet) obj).cardioidCheck;
+    }
+
+    /**
+     * Checks that the points inside the main cardioid and the period-2 bulb are checked without the iterations.
+     *
+     * @return true, if cardioid check is enabled
+     */
+    public boolean isCardioidCheck() {
+        return cardioidCheck;
+    }
+
+    /**
+     * Gets number of the points that have been checked as points inside the main cardioid or the period-2 bulb (without
+     * the iterations) since creating of this object or the last reset.
+     *
+     * @return number of the points
+     */
+    public long getNumberCardioidPoints() {
+        return numberCardioidPoints.sum();
+    }
+
+    /**
+     * Resets the counter of the points that have been checked as points inside the main cardioid or the period-2 bulb.
+     */
+    public void resetNumberCardioidPoints() {
+        numberCardioidPoints.reset();
     }
 }
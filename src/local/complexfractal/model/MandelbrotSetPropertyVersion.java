@@ -40,7 +40,7 @@ public class MandelbrotSetPropertyVersion extends ComplexFractalPropertyVersion<
      */
     @Override
     public MandelbrotSet createComplexFractal() {
-        return new MandelbrotSet(parseMaxIter(), parseCriticalR());
+        return new MandelbrotSet(parseMaxIter(), parseCriticalR(), true, isPeriodicityCheck());
     }
 
     /**
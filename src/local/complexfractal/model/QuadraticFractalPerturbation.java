@@ -0,0 +1,703 @@
+package local.complexfractal.model;
+
+import local.complexfractal.util.Point2D;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@code QuadraticFractalPerturbation} is base class for the checkers of the fractals with the function {@code w^2 +
+ * c} for the deep zoom, where the step between the points is less than the precision of {@code double}.
+ * <p>
+ * The orbit of the reference point (center of the image) is calculated with high precision ({@link BigDecimal}) once
+ * and is stored as {@code double} values {@code W_n}. The orbit of the other point is calculated as the difference
+ * {@code d_n} with the reference orbit in {@code double}:
+ * <p>
+ * {@code d_n+1 = 2 * W_n * d_n + d_n^2 + dc},
+ * <p>
+ * and the point of the orbit is {@code W_n + d_n}. For the Mandelbrot set {@code d_0 = 0} and {@code dc} is the offset
+ * of the point from the reference point, for the Julia set {@code d_0} is the offset and {@code dc = 0}. The
+ * differences are small, so {@code double} has enough precision for them, even if the coordinates of the points can't
+ * be represented in {@code double}.
+ * <p>
+ * The difference can lose precision, if the point of the orbit is much closer to zero than the point of the reference
+ * orbit ({@code |W_n + d_n| < glitchTolerance * |W_n|}), or if the reference orbit leaves the bound before the orbit of
+ * the point. Such points (glitches) are checked again with the other references: the existing references nearest to
+ * the point are tried, and if they don't help, the new reference is calculated at the point (not more than {@link
+ * #maxReferences} references for the object). The points, which are glitches for all references, are checked with the
+ * nearest reference without detection of the glitches.
+ * <p>
+ * The first iterations of the points inside the circle with radius {@code radius} around the center are skipped using
+ * the series approximation {@code d_n = a_n * u + b_n * u^2 + c_n * u^3} of the difference with the reference orbit in
+ * the center, where {@code u} is the offset of the point divided by {@code radius}. The coefficients are calculated
+ * along the reference orbit, and the number of the skipped iterations is the greatest one, for which the error of the
+ * series for the probe points on the circle is not greater than {@link #seriesTolerance} of {@code |a_n|} (the error is
+ * analytic function of the offset with zero of the fourth order in the center, so it's maximal on the circle).
+ * <p>
+ * The points of this checker are offsets from the center: the point {@code p} of the methods of the {@link
+ * ComplexFractalChecker} corresponds to the point {@code center + p * 2^scaleExponent} of the fractal. The step, the
+ * radius and the offsets are given in units {@code 2^scaleExponent}, so the offsets can be less than the minimal
+ * {@code double} value (the zoom beyond {@code 1e-308}). If the offsets multiplied by {@code 2^scaleExponent} are
+ * normal {@code double} values, they are scaled back once and the differences are calculated in {@code double} as
+ * above. Otherwise the differences start as {@link ComplexFloatExp} values ("floatexp") and are converted to {@code
+ * double}, when they grow to the range of {@code double} (the term {@code dc} is less than the rounding error of the
+ * difference after that). The points of the orbit are rounded to {@code W_n} while the differences are floatexp
+ * values. The coefficients of the series approximation are calculated as floatexp values too. The periodicity check
+ * isn't used.
+ * <p>
+ * The objects of this class are thread-safe.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public abstract class QuadraticFractalPerturbation implements ComplexFractalChecker {
+    /**
+     * Maximum number of the references (including the reference in the center).
+     */
+    public static final int maxReferences = 64;
+    /**
+     * Square of the tolerance of the glitch detection.
+     */
+    static final double glitchTolerance2 = 1e-6;
+    /**
+     * Maximum relative error of the series approximation for the probe points.
+     */
+    static final double seriesTolerance = 1e-8;
+    /**
+     * Number of the probe points of the series approximation.
+     */
+    private static final int numberProbes = 8;
+    /**
+     * Number of the nearest existing references, which are tried for the glitch.
+     */
+    private static final int numberTriedReferences = 4;
+    /**
+     * Minimal exponent of the differences, which are calculated in {@code double}: the smaller differences are
+     * calculated as floatexp values.
+     */
+    static final int minDoubleExponent = Double.MIN_EXPONENT + 62;
+    /**
+     * Number of the decimal digits of the reference orbit after the digit, which corresponds to the step between the
+     * points.
+     */
+    private static final int extraDigits = 20;
+    /**
+     * Degree of the function of the fractal.
+     */
+    private static final double degree = 2.0;
+    /**
+     * Result of the check of the point, if the point is glitch.
+     */
+    private static final int glitch = -1;
+
+    /**
+     * Reference orbit.
+     */
+    private static final class Reference {
+        // offset of the reference point from the center (in units 2^scaleExponent)
+        final double offsetRe;
+        final double offsetIm;
+        // points of the orbit
+        final double[] wRe;
+        final double[] wIm;
+
+        Reference(double offsetRe, double offsetIm, double[] wRe, double[] wIm) {
+            this.offsetRe = offsetRe;
+            this.offsetIm = offsetIm;
+            this.wRe = wRe;
+            this.wIm = wIm;
+        }
+
+        double squareDistance(double re, double im) {
+            return (re - offsetRe) * (re - offsetRe) + (im - offsetIm) * (im - offsetIm);
+        }
+    }
+
+    private final ComplexFractal fractal;
+    private final BigDecimal centerRe;
+    private final BigDecimal centerIm;
+    /**
+     * If it's true, the offset is added to the parameter {@code c} (Mandelbrot set), otherwise to the initial point
+     * (Julia set).
+     */
+    private final boolean parameterOffset;
+    // shift of the variable: the bound is checked for w - shift
+    private final double shiftRe;
+    private final double shiftIm;
+    // parameter c, if the offset is added to the initial point
+    private final double paramRe;
+    private final double paramIm;
+    /**
+     * Exponent of the units of the offsets.
+     */
+    private final int scaleExponent;
+    /**
+     * If it's true, the differences start as floatexp values, otherwise the offsets are multiplied by {@link #scale}.
+     */
+    private final boolean extended;
+    /**
+     * Units of the offsets {@code 2^scaleExponent} (it's used if {@link #extended} is false).
+     */
+    private final double scale;
+    /**
+     * Units of the offsets {@code 2^scaleExponent}.
+     */
+    private final BigDecimal unit;
+    /**
+     * Precision of the calculation of the reference orbits.
+     */
+    private final MathContext mc;
+    /**
+     * References: the first one is the reference in the center. The list is changed under the lock of the list.
+     */
+    private final List<Reference> references = new ArrayList<>();
+    /**
+     * Number of the references, which have been calculated or are being calculated (it's changed under the lock of the
+     * list of the references). The slot for the new reference is reserved before calculating it, so the reference
+     * orbit is calculated without the lock and the number of the references doesn't exceed {@link #maxReferences}.
+     */
+    private int numberReservedReferences = 1;
+    /**
+     * Reference in the center.
+     */
+    private final Reference center;
+    /**
+     * Radius of the series approximation (in units 2^scaleExponent).
+     */
+    private final double radius;
+    /**
+     * Number of the iterations skipped by the series approximation.
+     */
+    private final int skipIter;
+    // coefficients of the series approximation: a, b, c (real and imaginary parts)
+    private final double[] series = new double[6];
+    // coefficients of the series approximation as floatexp values: a, b, c (they aren't changed after the constructor)
+    private final ComplexFloatExp[] seriesExp = {new ComplexFloatExp(), new ComplexFloatExp(), new ComplexFloatExp()};
+
+    /**
+     * Constructor. It calculates the reference orbit of the center and the series approximation.
+     *
+     * @param fractal         fractal
+     * @param centerRe        real part of the center
+     * @param centerIm        imaginary part of the center
+     * @param step            step between the neighboring points (it defines the precision of the reference orbits)
+     * @param radius          radius of the series approximation ({@code 0.0} if the iterations aren't skipped)
+     * @param parameterOffset if it's true, the offset is added to the parameter {@code c}, otherwise to the initial
+     *                        point
+     * @param shiftRe         real part of the shift of the variable
+     * @param shiftIm         imaginary part of the shift of the variable
+     * @param paramRe         real part of the parameter {@code c} (it's used if parameterOffset is false)
+     * @param paramIm         imaginary part of the parameter {@code c} (it's used if parameterOffset is false)
+     * @param scaleExponent   exponent of the units {@code 2^scaleExponent} of the step, the radius and the offsets
+     * @throws NullPointerException     if fractal, centerRe or centerIm is null
+     * @throws IllegalArgumentException if step isn't positive number or radius is negative or infinite
+     */
+    QuadraticFractalPerturbation(ComplexFractal fractal, BigDecimal centerRe, BigDecimal centerIm, double step, double radius,
+                                 boolean parameterOffset, double shiftRe, double shiftIm, double paramRe, double paramIm,
+                                 int scaleExponent) {
+        this.fractal = Objects.requireNonNull(fractal, "fractal is null");
+        this.centerRe = Objects.requireNonNull(centerRe, "centerRe is null");
+        this.centerIm = Objects.requireNonNull(centerIm, "centerIm is null");
+        if (!(step > 0.0) || Double.isInfinite(step))
+            throw new IllegalArgumentException("step isn't positive number");
+        if (!(radius >= 0.0) || Double.isInfinite(radius))
+            throw new IllegalArgumentException("radius is negative or infinite");
+        this.parameterOffset = parameterOffset;
+        this.shiftRe = shiftRe;
+        this.shiftIm = shiftIm;
+        this.paramRe = paramRe;
+        this.paramIm = paramIm;
+        this.radius = radius;
+        this.scaleExponent = scaleExponent;
+        extended = scaleExponent < Double.MIN_EXPONENT || Math.getExponent(step) + scaleExponent < minDoubleExponent;
+        scale = (extended ? 0.0 : Math.scalb(1.0, scaleExponent));
+        unit = FloatExp.ONE.scalb(scaleExponent).toBigDecimal();
+        double magnitude = Math.max(Math.max(fractal.getCriticalR(), 1.0), Math.max(Math.abs(shiftRe), Math.abs(shiftIm)));
+        magnitude = Math.max(magnitude, Math.max(Math.abs(centerRe.doubleValue()), Math.abs(centerIm.doubleValue())));
+        double digits = Math.log10(magnitude) - Math.log10(step) - scaleExponent * Math.log10(2.0);
+        mc = new MathContext((int) Math.ceil(digits) + extraDigits);
+        center = calculateReference(0.0, 0.0);
+        references.add(center);
+        skipIter = calculateSeries(center);
+    }
+
+    /**
+     * Calculates the reference orbit with high precision.
+     *
+     * @param offsetRe real part of the offset of the reference point from the center (in units 2^scaleExponent)
+     * @param offsetIm imaginary part of the offset of the reference point from the center (in units 2^scaleExponent)
+     * @return reference orbit
+     */
+    private Reference calculateReference(double offsetRe, double offsetIm) {
+        int maxIter = fractal.getMaxIter();
+        double r2 = fractal.getCriticalR() * fractal.getCriticalR();
+        BigDecimal pointRe = centerRe.add(new BigDecimal(offsetRe).multiply(unit), mc);
+        BigDecimal pointIm = centerIm.add(new BigDecimal(offsetIm).multiply(unit), mc);
+        BigDecimal re;
+        BigDecimal im;
+        BigDecimal cRe;
+        BigDecimal cIm;
+        if (parameterOffset) {
+            re = BigDecimal.ZERO;
+            im = BigDecimal.ZERO;
+            cRe = pointRe;
+            cIm = pointIm;
+        } else {
+            re = pointRe.add(new BigDecimal(shiftRe), mc);
+            im = pointIm.add(new BigDecimal(shiftIm), mc);
+            cRe = new BigDecimal(paramRe);
+            cIm = new BigDecimal(paramIm);
+        }
+        double[] wRe = new double[Math.min(maxIter, 1024)];
+        double[] wIm = new double[wRe.length];
+        // points W_0 ... W_n, the last point is outside of the bound or n = maxIter - 1
+        int n = 0;
+        while (true) {
+            if (n == wRe.length) {
+                wRe = Arrays.copyOf(wRe, (int) Math.min(maxIter, 2L * n));
+                wIm = Arrays.copyOf(wIm, wRe.length);
+            }
+            wRe[n] = re.doubleValue();
+            wIm[n] = im.doubleValue();
+            double zRe = wRe[n] - shiftRe;
+            double zIm = wIm[n] - shiftIm;
+            if (n + 1 >= maxIter || zRe * zRe + zIm * zIm >= r2)
+                break;
+            // W = W^2 + c
+            BigDecimal tmpRe = re.multiply(re, mc).subtract(im.multiply(im, mc), mc).add(cRe, mc);
+            BigDecimal tmpIm = re.multiply(im, mc).multiply(BigDecimal.valueOf(2)).add(cIm, mc);
+            re = tmpRe;
+            im = tmpIm;
+            n++;
+        }
+        return new Reference(offsetRe, offsetIm, Arrays.copyOf(wRe, n + 1), Arrays.copyOf(wIm, n + 1));
+    }
+
+    /**
+     * Calculates the coefficients of the series approximation along the reference orbit and checks them with the exact
+     * differences of the probe points on the circle with radius {@link #radius}. The coefficients and the differences
+     * are calculated as floatexp values, because they can be less than the minimal {@code double} value.
+     *
+     * @param reference reference orbit in the center
+     * @return number of the skipped iterations (the coefficients are stored to {@link #series} and {@link #seriesExp})
+     */
+    private int calculateSeries(Reference reference) {
+        if (radius == 0.0)
+            return 0;
+        double[] refRe = reference.wRe;
+        double[] refIm = reference.wIm;
+        double r2 = fractal.getCriticalR() * fractal.getCriticalR();
+        // probe points: offsets u (divided by the radius), differences d with the reference orbit and terms dc
+        double[] uRe = new double[numberProbes];
+        double[] uIm = new double[numberProbes];
+        ComplexFloatExp[] d = new ComplexFloatExp[numberProbes];
+        ComplexFloatExp[] dc = new ComplexFloatExp[numberProbes];
+        for (int k = 0; k < numberProbes; k++) {
+            uRe[k] = Math.cos(2.0 * Math.PI * k / numberProbes);
+            uIm[k] = Math.sin(2.0 * Math.PI * k / numberProbes);
+            ComplexFloatExp offset = new ComplexFloatExp(radius * uRe[k], radius * uIm[k], scaleExponent);
+            d[k] = (parameterOffset ? new ComplexFloatExp() : offset.copy());
+            dc[k] = (parameterOffset ? offset : new ComplexFloatExp());
+        }
+        // coefficients of the series for the current iteration
+        ComplexFloatExp dcScale = (parameterOffset ? new ComplexFloatExp(radius, 0.0, scaleExponent) : new ComplexFloatExp());
+        ComplexFloatExp a = (parameterOffset ? new ComplexFloatExp() : new ComplexFloatExp(radius, 0.0, scaleExponent));
+        ComplexFloatExp b = new ComplexFloatExp();
+        ComplexFloatExp c = new ComplexFloatExp();
+        ComplexFloatExp s = new ComplexFloatExp();
+        ComplexFloatExp tmp = new ComplexFloatExp();
+
+        int skip = 0;
+        for (int n = 0; n < refRe.length - 1; n++) {
+            // check the series for the probe points
+            FloatExp tolerance = a.abs().multiply(FloatExp.valueOf(seriesTolerance));
+            // the points inside the circle can't leave the bound: |d| <= |a| + |b| + |c| for |u| <= 1
+            double maxD = a.abs().add(b.abs()).add(c.abs()).doubleValue() * (1.0 + seriesTolerance);
+            double maxZ = Math.hypot(refRe[n] - shiftRe, refIm[n] - shiftIm) + maxD;
+            boolean valid = maxZ * maxZ < r2;
+            for (int k = 0; k < numberProbes && valid; k++) {
+                double wRe = refRe[n] + d[k].getRealDouble();
+                double wIm = refIm[n] + d[k].getImagDouble();
+                double zRe = wRe - shiftRe;
+                double zIm = wIm - shiftIm;
+                double u2Re = uRe[k] * uRe[k] - uIm[k] * uIm[k];
+                double u2Im = 2.0 * uRe[k] * uIm[k];
+                double u3Re = u2Re * uRe[k] - u2Im * uIm[k];
+                double u3Im = u2Re * uIm[k] + u2Im * uRe[k];
+                s.assign(a).mulAndAsg(uRe[k], uIm[k]);
+                s.addAndAsg(tmp.assign(b).mulAndAsg(u2Re, u2Im));
+                s.addAndAsg(tmp.assign(c).mulAndAsg(u3Re, u3Im));
+                // the probe must be inside the bound, not glitch and the error must be small (false for NaN)
+                valid = zRe * zRe + zIm * zIm < r2
+                        && !(wRe * wRe + wIm * wIm < glitchTolerance2 * (refRe[n] * refRe[n] + refIm[n] * refIm[n]))
+                        && s.subAndAsg(d[k]).abs().compareTo(tolerance) <= 0;
+            }
+            if (!valid)
+                break;
+            skip = n;
+            seriesExp[0].assign(a);
+            seriesExp[1].assign(b);
+            seriesExp[2].assign(c);
+
+            // next differences of the probe points: d = 2 * W * d + d^2 + dc
+            for (int k = 0; k < numberProbes; k++) {
+                tmp.assign(d[k]).sqrAndAsg();
+                d[k].mulAndAsg(2.0 * refRe[n], 2.0 * refIm[n]).addAndAsg(tmp).addAndAsg(dc[k]);
+            }
+            // next coefficients: a = 2 * W * a + dc, b = 2 * W * b + a^2, c = 2 * W * c + 2 * a * b
+            double twoWRe = 2.0 * refRe[n];
+            double twoWIm = 2.0 * refIm[n];
+            c.mulAndAsg(twoWRe, twoWIm).addAndAsg(tmp.assign(a).mulAndAsg(b).scalbAndAsg(1));
+            b.mulAndAsg(twoWRe, twoWIm).addAndAsg(tmp.assign(a).sqrAndAsg());
+            a.mulAndAsg(twoWRe, twoWIm).addAndAsg(dcScale);
+        }
+        for (int k = 0; k < seriesExp.length; k++) {
+            series[2 * k] = seriesExp[k].getRealDouble();
+            series[2 * k + 1] = seriesExp[k].getImagDouble();
+        }
+        return skip;
+    }
+
+    /**
+     * Gets number of the references (including the reference in the center).
+     *
+     * @return number of the references
+     */
+    public int getNumberReferences() {
+        synchronized (references) {
+            return references.size();
+        }
+    }
+
+    /**
+     * Gets number of the iterations skipped by the series approximation for the points inside the circle with radius
+     * {@code radius} around the center.
+     *
+     * @return number of the skipped iterations
+     */
+    public int getNumberSkippedIter() {
+        return skipIter;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int numberIter(Point2D p) {
+        Objects.requireNonNull(p, "p is null");
+        int[] iters = new int[1];
+        checkSegment(p.getX(), p.getY(), 0.0, 0.0, iters, null, 0, 1);
+        return iters[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double smoothNumberIter(Point2D p) {
+        Objects.requireNonNull(p, "p is null");
+        double[] values = new double[1];
+        checkSegment(p.getX(), p.getY(), 0.0, 0.0, null, values, 0, 1);
+        return values[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void numberIter(double x0, double y0, double dx, double dy, int[] iters, int from, int to) {
+        Objects.requireNonNull(iters, "iters is null");
+        checkSegment(x0, y0, dx, dy, iters, null, from, to);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void smoothNumberIter(double x0, double y0, double dx, double dy, double[] values, int from, int to) {
+        Objects.requireNonNull(values, "values is null");
+        checkSegment(x0, y0, dx, dy, null, values, from, to);
+    }
+
+    /**
+     * Checks the points of the segment (offsets from the center). The results are stored to {@code iters}, if it
+     * isn't null, otherwise continuous numbers of the iteration are stored to {@code values}.
+     *
+     * @param x0     x offset of the point with index 0
+     * @param y0     y offset of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results or null
+     * @param values array for continuous results (it's used if {@code iters} is null)
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     */
+    private void checkSegment(double x0, double y0, double dx, double dy, int[] iters, double[] values, int from, int to) {
+        int maxIter = fractal.getMaxIter();
+        double r2 = fractal.getCriticalR() * fractal.getCriticalR();
+        double[] squareAbs = new double[1];
+        for (int i = from; i < to; i++) {
+            double x = x0 + i * dx;
+            double y = y0 + i * dy;
+            int iter = numberIter(center, x, y, maxIter, r2, true, squareAbs);
+            if (iter == glitch)
+                iter = numberIterGlitch(x, y, maxIter, r2, squareAbs);
+            if (iters != null)
+                iters[i] = iter;
+            else
+                values[i] = fractal.normalizeNumberIter(iter, squareAbs[0], degree);
+        }
+    }
+
+    /**
+     * Checks the point, which is glitch for the reference in the center, with the other references.
+     *
+     * @param x         x offset of the point
+     * @param y         y offset of the point
+     * @param maxIter   maximum number of the iteration
+     * @param r2        square of the radius of the bound
+     * @param squareAbs array for square of the absolute value of the first point of the orbit outside of the bound
+     * @return {@code 0} if the point belongs to the fractal, otherwise number of iterations
+     */
+    private int numberIterGlitch(double x, double y, int maxIter, double r2, double[] squareAbs) {
+        // nearest existing references
+        List<Reference> nearest;
+        synchronized (references) {
+            nearest = new ArrayList<>(references.subList(1, references.size()));
+        }
+        nearest.sort(Comparator.comparingDouble(ref -> ref.squareDistance(x, y)));
+        for (int k = 0; k < Math.min(numberTriedReferences, nearest.size()); k++) {
+            int iter = numberIter(nearest.get(k), x, y, maxIter, r2, true, squareAbs);
+            if (iter != glitch)
+                return iter;
+        }
+
+        // new reference at the point (the point isn't glitch for its own orbit), it's calculated without the lock, so
+        // the other threads aren't blocked
+        boolean reserved;
+        synchronized (references) {
+            reserved = numberReservedReferences < maxReferences;
+            if (reserved)
+                numberReservedReferences++;
+        }
+        Reference reference;
+        if (reserved) {
+            reference = calculateReference(x, y);
+            synchronized (references) {
+                references.add(reference);
+            }
+        } else {
+            // all references have been reserved, so the nearest reference is used without detection of the glitches
+            Reference nearestReference;
+            synchronized (references) {
+                nearestReference = references.get(0);
+                for (Reference ref : references)
+                    if (ref.squareDistance(x, y) < nearestReference.squareDistance(x, y))
+                        nearestReference = ref;
+            }
+            reference = nearestReference;
+        }
+        return numberIter(reference, x, y, maxIter, r2, false, squareAbs);
+    }
+
+    /**
+     * Checks the point using the reference orbit. The iterations are skipped using the series approximation, if the
+     * reference is in the center and the point is inside the circle of the approximation.
+     *
+     * @param reference     reference orbit
+     * @param x             x offset of the point
+     * @param y             y offset of the point
+     * @param maxIter       maximum number of the iteration
+     * @param r2            square of the radius of the bound
+     * @param detectGlitch  if it's true, the glitches are detected
+     * @param lastSquareAbs array for square of the absolute value of the first point of the orbit outside of the bound
+     *                      (it's stored to the element with index 0, if the point doesn't belong to the fractal)
+     * @return {@code 0} if the point belongs to the fractal, {@link #glitch} if the point is glitch, otherwise number
+     * of iterations
+     */
+    private int numberIter(Reference reference, double x, double y, int maxIter, double r2, boolean detectGlitch, double[] lastSquareAbs) {
+        // offset of the point from the reference point
+        double offsetRe = x - reference.offsetRe;
+        double offsetIm = y - reference.offsetIm;
+        boolean skip = skipIter > 0 && reference == center && offsetRe * offsetRe + offsetIm * offsetIm <= radius * radius;
+        if (extended)
+            return numberIterExtended(reference, x, y, offsetRe, offsetIm, skip, maxIter, r2, detectGlitch, lastSquareAbs);
+        // d = a * u + b * u^2 + c * u^3
+        double uRe = offsetRe / radius;
+        double uIm = offsetIm / radius;
+        offsetRe *= scale;
+        offsetIm *= scale;
+        double dcRe = (parameterOffset ? offsetRe : 0.0);
+        double dcIm = (parameterOffset ? offsetIm : 0.0);
+        // difference between the orbits
+        double dRe = (parameterOffset ? 0.0 : offsetRe);
+        double dIm = (parameterOffset ? 0.0 : offsetIm);
+        // index of the point of the reference orbit
+        int n = 0;
+        if (skip) {
+            double u2Re = uRe * uRe - uIm * uIm;
+            double u2Im = 2.0 * uRe * uIm;
+            double u3Re = u2Re * uRe - u2Im * uIm;
+            double u3Im = u2Re * uIm + u2Im * uRe;
+            dRe = series[0] * uRe - series[1] * uIm + series[2] * u2Re - series[3] * u2Im + series[4] * u3Re - series[5] * u3Im;
+            dIm = series[0] * uIm + series[1] * uRe + series[2] * u2Im + series[3] * u2Re + series[4] * u3Im + series[5] * u3Re;
+            n = skipIter;
+        }
+        return numberIter(reference, n, dRe, dIm, dcRe, dcIm, x, y, maxIter, r2, detectGlitch, lastSquareAbs);
+    }
+
+    /**
+     * Checks the point using the reference orbit, if the offsets are less than the minimal {@code double} value. The
+     * differences are calculated as floatexp values, until they are greater than {@code 2^minDoubleExponent}, after that
+     * the orbit is continued in {@code double}.
+     *
+     * @param reference     reference orbit
+     * @param x             x offset of the point
+     * @param y             y offset of the point
+     * @param offsetRe      x offset of the point from the reference point
+     * @param offsetIm      y offset of the point from the reference point
+     * @param skip          if it's true, the iterations are skipped using the series approximation
+     * @param maxIter       maximum number of the iteration
+     * @param r2            square of the radius of the bound
+     * @param detectGlitch  if it's true, the glitches are detected
+     * @param lastSquareAbs array for square of the absolute value of the first point of the orbit outside of the bound
+     * @return {@code 0} if the point belongs to the fractal, {@link #glitch} if the point is glitch, otherwise number
+     * of iterations
+     */
+    private int numberIterExtended(Reference reference, double x, double y, double offsetRe, double offsetIm, boolean skip,
+                                   int maxIter, double r2, boolean detectGlitch, double[] lastSquareAbs) {
+        double[] refRe = reference.wRe;
+        double[] refIm = reference.wIm;
+        int length = refRe.length;
+        ComplexFloatExp offset = new ComplexFloatExp(offsetRe, offsetIm, scaleExponent);
+        ComplexFloatExp dc = (parameterOffset ? offset : null);
+        ComplexFloatExp d;
+        ComplexFloatExp tmp = new ComplexFloatExp();
+        int n = 0;
+        if (skip) {
+            // d = a * u + b * u^2 + c * u^3
+            double uRe = offsetRe / radius;
+            double uIm = offsetIm / radius;
+            double u2Re = uRe * uRe - uIm * uIm;
+            double u2Im = 2.0 * uRe * uIm;
+            d = seriesExp[0].copy().mulAndAsg(uRe, uIm);
+            d.addAndAsg(tmp.assign(seriesExp[1]).mulAndAsg(u2Re, u2Im));
+            d.addAndAsg(tmp.assign(seriesExp[2]).mulAndAsg(u2Re * uRe - u2Im * uIm, u2Re * uIm + u2Im * uRe));
+            n = skipIter;
+        } else {
+            d = (parameterOffset ? new ComplexFloatExp() : offset);
+        }
+        int iter = n + 1;
+        // the difference is negligible for the point of the orbit, the checks are repeated in double after the loop
+        while (d.getExponent() < minDoubleExponent && n < length - 1 && iter < maxIter) {
+            double zRe = refRe[n] - shiftRe;
+            double zIm = refIm[n] - shiftIm;
+            if (zRe * zRe + zIm * zIm >= r2)
+                break;
+            // d = 2 * W * d + d^2 + dc
+            tmp.assign(d).sqrAndAsg();
+            d.mulAndAsg(2.0 * refRe[n], 2.0 * refIm[n]).addAndAsg(tmp);
+            if (dc != null)
+                d.addAndAsg(dc);
+            n++;
+            iter++;
+        }
+        double dcRe = (parameterOffset ? offset.getRealDouble() : 0.0);
+        double dcIm = (parameterOffset ? offset.getImagDouble() : 0.0);
+        return numberIter(reference, n, d.getRealDouble(), d.getImagDouble(), dcRe, dcIm, x, y, maxIter, r2, detectGlitch, lastSquareAbs);
+    }
+
+    /**
+     * Continues the orbit of the point using the reference orbit from the point {@code W_n + d_n}.
+     *
+     * @param reference     reference orbit
+     * @param n             index of the point of the reference orbit
+     * @param dRe           real part of the difference with the reference orbit
+     * @param dIm           imaginary part of the difference with the reference orbit
+     * @param dcRe          real part of the term {@code dc}
+     * @param dcIm          imaginary part of the term {@code dc}
+     * @param x             x offset of the point
+     * @param y             y offset of the point
+     * @param maxIter       maximum number of the iteration
+     * @param r2            square of the radius of the bound
+     * @param detectGlitch  if it's true, the glitches are detected
+     * @param lastSquareAbs array for square of the absolute value of the first point of the orbit outside of the bound
+     * @return {@code 0} if the point belongs to the fractal, {@link #glitch} if the point is glitch, otherwise number
+     * of iterations
+     */
+    private int numberIter(Reference reference, int n, double dRe, double dIm, double dcRe, double dcIm, double x, double y,
+                           int maxIter, double r2, boolean detectGlitch, double[] lastSquareAbs) {
+        double[] refRe = reference.wRe;
+        double[] refIm = reference.wIm;
+        int length = refRe.length;
+        // 1 - special case for point outside of the bound
+        int iter = n + 1;
+        double squareAbs;
+        while (true) {
+            double wRe = refRe[n] + dRe;
+            double wIm = refIm[n] + dIm;
+            double zRe = wRe - shiftRe;
+            double zIm = wIm - shiftIm;
+            squareAbs = zRe * zRe + zIm * zIm;
+            if (iter >= maxIter || squareAbs >= r2)
+                break;
+            if (detectGlitch && wRe * wRe + wIm * wIm < glitchTolerance2 * (refRe[n] * refRe[n] + refIm[n] * refIm[n]))
+                return glitch;
+            if (n == length - 1) {
+                // the reference orbit has left the bound before the orbit of the point
+                if (detectGlitch)
+                    return glitch;
+                return numberIterDirect(wRe, wIm, x, y, iter, maxIter, r2, lastSquareAbs);
+            }
+            // d = (2 * W + d) * d + dc
+            double tmpRe = 2.0 * refRe[n] + dRe;
+            double tmpIm = 2.0 * refIm[n] + dIm;
+            double newRe = tmpRe * dRe - tmpIm * dIm + dcRe;
+            dIm = tmpRe * dIm + tmpIm * dRe + dcIm;
+            dRe = newRe;
+            n++;
+            iter++;
+        }
+        if (squareAbs < r2)
+            return 0;
+        lastSquareAbs[0] = squareAbs;
+        return iter;
+    }
+
+    /**
+     * Continues the orbit of the point without the reference (the point is rounded to {@code double}).
+     *
+     * @param wRe           real part of the current point of the orbit
+     * @param wIm           imaginary part of the current point of the orbit
+     * @param x             x offset of the point
+     * @param y             y offset of the point
+     * @param iter          current number of the iteration
+     * @param maxIter       maximum number of the iteration
+     * @param r2            square of the radius of the bound
+     * @param lastSquareAbs array for square of the absolute value of the first point of the orbit outside of the bound
+     * @return {@code 0} if the point belongs to the fractal, otherwise number of iterations
+     */
+    private int numberIterDirect(double wRe, double wIm, double x, double y, int iter, int maxIter, double r2, double[] lastSquareAbs) {
+        double cRe = (parameterOffset ? centerRe.doubleValue() + Math.scalb(x, scaleExponent) : paramRe);
+        double cIm = (parameterOffset ? centerIm.doubleValue() + Math.scalb(y, scaleExponent) : paramIm);
+        double zRe = wRe - shiftRe;
+        double zIm = wIm - shiftIm;
+        while (iter < maxIter && zRe * zRe + zIm * zIm < r2) {
+            double tmp = wRe * wIm;
+            wRe = cRe + (wRe * wRe - wIm * wIm);
+            wIm = cIm + (tmp + tmp);
+            zRe = wRe - shiftRe;
+            zIm = wIm - shiftIm;
+            iter++;
+        }
+        double squareAbs = zRe * zRe + zIm * zIm;
+        if (squareAbs < r2)
+            return 0;
+        lastSquareAbs[0] = squareAbs;
+        return iter;
+    }
+}
@@ -6,6 +6,8 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.image.WritableImage;
@@ -52,10 +54,21 @@ public class ComplexFractalCanvasDrawer {
     private ComplexFractalChecker complexFractalChecker;
     private IterativePalette iterativePalette;
     /**
-     * Current affine transform on the complex plane. This transform applies to point of the image after transform got
-     * from {@code ComplexFractalDrawer.calculateInitialTransform}.
+     * Current view of the image on the complex plane.
      */
-    private Point2DTransformer transform;
+    private ComplexPlaneView view;
+    /**
+     * Engine for checking the points of the image.
+     */
+    private ComplexFractalEngine engine = ComplexFractalDrawer.defaultEngine;
+    /**
+     * Usage of the smooth coloring.
+     */
+    private boolean smoothColoring = ComplexFractalDrawer.defaultSmoothColoring;
+    /**
+     * Precision of the calculations.
+     */
+    private ComplexFractalPrecision precision = ComplexFractalDrawer.defaultPrecision;
 
 
     /**
@@ -121,10 +134,20 @@ public class ComplexFractalCanvasDrawer {
      * Helper object for update {@code work} property in javaFX thread.
      */
     private AtomicReference<Boolean> updateWorkValue = new AtomicReference<>(null);
+    /**
+     * Tier of the arithmetic of the main image (see {@link ComplexFractalDrawer#tierProperty}). Listeners of this
+     * property updates in JavaFX thread.
+     */
+    private ReadOnlyObjectWrapper<ComplexFractalTier> tier = new ReadOnlyObjectWrapper<>(null);
     /**
      * Indicator that fractal is changed and image needs to update.
      */
     private BooleanProperty changed = new SimpleBooleanProperty(false);
+    /**
+     * Indicator that only palette has been changed since the last drawing, so the image can be recolored from the
+     * numbers of the iteration (see {@link ComplexFractalDrawer#recolor}) without drawing.
+     */
+    private boolean onlyPaletteChanged = false;
 
 
     /**
@@ -141,8 +164,8 @@ public class ComplexFractalCanvasDrawer {
         // store the fractal settings
         setFractal(fractal);
         setPalette(palette);
-        // initialize transform
-        setTransform(Point2DTransformer.CLEAR);
+        // initialize view
+        setView(ComplexPlaneView.DEFAULT);
 
 
         // resize fractal, when canvas will be resized
@@ -166,6 +189,9 @@ public class ComplexFractalCanvasDrawer {
                 singlePool.execute(this::drawFractal);
             }
         });
+        // tier of the main image is updated in javaFX thread
+        complexFractalDrawer.tierProperty().addListener((obj, oldVal, newVal) -> Platform.runLater(() -> tier.set(complexFractalDrawer.getTier())));
+
         // start redrawing the fractal (after invocation resizeImage.invalidated(null) has true value)
         changed.set(false);
         changed.set(true);
@@ -204,6 +230,8 @@ public class ComplexFractalCanvasDrawer {
         Objects.requireNonNull(iterativePalette);
         if (!iterativePalette.equals(this.iterativePalette)) {
             this.iterativePalette = iterativePalette;
+            if (!changed.get())
+                onlyPaletteChanged = true;
             changed.set(true);
         }
     }
@@ -227,29 +255,101 @@ public class ComplexFractalCanvasDrawer {
         Objects.requireNonNull(complexFractalChecker);
         if (!complexFractalChecker.equals(this.complexFractalChecker)) {
             this.complexFractalChecker = complexFractalChecker;
+            onlyPaletteChanged = false;
+            changed.set(true);
+        }
+    }
+
+    /**
+     * Gets current view of the image on the complex plane.
+     *
+     * @return current view
+     */
+    public synchronized ComplexPlaneView getView() {
+        return view;
+    }
+
+    /**
+     * Sets current view of the image on the complex plane.
+     *
+     * @param view new view
+     * @throws NullPointerException if view is {@code null}
+     */
+    public synchronized void setView(ComplexPlaneView view) {
+        Objects.requireNonNull(view);
+        if (!view.equals(this.view)) {
+            this.view = view;
+            onlyPaletteChanged = false;
+            changed.set(true);
+        }
+    }
+
+    /**
+     * Gets current engine for checking the points of the image.
+     *
+     * @return engine
+     */
+    public synchronized ComplexFractalEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Sets engine for checking the points of the image.
+     *
+     * @param engine engine
+     * @throws NullPointerException if engine is {@code null}
+     */
+    public synchronized void setEngine(ComplexFractalEngine engine) {
+        Objects.requireNonNull(engine);
+        if (engine != this.engine) {
+            this.engine = engine;
+            onlyPaletteChanged = false;
             changed.set(true);
         }
     }
 
     /**
-     * Gets current transform of the axis.
+     * Checks that the smooth coloring is used (the continuous numbers of the iteration are converted to colors).
      *
-     * @return current transform
+     * @return true, if the smooth coloring is used
      */
-    public synchronized Point2DTransformer getTransform() {
-        return transform;
+    public synchronized boolean isSmoothColoring() {
+        return smoothColoring;
     }
 
     /**
-     * Sets current transform of the axis.
+     * Sets usage of the smooth coloring.
      *
-     * @param transform new transform
-     * @throws NullPointerException if transform is {@code null}
+     * @param smoothColoring if it's true, the smooth coloring is used
      */
-    public synchronized void setTransform(Point2DTransformer transform) {
-        Objects.requireNonNull(transform);
-        if (!transform.equals(this.transform)) {
-            this.transform = transform;
+    public synchronized void setSmoothColoring(boolean smoothColoring) {
+        if (smoothColoring != this.smoothColoring) {
+            this.smoothColoring = smoothColoring;
+            onlyPaletteChanged = false;
+            changed.set(true);
+        }
+    }
+
+    /**
+     * Gets precision of the calculations.
+     *
+     * @return precision
+     */
+    public synchronized ComplexFractalPrecision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Sets precision of the calculations. The single precision can be forced for verification.
+     *
+     * @param precision precision
+     * @throws NullPointerException if precision is {@code null}
+     */
+    public synchronized void setPrecision(ComplexFractalPrecision precision) {
+        Objects.requireNonNull(precision);
+        if (precision != this.precision) {
+            this.precision = precision;
+            onlyPaletteChanged = false;
             changed.set(true);
         }
     }
@@ -271,6 +371,7 @@ public class ComplexFractalCanvasDrawer {
      */
     private synchronized void setImageBuffer(WritableImage imageBuffer) {
         this.imageBuffer = Objects.requireNonNull(imageBuffer);
+        onlyPaletteChanged = false;
         changed.set(true);
     }
 
@@ -303,25 +404,26 @@ public class ComplexFractalCanvasDrawer {
     }
 
     /**
-     * Updates {@code work} property in non javaFX thread. Listeners of this property updates in JavaFX thread.
+     * Gets tier of the arithmetic that has been selected for the main image at the current zoom.
      *
-     * @param work value of the work property
+     * @return tier or null, if the fractal hasn't been drawn
      */
-    private void updateWork(boolean work) {
-        if (updateWorkValue.getAndSet(work) == null)
-            Platform.runLater(() -> this.work.set(updateWorkValue.getAndSet(null)));
+    final public ComplexFractalTier getTier() {
+        return tier.get();
     }
 
+    public ReadOnlyObjectProperty<ComplexFractalTier> tierProperty() {
+        return tier.getReadOnlyProperty();
+    }
 
     /**
-     * Gets resulting transform for image.
+     * Updates {@code work} property in non javaFX thread. Listeners of this property updates in JavaFX thread.
      *
-     * @return resulting transformer
+     * @param work value of the work property
      */
-    private synchronized Point2DTransformer getResultingTransform() {
-        int w = (int) getImageBuffer().getWidth();
-        int h = (int) getImageBuffer().getHeight();
-        return ComplexFractalDrawer.calculateInitialTransform(w, h).addAfter(getTransform());
+    private void updateWork(boolean work) {
+        if (updateWorkValue.getAndSet(work) == null)
+            Platform.runLater(() -> this.work.set(updateWorkValue.getAndSet(null)));
     }
 
 
@@ -332,33 +434,29 @@ public class ComplexFractalCanvasDrawer {
      * @param dy y translate (in the pixels)
      */
     public synchronized void translateImage(double dx, double dy) {
-        Point2DTransformer resTr = getResultingTransform();
-        Point2D p1 = resTr.apply(new Point2D(0, 0));
-        Point2D p2 = resTr.apply(new Point2D(dx, dy));
-        double dxFr = p1.getX() - p2.getX();
-        double dyFr = p1.getY() - p2.getY();
-        // perform translate
-        setTransform(getTransform().translation(dxFr, dyFr));
+        int w = (int) getImageBuffer().getWidth();
+        int h = (int) getImageBuffer().getHeight();
+        setView(getView().translate(dx, dy, w, h));
     }
 
     /**
      * Sets default scale of the image.
      */
     public synchronized void defaultScaleImage() {
-        setTransform(Point2DTransformer.CLEAR);
+        setView(ComplexPlaneView.DEFAULT);
     }
 
     /**
      * Changes the scale of the image. The point with coordinate (x, y) doesn't move.
      *
-     * @param xScale x scales
-     * @param yScale y scales
-     * @param x      x coordinate of the center scale at canvas
-     * @param y      y coordinate of the center scale at canvas
-     */
-    public synchronized void scaleImage(double xScale, double yScale, double x, double y) {
-        Point2D center = getResultingTransform().apply(new Point2D(x, y));
-        setTransform(getTransform().scale(xScale, yScale, center));
+     * @param scale factor of the scale (the factor less than one zooms in)
+     * @param x     x coordinate of the center scale at canvas
+     * @param y     y coordinate of the center scale at canvas
+     */
+    public synchronized void scaleImage(double scale, double x, double y) {
+        int w = (int) getImageBuffer().getWidth();
+        int h = (int) getImageBuffer().getHeight();
+        setView(getView().scale(scale, x, y, w, h));
     }
 
     /**
@@ -367,10 +465,7 @@ public class ComplexFractalCanvasDrawer {
      * @param angle angle of rotate
      */
     public synchronized void rotateImage(double angle) {
-        int w = (int) getImageBuffer().getWidth();
-        int h = (int) getImageBuffer().getHeight();
-        Point2D center = getResultingTransform().apply(new Point2D(w / 2.0, h / 2.0));
-        setTransform(getTransform().rotate(angle, center));
+        setView(getView().rotate(angle));
     }
 
 
@@ -381,9 +476,14 @@ public class ComplexFractalCanvasDrawer {
         // setting of the fractal
         ComplexFractalChecker cFrCh;
         IterativePalette itPl;
-        Point2DTransformer tr;
+        ComplexPlaneView v;
+        ComplexFractalEngine eng;
+        boolean smooth;
+        ComplexFractalPrecision prec;
         // current setting of the image
         WritableImage im;
+        // the image is only recolored
+        boolean recolor;
 
         synchronized (this) {
             // get current setting
@@ -391,17 +491,32 @@ public class ComplexFractalCanvasDrawer {
             // current setting of the fractal
             cFrCh = getFractal();
             itPl = getPalette();
-            tr = getTransform();
+            v = getView();
+            eng = getEngine();
+            smooth = isSmoothColoring();
+            prec = getPrecision();
             // current setting of the image
             im = getImageBuffer();
 
             // changes has accepted to processing
+            recolor = onlyPaletteChanged;
+            onlyPaletteChanged = false;
             changed.set(false);
             complexFractalDrawer.setPermitWork(true);
             // start work
             updateWork(true);
         }
 
+        // recolor the main image, if only palette has been changed (the numbers of the iteration may be unknown, if
+        // the last drawing has been canceled)
+        if (recolor && complexFractalDrawer.recolor(itPl)) {
+            synchronized (this) {
+                if (!changed.get())
+                    updateWork(false);
+            }
+            return;
+        }
+
         // size of the main image
         int h = (int) im.getHeight();
         int w = (int) im.getWidth();
@@ -416,12 +531,15 @@ public class ComplexFractalCanvasDrawer {
             prIm = new WritableImage(wPr, hPr);
             setPreviewImage(prIm);
         }
-        ComplexFractalDrawer.drawFractal(prIm, ComplexFractalDrawer.calculateInitialTransform(wPr, hPr).addAfter(tr), cFrCh, itPl);
+        ComplexFractalDrawer.drawFractal(prIm, v, cFrCh, itPl, eng, smooth, prec);
         drawPreviewImage = true;
 
         // draw fractal
         complexFractalDrawer.setImage(im);
-        complexFractalDrawer.drawFractal(ComplexFractalDrawer.calculateInitialTransform(w, h).addAfter(tr), cFrCh, itPl);
+        complexFractalDrawer.setEngine(eng);
+        complexFractalDrawer.setSmoothColoring(smooth);
+        complexFractalDrawer.setPrecision(prec);
+        complexFractalDrawer.drawFractal(v, cFrCh, itPl);
 
         // if thread has drawn fractal fully then working has been finished
         synchronized (this) {
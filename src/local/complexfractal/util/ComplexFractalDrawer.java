@@ -1,13 +1,27 @@
 package local.complexfractal.util;
 
 import javafx.beans.property.*;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
+import local.complexfractal.model.ComplexFractal;
 import local.complexfractal.model.ComplexFractalChecker;
+import local.complexfractal.model.JuliaSet;
+import local.complexfractal.model.JuliaSetInverseIteration;
+import local.complexfractal.model.JuliaSetPerturbation;
+import local.complexfractal.model.MandelbrotSet;
+import local.complexfractal.model.MandelbrotSetPerturbation;
+import local.complexfractal.model.QuadraticFractalPerturbation;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.stream.IntStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
 
 /**
  * The class {@code ComplexFractalDrawer} draws fractal on the {@link javafx.scene.image.WritableImage}.
@@ -15,6 +29,36 @@ import java.util.stream.IntStream;
  * @author Kochin Konstantin Alexandrovich
  */
 public class ComplexFractalDrawer {
+    /**
+     * Width of the tile of the image. The image is split to the tiles, which are drawn in parallel.
+     */
+    private static final int tileWidth = 64;
+    /**
+     * Height of the tile of the image.
+     */
+    private static final int tileHeight = 16;
+    /**
+     * Pool of the threads for drawing the tiles. It's separated from the common pool, so drawing of the fractal doesn't
+     * compete with other parallel tasks of the application.
+     */
+    private static final ForkJoinPool tilePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    /**
+     * Engine that is used by default.
+     */
+    public static final ComplexFractalEngine defaultEngine = ComplexFractalEngine.SCALAR;
+    /**
+     * Usage of the smooth coloring by default.
+     */
+    public static final boolean defaultSmoothColoring = false;
+    /**
+     * Precision of the calculations that is used by default.
+     */
+    public static final ComplexFractalPrecision defaultPrecision = ComplexFractalPrecision.AUTO;
+    /**
+     * Subdivision of the tiles that is used by default.
+     */
+    public static final ComplexFractalSubdivision defaultSubdivision = ComplexFractalSubdivision.NONE;
+
     /**
      * Defines status of completing of the drawing (from 0 to 1).
      * <p>
@@ -37,7 +81,65 @@ public class ComplexFractalDrawer {
     private final BooleanProperty permitWork = new SimpleBooleanProperty(true);
 
     /**
-     * Mutex for setters and getters of the progress, numberDrawnRows and permitWork properties.
+     * Defines engine for checking the points of the image. Changing of the engine is applied to the next drawing.
+     * <p>
+     * This property can be used by threads not drawing the fractal. Use setter and getter for thread-safe operation.
+     *
+     * @defaultValue ComplexFractalEngine.SCALAR
+     */
+    private final ObjectProperty<ComplexFractalEngine> engine = new SimpleObjectProperty<>(defaultEngine);
+
+    /**
+     * Defines usage of the smooth coloring: the continuous numbers of the iteration are converted to colors (see {@link
+     * IterativePalette#smoothNumIterToColor}). Changing of this property is applied to the next drawing.
+     * <p>
+     * This property can be used by threads not drawing the fractal. Use setter and getter for thread-safe operation.
+     *
+     * @defaultValue false
+     */
+    private final BooleanProperty smoothColoring = new SimpleBooleanProperty(defaultSmoothColoring);
+
+    /**
+     * Defines precision of the calculations. By default the precision is selected for each image by the step between
+     * the pixels, so the deep zoom is drawn with the perturbation or with double-double precision (see {@link
+     * ComplexFractalPrecision}). Changing of the precision is applied to the next drawing.
+     * <p>
+     * This property can be used by threads not drawing the fractal. Use setter and getter for thread-safe operation.
+     *
+     * @defaultValue ComplexFractalPrecision.AUTO
+     */
+    private final ObjectProperty<ComplexFractalPrecision> precision = new SimpleObjectProperty<>(defaultPrecision);
+
+    /**
+     * Defines subdivision of the tiles of the image (see {@link ComplexFractalSubdivision}). Changing of the
+     * subdivision is applied to the next drawing.
+     * <p>
+     * This property can be used by threads not drawing the fractal. Use setter and getter for thread-safe operation.
+     *
+     * @defaultValue ComplexFractalSubdivision.NONE
+     */
+    private final ObjectProperty<ComplexFractalSubdivision> subdivision = new SimpleObjectProperty<>(defaultSubdivision);
+
+    /**
+     * Defines number of the points of the last drawing, which results of the subdivision differ from the results of the
+     * checking of all points. It's counted only for the subdivision {@link ComplexFractalSubdivision#AUDIT}, otherwise
+     * it's zero. It's set when the drawing has been completed.
+     * <p>
+     * This property can be used by threads not drawing the fractal. Use setter and getter for thread-safe operation.
+     */
+    private final ReadOnlyIntegerWrapper numberMismatchedPoints = new ReadOnlyIntegerWrapper(0);
+
+    /**
+     * Defines tier of the arithmetic that has been selected for the last drawing (see {@link ComplexFractalTier}). It's
+     * set before the first row of the image is drawn. It's null, if the fractal hasn't been drawn.
+     * <p>
+     * This property can be used by threads not drawing the fractal. Use setter and getter for thread-safe operation.
+     */
+    private final ReadOnlyObjectWrapper<ComplexFractalTier> tier = new ReadOnlyObjectWrapper<>(null);
+
+    /**
+     * Mutex for setters and getters of the progress, numberDrawnRows, permitWork, engine, smoothColoring, precision,
+     * subdivision, numberMismatchedPoints and tier properties.
      */
     private final Object mutex = new Object();
 
@@ -52,6 +154,44 @@ public class ComplexFractalDrawer {
      */
     private volatile WritableImage image;
 
+    /**
+     * Numbers of the iteration of the last completed drawing. They are used for recoloring the image with other
+     * palette (see {@link #recolor}). It's null, if the image has been changed or the drawing has been canceled.
+     */
+    private volatile IterationBuffer iterationBuffer;
+
+
+    /**
+     * Checking of the points of the image: checker, transform for the points, engine, tier of the arithmetic and
+     * maximum number of the iteration ({@code 0} if it's unknown).
+     */
+    private static final class ImageChecking {
+        final ComplexFractalChecker fCh;
+        final Point2DTransformer resTr;
+        final ComplexFractalEngine engine;
+        final ComplexFractalTier tier;
+        final int maxIter;
+
+        ImageChecking(ComplexFractalChecker fCh, Point2DTransformer resTr, ComplexFractalEngine engine, ComplexFractalTier tier, int maxIter) {
+            this.fCh = fCh;
+            this.resTr = resTr;
+            this.engine = engine;
+            this.tier = tier;
+            this.maxIter = maxIter;
+        }
+
+        ImageChecking(ComplexFractalChecker fCh, Point2DTransformer resTr, ComplexFractalEngine engine) {
+            this(fCh, resTr, engine, ComplexFractalTier.of(engine), (fCh instanceof ComplexFractal ? ((ComplexFractal) fCh).getMaxIter() : 0));
+        }
+    }
+
+    /**
+     * Preparation of the checking of the points of the image for the engine, the precision and the size of the image.
+     */
+    @FunctionalInterface
+    private interface CheckingPreparation {
+        ImageChecking prepare(ComplexFractalEngine engine, ComplexFractalPrecision precision, int w, int h);
+    }
 
     /**
      * Default constructor.
@@ -60,32 +200,439 @@ public class ComplexFractalDrawer {
     }
 
     /**
-     * Calculates the row of the point for fractal image.
+     * Prepares checking of the points of the image. The engine is selected for the precision. If the perturbation is
+     * used for the image and the fractal is the Mandelbrot set or the Julia set, the points are checked by {@link
+     * MandelbrotSetPerturbation} or {@link JuliaSetPerturbation} with the reference in the center of the image (the
+     * transform is changed, so the points are the offsets from the center). The first iterations of all points of the
+     * image are skipped using the series approximation.
      *
-     * @param numLine   y coordinate of the row
-     * @param lineWidth width of the row
-     * @param resTr     transform matrix for the point
+     * @param resTr     transform matrix for the points of the image
      * @param fCh       checker of the fractal
-     * @param pl        palette
-     * @return calculated colors
+     * @param engine    engine for checking the points
+     * @param precision precision of the calculations
+     * @param w         width of the image
+     * @param h         height of the image
+     * @return checking of the points of the image
+     */
+    private static ImageChecking prepareChecking(Point2DTransformer resTr, ComplexFractalChecker fCh, ComplexFractalEngine engine, ComplexFractalPrecision precision, int w, int h) {
+        if ((fCh instanceof MandelbrotSet || fCh instanceof JuliaSet) && precision.usePerturbation(resTr, w, h)) {
+            BigDecimal[] center = resTr.applyHighPrecision(new Point2D(w / 2.0, h / 2.0));
+            double step = ComplexFractalPrecision.minStep(resTr);
+            // distance from the center to the corners of the image
+            Point2D diagonal1 = resTr.applyToVector(new Point2D(w / 2.0, h / 2.0));
+            Point2D diagonal2 = resTr.applyToVector(new Point2D(w / 2.0, -h / 2.0));
+            double radius = Math.max(Math.hypot(diagonal1.getX(), diagonal1.getY()), Math.hypot(diagonal2.getX(), diagonal2.getY()));
+            QuadraticFractalPerturbation perturbation = createPerturbation(fCh, center[0], center[1], step, radius, 0);
+            return new ImageChecking(perturbation, resTr.translation(center[0].negate(), center[1].negate()), ComplexFractalEngine.SCALAR, ComplexFractalTier.PERTURBATION,
+                    ((ComplexFractal) fCh).getMaxIter());
+        }
+        return new ImageChecking(fCh, resTr, precision.selectEngine(engine, resTr, w, h));
+    }
+
+    /**
+     * Prepares checking of the points of the image for the view. The engine is selected for the precision with the
+     * transform of the view (see {@link ComplexPlaneView#toTransformer}). If the perturbation is used, the points are
+     * the offsets from the center of the view in units {@code 2^getStepExponent} (see {@link
+     * ComplexPlaneView#getOffsetTransform}), so the step between the pixels can be less than the minimal {@code double}
+     * value.
+     *
+     * @param view      view of the image
+     * @param fCh       checker of the fractal
+     * @param engine    engine for checking the points
+     * @param precision precision of the calculations
+     * @param w         width of the image
+     * @param h         height of the image
+     * @return checking of the points of the image
+     */
+    private static ImageChecking prepareChecking(ComplexPlaneView view, ComplexFractalChecker fCh, ComplexFractalEngine engine, ComplexFractalPrecision precision, int w, int h) {
+        Point2DTransformer resTr = view.toTransformer(w, h);
+        if ((fCh instanceof MandelbrotSet || fCh instanceof JuliaSet) && precision.usePerturbation(resTr, w, h)) {
+            double step = view.getStep(w, h).getMantissa();
+            // distance from the center to the corners of the image
+            double radius = step * Math.hypot(w / 2.0, h / 2.0);
+            QuadraticFractalPerturbation perturbation = createPerturbation(fCh, view.getCenterX(), view.getCenterY(),
+                    step, radius, view.getStepExponent(w, h));
+            return new ImageChecking(perturbation, view.getOffsetTransform(w, h), ComplexFractalEngine.SCALAR, ComplexFractalTier.PERTURBATION,
+                    ((ComplexFractal) fCh).getMaxIter());
+        }
+        return new ImageChecking(fCh, resTr, precision.selectEngine(engine, resTr, w, h));
+    }
+
+    /**
+     * Creates the perturbation checker for the Mandelbrot set or the Julia set.
+     *
+     * @param fCh           Mandelbrot set or Julia set
+     * @param centerX       x coordinate of the center
+     * @param centerY       y coordinate of the center
+     * @param step          step between the pixels (in units {@code 2^scaleExponent})
+     * @param radius        radius of the series approximation (in units {@code 2^scaleExponent})
+     * @param scaleExponent exponent of the units of the offsets
+     * @return perturbation checker
      */
-    private static Color[] calculateLine(int numLine, int lineWidth, Point2DTransformer resTr, ComplexFractalChecker fCh, IterativePalette pl) {
-        if (numLine < 0)
-            throw new IllegalArgumentException("numLine < 0");
-        if (lineWidth <= 0)
-            throw new IllegalArgumentException("lineWidth <= 0");
+    private static QuadraticFractalPerturbation createPerturbation(ComplexFractalChecker fCh, BigDecimal centerX, BigDecimal centerY,
+                                                                   double step, double radius, int scaleExponent) {
+        return (fCh instanceof MandelbrotSet
+                ? new MandelbrotSetPerturbation((MandelbrotSet) fCh, centerX, centerY, step, radius, scaleExponent)
+                : new JuliaSetPerturbation((JuliaSet) fCh, centerX, centerY, step, radius, scaleExponent));
+    }
 
-        return IntStream
-                // generate line of the points from (numLine, 0) to (numLine, lineWidth - 1)
-                .range(0, lineWidth).parallel().mapToObj(colNum -> new Point2D(colNum, numLine))
-                        // perform affine transform of the points
-                .map(resTr::apply)
-                        // calculate number of the iteration for points
-                .mapToInt(fCh::numberIter)
-                        // map number of the iteration to color
-                .mapToObj(pl::numIterToColor)
-                        // get result as array
-                .toArray(Color[]::new);
+    /**
+     * Calculates numbers of the iteration of the points of the tile of the image. The points of the row of the tile are
+     * checked as the segment of the row of the image (the points of the row have the same origin), so the results
+     * don't depend on the size of the tiles.
+     *
+     * @param tileX      x coordinate of the first column of the tile
+     * @param tileY      y coordinate of the first row of the tile
+     * @param tileW      width of the tile
+     * @param tileH      height of the tile
+     * @param checking   checking of the points of the image
+     * @param smooth     if it's true, the continuous numbers of the iteration are calculated
+     * @param iterations numbers of the iteration of the image (row by row)
+     * @param w          width of the image
+     */
+    private static void calculateTile(int tileX, int tileY, int tileW, int tileH, ImageChecking checking, boolean smooth, float[] iterations, int w) {
+        // step between neighboring points of the row on complex plane
+        Point2D step = checking.resTr.applyToVector(new Point2D(1, 0));
+        int[] iters = (smooth ? null : new int[tileX + tileW]);
+        double[] values = (smooth ? new double[tileX + tileW] : null);
+        for (int row = 0; row < tileH; row++) {
+            // coordinate of the first point of the row of the image
+            Point2DDoubleDouble origin = checking.resTr.applyDoubleDouble(new Point2D(0, tileY + row));
+            int offset = (tileY + row) * w;
+            if (smooth) {
+                // calculate continuous number of the iteration for points
+                checking.engine.smoothNumberIter(checking.fCh, origin, step.getX(), step.getY(), values, tileX, tileX + tileW);
+                for (int j = tileX; j < tileX + tileW; j++)
+                    iterations[offset + j] = (float) values[j];
+            } else {
+                // calculate number of the iteration for points
+                checking.engine.numberIter(checking.fCh, origin, step.getX(), step.getY(), iters, tileX, tileX + tileW);
+                for (int j = tileX; j < tileX + tileW; j++)
+                    iterations[offset + j] = iters[j];
+            }
+        }
+    }
+
+    /**
+     * Mariani-Silver subdivision of the tile of the image (see {@link ComplexFractalSubdivision}). The points are
+     * checked as the segments of the rows of the image same as by {@link #calculateTile}, so the checked points have
+     * the same results, and each point is checked at most once.
+     */
+    private static final class TileSubdivision {
+        /**
+         * Maximum number of the inner points of the rectangle, which are checked without splitting the rectangle.
+         */
+        private static final int maxCheckedArea = 16;
+
+        private final ImageChecking checking;
+        private final boolean smooth;
+        private final float[] iterations;
+        private final int w;
+        private final int tileX;
+        private final int tileY;
+        private final int tileW;
+        // step between neighboring points of the row on complex plane
+        private final Point2D step;
+        // coordinates of the first points of the rows of the tile (null, if they haven't been calculated)
+        private final Point2DDoubleDouble[] origins;
+        // the points of the tile, which numbers of the iteration are known (row by row)
+        private final boolean[] known;
+        private final int[] iters;
+        private final double[] values;
+
+        TileSubdivision(int tileX, int tileY, int tileW, int tileH, ImageChecking checking, boolean smooth, float[] iterations, int w) {
+            this.checking = checking;
+            this.smooth = smooth;
+            this.iterations = iterations;
+            this.w = w;
+            this.tileX = tileX;
+            this.tileY = tileY;
+            this.tileW = tileW;
+            this.step = checking.resTr.applyToVector(new Point2D(1, 0));
+            this.origins = new Point2DDoubleDouble[tileH];
+            this.known = new boolean[tileW * tileH];
+            this.iters = (smooth ? null : new int[tileX + tileW]);
+            this.values = (smooth ? new double[tileX + tileW] : null);
+        }
+
+        /**
+         * Checks the unknown points of the segment of the row. The consecutive unknown points are checked as one
+         * segment.
+         *
+         * @param y    y coordinate of the row
+         * @param from x coordinate of the first point (inclusive)
+         * @param to   x coordinate of the last point (exclusive)
+         */
+        private void checkSegment(int y, int from, int to) {
+            int row = y - tileY;
+            int offset = y * w;
+            int x = from;
+            while (x < to) {
+                if (known[row * tileW + x - tileX]) {
+                    x++;
+                    continue;
+                }
+                int end = x + 1;
+                while (end < to && !known[row * tileW + end - tileX])
+                    end++;
+                if (origins[row] == null)
+                    origins[row] = checking.resTr.applyDoubleDouble(new Point2D(0, y));
+                if (smooth) {
+                    checking.engine.smoothNumberIter(checking.fCh, origins[row], step.getX(), step.getY(), values, x, end);
+                    for (int j = x; j < end; j++)
+                        iterations[offset + j] = (float) values[j];
+                } else {
+                    checking.engine.numberIter(checking.fCh, origins[row], step.getX(), step.getY(), iters, x, end);
+                    for (int j = x; j < end; j++)
+                        iterations[offset + j] = iters[j];
+                }
+                for (int j = x; j < end; j++)
+                    known[row * tileW + j - tileX] = true;
+                x = end;
+            }
+        }
+
+        /**
+         * Calculates numbers of the iteration of the points of the rectangle. The border of the rectangle is checked
+         * and, if its points have the same number of the iteration, the inner points get this number, otherwise the
+         * rectangle is split in halves with the common line.
+         *
+         * @param x  x coordinate of the first column of the rectangle
+         * @param y  y coordinate of the first row of the rectangle
+         * @param rw width of the rectangle
+         * @param rh height of the rectangle
+         */
+        void subdivide(int x, int y, int rw, int rh) {
+            // check the border
+            checkSegment(y, x, x + rw);
+            checkSegment(y + rh - 1, x, x + rw);
+            for (int r = y + 1; r < y + rh - 1; r++) {
+                checkSegment(r, x, x + 1);
+                checkSegment(r, x + rw - 1, x + rw);
+            }
+            if (rw <= 2 || rh <= 2)
+                return;
+
+            // compare the points of the border
+            float value = iterations[y * w + x];
+            boolean uniform = true;
+            for (int j = x; j < x + rw && uniform; j++)
+                uniform = (iterations[y * w + j] == value && iterations[(y + rh - 1) * w + j] == value);
+            for (int r = y + 1; r < y + rh - 1 && uniform; r++)
+                uniform = (iterations[r * w + x] == value && iterations[r * w + x + rw - 1] == value);
+
+            if (uniform) {
+                // fill the inner points
+                for (int r = y + 1; r < y + rh - 1; r++) {
+                    Arrays.fill(iterations, r * w + x + 1, r * w + x + rw - 1, value);
+                    Arrays.fill(known, (r - tileY) * tileW + x + 1 - tileX, (r - tileY) * tileW + x + rw - 1 - tileX, true);
+                }
+            } else if ((rw - 2) * (rh - 2) <= maxCheckedArea) {
+                // check the inner points
+                for (int r = y + 1; r < y + rh - 1; r++)
+                    checkSegment(r, x + 1, x + rw - 1);
+            } else if (rw >= rh) {
+                int middle = rw / 2;
+                subdivide(x, y, middle + 1, rh);
+                subdivide(x + middle, y, rw - middle, rh);
+            } else {
+                int middle = rh / 2;
+                subdivide(x, y, rw, middle + 1);
+                subdivide(x, y + middle, rw, rh - middle);
+            }
+        }
+    }
+
+    /**
+     * Calculates numbers of the iteration of the points of the tile of the image by the Mariani-Silver subdivision (see
+     * {@link ComplexFractalSubdivision}).
+     *
+     * @param tileX      x coordinate of the first column of the tile
+     * @param tileY      y coordinate of the first row of the tile
+     * @param tileW      width of the tile
+     * @param tileH      height of the tile
+     * @param checking   checking of the points of the image
+     * @param smooth     if it's true, the continuous numbers of the iteration are calculated
+     * @param iterations numbers of the iteration of the image (row by row)
+     * @param w          width of the image
+     */
+    private static void subdivideTile(int tileX, int tileY, int tileW, int tileH, ImageChecking checking, boolean smooth, float[] iterations, int w) {
+        new TileSubdivision(tileX, tileY, tileW, tileH, checking, smooth, iterations, w).subdivide(tileX, tileY, tileW, tileH);
+    }
+
+    /**
+     * Converts numbers of the iteration of the points of the tile to the packed ARGB values (see {@link
+     * IterativePalette#numIterToArgb}). The integer numbers of the iteration are converted by the lookup table of the
+     * palette (see {@link IterativePalette#createArgbTable}), if it's given.
+     *
+     * @param tileX      x coordinate of the first column of the tile
+     * @param tileY      y coordinate of the first row of the tile
+     * @param tileW      width of the tile
+     * @param tileH      height of the tile
+     * @param iterations numbers of the iteration of the image (row by row)
+     * @param w          width of the image
+     * @param pl         palette
+     * @param smooth     if it's true, the numbers of the iteration are continuous
+     * @param argbTable  lookup table of the palette for the integer numbers of the iteration or null
+     * @return colors of the tile (row by row)
+     */
+    private static int[] colorTile(int tileX, int tileY, int tileW, int tileH, float[] iterations, int w, IterativePalette pl, boolean smooth, int[] argbTable) {
+        int[] colors = new int[tileW * tileH];
+        for (int row = 0; row < tileH; row++) {
+            int offset = (tileY + row) * w + tileX;
+            for (int j = 0; j < tileW; j++) {
+                float value = iterations[offset + j];
+                if (smooth) {
+                    colors[row * tileW + j] = pl.smoothNumIterToArgb(value);
+                } else {
+                    int numIter = (int) value;
+                    colors[row * tileW + j] = (argbTable != null && numIter >= 0 && numIter < argbTable.length
+                            ? argbTable[numIter] : pl.numIterToArgb(numIter));
+                }
+            }
+        }
+        return colors;
+    }
+
+    /**
+     * Numbers of the iteration of the image (continuous numbers, if the smooth coloring is used), which have been
+     * calculated for the drawing, and maximum number of the iteration ({@code 0} if it's unknown). The image can be
+     * recolored with other palette from them without checking the points.
+     */
+    private static final class IterationBuffer {
+        final WritableImage image;
+        final float[] iterations;
+        final boolean smooth;
+        final int maxIter;
+
+        IterationBuffer(WritableImage image, float[] iterations, boolean smooth, int maxIter) {
+            this.image = image;
+            this.iterations = iterations;
+            this.smooth = smooth;
+            this.maxIter = maxIter;
+        }
+
+        IterationBuffer(WritableImage image, boolean smooth, int maxIter) {
+            this(image, new float[(int) image.getWidth() * (int) image.getHeight()], smooth, maxIter);
+        }
+    }
+
+    /**
+     * Drawing of the image by the tiles. The tiles are independent, so each tile is published on the image as soon as
+     * it's calculated: the packed ARGB values of the tile are written by one call of {@link PixelWriter#setPixels} with
+     * the image blocked with {@code synchronized}, so only the region of the tile is updated. The numbers of the
+     * iteration are stored to the buffer before coloring. If the checking is null, the tiles are only recolored from the
+     * buffer. The points of the tiles are calculated by the subdivision, and the mismatched points of the subdivision
+     * are counted, if it's audited.
+     */
+    private static final class TileDrawing {
+        final IterationBuffer buffer;
+        final ImageChecking checking;
+        final ComplexFractalSubdivision subdivision;
+        final IterativePalette pl;
+        // lookup table of the palette for the integer numbers of the iteration or null, if the table isn't smaller than
+        // the image (the colors of the points are calculated by the palette)
+        final int[] argbTable;
+        // number of the tiles in the row and in the column of the tiles
+        final int numTilesX;
+        final int numTilesY;
+        // permission to continue drawing and observer of the completed tiles
+        final BooleanSupplier permitWork;
+        final IntConsumer tileCompleted;
+        // number of the points, which results of the subdivision differ from the results of the checking
+        final AtomicInteger mismatchedPoints = new AtomicInteger(0);
+
+        TileDrawing(IterationBuffer buffer, ImageChecking checking, ComplexFractalSubdivision subdivision, IterativePalette pl,
+                    BooleanSupplier permitWork, IntConsumer tileCompleted) {
+            this.buffer = buffer;
+            this.checking = checking;
+            this.subdivision = subdivision;
+            this.pl = pl;
+            int w = (int) buffer.image.getWidth();
+            int h = (int) buffer.image.getHeight();
+            this.argbTable = (buffer.smooth || buffer.maxIter + 1L > (long) w * h ? null : pl.createArgbTable(buffer.maxIter));
+            this.numTilesX = (w + tileWidth - 1) / tileWidth;
+            this.numTilesY = (h + tileHeight - 1) / tileHeight;
+            this.permitWork = permitWork;
+            this.tileCompleted = tileCompleted;
+        }
+
+        /**
+         * Draws the tile, if drawing is permitted.
+         *
+         * @param index index of the tile (the tiles are numbered row by row)
+         */
+        void drawTile(int index) {
+            if (!permitWork.getAsBoolean())
+                return;
+            WritableImage image = buffer.image;
+            int w = (int) image.getWidth();
+            int h = (int) image.getHeight();
+            int tileX = (index % numTilesX) * tileWidth;
+            int tileY = (index / numTilesX) * tileHeight;
+            int tileW = Math.min(tileWidth, w - tileX);
+            int tileH = Math.min(tileHeight, h - tileY);
+            if (checking != null && subdivision == ComplexFractalSubdivision.AUDIT) {
+                // check all points of the tile and compare them with the results of the subdivision
+                calculateTile(tileX, tileY, tileW, tileH, checking, buffer.smooth, buffer.iterations, w);
+                float[] expected = new float[tileW * tileH];
+                for (int row = 0; row < tileH; row++)
+                    System.arraycopy(buffer.iterations, (tileY + row) * w + tileX, expected, row * tileW, tileW);
+                subdivideTile(tileX, tileY, tileW, tileH, checking, buffer.smooth, buffer.iterations, w);
+                int mismatches = 0;
+                for (int row = 0; row < tileH; row++)
+                    for (int j = 0; j < tileW; j++)
+                        if (Float.compare(expected[row * tileW + j], buffer.iterations[(tileY + row) * w + tileX + j]) != 0)
+                            mismatches++;
+                mismatchedPoints.addAndGet(mismatches);
+            } else if (checking != null && subdivision.isSubdivided()) {
+                subdivideTile(tileX, tileY, tileW, tileH, checking, buffer.smooth, buffer.iterations, w);
+            } else if (checking != null) {
+                calculateTile(tileX, tileY, tileW, tileH, checking, buffer.smooth, buffer.iterations, w);
+            }
+            int[] colors = colorTile(tileX, tileY, tileW, tileH, buffer.iterations, w, pl, buffer.smooth, argbTable);
+            // draw the tile
+            synchronized (image) {
+                image.getPixelWriter().setPixels(tileX, tileY, tileW, tileH, PixelFormat.getIntArgbInstance(), colors, 0, tileW);
+            }
+            tileCompleted.accept(index);
+        }
+
+        /**
+         * Draws all tiles of the image in the pool of the tiles.
+         */
+        void drawTiles() {
+            tilePool.invoke(new TileTask(this, 0, numTilesX * numTilesY));
+        }
+    }
+
+    /**
+     * Task for the range of the tiles. The range is split in halves until it contains one tile, so idle threads of the
+     * pool steal the halves from the busy threads.
+     */
+    private static final class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final TileDrawing drawing;
+        private final int from;
+        private final int to;
+
+        TileTask(TileDrawing drawing, int from, int to) {
+            this.drawing = drawing;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (!drawing.permitWork.getAsBoolean())
+                return;
+            if (to - from == 1) {
+                drawing.drawTile(from);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(drawing, from, middle), new TileTask(drawing, middle, to));
+            }
+        }
     }
 
     /**
@@ -96,22 +643,184 @@ public class ComplexFractalDrawer {
      * @param resTr transform matrix for the points of the image
      * @param fCh   checker of the fractal
      * @param pl    palette
+     * @return tier of the arithmetic that has been used
+     */
+    public static ComplexFractalTier drawFractal(WritableImage image, Point2DTransformer resTr, ComplexFractalChecker fCh, IterativePalette pl) {
+        return drawFractal(image, resTr, fCh, pl, defaultEngine);
+    }
+
+    /**
+     * Draws the fractal on image using the {@code engine}. This method is used when there isn't necessary that other
+     * threads is observing the process of the drawing.
+     *
+     * @param image  image
+     * @param resTr  transform matrix for the points of the image
+     * @param fCh    checker of the fractal
+     * @param pl     palette
+     * @param engine engine for checking the points
+     * @return tier of the arithmetic that has been used
+     * @throws NullPointerException if engine is null
+     */
+    public static ComplexFractalTier drawFractal(WritableImage image, Point2DTransformer resTr, ComplexFractalChecker fCh, IterativePalette pl, ComplexFractalEngine engine) {
+        return drawFractal(image, resTr, fCh, pl, engine, defaultSmoothColoring);
+    }
+
+    /**
+     * Draws the fractal on image using the {@code engine}. This method is used when there isn't necessary that other
+     * threads is observing the process of the drawing.
+     *
+     * @param image  image
+     * @param resTr  transform matrix for the points of the image
+     * @param fCh    checker of the fractal
+     * @param pl     palette
+     * @param engine engine for checking the points
+     * @param smooth if it's true, the continuous numbers of the iteration are used for coloring
+     * @return tier of the arithmetic that has been used
+     * @throws NullPointerException if engine is null
      */
-    public static void drawFractal(WritableImage image, Point2DTransformer resTr, ComplexFractalChecker fCh, IterativePalette pl) {
+    public static ComplexFractalTier drawFractal(WritableImage image, Point2DTransformer resTr, ComplexFractalChecker fCh, IterativePalette pl, ComplexFractalEngine engine, boolean smooth) {
+        return drawFractal(image, resTr, fCh, pl, engine, smooth, defaultPrecision);
+    }
+
+    /**
+     * Draws the fractal on image using the {@code engine} with the {@code precision}. This method is used when there
+     * isn't necessary that other threads is observing the process of the drawing.
+     *
+     * @param image     image
+     * @param resTr     transform matrix for the points of the image
+     * @param fCh       checker of the fractal
+     * @param pl        palette
+     * @param engine    engine for checking the points
+     * @param smooth    if it's true, the continuous numbers of the iteration are used for coloring
+     * @param precision precision of the calculations
+     * @return tier of the arithmetic that has been used
+     * @throws NullPointerException if engine or precision is null
+     */
+    public static ComplexFractalTier drawFractal(WritableImage image, Point2DTransformer resTr, ComplexFractalChecker fCh, IterativePalette pl, ComplexFractalEngine engine, boolean smooth, ComplexFractalPrecision precision) {
+        return drawFractal(image, resTr, fCh, pl, engine, smooth, precision, defaultSubdivision);
+    }
+
+    /**
+     * Draws the fractal on image using the {@code engine} with the {@code precision} and the {@code subdivision} of
+     * the tiles. This method is used when there isn't necessary that other threads is observing the process of the
+     * drawing.
+     *
+     * @param image       image
+     * @param resTr       transform matrix for the points of the image
+     * @param fCh         checker of the fractal
+     * @param pl          palette
+     * @param engine      engine for checking the points
+     * @param smooth      if it's true, the continuous numbers of the iteration are used for coloring
+     * @param precision   precision of the calculations
+     * @param subdivision subdivision of the tiles
+     * @return tier of the arithmetic that has been used
+     * @throws NullPointerException if engine, precision or subdivision is null
+     */
+    public static ComplexFractalTier drawFractal(WritableImage image, Point2DTransformer resTr, ComplexFractalChecker fCh, IterativePalette pl, ComplexFractalEngine engine, boolean smooth, ComplexFractalPrecision precision,
+                                                 ComplexFractalSubdivision subdivision) {
+        return drawFractal(image, (eng, prec, w, h) -> prepareChecking(resTr, fCh, eng, prec, w, h), pl, engine, smooth, precision, subdivision);
+    }
+
+    /**
+     * Draws the fractal on image for the view using the {@code engine} with the {@code precision}. This method is used
+     * when there isn't necessary that other threads is observing the process of the drawing.
+     *
+     * @param image     image
+     * @param view      view of the image
+     * @param fCh       checker of the fractal
+     * @param pl        palette
+     * @param engine    engine for checking the points
+     * @param smooth    if it's true, the continuous numbers of the iteration are used for coloring
+     * @param precision precision of the calculations
+     * @return tier of the arithmetic that has been used
+     * @throws NullPointerException if view, engine or precision is null
+     */
+    public static ComplexFractalTier drawFractal(WritableImage image, ComplexPlaneView view, ComplexFractalChecker fCh, IterativePalette pl, ComplexFractalEngine engine, boolean smooth, ComplexFractalPrecision precision) {
+        return drawFractal(image, view, fCh, pl, engine, smooth, precision, defaultSubdivision);
+    }
+
+    /**
+     * Draws the fractal on image for the view using the {@code engine} with the {@code precision} and the {@code
+     * subdivision} of the tiles. This method is used when there isn't necessary that other threads is observing the
+     * process of the drawing.
+     *
+     * @param image       image
+     * @param view        view of the image
+     * @param fCh         checker of the fractal
+     * @param pl          palette
+     * @param engine      engine for checking the points
+     * @param smooth      if it's true, the continuous numbers of the iteration are used for coloring
+     * @param precision   precision of the calculations
+     * @param subdivision subdivision of the tiles
+     * @return tier of the arithmetic that has been used
+     * @throws NullPointerException if view, engine, precision or subdivision is null
+     */
+    public static ComplexFractalTier drawFractal(WritableImage image, ComplexPlaneView view, ComplexFractalChecker fCh, IterativePalette pl, ComplexFractalEngine engine, boolean smooth, ComplexFractalPrecision precision,
+                                                 ComplexFractalSubdivision subdivision) {
+        Objects.requireNonNull(view);
+        return drawFractal(image, (eng, prec, w, h) -> prepareChecking(view, fCh, eng, prec, w, h), pl, engine, smooth, precision, subdivision);
+    }
+
+    /**
+     * Draws the fractal on image with the checking prepared for the size of the image.
+     *
+     * @param image       image
+     * @param preparation preparation of the checking of the points
+     * @param pl          palette
+     * @param engine      engine for checking the points
+     * @param smooth      if it's true, the continuous numbers of the iteration are used for coloring
+     * @param precision   precision of the calculations
+     * @param subdivision subdivision of the tiles
+     * @return tier of the arithmetic that has been used
+     * @throws NullPointerException if engine, precision or subdivision is null
+     */
+    private static ComplexFractalTier drawFractal(WritableImage image, CheckingPreparation preparation, IterativePalette pl, ComplexFractalEngine engine, boolean smooth, ComplexFractalPrecision precision,
+                                                  ComplexFractalSubdivision subdivision) {
+        Objects.requireNonNull(engine);
+        Objects.requireNonNull(precision);
+        Objects.requireNonNull(subdivision);
         // size of the image
         int w = (int) image.getWidth();
         int h = (int) image.getHeight();
+        ImageChecking checking = preparation.prepare(engine, precision, w, h);
 
         // draw the fractal
-        PixelWriter pw = image.getPixelWriter();
-        for (int i = 0; i < h; i++) {
-            // calculate the line of the fractal
-            Color[] colors = calculateLine(i, w, resTr, fCh, pl);
-            // draw line
-            for (int j = 0; j < w; j++) {
-                pw.setColor(j, i, colors[j]);
-            }
-        }
+        new TileDrawing(new IterationBuffer(image, smooth, checking.maxIter), checking, subdivision, pl, () -> true, index -> {
+        }).drawTiles();
+        return checking.tier;
+    }
+
+    /**
+     * Draws the boundary of the Julia set on image using the modified inverse iteration method (see {@link
+     * JuliaSetInverseIteration}). It's much faster than {@link #drawFractal(WritableImage, Point2DTransformer,
+     * ComplexFractalChecker, IterativePalette)}, because only the pixels of the boundary are visited, but the numbers
+     * of the iteration aren't calculated, so the pixels of the boundary have the {@code boundary} color and the other
+     * pixels have the {@code background} color. This method is used when there isn't necessary that other threads is
+     * observing the process of the drawing.
+     *
+     * @param image      image
+     * @param resTr      transform matrix for the points of the image
+     * @param fractal    Julia set
+     * @param maxHits    maximum number of the hits of the pixel, after which the preimages of its points aren't
+     *                   calculated
+     * @param boundary   color of the pixels of the boundary
+     * @param background color of the other pixels
+     * @throws IllegalArgumentException if maxHits isn't positive
+     */
+    public static void drawJuliaSetBoundary(WritableImage image, Point2DTransformer resTr, JuliaSet fractal, int maxHits, Color boundary, Color background) {
+        // size of the image
+        int w = (int) image.getWidth();
+        int h = (int) image.getHeight();
+        int[] hits = new int[w * h];
+        new JuliaSetInverseIteration(fractal, maxHits).countHits(resTr.apply(new Point2D(0, 0)),
+                resTr.applyToVector(new Point2D(1, 0)), resTr.applyToVector(new Point2D(0, 1)), w, h, hits);
+
+        // draw the boundary
+        int boundaryArgb = IterativePalette.toArgb(boundary);
+        int backgroundArgb = IterativePalette.toArgb(background);
+        for (int k = 0; k < w * h; k++)
+            hits[k] = (hits[k] > 0 ? boundaryArgb : backgroundArgb);
+        image.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), hits, 0, w);
     }
 
     /**
@@ -215,6 +924,105 @@ public class ComplexFractalDrawer {
         return permitWork;
     }
 
+    public final ComplexFractalEngine getEngine() {
+        synchronized (mutex) {
+            return engine.get();
+        }
+    }
+
+    public final void setEngine(ComplexFractalEngine engine) {
+        Objects.requireNonNull(engine);
+        synchronized (mutex) {
+            this.engine.set(engine);
+        }
+    }
+
+    public ObjectProperty<ComplexFractalEngine> engineProperty() {
+        return engine;
+    }
+
+    public final boolean isSmoothColoring() {
+        synchronized (mutex) {
+            return smoothColoring.get();
+        }
+    }
+
+    public final void setSmoothColoring(boolean smoothColoring) {
+        synchronized (mutex) {
+            this.smoothColoring.set(smoothColoring);
+        }
+    }
+
+    public BooleanProperty smoothColoringProperty() {
+        return smoothColoring;
+    }
+
+    public final ComplexFractalPrecision getPrecision() {
+        synchronized (mutex) {
+            return precision.get();
+        }
+    }
+
+    public final void setPrecision(ComplexFractalPrecision precision) {
+        Objects.requireNonNull(precision);
+        synchronized (mutex) {
+            this.precision.set(precision);
+        }
+    }
+
+    public ObjectProperty<ComplexFractalPrecision> precisionProperty() {
+        return precision;
+    }
+
+    public final ComplexFractalSubdivision getSubdivision() {
+        synchronized (mutex) {
+            return subdivision.get();
+        }
+    }
+
+    public final void setSubdivision(ComplexFractalSubdivision subdivision) {
+        Objects.requireNonNull(subdivision);
+        synchronized (mutex) {
+            this.subdivision.set(subdivision);
+        }
+    }
+
+    public ObjectProperty<ComplexFractalSubdivision> subdivisionProperty() {
+        return subdivision;
+    }
+
+    public final int getNumberMismatchedPoints() {
+        synchronized (mutex) {
+            return numberMismatchedPoints.get();
+        }
+    }
+
+    private void setNumberMismatchedPoints(int numberMismatchedPoints) {
+        synchronized (mutex) {
+            this.numberMismatchedPoints.set(numberMismatchedPoints);
+        }
+    }
+
+    public ReadOnlyIntegerProperty numberMismatchedPointsProperty() {
+        return numberMismatchedPoints.getReadOnlyProperty();
+    }
+
+    public final ComplexFractalTier getTier() {
+        synchronized (mutex) {
+            return tier.get();
+        }
+    }
+
+    private void setTier(ComplexFractalTier tier) {
+        synchronized (mutex) {
+            this.tier.set(tier);
+        }
+    }
+
+    public ReadOnlyObjectProperty<ComplexFractalTier> tierProperty() {
+        return tier.getReadOnlyProperty();
+    }
+
     /**
      * Gets current image. When pixels are being drawn on image, the image is blocked with {@code synchronized}.
      *
@@ -242,6 +1050,30 @@ public class ComplexFractalDrawer {
      * @param pl    palette
      */
     public void drawFractal(Point2DTransformer resTr, ComplexFractalChecker fCh, IterativePalette pl) {
+        drawFractal((eng, prec, w, h) -> prepareChecking(resTr, fCh, eng, prec, w, h), pl);
+    }
+
+    /**
+     * Draws the fractal for the view. If new image will be set when the fractal is being drawn then method continues
+     * to draw on the old image. It's possible to get status of the drawing progress in the other thread.
+     *
+     * @param view view of the image
+     * @param fCh  checker of the fractal
+     * @param pl   palette
+     * @throws NullPointerException if view is null
+     */
+    public void drawFractal(ComplexPlaneView view, ComplexFractalChecker fCh, IterativePalette pl) {
+        Objects.requireNonNull(view);
+        drawFractal((eng, prec, w, h) -> prepareChecking(view, fCh, eng, prec, w, h), pl);
+    }
+
+    /**
+     * Draws the fractal with the checking prepared for the current image.
+     *
+     * @param preparation preparation of the checking of the points
+     * @param pl          palette
+     */
+    private void drawFractal(CheckingPreparation preparation, IterativePalette pl) {
         if (image == null)
             throw new IllegalStateException("image isn't set");
         if (work)
@@ -252,37 +1084,98 @@ public class ComplexFractalDrawer {
         setNumberDrawnRows(0);
         work = true;
         WritableImage currentImage = image;
+        ComplexFractalEngine currentEngine = getEngine();
+        boolean currentSmoothColoring = isSmoothColoring();
+        ComplexFractalPrecision currentPrecision = getPrecision();
+        ComplexFractalSubdivision currentSubdivision = getSubdivision();
         boolean continueDrawing = isPermitWork();
 
         // size of the image
         int w = (int) currentImage.getWidth();
         int h = (int) currentImage.getHeight();
+        ImageChecking checking = preparation.prepare(currentEngine, currentPrecision, w, h);
+        setTier(checking.tier);
 
-        // draw the fractal
-        // current line for drawing the fractal
-        int i = 0;
+        // the numbers of the iteration of the previous drawing of the image are overwritten
+        IterationBuffer previous = iterationBuffer;
+        iterationBuffer = null;
+        IterationBuffer buffer = (previous != null && previous.image == currentImage
+                ? new IterationBuffer(currentImage, previous.iterations, currentSmoothColoring, checking.maxIter)
+                : new IterationBuffer(currentImage, currentSmoothColoring, checking.maxIter));
 
         // draw the fractal
-        while (i < h && continueDrawing) {
-            // calculate the line of the fractal
-            Color[] colors = calculateLine(i, w, resTr, fCh, pl);
-            // draw line
-            synchronized (currentImage) {
-                PixelWriter pw = currentImage.getPixelWriter();
-                for (int j = 0; j < w; j++) {
-                    pw.setColor(j, i, colors[j]);
-                }
-            }
-            // go to the next line
-            i++;
+        setNumberMismatchedPoints(0);
+        if (continueDrawing)
+            setNumberMismatchedPoints(drawTiles(buffer, checking, currentSubdivision, pl));
+        if (isPermitWork())
+            iterationBuffer = buffer;
+        finishDrawing();
+    }
+
+    /**
+     * Recolors the current image with the palette from the numbers of the iteration of the last completed drawing
+     * without checking the points, so it's much faster than drawing. The progress is observed same as for drawing.
+     *
+     * @param pl palette
+     * @return true, if the image has been recolored, false if the numbers of the iteration of the image are unknown (the
+     * image has been changed or the last drawing has been canceled)
+     * @throws NullPointerException if pl is null
+     */
+    public boolean recolor(IterativePalette pl) {
+        Objects.requireNonNull(pl);
+        if (work)
+            throw new IllegalStateException("image is being drawing");
+        IterationBuffer buffer = iterationBuffer;
+        if (buffer == null || buffer.image != image)
+            return false;
+
+        // prepare for new drawing
+        setProgress(0.0);
+        setNumberDrawnRows(0);
+        work = true;
+        if (isPermitWork())
+            drawTiles(buffer, null, ComplexFractalSubdivision.NONE, pl);
+        finishDrawing();
+        return true;
+    }
+
+    /**
+     * Draws the tiles of the image and updates progress and number of the drawn rows. The rows of the image are drawn,
+     * when all tiles of the rows of the tiles above them are drawn.
+     *
+     * @param buffer      numbers of the iteration of the image
+     * @param checking    checking of the points of the image (null, if the image is only recolored)
+     * @param subdivision subdivision of the tiles
+     * @param pl          palette
+     * @return number of the mismatched points of the subdivision (see {@link ComplexFractalSubdivision#AUDIT})
+     */
+    private int drawTiles(IterationBuffer buffer, ImageChecking checking, ComplexFractalSubdivision subdivision, IterativePalette pl) {
+        int w = (int) buffer.image.getWidth();
+        int h = (int) buffer.image.getHeight();
+        int numTilesX = (w + tileWidth - 1) / tileWidth;
+        int numTilesY = (h + tileHeight - 1) / tileHeight;
+        int[] completedTilesInRow = new int[numTilesY];
+        // number of the completed tiles and number of the completed rows of the tiles
+        int[] completed = {0, 0};
+        TileDrawing drawing = new TileDrawing(buffer, checking, subdivision, pl, this::isPermitWork, index -> {
             synchronized (mutex) {
+                completedTilesInRow[index / numTilesX]++;
+                completed[0]++;
+                while (completed[1] < numTilesY && completedTilesInRow[completed[1]] == numTilesX)
+                    completed[1]++;
                 // update progress
-                setProgress((double) i / (double) h);
-                setNumberDrawnRows(i);
-
-                continueDrawing = isPermitWork();
+                setProgress((double) completed[0] / (double) (numTilesX * numTilesY));
+                setNumberDrawnRows(Math.min(h, completed[1] * tileHeight));
             }
-        }
+        });
+        drawing.drawTiles();
+        return drawing.mismatchedPoints.get();
+    }
+
+    /**
+     * Ends drawing. The progress is reset, if drawing has been canceled.
+     */
+    private void finishDrawing() {
         // draw has been ended
         work = false;
         // reset progress if calculation has been canceled
@@ -0,0 +1,121 @@
+package local.complexfractal.util;
+
+import local.complexfractal.model.ComplexFractalChecker;
+
+/**
+ * The {@code ComplexFractalEngine} defines the kernel that is used by {@link ComplexFractalDrawer} for checking points
+ * of the image.
+ * <p>
+ * The lane kernel is written in plain Java (the project is compiled for JDK 8, so the {@code jdk.incubator.vector}
+ * module isn't available). The fractals without lane kernel are checked by scalar kernel when the {@code LANES} engine
+ * is chosen. The scalar kernel is used by default, because the lane kernel isn't notably faster on JDK 8 without SIMD.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public enum ComplexFractalEngine {
+    /**
+     * Scalar kernel: points are checked one by one using {@link ComplexFractalChecker#numberIter(double, double,
+     * double, double, int[], int, int)}.
+     */
+    SCALAR {
+        @Override
+        void numberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, int[] iters, int from, int to) {
+            fCh.numberIter(origin.getX(), origin.getY(), dx, dy, iters, from, to);
+        }
+
+        @Override
+        void smoothNumberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, double[] values, int from, int to) {
+            fCh.smoothNumberIter(origin.getX(), origin.getY(), dx, dy, values, from, to);
+        }
+    },
+    /**
+     * Lane kernel: several points are checked at once using {@link ComplexFractalChecker#numberIterLanes(double,
+     * double, double, double, int[], int, int)}.
+     */
+    LANES {
+        @Override
+        void numberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, int[] iters, int from, int to) {
+            fCh.numberIterLanes(origin.getX(), origin.getY(), dx, dy, iters, from, to);
+        }
+
+        @Override
+        void smoothNumberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, double[] values, int from, int to) {
+            fCh.smoothNumberIterLanes(origin.getX(), origin.getY(), dx, dy, values, from, to);
+        }
+    },
+    /**
+     * Lane kernel with single precision: several points are checked at once using {@link
+     * ComplexFractalChecker#numberIterFloatLanes(double, double, double, double, int[], int, int)}. It's selected by
+     * the precision {@link ComplexFractalPrecision#FLOAT} for verification of the single precision kernels.
+     */
+    FLOAT_LANES {
+        @Override
+        void numberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, int[] iters, int from, int to) {
+            fCh.numberIterFloatLanes(origin.getX(), origin.getY(), dx, dy, iters, from, to);
+        }
+
+        @Override
+        void smoothNumberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, double[] values, int from, int to) {
+            fCh.smoothNumberIterFloatLanes(origin.getX(), origin.getY(), dx, dy, values, from, to);
+        }
+    },
+    /**
+     * Scalar kernel with double-double precision: points are checked one by one using {@link
+     * ComplexFractalChecker#numberIterDoubleDouble(double, double, double, double, double, double, int[], int, int)}.
+     * It's selected by {@link ComplexFractalPrecision} for the deep zoom images, where the step between the pixels is
+     * comparable with the precision of {@code double}.
+     */
+    DOUBLE_DOUBLE {
+        @Override
+        void numberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, int[] iters, int from, int to) {
+            fCh.numberIterDoubleDouble(origin.getX(), origin.getXLow(), origin.getY(), origin.getYLow(), dx, dy, iters, from, to);
+        }
+
+        @Override
+        void smoothNumberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, double[] values, int from, int to) {
+            fCh.smoothNumberIterDoubleDouble(origin.getX(), origin.getXLow(), origin.getY(), origin.getYLow(), dx, dy, values, from, to);
+        }
+    },
+    /**
+     * Scalar kernel with 128-bit fixed-point precision: points are checked one by one using {@link
+     * ComplexFractalChecker#numberIterFixedPoint(double, double, double, double, double, double, int[], int, int)}. The
+     * fractals without fixed-point kernel are checked with double-double precision.
+     */
+    FIXED_POINT {
+        @Override
+        void numberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, int[] iters, int from, int to) {
+            fCh.numberIterFixedPoint(origin.getX(), origin.getXLow(), origin.getY(), origin.getYLow(), dx, dy, iters, from, to);
+        }
+
+        @Override
+        void smoothNumberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, double[] values, int from, int to) {
+            fCh.smoothNumberIterFixedPoint(origin.getX(), origin.getXLow(), origin.getY(), origin.getYLow(), dx, dy, values, from, to);
+        }
+    };
+
+    /**
+     * Checks the points of the segment using this engine.
+     *
+     * @param fCh    checker of the fractal
+     * @param origin coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param iters  array for results
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     */
+    abstract void numberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, int[] iters, int from, int to);
+
+    /**
+     * Checks the points of the segment using this engine and stores continuous numbers of the iteration.
+     *
+     * @param fCh    checker of the fractal
+     * @param origin coordinate of the point with index 0
+     * @param dx     x step between neighboring points
+     * @param dy     y step between neighboring points
+     * @param values array for results
+     * @param from   index of the first point (inclusive)
+     * @param to     index of the last point (exclusive)
+     */
+    abstract void smoothNumberIter(ComplexFractalChecker fCh, Point2DDoubleDouble origin, double dx, double dy, double[] values, int from, int to);
+}
@@ -0,0 +1,166 @@
+package local.complexfractal.util;
+
+import java.util.Objects;
+
+/**
+ * The {@code ComplexFractalPrecision} defines precision of the calculations that is used by {@link
+ * ComplexFractalDrawer}.
+ * <p>
+ * If the step between the neighboring pixels is comparable with the precision of {@code double} (deep zoom), the
+ * Mandelbrot set and the Julia set are checked using the perturbation theory (see {@link
+ * local.complexfractal.model.QuadraticFractalPerturbation}), and the other fractals are checked with double-double
+ * precision (engine {@link ComplexFractalEngine#DOUBLE_DOUBLE}), when the precision is selected automatically.
+ * <p>
+ * The precision {@link #AUTO} is used by default (see {@link ComplexFractalDrawer#defaultPrecision}), so the
+ * arithmetic is selected by the zoom without the choice of the user. Single precision is never selected
+ * automatically: the single precision lanes aren't notably faster on JDK 8 and the results of them differ for some
+ * points, so the precision {@link #FLOAT} is selected explicitly only for verification.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public enum ComplexFractalPrecision {
+    /**
+     * The precision is selected for each image: the perturbation is used, if the step between the neighboring pixels
+     * is less than {@link #doubleStepRatio} units in the last place of the {@code double} coordinates of the image (the
+     * coordinates are considered not less than {@link #minCoordinate}), or double-double precision is used for the
+     * fractals without the perturbation. Otherwise double precision is used same as {@link #DOUBLE}.
+     */
+    AUTO {
+        @Override
+        public ComplexFractalEngine selectEngine(ComplexFractalEngine engine, Point2DTransformer resTr, int w, int h) {
+            Objects.requireNonNull(engine);
+            Objects.requireNonNull(resTr);
+            return (isDeep(resTr, w, h) ? ComplexFractalEngine.DOUBLE_DOUBLE : DOUBLE.selectEngine(engine, resTr, w, h));
+        }
+
+        @Override
+        public boolean usePerturbation(Point2DTransformer resTr, int w, int h) {
+            Objects.requireNonNull(resTr);
+            return isDeep(resTr, w, h);
+        }
+    },
+    /**
+     * Double precision is always used.
+     */
+    DOUBLE {
+        @Override
+        public ComplexFractalEngine selectEngine(ComplexFractalEngine engine, Point2DTransformer resTr, int w, int h) {
+            Objects.requireNonNull(engine);
+            return (engine == ComplexFractalEngine.FLOAT_LANES || engine == ComplexFractalEngine.DOUBLE_DOUBLE || engine == ComplexFractalEngine.FIXED_POINT ? ComplexFractalEngine.LANES : engine);
+        }
+    },
+    /**
+     * Double-double precision is always used (see {@link local.complexfractal.model.ComplexDoubleDouble}).
+     */
+    DOUBLE_DOUBLE {
+        @Override
+        public ComplexFractalEngine selectEngine(ComplexFractalEngine engine, Point2DTransformer resTr, int w, int h) {
+            Objects.requireNonNull(engine);
+            return ComplexFractalEngine.DOUBLE_DOUBLE;
+        }
+    },
+    /**
+     * 128-bit fixed-point precision is always used (see {@link local.complexfractal.model.ComplexFixedPoint}).
+     */
+    FIXED_POINT {
+        @Override
+        public ComplexFractalEngine selectEngine(ComplexFractalEngine engine, Point2DTransformer resTr, int w, int h) {
+            Objects.requireNonNull(engine);
+            return ComplexFractalEngine.FIXED_POINT;
+        }
+    },
+    /**
+     * Single precision is always used. It's used only for verification of the single precision kernels: the images
+     * aren't equivalent to the images with double precision, because the rounding errors change the numbers of the
+     * iteration of the points near the borders of the bands (the ratio of the changed points is at most {@link
+     * #maxFloatMismatchRatio}, if the step between the pixels is much greater than the precision of {@code float}).
+     */
+    FLOAT {
+        @Override
+        public ComplexFractalEngine selectEngine(ComplexFractalEngine engine, Point2DTransformer resTr, int w, int h) {
+            Objects.requireNonNull(engine);
+            return ComplexFractalEngine.FLOAT_LANES;
+        }
+    };
+
+    /**
+     * Maximum ratio of the points of the image, which numbers of the iteration are changed by single precision (the
+     * step between the pixels is much greater than the precision of {@code float}).
+     */
+    public static final double maxFloatMismatchRatio = 0.005;
+    /**
+     * Minimum ratio of the step between the neighboring pixels to the unit in the last place of the {@code double}
+     * coordinate for checking without the perturbation.
+     */
+    public static final double doubleStepRatio = 1024.0;
+    /**
+     * Minimum absolute value of the coordinate for the calculation of the unit in the last place (the points of the
+     * orbits are compared with the bound, so the coordinates of the points of the orbits are about {@code 2.0} even
+     * for the image near zero).
+     */
+    public static final double minCoordinate = 2.0;
+
+    /**
+     * Selects the engine for drawing the image with this precision.
+     *
+     * @param engine engine chosen by user
+     * @param resTr  transform matrix for the points of the image
+     * @param w      width of the image
+     * @param h      height of the image
+     * @return engine for drawing
+     * @throws NullPointerException if engine or resTr is null
+     */
+    public abstract ComplexFractalEngine selectEngine(ComplexFractalEngine engine, Point2DTransformer resTr, int w, int h);
+
+    /**
+     * Checks that the Mandelbrot set and the Julia set are checked using the perturbation theory with this precision.
+     *
+     * @param resTr transform matrix for the points of the image
+     * @param w     width of the image
+     * @param h     height of the image
+     * @return true, if the perturbation is used
+     * @throws NullPointerException if resTr is null
+     */
+    public boolean usePerturbation(Point2DTransformer resTr, int w, int h) {
+        Objects.requireNonNull(resTr);
+        return false;
+    }
+
+    /**
+     * Checks that the step between the pixels is comparable with the precision of {@code double}.
+     *
+     * @param resTr transform matrix for the points of the image
+     * @param w     width of the image
+     * @param h     height of the image
+     * @return true, if precision of {@code double} isn't enough
+     */
+    static boolean isDeep(Point2DTransformer resTr, int w, int h) {
+        // it's false for NaN
+        return minStep(resTr) < doubleStepRatio * Math.ulp(maxCoordinate(resTr, w, h));
+    }
+
+    /**
+     * Gets maximum absolute value of the coordinates of the image (the corners of the image), which isn't less than
+     * {@link #minCoordinate}.
+     */
+    private static double maxCoordinate(Point2DTransformer resTr, int w, int h) {
+        double maxCoordinate = minCoordinate;
+        for (Point2D corner : new Point2D[]{new Point2D(0, 0), new Point2D(w, 0), new Point2D(0, h), new Point2D(w, h)}) {
+            Point2D p = resTr.apply(corner);
+            maxCoordinate = Math.max(maxCoordinate, Math.max(Math.abs(p.getX()), Math.abs(p.getY())));
+        }
+        return maxCoordinate;
+    }
+
+    /**
+     * Gets minimum step between the neighboring pixels.
+     *
+     * @param resTr transform matrix for the points of the image
+     * @return step
+     */
+    static double minStep(Point2DTransformer resTr) {
+        Point2D stepX = resTr.applyToVector(new Point2D(1, 0));
+        Point2D stepY = resTr.applyToVector(new Point2D(0, 1));
+        return Math.min(Math.hypot(stepX.getX(), stepX.getY()), Math.hypot(stepY.getX(), stepY.getY()));
+    }
+}
@@ -0,0 +1,44 @@
+package local.complexfractal.util;
+
+/**
+ * The {@code ComplexFractalSubdivision} defines how {@link ComplexFractalDrawer} calculates numbers of the iteration of
+ * the points of the tile of the image.
+ * <p>
+ * The Mariani-Silver subdivision uses the property of the connected fractals (the Mandelbrot set and the connected
+ * Julia sets), that the region of the complex plane, which is bounded by the points with the same number of the
+ * iteration, has the same number of the iteration. The points of the border of the rectangle are checked and, if all
+ * of them have the same number of the iteration, the inner points of the rectangle get this number without checking,
+ * otherwise the rectangle is split in halves, which are checked recursively. So the large regions of the fractal and the
+ * wide bands with the same number of the iteration are drawn much faster. The small details, which are enclosed by the
+ * border without touching it, may be lost, so the results may differ from the results of the checking of all points.
+ * <p>
+ * If the smooth coloring is used, only the rectangles with the same continuous number of the iteration (mostly the
+ * points of the fractal) are filled.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public enum ComplexFractalSubdivision {
+    /**
+     * All points of the image are checked.
+     */
+    NONE,
+    /**
+     * The tiles of the image are calculated by the Mariani-Silver subdivision.
+     */
+    MARIANI_SILVER,
+    /**
+     * The tiles of the image are calculated by the Mariani-Silver subdivision and verified by checking of all points of
+     * the tiles. The image is drawn from the results of the subdivision and the points with other results are counted
+     * (see {@link ComplexFractalDrawer#getNumberMismatchedPoints}). It's used for verification of the subdivision.
+     */
+    AUDIT;
+
+    /**
+     * Checks that the subdivision is used.
+     *
+     * @return true, if the tiles are calculated by the Mariani-Silver subdivision
+     */
+    public boolean isSubdivided() {
+        return this != NONE;
+    }
+}
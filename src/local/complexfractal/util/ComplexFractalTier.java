@@ -0,0 +1,74 @@
+package local.complexfractal.util;
+
+/**
+ * The {@code ComplexFractalTier} defines the arithmetic that has been used by {@link ComplexFractalDrawer} for the
+ * image. The tier is selected for each image by {@link ComplexFractalPrecision} from the step between the neighboring
+ * pixels, and it's recorded by the drawer, so the user can see which arithmetic is used at the current zoom.
+ * <p>
+ * The tiers are ordered by the precision: {@code FLOAT} is used only, if it's forced for verification, {@code DOUBLE}
+ * is used at the moderate zoom, {@code DOUBLE_DOUBLE} and {@code FIXED_POINT} are used, when the step between the
+ * pixels is comparable with the precision of {@code double}, and {@code PERTURBATION} is used for the deep zoom of the
+ * Mandelbrot set and the Julia set (the reference orbit is calculated with {@link java.math.BigDecimal}).
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public enum ComplexFractalTier {
+    /**
+     * Single precision ({@link ComplexFractalEngine#FLOAT_LANES}).
+     */
+    FLOAT("float"),
+    /**
+     * Double precision ({@link ComplexFractalEngine#SCALAR} or {@link ComplexFractalEngine#LANES}).
+     */
+    DOUBLE("double"),
+    /**
+     * Double-double precision ({@link ComplexFractalEngine#DOUBLE_DOUBLE}).
+     */
+    DOUBLE_DOUBLE("double-double"),
+    /**
+     * 128-bit fixed-point precision ({@link ComplexFractalEngine#FIXED_POINT}).
+     */
+    FIXED_POINT("128-bit fixed point"),
+    /**
+     * Perturbation: the reference orbit with arbitrary precision ({@link java.math.BigDecimal}) and the differences of
+     * the orbits of the points with double precision (see {@link local.complexfractal.model.QuadraticFractalPerturbation}).
+     */
+    PERTURBATION("perturbation");
+
+    /**
+     * Name of the tier for the user.
+     */
+    private final String description;
+
+    ComplexFractalTier(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Gets tier of the engine.
+     *
+     * @param engine engine for checking the points
+     * @return tier
+     */
+    static ComplexFractalTier of(ComplexFractalEngine engine) {
+        switch (engine) {
+            case FLOAT_LANES:
+                return FLOAT;
+            case DOUBLE_DOUBLE:
+                return DOUBLE_DOUBLE;
+            case FIXED_POINT:
+                return FIXED_POINT;
+            default:
+                return DOUBLE;
+        }
+    }
+
+    /**
+     * Gets name of the tier for the user.
+     *
+     * @return name of the tier
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,330 @@
+package local.complexfractal.util;
+
+import local.complexfractal.model.FloatExp;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ * A {@code ComplexPlaneView} is the view of the image on the complex plane: the center of the image with arbitrary
+ * precision ({@link BigDecimal}), the scale as the number with extended exponent range ({@link FloatExp}) and the angle
+ * of the rotation. The scale is the distance on the complex plane from the center of the image to the middle of the
+ * nearest side of the image (so the view doesn't depend on the size of the image, and the default view shows the square
+ * [-1, 1] x [-1, 1]).
+ * <p>
+ * The operations of the view (translation, scaling and rotation) change the center, the scale and the angle separately,
+ * so the errors of them aren't accumulated in the matrix as in {@link Point2DTransformer}: the translations are added
+ * to the center exactly (it's rounded far beyond the step between the pixels), the scale is only multiplied and the
+ * angle is only added. The step between the pixels can be less than the minimal {@code double} value.
+ * <p>
+ * The points of the image are got as {@code double} offsets from the center in units {@code 2^getStepExponent} (see
+ * {@link #offset} and {@link #getOffsetTransform}), which are used by the perturbation checkers of the deep zoom. The
+ * transform for the kernels with absolute coordinates is got by {@link #toTransformer} (it's degenerate, if the step is
+ * less than the minimal {@code double} value).
+ * <p>
+ * The x axis of the image is from left to right and the y axis is from bottom to top (the y coordinate of the pixels is
+ * from top to bottom). Objects of this class are immutable.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public final class ComplexPlaneView {
+    /**
+     * The default view: the center is zero, the scale is one and the angle is zero.
+     */
+    public static final ComplexPlaneView DEFAULT = new ComplexPlaneView(BigDecimal.ZERO, BigDecimal.ZERO, FloatExp.ONE, 0.0);
+
+    /**
+     * Minimum number of the decimal digits of the center.
+     */
+    private static final int minCenterDigits = 34;
+    /**
+     * Number of the decimal digits of the center after the digit, which corresponds to the scale.
+     */
+    private static final int extraCenterDigits = 30;
+
+    private final BigDecimal centerX;
+    private final BigDecimal centerY;
+    private final FloatExp scale;
+    /**
+     * Angle of the rotation in the range [-pi, pi].
+     */
+    private final double angle;
+
+    /**
+     * Constructor.
+     *
+     * @param centerX x coordinate of the center
+     * @param centerY y coordinate of the center
+     * @param scale   scale: distance from the center to the middle of the nearest side of the image
+     * @param angle   angle of the rotation
+     * @throws NullPointerException     if centerX, centerY or scale is null
+     * @throws IllegalArgumentException if scale isn't positive or angle isn't finite
+     */
+    public ComplexPlaneView(BigDecimal centerX, BigDecimal centerY, FloatExp scale, double angle) {
+        this.centerX = Objects.requireNonNull(centerX, "centerX is null");
+        this.centerY = Objects.requireNonNull(centerY, "centerY is null");
+        this.scale = Objects.requireNonNull(scale, "scale is null");
+        if (scale.signum() <= 0)
+            throw new IllegalArgumentException("scale isn't positive");
+        if (Double.isNaN(angle) || Double.isInfinite(angle))
+            throw new IllegalArgumentException("angle isn't finite");
+        this.angle = Math.IEEEremainder(angle, 2.0 * Math.PI);
+    }
+
+    /**
+     * Gets x coordinate of the center.
+     *
+     * @return x coordinate of the center
+     */
+    public BigDecimal getCenterX() {
+        return centerX;
+    }
+
+    /**
+     * Gets y coordinate of the center.
+     *
+     * @return y coordinate of the center
+     */
+    public BigDecimal getCenterY() {
+        return centerY;
+    }
+
+    /**
+     * Gets scale: distance on the complex plane from the center to the middle of the nearest side of the image.
+     *
+     * @return scale
+     */
+    public FloatExp getScale() {
+        return scale;
+    }
+
+    /**
+     * Gets angle of the rotation (in the range [-pi, pi]).
+     *
+     * @return angle
+     */
+    public double getAngle() {
+        return angle;
+    }
+
+    /**
+     * Checks the size of the image.
+     *
+     * @param w width of the image
+     * @param h height of the image
+     * @throws IllegalArgumentException if w or h isn't positive
+     */
+    private static void checkSize(int w, int h) {
+        if (w <= 0)
+            throw new IllegalArgumentException("w <= 0");
+        if (h <= 0)
+            throw new IllegalArgumentException("h <= 0");
+    }
+
+    /**
+     * Gets step between the neighboring pixels on the complex plane.
+     *
+     * @param w width of the image
+     * @param h height of the image
+     * @return step between the pixels
+     * @throws IllegalArgumentException if w or h isn't positive
+     */
+    public FloatExp getStep(int w, int h) {
+        checkSize(w, h);
+        return scale.multiply(FloatExp.valueOf(2.0 / Math.min(w, h)));
+    }
+
+    /**
+     * Gets exponent of the units of the offsets: the step between the pixels is in the range [1, 2) in these units.
+     *
+     * @param w width of the image
+     * @param h height of the image
+     * @return exponent of the units {@code 2^exponent}
+     * @throws IllegalArgumentException if w or h isn't positive
+     */
+    public int getStepExponent(int w, int h) {
+        return getStep(w, h).getExponent();
+    }
+
+    /**
+     * Gets transform of the pixels of the image to the offsets from the center in units {@code 2^getStepExponent}.
+     * The transform has only {@code double} values, so it's used for the segments of the kernels.
+     *
+     * @param w width of the image
+     * @param h height of the image
+     * @return transform of the pixels to the offsets
+     * @throws IllegalArgumentException if w or h isn't positive
+     */
+    public Point2DTransformer getOffsetTransform(int w, int h) {
+        double step = getStep(w, h).getMantissa();
+        return Point2DTransformer.CLEAR.translation(-w / 2.0, -h / 2.0).scale(step, -step).rotate(angle);
+    }
+
+    /**
+     * Gets offset of the pixel from the center of the image in units {@code 2^getStepExponent}.
+     *
+     * @param x x coordinate of the pixel
+     * @param y y coordinate of the pixel
+     * @param w width of the image
+     * @param h height of the image
+     * @return offset of the pixel
+     * @throws IllegalArgumentException if w or h isn't positive
+     */
+    public Point2D offset(double x, double y, int w, int h) {
+        return getOffsetTransform(w, h).apply(new Point2D(x, y));
+    }
+
+    /**
+     * Gets transform of the pixels of the image to the points of the complex plane (see {@link
+     * ComplexFractalDrawer#calculateInitialTransform}). The translation of the transform has high precision, but the
+     * linear part is {@code double} matrix, so the transform is degenerate, if the step between the pixels is less
+     * than the minimal {@code double} value.
+     *
+     * @param w width of the image
+     * @param h height of the image
+     * @return transform of the pixels to the points of the complex plane
+     * @throws IllegalArgumentException if w or h isn't positive
+     */
+    public Point2DTransformer toTransformer(int w, int h) {
+        double step = getStep(w, h).doubleValue();
+        return Point2DTransformer.CLEAR.translation(-w / 2.0, -h / 2.0).scale(step, -step).rotate(angle)
+                .translation(centerX, centerY);
+    }
+
+    /**
+     * Gets the point of the complex plane for the pixel with high precision.
+     *
+     * @param x x coordinate of the pixel
+     * @param y y coordinate of the pixel
+     * @param w width of the image
+     * @param h height of the image
+     * @return x and y coordinates of the point
+     * @throws IllegalArgumentException if w or h isn't positive
+     */
+    public BigDecimal[] applyHighPrecision(double x, double y, int w, int h) {
+        Point2D offset = offset(x, y, w, h);
+        BigDecimal unit = FloatExp.ONE.scalb(getStepExponent(w, h)).toBigDecimal();
+        return new BigDecimal[]{centerX.add(new BigDecimal(offset.getX()).multiply(unit)),
+                centerY.add(new BigDecimal(offset.getY()).multiply(unit))};
+    }
+
+    /**
+     * Creates the view with the new center, which is rounded to the precision needed for the scale.
+     *
+     * @param dx    x shift of the center
+     * @param dy    y shift of the center
+     * @param scale new scale
+     * @param angle new angle
+     * @return new view
+     */
+    private ComplexPlaneView shifted(FloatExp dx, FloatExp dy, FloatExp scale, double angle) {
+        BigDecimal x = centerX.add(dx.toBigDecimal());
+        BigDecimal y = centerY.add(dy.toBigDecimal());
+        // the digits of the center, which are much less than the scale, aren't needed
+        int magnitude = Math.max(Math.max(x.precision() - x.scale(), y.precision() - y.scale()), 1);
+        double scaleLog10 = Math.log10(scale.getMantissa()) + scale.getExponent() * Math.log10(2.0);
+        MathContext mc = new MathContext(Math.max(minCenterDigits, magnitude - (int) Math.floor(scaleLog10) + extraCenterDigits));
+        return new ComplexPlaneView(x.round(mc), y.round(mc), scale, angle);
+    }
+
+    /**
+     * Gets vector of the complex plane for the vector of the pixels: {@code step * R(angle) * (dx, -dy)}.
+     *
+     * @param dx x coordinate of the vector of the pixels
+     * @param dy y coordinate of the vector of the pixels
+     * @param w  width of the image
+     * @param h  height of the image
+     * @return x and y coordinates of the vector on the complex plane
+     */
+    private FloatExp[] planeVector(double dx, double dy, int w, int h) {
+        FloatExp step = getStep(w, h);
+        double cA = Math.cos(angle);
+        double sA = Math.sin(angle);
+        return new FloatExp[]{step.multiply(FloatExp.valueOf(cA * dx + sA * dy)),
+                step.multiply(FloatExp.valueOf(sA * dx - cA * dy))};
+    }
+
+    /**
+     * Moves the image: the point of the complex plane at pixel {@code (x, y)} moves to pixel {@code (x + dx, y +
+     * dy)}.
+     *
+     * @param dx x translation (in the pixels)
+     * @param dy y translation (in the pixels)
+     * @param w  width of the image
+     * @param h  height of the image
+     * @return new view
+     * @throws IllegalArgumentException if w or h isn't positive
+     */
+    public ComplexPlaneView translate(double dx, double dy, int w, int h) {
+        FloatExp[] shift = planeVector(-dx, -dy, w, h);
+        return shifted(shift[0], shift[1], scale, angle);
+    }
+
+    /**
+     * Changes the scale of the image. The point of the complex plane at pixel {@code (x, y)} doesn't move.
+     *
+     * @param factor factor of the scale (the factor less than one zooms in)
+     * @param x      x coordinate of the fixed pixel
+     * @param y      y coordinate of the fixed pixel
+     * @param w      width of the image
+     * @param h      height of the image
+     * @return new view
+     * @throws IllegalArgumentException if factor isn't positive finite number or w or h isn't positive
+     */
+    public ComplexPlaneView scale(double factor, double x, double y, int w, int h) {
+        if (!(factor > 0.0) || Double.isInfinite(factor))
+            throw new IllegalArgumentException("factor isn't positive finite number");
+        // center + fix * (1 - factor), where fix is the vector from the center to the fixed point
+        FloatExp[] fix = planeVector(x - w / 2.0, y - h / 2.0, w, h);
+        FloatExp k = FloatExp.valueOf(1.0 - factor);
+        return shifted(fix[0].multiply(k), fix[1].multiply(k), scale.multiply(FloatExp.valueOf(factor)), angle);
+    }
+
+    /**
+     * Rotates the image around its center.
+     *
+     * @param angle angle of the rotation
+     * @return new view
+     * @throws IllegalArgumentException if angle isn't finite
+     */
+    public ComplexPlaneView rotate(double angle) {
+        return new ComplexPlaneView(centerX, centerY, scale, this.angle + angle);
+    }
+
+    /**
+     * Compares views.
+     *
+     * @param obj the reference object with which to compare
+     * @return true if views are same, otherwise false
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ComplexPlaneView))
+            return false;
+        ComplexPlaneView rightArg = (ComplexPlaneView) obj;
+        return centerX.compareTo(rightArg.centerX) == 0 && centerY.compareTo(rightArg.centerY) == 0
+                && scale.equals(rightArg.scale) && angle == rightArg.angle;
+    }
+
+    /**
+     * Gets hash code of the view.
+     *
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(centerX.stripTrailingZeros(), centerY.stripTrailingZeros(), scale, angle);
+    }
+
+    /**
+     * Returns string representation of the view.
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        MathContext mc = new MathContext(20);
+        return "view [center (" + centerX.round(mc) + ", " + centerY.round(mc) + "), scale " + scale + ", angle " + angle + "]";
+    }
+}
@@ -19,4 +19,120 @@ public interface IterativePalette {
      * @return color of the point
      */
     Color numIterToColor(int numIter);
+
+    /**
+     * Coverts continuous number of the iteration (see {@link local.complexfractal.model.ComplexFractalChecker#smoothNumberIter})
+     * to {@code Color}.
+     * <p>
+     * Default implementation interpolates colors of the neighboring integer numbers of the iteration.
+     *
+     * @param numIter continuous number of the iteration
+     * @return color of the point
+     */
+    default Color smoothNumIterToColor(double numIter) {
+        if (numIter == 0.0)
+            return numIterToColor(0);
+        int floorNumIter = (int) numIter;
+        double t = numIter - floorNumIter;
+        Color color = numIterToColor(floorNumIter);
+        return (t == 0.0 ? color : color.interpolate(numIterToColor(floorNumIter + 1), t));
+    }
+
+    /**
+     * Coverts number of the iteration to the packed 32-bit ARGB value ({@code 0xAARRGGBB}), which can be written to the
+     * image by {@link javafx.scene.image.PixelWriter#setPixels} without creating {@code Color}.
+     * <p>
+     * Default implementation converts the result of {@link #numIterToColor} (see {@link #toArgb}).
+     *
+     * @param numIter number of the iteration
+     * @return ARGB value of the color of the point
+     */
+    default int numIterToArgb(int numIter) {
+        return toArgb(numIterToColor(numIter));
+    }
+
+    /**
+     * Coverts continuous number of the iteration to the packed 32-bit ARGB value ({@code 0xAARRGGBB}).
+     * <p>
+     * Default implementation converts the result of {@link #smoothNumIterToColor} (see {@link #toArgb}).
+     *
+     * @param numIter continuous number of the iteration
+     * @return ARGB value of the color of the point
+     */
+    default int smoothNumIterToArgb(double numIter) {
+        return toArgb(smoothNumIterToColor(numIter));
+    }
+
+    /**
+     * Creates lookup table of the packed ARGB values for the numbers of the iteration from {@code 0} to {@code
+     * maxIter}: {@code table[numIter] = numIterToArgb(numIter)}. The color of the integer number of the iteration
+     * doesn't depend on the point, so the image can be colored by the table without calculating the colors for each
+     * point.
+     * <p>
+     * Default implementation calls {@link #numIterToArgb(int)} for each number of the iteration.
+     *
+     * @param maxIter maximum number of the iteration
+     * @return lookup table with {@code maxIter + 1} elements
+     * @throws IllegalArgumentException if maxIter is negative
+     */
+    default int[] createArgbTable(int maxIter) {
+        if (maxIter < 0)
+            throw new IllegalArgumentException("maxIter < 0");
+        int[] table = new int[maxIter + 1];
+        for (int numIter = 0; numIter <= maxIter; numIter++)
+            table[numIter] = numIterToArgb(numIter);
+        return table;
+    }
+
+    /**
+     * Coverts numbers of the iteration to the packed ARGB values.
+     * <p>
+     * Default implementation uses the lookup table (see {@link #createArgbTable}) for the numbers of the iteration up
+     * to the maximum number, if the table isn't greater than the array, otherwise it calls {@link #numIterToArgb(int)}
+     * for each number of the iteration.
+     *
+     * @param iters numbers of the iteration
+     * @return ARGB values of the colors of the points
+     * @throws NullPointerException if iters is null
+     */
+    default int[] numIterToArgb(int[] iters) {
+        int[] argb = new int[iters.length];
+        int maxIter = 0;
+        for (int numIter : iters)
+            maxIter = Math.max(maxIter, numIter);
+        if (maxIter < iters.length) {
+            int[] table = createArgbTable(maxIter);
+            for (int i = 0; i < iters.length; i++)
+                argb[i] = (iters[i] >= 0 ? table[iters[i]] : numIterToArgb(iters[i]));
+        } else {
+            for (int i = 0; i < iters.length; i++)
+                argb[i] = numIterToArgb(iters[i]);
+        }
+        return argb;
+    }
+
+    /**
+     * Converts color to the packed 32-bit ARGB value ({@code 0xAARRGGBB}). The components are rounded same as by
+     * {@link javafx.scene.image.PixelWriter#setColor}.
+     *
+     * @param color color
+     * @return ARGB value
+     */
+    static int toArgb(Color color) {
+        return toArgb(color.getOpacity(), color.getRed(), color.getGreen(), color.getBlue());
+    }
+
+    /**
+     * Converts components of the color (from 0 to 1) to the packed 32-bit ARGB value ({@code 0xAARRGGBB}).
+     *
+     * @param opacity opacity
+     * @param red     red component
+     * @param green   green component
+     * @param blue    blue component
+     * @return ARGB value
+     */
+    static int toArgb(double opacity, double red, double green, double blue) {
+        return ((int) Math.round(opacity * 255.0) << 24) | ((int) Math.round(red * 255.0) << 16)
+                | ((int) Math.round(green * 255.0) << 8) | (int) Math.round(blue * 255.0);
+    }
 }
@@ -14,7 +14,7 @@ import static java.lang.Math.sin;
  * <p>
  * This palette calculates color with next formula: <br>
  * if {@code numIter} is greater than zero: {@code color =  sin(((numIter - 1) / period) * 2 * PI + initialPhase) / 2 +
- * 0.5} for each channel,<br>
+ * 0.5} for each channel (continuous number of the iteration is used in same formula),<br>
  * else: {@code color = fractalColor}.
  * where:<br>
  * <ul>
@@ -37,6 +37,7 @@ final public class IterativePaletteSin implements IterativePalette {
     private double phi0B;
     // color of the Fractal
     private Color fractalColor;
+    private int fractalArgb;
 
 
     /**
@@ -53,6 +54,7 @@ final public class IterativePaletteSin implements IterativePalette {
      */
     public IterativePaletteSin(Color fractalColor, double perR, double perG, double perB, double phi0R, double phi0G, double phi0B) {
         this.fractalColor = Objects.requireNonNull(fractalColor, "fractalColor is null");
+        this.fractalArgb = IterativePalette.toArgb(fractalColor);
         this.perR = perR;
         this.perG = perG;
         this.perB = perB;
@@ -81,6 +83,52 @@ final public class IterativePaletteSin implements IterativePalette {
                 sin((numIter - 1) * 2 * PI / perB + phi0B) / 2.0 + 0.5));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Color smoothNumIterToColor(double numIter) {
+        // return color
+        return (numIter == 0.0 ? fractalColor : Color.color(
+                sin((numIter - 1) * 2 * PI / perR + phi0R) / 2.0 + 0.5,
+                sin((numIter - 1) * 2 * PI / perG + phi0G) / 2.0 + 0.5,
+                sin((numIter - 1) * 2 * PI / perB + phi0B) / 2.0 + 0.5));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The color is calculated without creating {@code Color}.
+     */
+    @Override
+    public int numIterToArgb(int numIter) {
+        return (numIter == 0 ? fractalArgb : argb(numIter));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The color is calculated without creating {@code Color}.
+     */
+    @Override
+    public int smoothNumIterToArgb(double numIter) {
+        return (numIter == 0.0 ? fractalArgb : argb(numIter));
+    }
+
+    /**
+     * Calculates ARGB value of the color of the point outside of the fractal. The components are rounded to
+     * {@code float} as in {@code Color}, so the value is same as for {@link #smoothNumIterToColor}.
+     *
+     * @param numIter continuous number of the iteration
+     * @return ARGB value
+     */
+    private int argb(double numIter) {
+        return IterativePalette.toArgb(1.0,
+                (float) (sin((numIter - 1) * 2 * PI / perR + phi0R) / 2.0 + 0.5),
+                (float) (sin((numIter - 1) * 2 * PI / perG + phi0G) / 2.0 + 0.5),
+                (float) (sin((numIter - 1) * 2 * PI / perB + phi0B) / 2.0 + 0.5));
+    }
+
     /**
      * Compares two palette.
      *
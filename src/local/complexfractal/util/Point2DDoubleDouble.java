@@ -0,0 +1,81 @@
+package local.complexfractal.util;
+
+/**
+ * A {@code Point2DDoubleDouble} represents the 2D point with double-double precision: each coordinate is unevaluated
+ * sum of two {@code double} values (high and low parts). It's used for the coordinates of the points of the deep zoom
+ * images, where the step between the neighboring pixels is comparable with the precision of {@code double} (see {@link
+ * Point2DTransformer#applyDoubleDouble}).
+ * <p>
+ * Objects of this class are immutable.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public final class Point2DDoubleDouble {
+    // x coordinate: high and low parts
+    private final double x;
+    private final double xLow;
+    // y coordinate: high and low parts
+    private final double y;
+    private final double yLow;
+
+    /**
+     * Creates the point.
+     *
+     * @param x    high part of the x coordinate
+     * @param xLow low part of the x coordinate
+     * @param y    high part of the y coordinate
+     * @param yLow low part of the y coordinate
+     */
+    public Point2DDoubleDouble(double x, double xLow, double y, double yLow) {
+        this.x = x;
+        this.xLow = xLow;
+        this.y = y;
+        this.yLow = yLow;
+    }
+
+    /**
+     * Gets high part of the x coordinate.
+     *
+     * @return high part of the x coordinate
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Gets low part of the x coordinate.
+     *
+     * @return low part of the x coordinate
+     */
+    public double getXLow() {
+        return xLow;
+    }
+
+    /**
+     * Gets high part of the y coordinate.
+     *
+     * @return high part of the y coordinate
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Gets low part of the y coordinate.
+     *
+     * @return low part of the y coordinate
+     */
+    public double getYLow() {
+        return yLow;
+    }
+
+    /**
+     * Returns string representation of the {@code Point2DDoubleDouble}.
+     *
+     * @return string representation
+     */
+    @Override
+    public String toString() {
+        return "(" + x + " + " + xLow + ", " + y + " + " + yLow + ")";
+    }
+}
@@ -1,11 +1,22 @@
 package local.complexfractal.util;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
 import java.text.DecimalFormat;
 import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * A {@code Point2DTransformer} is class for 2D affine transforms for the objects of class {@link Point2D}.
+ * <p>
+ * The translation part of the transform is also kept with high precision ({@link BigDecimal}), so the deep zoom
+ * doesn't lose the position of the image: the linear part of the transform (scale and rotation) has enough precision in
+ * {@code double}, but the translation must have more digits than {@code double} when the scale is less than about
+ * {@code 1e-14}. The translation with high precision is calculated for all operations, but the fix points of the
+ * operations are {@code double} values, so for deep zoom the operations should be added before the current transform
+ * (see {@link #addAfter}) with the fix points in the coordinates before the current transform. The points with high
+ * precision are got by {@link #applyHighPrecision}.
+ * <p>
  * Objects of this class are immutable.
  *
  * @author Kochin Konstantin Alexandrovich
@@ -20,10 +31,32 @@ final public class Point2DTransformer {
             0, 0, 1
     });
 
+    /**
+     * Minimum number of the decimal digits of the translation with high precision.
+     */
+    private static final int minTranslationDigits = 34;
+    /**
+     * Number of the decimal digits of the translation with high precision after the digit, which corresponds to the
+     * scale of the transform.
+     */
+    private static final int extraTranslationDigits = 30;
+
     /**
      * Transform matrix.
      */
     private final double[] trMatrix;
+    /**
+     * Translation part of the transform with high precision (elements 2 and 5 of the transform matrix are its rounded
+     * values). It's null, if the translation isn't finite.
+     */
+    private final BigDecimal translationX;
+    private final BigDecimal translationY;
+    /**
+     * Low parts of the translation with double-double precision (the high parts are elements 2 and 5 of the transform
+     * matrix).
+     */
+    private final double translationXLow;
+    private final double translationYLow;
 
 
     /**
@@ -34,10 +67,58 @@ final public class Point2DTransformer {
      * @throws IllegalArgumentException if trMatrix.length doesn't equal 9
      */
     private Point2DTransformer(double[] trMatrix) {
+        this(checkMatrix(trMatrix), toBigDecimal(trMatrix[2]), toBigDecimal(trMatrix[5]));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param trMatrix     transform matrix
+     * @param translationX x translation with high precision (null if it isn't finite)
+     * @param translationY y translation with high precision (null if it isn't finite)
+     * @throws NullPointerException     if trMatrix is null
+     * @throws IllegalArgumentException if trMatrix.length doesn't equal 9
+     */
+    private Point2DTransformer(double[] trMatrix, BigDecimal translationX, BigDecimal translationY) {
+        checkMatrix(trMatrix);
+        if (translationX != null && translationY != null) {
+            trMatrix[2] = translationX.doubleValue();
+            trMatrix[5] = translationY.doubleValue();
+            this.translationX = translationX;
+            this.translationY = translationY;
+            translationXLow = (Double.isInfinite(trMatrix[2]) ? 0.0 : translationX.subtract(new BigDecimal(trMatrix[2])).doubleValue());
+            translationYLow = (Double.isInfinite(trMatrix[5]) ? 0.0 : translationY.subtract(new BigDecimal(trMatrix[5])).doubleValue());
+        } else {
+            this.translationX = null;
+            this.translationY = null;
+            translationXLow = 0.0;
+            translationYLow = 0.0;
+        }
+        this.trMatrix = trMatrix;
+    }
+
+    /**
+     * Converts the value to {@code BigDecimal}.
+     *
+     * @return value or null, if the value isn't finite
+     */
+    private static BigDecimal toBigDecimal(double value) {
+        return (Double.isNaN(value) || Double.isInfinite(value) ? null : new BigDecimal(value));
+    }
+
+    /**
+     * Checks the transform matrix.
+     *
+     * @param trMatrix transform matrix
+     * @return transform matrix
+     * @throws NullPointerException     if trMatrix is null
+     * @throws IllegalArgumentException if trMatrix.length doesn't equal 9
+     */
+    private static double[] checkMatrix(double[] trMatrix) {
         Objects.requireNonNull(trMatrix);
         if (trMatrix.length != 9)
             throw new IllegalArgumentException("trMatrix isn't matrix 3 by 3");
-        this.trMatrix = trMatrix;
+        return trMatrix;
     }
 
     /**
@@ -88,6 +169,85 @@ final public class Point2DTransformer {
         return new Point2D(newX / normXY, newY / normXY);
     }
 
+    /**
+     * Applies current transform to the {@code point} with high precision. The transform must be affine (all
+     * transforms created by the methods of this class are affine).
+     *
+     * @param point point for transformation
+     * @return x and y coordinates of the result of the point transformation
+     * @throws NullPointerException     if point is null
+     * @throws IllegalArgumentException if coordinates of the point aren't finite
+     * @throws IllegalStateException    if the transform isn't finite
+     */
+    public BigDecimal[] applyHighPrecision(Point2D point) {
+        Objects.requireNonNull(point);
+        if (toBigDecimal(point.getX()) == null || toBigDecimal(point.getY()) == null)
+            throw new IllegalArgumentException("point isn't finite");
+        if (translationX == null || toBigDecimal(trMatrix[0] + trMatrix[1] + trMatrix[3] + trMatrix[4]) == null)
+            throw new IllegalStateException("transform isn't finite");
+
+        BigDecimal oldX = new BigDecimal(point.getX());
+        BigDecimal oldY = new BigDecimal(point.getY());
+        BigDecimal newX = new BigDecimal(trMatrix[0]).multiply(oldX).add(new BigDecimal(trMatrix[1]).multiply(oldY)).add(translationX);
+        BigDecimal newY = new BigDecimal(trMatrix[3]).multiply(oldX).add(new BigDecimal(trMatrix[4]).multiply(oldY)).add(translationY);
+        return new BigDecimal[]{newX, newY};
+    }
+
+    /**
+     * Applies current transform to the {@code point} with double-double precision. The transform must be affine (all
+     * transforms created by the methods of this class are affine). The linear part of the transform is applied with
+     * double precision (its error is much less than the step between the pixels), the translation is added with
+     * double-double precision.
+     *
+     * @param point point for transformation
+     * @return result of the point transformation
+     * @throws NullPointerException if point is null
+     */
+    public Point2DDoubleDouble applyDoubleDouble(Point2D point) {
+        Objects.requireNonNull(point);
+
+        double oldX = point.getX();
+        double oldY = point.getY();
+        double[] newX = sumDoubleDouble(trMatrix[2], translationXLow, trMatrix[0] * oldX + trMatrix[1] * oldY);
+        double[] newY = sumDoubleDouble(trMatrix[5], translationYLow, trMatrix[3] * oldX + trMatrix[4] * oldY);
+        return new Point2DDoubleDouble(newX[0], newX[1], newY[0], newY[1]);
+    }
+
+    /**
+     * Adds {@code double} value to the double-double value.
+     *
+     * @param hi    high part of the double-double value
+     * @param lo    low part of the double-double value
+     * @param value value
+     * @return high and low parts of the sum
+     */
+    private static double[] sumDoubleDouble(double hi, double lo, double value) {
+        double s = hi + value;
+        double bb = s - hi;
+        double e = (hi - (s - bb)) + (value - bb) + lo;
+        double sumHi = s + e;
+        return new double[]{sumHi, e - (sumHi - s)};
+    }
+
+    /**
+     * Applies linear part of the current transform to the {@code vector} (the translation isn't applied) and return
+     * new vector. For example, transformed vector {@code (1, 0)} is step on complex plane between neighboring pixels of
+     * the image row.
+     *
+     * @param vector vector for transformation
+     * @return result of the vector transformation
+     * @throws NullPointerException if vector is null
+     */
+    public Point2D applyToVector(Point2D vector) {
+        Objects.requireNonNull(vector);
+
+        double oldX = vector.getX();
+        double oldY = vector.getY();
+        double newX = trMatrix[0] * oldX + trMatrix[1] * oldY;
+        double newY = trMatrix[3] * oldX + trMatrix[4] * oldY;
+        return new Point2D(newX, newY);
+    }
+
     /**
      * Adds translation transformation.
      *
@@ -101,7 +261,26 @@ final public class Point2DTransformer {
                 0, 1, yShift,
                 0, 0, 1
         };
-        return new Point2DTransformer(matrixMul(translationMat, trMatrix));
+        return compose(translationMat);
+    }
+
+    /**
+     * Adds translation transformation with high precision.
+     *
+     * @param xShift x shift
+     * @param yShift y shift
+     * @return new Point2DTransformer with adding transformation
+     * @throws NullPointerException if xShift or yShift is null
+     */
+    public Point2DTransformer translation(BigDecimal xShift, BigDecimal yShift) {
+        Objects.requireNonNull(xShift);
+        Objects.requireNonNull(yShift);
+        double[] translationMat = {
+                1, 0, xShift.doubleValue(),
+                0, 1, yShift.doubleValue(),
+                0, 0, 1
+        };
+        return compose(translationMat, xShift, yShift);
     }
 
     /**
@@ -132,7 +311,7 @@ final public class Point2DTransformer {
                 0, yScale, fixP.getY() * (1 - yScale),
                 0, 0, 1
         };
-        return new Point2DTransformer(matrixMul(scaleMat, trMatrix));
+        return compose(scaleMat);
     }
 
     /**
@@ -165,7 +344,7 @@ final public class Point2DTransformer {
                 sA, cA, yF - sA * xF - cA * yF,
                 0, 0, 1
         };
-        return new Point2DTransformer(matrixMul(rotateMat, trMatrix));
+        return compose(rotateMat);
     }
 
     /**
@@ -177,7 +356,47 @@ final public class Point2DTransformer {
      */
     public Point2DTransformer addAfter(Point2DTransformer after) {
         Objects.requireNonNull(after);
-        return new Point2DTransformer(matrixMul(after.trMatrix, trMatrix));
+        return compose(after.trMatrix, after.translationX, after.translationY);
+    }
+
+    /**
+     * Adds affine transform after this transform.
+     *
+     * @param afterMatrix transform matrix of the adding transform
+     * @return resulting transform
+     */
+    private Point2DTransformer compose(double[] afterMatrix) {
+        return compose(afterMatrix, toBigDecimal(afterMatrix[2]), toBigDecimal(afterMatrix[5]));
+    }
+
+    /**
+     * Adds affine transform after this transform. The translation of the result with high precision is {@code
+     * L_after * t_this + t_after}, where {@code L_after} is linear part of the adding transform and {@code t} are
+     * translations.
+     *
+     * @param afterMatrix  transform matrix of the adding transform
+     * @param translationX x translation of the adding transform with high precision (null if it isn't finite)
+     * @param translationY y translation of the adding transform with high precision (null if it isn't finite)
+     * @return resulting transform
+     */
+    private Point2DTransformer compose(double[] afterMatrix, BigDecimal translationX, BigDecimal translationY) {
+        double[] res = matrixMul(afterMatrix, trMatrix);
+        if (this.translationX == null || translationX == null || toBigDecimal(afterMatrix[0] + afterMatrix[1] + afterMatrix[3] + afterMatrix[4]) == null)
+            return new Point2DTransformer(res);
+        BigDecimal resX = new BigDecimal(afterMatrix[0]).multiply(this.translationX)
+                .add(new BigDecimal(afterMatrix[1]).multiply(this.translationY)).add(translationX);
+        BigDecimal resY = new BigDecimal(afterMatrix[3]).multiply(this.translationX)
+                .add(new BigDecimal(afterMatrix[4]).multiply(this.translationY)).add(translationY);
+
+        // the digits of the translation, which are much less than the scale, aren't needed
+        double scale = Math.sqrt(Math.abs(res[0] * res[4] - res[1] * res[3]));
+        int digits = minTranslationDigits;
+        if (scale > 0.0 && !Double.isInfinite(scale)) {
+            int magnitude = Math.max(resX.precision() - resX.scale(), resY.precision() - resY.scale());
+            digits = Math.max(digits, magnitude - (int) Math.floor(Math.log10(scale)) + extraTranslationDigits);
+        }
+        MathContext mc = new MathContext(digits);
+        return new Point2DTransformer(res, resX.round(mc), resY.round(mc));
     }
 
     /**
@@ -217,6 +436,13 @@ final public class Point2DTransformer {
      */
     @Override
     public boolean equals(Object obj) {
-        return obj instanceof Point2DTransformer && Arrays.equals(trMatrix, ((Point2DTransformer) obj).trMatrix);
+        if (!(obj instanceof Point2DTransformer))
+            return false;
+        Point2DTransformer rightArg = (Point2DTransformer) obj;
+        if (!Arrays.equals(trMatrix, rightArg.trMatrix))
+            return false;
+        if (translationX == null || rightArg.translationX == null)
+            return translationX == rightArg.translationX;
+        return translationX.compareTo(rightArg.translationX) == 0 && translationY.compareTo(rightArg.translationY) == 0;
     }
 }
@@ -0,0 +1,102 @@
+package local.complexfractal.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+/**
+ * The {@code ComplexDoubleDoubleJUnit4Test} represents units test for class {@code ComplexDoubleDouble}.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public class ComplexDoubleDoubleJUnit4Test {
+    /**
+     * Precision of the reference calculations.
+     */
+    private static final MathContext mc = new MathContext(60);
+    /**
+     * Maximum relative error of the operations.
+     */
+    private static final BigDecimal maxError = new BigDecimal("1e-30");
+
+    /**
+     * Creates random complex number with double-double precision.
+     */
+    private static ComplexDoubleDouble random(Random random) {
+        BigDecimal re = new BigDecimal(random.nextDouble() * 4.0 - 2.0).add(new BigDecimal(random.nextDouble() * 1e-17));
+        BigDecimal im = new BigDecimal(random.nextDouble() * 4.0 - 2.0).add(new BigDecimal(random.nextDouble() * 1e-17));
+        return ComplexDoubleDouble.valueOf(re, im);
+    }
+
+    /**
+     * Checks that the complex number equals the expected value with the relative error {@link #maxError}.
+     */
+    private static void assertNear(BigDecimal expectedRe, BigDecimal expectedIm, ComplexDoubleDouble actual) {
+        BigDecimal abs = expectedRe.abs().max(expectedIm.abs());
+        BigDecimal error = expectedRe.subtract(actual.getRealBigDecimal()).abs().max(expectedIm.subtract(actual.getImagBigDecimal()).abs());
+        Assert.assertTrue(actual + " error " + error, error.compareTo(abs.multiply(maxError)) <= 0);
+    }
+
+    @Test
+    public void testArithmetic() throws Exception {
+        System.out.println("* ComplexDoubleDoubleJUnit4Test: testArithmetic()");
+
+        Random random = new Random(1);
+        for (int k = 0; k < 1000; k++) {
+            ComplexDoubleDouble a = random(random);
+            ComplexDoubleDouble b = random(random);
+            BigDecimal aRe = a.getRealBigDecimal();
+            BigDecimal aIm = a.getImagBigDecimal();
+            BigDecimal bRe = b.getRealBigDecimal();
+            BigDecimal bIm = b.getImagBigDecimal();
+
+            assertNear(aRe.add(bRe), aIm.add(bIm), a.add(b));
+            assertNear(aRe.subtract(bRe), aIm.subtract(bIm), a.sub(b));
+            BigDecimal mulRe = aRe.multiply(bRe).subtract(aIm.multiply(bIm));
+            BigDecimal mulIm = aRe.multiply(bIm).add(aIm.multiply(bRe));
+            assertNear(mulRe, mulIm, a.mul(b));
+            assertNear(aRe.multiply(aRe).subtract(aIm.multiply(aIm)), aRe.multiply(aIm).multiply(BigDecimal.valueOf(2)), a.copy().sqrAndAsg());
+            // (a * b) / b = a
+            assertNear(aRe, aIm, a.mul(b).divAndAsg(b));
+            // the equal numbers have the same hash code
+            Assert.assertEquals(a, a.copy());
+            Assert.assertEquals(a.hashCode(), a.copy().hashCode());
+        }
+        ComplexDoubleDouble zero = new ComplexDoubleDouble(0.0, 0.0, 0.0, 0.0);
+        ComplexDoubleDouble negativeZero = new ComplexDoubleDouble(-0.0, -0.0, -0.0, -0.0);
+        Assert.assertEquals(zero, negativeZero);
+        Assert.assertEquals(zero.hashCode(), negativeZero.hashCode());
+    }
+
+    @Test
+    public void testPow() throws Exception {
+        System.out.println("* ComplexDoubleDoubleJUnit4Test: testPow()");
+
+        Random random = new Random(2);
+        for (int k = 0; k < 100; k++) {
+            ComplexDoubleDouble a = random(random);
+            for (int n : new int[]{0, 1, 2, 3, 7, -1, -4}) {
+                BigDecimal re = BigDecimal.ONE;
+                BigDecimal im = BigDecimal.ZERO;
+                for (int i = 0; i < Math.abs(n); i++) {
+                    BigDecimal tmp = re.multiply(a.getRealBigDecimal(), mc).subtract(im.multiply(a.getImagBigDecimal(), mc), mc);
+                    im = re.multiply(a.getImagBigDecimal(), mc).add(im.multiply(a.getRealBigDecimal(), mc), mc);
+                    re = tmp;
+                }
+                if (n < 0) {
+                    BigDecimal d = re.multiply(re, mc).add(im.multiply(im, mc), mc);
+                    re = re.divide(d, mc);
+                    im = im.negate().divide(d, mc);
+                }
+                // the error grows with the number of the multiplications
+                ComplexDoubleDouble actual = a.pow(n);
+                BigDecimal abs = re.abs().max(im.abs());
+                BigDecimal error = re.subtract(actual.getRealBigDecimal()).abs().max(im.subtract(actual.getImagBigDecimal()).abs());
+                Assert.assertTrue(error.compareTo(abs.multiply(maxError).multiply(BigDecimal.TEN)) <= 0);
+            }
+        }
+    }
+}
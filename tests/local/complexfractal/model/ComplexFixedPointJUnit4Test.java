@@ -0,0 +1,101 @@
+package local.complexfractal.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * The {@code ComplexFixedPointJUnit4Test} represents units test for class {@code ComplexFixedPoint}.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public class ComplexFixedPointJUnit4Test {
+    /**
+     * Maximum absolute error of the operations: {@code 2^-118}.
+     */
+    private static final BigDecimal maxError = BigDecimal.ONE.divide(new BigDecimal(BigInteger.ONE.shiftLeft(118)));
+
+    /**
+     * Creates random complex number with the parts in the range (-4, 4) and bits beyond the precision of double.
+     */
+    private static ComplexFixedPoint random(Random random) {
+        BigDecimal re = new BigDecimal(random.nextDouble() * 8.0 - 4.0).add(new BigDecimal(random.nextDouble() * 1e-17));
+        BigDecimal im = new BigDecimal(random.nextDouble() * 8.0 - 4.0).add(new BigDecimal(random.nextDouble() * 1e-17));
+        return ComplexFixedPoint.valueOf(re, im);
+    }
+
+    /**
+     * Checks that the complex number equals the expected value with the absolute error {@link #maxError}.
+     */
+    private static void assertNear(BigDecimal expectedRe, BigDecimal expectedIm, ComplexFixedPoint actual) {
+        BigDecimal error = expectedRe.subtract(actual.getRealBigDecimal()).abs().max(expectedIm.subtract(actual.getImagBigDecimal()).abs());
+        Assert.assertTrue(actual + " error " + error, error.compareTo(maxError) <= 0);
+    }
+
+    @Test
+    public void testMultiplyHigh() throws Exception {
+        System.out.println("* ComplexFixedPointJUnit4Test: testMultiplyHigh()");
+
+        Random random = new Random(1);
+        BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        long[] special = {0L, 1L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 0xFFFFFFFFL, 0x100000000L};
+        for (int k = 0; k < 10000; k++) {
+            long x = (k < special.length * special.length ? special[k % special.length] : random.nextLong());
+            long y = (k < special.length * special.length ? special[k / special.length] : random.nextLong());
+            BigInteger product = BigInteger.valueOf(x).multiply(BigInteger.valueOf(y));
+            Assert.assertEquals(product.shiftRight(64).longValue(), ComplexFixedPoint.multiplyHigh(x, y));
+            BigInteger unsignedProduct = BigInteger.valueOf(x).and(mask).multiply(BigInteger.valueOf(y).and(mask));
+            Assert.assertEquals(unsignedProduct.shiftRight(64).longValue(), ComplexFixedPoint.unsignedMultiplyHigh(x, y));
+        }
+    }
+
+    @Test
+    public void testConversion() throws Exception {
+        System.out.println("* ComplexFixedPointJUnit4Test: testConversion()");
+
+        Random random = new Random(2);
+        for (int k = 0; k < 1000; k++) {
+            double re = random.nextDouble() * 200.0 - 100.0;
+            double reLow = Math.ulp(re) * (random.nextDouble() - 0.5);
+            double im = (random.nextDouble() - 0.5) * Math.pow(2.0, -random.nextInt(100));
+            ComplexFixedPoint a = new ComplexFixedPoint(re, reLow, im, 0.0);
+            assertNear(new BigDecimal(re).add(new BigDecimal(reLow)), new BigDecimal(im), a);
+            Assert.assertEquals(re + reLow, a.getReal(), Math.ulp(re));
+            Assert.assertEquals(im, a.getImag(), Math.ulp(im) + 0x1p-118);
+            Assert.assertEquals(a, ComplexFixedPoint.valueOf(a.getRealBigDecimal(), a.getImagBigDecimal()));
+            Assert.assertEquals(a.hashCode(), ComplexFixedPoint.valueOf(a.getRealBigDecimal(), a.getImagBigDecimal()).hashCode());
+        }
+        Assert.assertTrue(ComplexFixedPoint.isInRange(-127.9));
+        Assert.assertFalse(ComplexFixedPoint.isInRange(128.0));
+        Assert.assertFalse(ComplexFixedPoint.isInRange(Double.NaN));
+    }
+
+    @Test
+    public void testArithmetic() throws Exception {
+        System.out.println("* ComplexFixedPointJUnit4Test: testArithmetic()");
+
+        Random random = new Random(3);
+        for (int k = 0; k < 1000; k++) {
+            ComplexFixedPoint a = random(random);
+            ComplexFixedPoint b = random(random);
+            BigDecimal aRe = a.getRealBigDecimal();
+            BigDecimal aIm = a.getImagBigDecimal();
+            BigDecimal bRe = b.getRealBigDecimal();
+            BigDecimal bIm = b.getImagBigDecimal();
+
+            assertNear(aRe.add(bRe), aIm.add(bIm), a.add(b));
+            assertNear(aRe.subtract(bRe), aIm.subtract(bIm), a.sub(b));
+            BigDecimal mulRe = aRe.multiply(bRe).subtract(aIm.multiply(bIm));
+            BigDecimal mulIm = aRe.multiply(bIm).add(aIm.multiply(bRe));
+            assertNear(mulRe, mulIm, a.mul(b));
+            assertNear(aRe.multiply(aRe).subtract(aIm.multiply(aIm)), aRe.multiply(aIm).multiply(BigDecimal.valueOf(2)), a.copy().sqrAndAsg());
+            // the difference is calculated exactly
+            double dRe = aRe.subtract(bRe).doubleValue();
+            double dIm = aIm.subtract(bIm).doubleValue();
+            Assert.assertEquals(dRe * dRe + dIm * dIm, a.squareDistance(b), 1e-14);
+        }
+    }
+}
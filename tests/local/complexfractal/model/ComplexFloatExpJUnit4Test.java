@@ -0,0 +1,114 @@
+package local.complexfractal.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+/**
+ * The {@code ComplexFloatExpJUnit4Test} represents units test for classes {@code FloatExp} and {@code
+ * ComplexFloatExp}.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public class ComplexFloatExpJUnit4Test {
+    /**
+     * Maximum relative error of the operations.
+     */
+    private static final double maxError = 1e-15;
+    /**
+     * Precision of the reference calculations.
+     */
+    private static final MathContext mc = new MathContext(40);
+
+    /**
+     * Creates random number {@code m * 2^e}, where {@code m} is in the range (-2, 2) and {@code e} is in the range
+     * [-1500, 1500).
+     */
+    private static FloatExp random(Random random) {
+        return FloatExp.valueOf(random.nextDouble() * 4.0 - 2.0, random.nextInt(3000) - 1500);
+    }
+
+    /**
+     * Checks that the number equals the expected value with the error {@code maxError * scale}.
+     */
+    private static void assertNear(BigDecimal expected, FloatExp actual, BigDecimal scale) {
+        BigDecimal error = expected.subtract(actual.toBigDecimal()).abs();
+        Assert.assertTrue(actual + " expected " + FloatExp.valueOf(expected),
+                error.compareTo(scale.abs().multiply(new BigDecimal(maxError))) <= 0);
+    }
+
+    @Test
+    public void testFloatExp() throws Exception {
+        System.out.println("* ComplexFloatExpJUnit4Test: testFloatExp()");
+
+        Random random = new Random(1);
+        for (int k = 0; k < 300; k++) {
+            FloatExp a = random(random);
+            FloatExp b = random(random).scalb(-random.nextInt(60));
+            BigDecimal aValue = a.toBigDecimal();
+            BigDecimal bValue = b.toBigDecimal();
+            Assert.assertTrue(Math.abs(a.getMantissa()) >= 1.0 && Math.abs(a.getMantissa()) < 2.0);
+            Assert.assertEquals(a, FloatExp.valueOf(aValue));
+            assertNear(aValue.add(bValue), a.add(b), aValue.abs().add(bValue.abs()));
+            assertNear(aValue.subtract(bValue), a.subtract(b), aValue.abs().add(bValue.abs()));
+            assertNear(aValue.multiply(bValue), a.multiply(b), aValue.multiply(bValue));
+            assertNear(aValue.divide(bValue, mc), a.divide(b), aValue.divide(bValue, mc));
+            assertNear(aValue.abs(), a.multiply(a).sqrt(), aValue);
+            Assert.assertEquals(aValue.compareTo(bValue), a.compareTo(b));
+            Assert.assertTrue(aValue.doubleValue() == a.doubleValue());
+        }
+        Assert.assertEquals(FloatExp.ZERO, FloatExp.valueOf(0.0));
+        Assert.assertEquals(Double.MIN_VALUE, FloatExp.valueOf(Double.MIN_VALUE).doubleValue(), 0.0);
+        Assert.assertEquals(-1074, FloatExp.valueOf(Double.MIN_VALUE).getExponent());
+        // 1e-400 = 1.6996415770136547 * 2^-1329
+        Assert.assertEquals(-1329, FloatExp.valueOf(new BigDecimal("1e-400")).getExponent());
+        Assert.assertTrue(FloatExp.valueOf(new BigDecimal("-1.5e-400")).toString().matches("-1\\.49*\\d*e-400|-1\\.50*\\d*e-400"));
+    }
+
+    @Test
+    public void testComplexFloatExp() throws Exception {
+        System.out.println("* ComplexFloatExpJUnit4Test: testComplexFloatExp()");
+
+        Random random = new Random(2);
+        for (int k = 0; k < 300; k++) {
+            int exponent = random.nextInt(3000) - 1500;
+            ComplexFloatExp a = new ComplexFloatExp(random.nextDouble() - 0.5, random.nextDouble() - 0.5, exponent);
+            ComplexFloatExp b = new ComplexFloatExp(random.nextDouble() - 0.5, random.nextDouble() - 0.5, exponent - random.nextInt(60));
+            BigDecimal aRe = a.getReal().toBigDecimal();
+            BigDecimal aIm = a.getImag().toBigDecimal();
+            BigDecimal bRe = b.getReal().toBigDecimal();
+            BigDecimal bIm = b.getImag().toBigDecimal();
+            BigDecimal aAbs = a.abs().toBigDecimal();
+            BigDecimal bAbs = b.abs().toBigDecimal();
+
+            ComplexFloatExp sum = a.copy().addAndAsg(b);
+            assertNear(aRe.add(bRe), sum.getReal(), aAbs.add(bAbs));
+            assertNear(aIm.add(bIm), sum.getImag(), aAbs.add(bAbs));
+            sum = b.copy().addAndAsg(a);
+            assertNear(aRe.add(bRe), sum.getReal(), aAbs.add(bAbs));
+            ComplexFloatExp difference = a.copy().subAndAsg(b);
+            assertNear(aIm.subtract(bIm), difference.getImag(), aAbs.add(bAbs));
+            ComplexFloatExp product = a.copy().mulAndAsg(b);
+            assertNear(aRe.multiply(bRe).subtract(aIm.multiply(bIm)), product.getReal(), aAbs.multiply(bAbs));
+            assertNear(aRe.multiply(bIm).add(aIm.multiply(bRe)), product.getImag(), aAbs.multiply(bAbs));
+            ComplexFloatExp square = a.copy().sqrAndAsg();
+            assertNear(aRe.multiply(aRe).subtract(aIm.multiply(aIm)), square.getReal(), aAbs.multiply(aAbs));
+            assertNear(aRe.multiply(aIm).multiply(BigDecimal.valueOf(2)), square.getImag(), aAbs.multiply(aAbs));
+            ComplexFloatExp scaled = a.copy().mulAndAsg(1.5, -0.25);
+            assertNear(aRe.multiply(new BigDecimal(1.5)).add(aIm.multiply(new BigDecimal(0.25))), scaled.getReal(), aAbs.multiply(new BigDecimal(2)));
+            Assert.assertEquals(new ComplexFloatExp(a.getReal(), a.getImag()), a);
+        }
+        // the values are converted to double, if the range allows
+        ComplexFloatExp small = new ComplexFloatExp(3.0, -1.0, -1100);
+        Assert.assertEquals(0.0, small.getRealDouble(), 0.0);
+        small.mulAndAsg(new ComplexFloatExp(1.0, 0.0, 1000));
+        Assert.assertEquals(Math.scalb(3.0, -100), small.getRealDouble(), 0.0);
+        Assert.assertEquals(Math.scalb(-1.0, -100), small.getImagDouble(), 0.0);
+        Assert.assertEquals(Double.MIN_NORMAL / 4, new ComplexFloatExp(Double.MIN_NORMAL / 4, 0.0).getRealDouble(), 0.0);
+        Assert.assertTrue(new ComplexFloatExp().addAndAsg(small).equals(small));
+        Assert.assertTrue(small.copy().mulAndAsg(new ComplexFloatExp()).isZero());
+    }
+}
@@ -0,0 +1,933 @@
+package local.complexfractal.model;
+
+import local.complexfractal.util.ComplexFractalPrecision;
+import local.complexfractal.util.Point2D;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * The {@code ComplexFractalJUnit4Test} represents units test for subclasses of the {@code ComplexFractal}.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public class ComplexFractalJUnit4Test {
+    /**
+     * Size of the grid of the points for test.
+     */
+    private static final int gridSize = 200;
+
+    /**
+     * Reference implementation of the Mandelbrot set using {@code ComplexNumber}.
+     */
+    private static int mandelbrotSetNumberIter(double x, double y, int maxIter, double criticalR) {
+        double r2 = criticalR * criticalR;
+        int iter = 1;
+        ComplexNumber startP = new ComplexNumber(x, y);
+        ComplexNumber currentP = new ComplexNumber(0.0, 0.0);
+        while (iter < maxIter && currentP.squareAbs() < r2) {
+            currentP.mulAndAsg(currentP).addAndAsg(startP);
+            iter++;
+        }
+        return currentP.squareAbs() < r2 ? 0 : iter;
+    }
+
+    /**
+     * Reference implementation of the Julia set using {@code ComplexNumber}.
+     */
+    private static int juliaSetNumberIter(double x, double y, ComplexNumber c1, ComplexNumber c2, int maxIter, double criticalR) {
+        double r2 = criticalR * criticalR;
+        int iter = 1;
+        ComplexNumber z = new ComplexNumber(x, y);
+        ComplexNumber zPow2 = new ComplexNumber();
+        ComplexNumber zPow1 = new ComplexNumber();
+        while (iter < maxIter && z.squareAbs() < r2) {
+            zPow2.assign(z).mulAndAsg(z);
+            zPow1.assign(z).mulAndAsg(c1);
+            z.assign(c2).addAndAsg(zPow1).addAndAsg(zPow2);
+            iter++;
+        }
+        return z.squareAbs() < r2 ? 0 : iter;
+    }
+
+    /**
+     * Reference implementation of the complex fractal version 1 using {@code ComplexNumber}.
+     */
+    private static int complexFractalVersion1NumberIter(double x, double y, int n1, int n2, int maxIter, double criticalR) {
+        double r2 = criticalR * criticalR;
+        int iter = 1;
+        ComplexNumber initP = new ComplexNumber(x, y);
+        ComplexNumber z = new ComplexNumber(x, y);
+        ComplexNumber powN1 = new ComplexNumber();
+        ComplexNumber powN2 = new ComplexNumber();
+        while (iter < maxIter && z.squareAbs() < r2 && !Double.isNaN(z.getImag()) && !Double.isNaN(z.getReal())) {
+            powN1.assign(z).powAndAsg(n1);
+            powN2.assign(z).powAndAsg(n2);
+            z.assign(initP).addAndAsg(powN1).addAndAsg(powN2);
+            iter++;
+        }
+        return z.squareAbs() < r2 ? 0 : iter;
+    }
+
+    /**
+     * Reference implementation of the Mandelbrot set using {@code BigDecimal}.
+     */
+    private static int mandelbrotSetNumberIter(BigDecimal x, BigDecimal y, int maxIter, double criticalR, MathContext mc) {
+        double r2 = criticalR * criticalR;
+        int iter = 1;
+        BigDecimal re = BigDecimal.ZERO;
+        BigDecimal im = BigDecimal.ZERO;
+        while (iter < maxIter && re.doubleValue() * re.doubleValue() + im.doubleValue() * im.doubleValue() < r2) {
+            BigDecimal tmp = re.multiply(re, mc).subtract(im.multiply(im, mc), mc).add(x, mc);
+            im = re.multiply(im, mc).multiply(BigDecimal.valueOf(2)).add(y, mc);
+            re = tmp;
+            iter++;
+        }
+        return re.doubleValue() * re.doubleValue() + im.doubleValue() * im.doubleValue() < r2 ? 0 : iter;
+    }
+
+    /**
+     * Reference implementation of the Julia set in the canonical form using {@code BigDecimal} (the parameters of the
+     * canonical form are taken from the fractal).
+     */
+    private static int juliaSetNumberIter(BigDecimal x, BigDecimal y, JuliaSet fractal, MathContext mc) {
+        double r2 = fractal.getCriticalR() * fractal.getCriticalR();
+        BigDecimal shiftRe = new BigDecimal(fractal.getShiftRe());
+        BigDecimal shiftIm = new BigDecimal(fractal.getShiftIm());
+        BigDecimal cRe = new BigDecimal(fractal.getCanonicalCRe());
+        BigDecimal cIm = new BigDecimal(fractal.getCanonicalCIm());
+        int iter = 1;
+        BigDecimal re = x.add(shiftRe, mc);
+        BigDecimal im = y.add(shiftIm, mc);
+        double zRe = re.subtract(shiftRe, mc).doubleValue();
+        double zIm = im.subtract(shiftIm, mc).doubleValue();
+        while (iter < fractal.getMaxIter() && zRe * zRe + zIm * zIm < r2) {
+            BigDecimal tmp = re.multiply(re, mc).subtract(im.multiply(im, mc), mc).add(cRe, mc);
+            im = re.multiply(im, mc).multiply(BigDecimal.valueOf(2)).add(cIm, mc);
+            re = tmp;
+            zRe = re.subtract(shiftRe, mc).doubleValue();
+            zIm = im.subtract(shiftIm, mc).doubleValue();
+            iter++;
+        }
+        return zRe * zRe + zIm * zIm < r2 ? 0 : iter;
+    }
+
+    /**
+     * Gets x coordinate of the grid point.
+     */
+    private static double gridX(int i) {
+        return -2.1 + 3.2 * i / gridSize;
+    }
+
+    /**
+     * Gets y coordinate of the grid point.
+     */
+    private static double gridY(int i) {
+        return -1.6 + 3.2 * i / gridSize;
+    }
+
+    /**
+     * Checks that {@code numberIter} for the point, {@code numberIter} and {@code numberIterLanes} for the segment give
+     * same results.
+     *
+     * @param fractal fractal for test
+     */
+    private static void assertSegmentEqualsPoints(ComplexFractal fractal) {
+        int[] iters = new int[gridSize];
+        int[] itersLanes = new int[gridSize];
+        double dx = 3.2 / gridSize;
+        for (int j = 0; j < gridSize; j++) {
+            fractal.numberIter(gridX(0), gridY(j), dx, 0.0, iters, 0, gridSize);
+            // check lanes with the segment which isn't multiple of the lane width
+            fractal.numberIterLanes(gridX(0), gridY(j), dx, 0.0, itersLanes, 3, gridSize);
+            for (int i = 0; i < gridSize; i++) {
+                Assert.assertEquals(fractal.numberIter(new Point2D(gridX(0) + i * dx, gridY(j))), iters[i]);
+                if (i >= 3)
+                    Assert.assertEquals(iters[i], itersLanes[i]);
+            }
+        }
+    }
+
+    /**
+     * Checks that the results of the single precision lanes differ from the results of the lanes only for few points
+     * (with the step between the points of the grid, which is much greater than the precision of float). The ratio of
+     * the changed points mustn't exceed the limit documented by {@code ComplexFractalPrecision.FLOAT}.
+     */
+    private static void assertFloatLanesNearLanes(ComplexFractal fractal) {
+        int[] iters = new int[gridSize];
+        int[] itersFloat = new int[gridSize];
+        double[] values = new double[gridSize];
+        double dx = 3.2 / gridSize;
+        int mismatches = 0;
+        for (int j = 0; j < gridSize; j++) {
+            fractal.numberIterLanes(gridX(0), gridY(j), dx, 0.0, iters, 0, gridSize);
+            fractal.numberIterFloatLanes(gridX(0), gridY(j), dx, 0.0, itersFloat, 0, gridSize);
+            fractal.smoothNumberIterFloatLanes(gridX(0), gridY(j), dx, 0.0, values, 0, gridSize);
+            for (int i = 0; i < gridSize; i++) {
+                if (iters[i] != itersFloat[i])
+                    mismatches++;
+                Assert.assertEquals(itersFloat[i], (int) Math.floor(values[i]));
+            }
+        }
+        Assert.assertTrue(mismatches + " of " + gridSize * gridSize + " points are changed",
+                mismatches <= ComplexFractalPrecision.maxFloatMismatchRatio * gridSize * gridSize);
+    }
+
+    @Test
+    public void testFloatLanes() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testFloatLanes()");
+
+        assertFloatLanesNearLanes(new MandelbrotSet(1000, 2.0, false, false));
+        assertFloatLanesNearLanes(new MandelbrotSet());
+        assertFloatLanesNearLanes(new JuliaSet(new ComplexNumber(0.3, -0.2), new ComplexNumber(-0.7, 0.27), 500, 3.0));
+        assertFloatLanesNearLanes(new JuliaSet());
+        assertFloatLanesNearLanes(new ComplexFractalVersion1());
+        assertFloatLanesNearLanes(new ComplexFractalVersion1(-2, 3, 200, 2.0, true));
+
+        // the single precision lanes have the same results as the iterations with float
+        MandelbrotSet fractal = new MandelbrotSet(1000, 2.0, false, false);
+        int[] iters = new int[gridSize];
+        double dx = 3.2 / gridSize;
+        for (int j = 0; j < gridSize; j += 10) {
+            fractal.numberIterFloatLanes(gridX(0), gridY(j), dx, 0.0, iters, 0, gridSize);
+            for (int i = 0; i < gridSize; i++) {
+                float cRe = (float) (gridX(0) + i * dx);
+                float cIm = (float) gridY(j);
+                float zRe = 0.0f;
+                float zIm = 0.0f;
+                int iter = 1;
+                while (iter < 1000 && zRe * zRe + zIm * zIm < 4.0f) {
+                    float tmpRe = zRe * zRe - zIm * zIm;
+                    float tmpIm = zRe * zIm + zIm * zRe;
+                    zRe = tmpRe + cRe;
+                    zIm = tmpIm + cIm;
+                    iter++;
+                }
+                Assert.assertEquals(zRe * zRe + zIm * zIm < 4.0f ? 0 : iter, iters[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testMandelbrotSet() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testMandelbrotSet()");
+
+        MandelbrotSet fractal = new MandelbrotSet(500, 2.0);
+        for (int i = 0; i < gridSize; i++)
+            for (int j = 0; j < gridSize; j++)
+                Assert.assertEquals(mandelbrotSetNumberIter(gridX(i), gridY(j), 500, 2.0),
+                        fractal.numberIter(new Point2D(gridX(i), gridY(j))));
+        assertSegmentEqualsPoints(fractal);
+    }
+
+    @Test
+    public void testMandelbrotSetPerturbation() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testMandelbrotSetPerturbation()");
+
+        // the points with different results of the direct calculation are checked with high precision
+        double centerRe = -0.743643887037151;
+        double centerIm = 0.131825904205330;
+        double step = 1e-7;
+        MathContext mc = new MathContext(40);
+        MandelbrotSet fractal = new MandelbrotSet(1000, 2.0, false, false);
+        MandelbrotSetPerturbation perturbation = new MandelbrotSetPerturbation(fractal, new BigDecimal(centerRe), new BigDecimal(centerIm), step);
+        int[] iters = new int[gridSize];
+        int[] itersPerturbation = new int[gridSize];
+        double[] values = new double[gridSize];
+        int mismatches = 0;
+        for (int j = 0; j < gridSize; j++) {
+            double y = (j - gridSize / 2) * step;
+            fractal.numberIter(centerRe - gridSize / 2 * step, centerIm + y, step, 0.0, iters, 0, gridSize);
+            perturbation.numberIter(-gridSize / 2 * step, y, step, 0.0, itersPerturbation, 0, gridSize);
+            perturbation.smoothNumberIter(-gridSize / 2 * step, y, step, 0.0, values, 0, gridSize);
+            for (int i = 0; i < gridSize; i++) {
+                if (iters[i] != itersPerturbation[i] && itersPerturbation[i] != mandelbrotSetNumberIter(
+                        new BigDecimal(centerRe).add(new BigDecimal((i - gridSize / 2) * step), mc),
+                        new BigDecimal(centerIm).add(new BigDecimal(y), mc), 1000, 2.0, mc))
+                    mismatches++;
+                Assert.assertEquals(itersPerturbation[i], (int) Math.floor(values[i]));
+            }
+        }
+        Assert.assertTrue(mismatches <= gridSize * gridSize / 100);
+        Assert.assertTrue(perturbation.getNumberReferences() <= MandelbrotSetPerturbation.maxReferences);
+    }
+
+    @Test
+    public void testMandelbrotSetPerturbationDeepZoom() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testMandelbrotSetPerturbationDeepZoom()");
+
+        // the step is much less than the precision of double (the center is near the Misiurewicz point i)
+        BigDecimal centerRe = new BigDecimal("0.0000000000000000000000000000123");
+        BigDecimal centerIm = new BigDecimal("1.0000000000000000000000000000456");
+        double step = 1e-28;
+        MathContext mc = new MathContext(60);
+        MandelbrotSet fractal = new MandelbrotSet(3000, 2.0, false, false);
+        MandelbrotSetPerturbation perturbation = new MandelbrotSetPerturbation(fractal, centerRe, centerIm, step);
+        int size = 20;
+        int[] iters = new int[size];
+        int mismatches = 0;
+        boolean differentIters = false;
+        for (int j = 0; j < size; j++) {
+            double y = (j - size / 2) * 5 * step;
+            perturbation.numberIter(-size / 2 * 5 * step, y, 5 * step, 0.0, iters, 0, size);
+            for (int i = 0; i < size; i++) {
+                int expected = mandelbrotSetNumberIter(centerRe.add(new BigDecimal((i - size / 2) * 5 * step), mc),
+                        centerIm.add(new BigDecimal(y), mc), 3000, 2.0, mc);
+                if (expected != iters[i])
+                    mismatches++;
+                differentIters |= (iters[i] != iters[0]);
+            }
+        }
+        Assert.assertTrue(differentIters);
+        Assert.assertTrue(mismatches <= size * size / 100);
+        Assert.assertTrue(perturbation.getNumberReferences() <= MandelbrotSetPerturbation.maxReferences);
+    }
+
+    /**
+     * Checks that the series approximation skips iterations and gives same results as the perturbation without
+     * skipping (up to few points).
+     *
+     * @param plain    perturbation without the series approximation
+     * @param series   perturbation with the series approximation for the grid
+     * @param step     step of the grid
+     * @param size     size of the grid
+     */
+    private static void assertSeriesNearPlain(QuadraticFractalPerturbation plain, QuadraticFractalPerturbation series, double step, int size) {
+        Assert.assertEquals(0, plain.getNumberSkippedIter());
+        Assert.assertTrue(series.getNumberSkippedIter() > 0);
+        int[] iters = new int[size];
+        int[] itersSeries = new int[size];
+        double[] values = new double[size];
+        int mismatches = 0;
+        for (int j = 0; j < size; j++) {
+            double y = (j - size / 2) * step;
+            plain.numberIter(-size / 2 * step, y, step, 0.0, iters, 0, size);
+            series.numberIter(-size / 2 * step, y, step, 0.0, itersSeries, 0, size);
+            series.smoothNumberIter(-size / 2 * step, y, step, 0.0, values, 0, size);
+            for (int i = 0; i < size; i++) {
+                if (iters[i] != itersSeries[i])
+                    mismatches++;
+                if (itersSeries[i] != 0)
+                    Assert.assertTrue(itersSeries[i] > series.getNumberSkippedIter());
+                Assert.assertEquals(itersSeries[i], (int) Math.floor(values[i]));
+            }
+        }
+        Assert.assertTrue(mismatches <= size * size / 100);
+    }
+
+    @Test
+    public void testSeriesApproximation() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testSeriesApproximation()");
+
+        int size = 100;
+        double step = 1e-28;
+        double radius = size * step;
+        BigDecimal centerRe = new BigDecimal("0.0000000000000000000000000000123");
+        BigDecimal centerIm = new BigDecimal("1.0000000000000000000000000000456");
+        MandelbrotSet mandelbrotSet = new MandelbrotSet(3000, 2.0, false, false);
+        assertSeriesNearPlain(new MandelbrotSetPerturbation(mandelbrotSet, centerRe, centerIm, step),
+                new MandelbrotSetPerturbation(mandelbrotSet, centerRe, centerIm, step, radius), step, size);
+
+        JuliaSet juliaSet = new JuliaSet(new ComplexNumber(0.2, -0.1), new ComplexNumber(-0.75, 0.1), 3000, 2.0);
+        centerRe = new BigDecimal("0.1000000000000000000000000000789");
+        centerIm = new BigDecimal("0.2000000000000000000000000000123");
+        assertSeriesNearPlain(new JuliaSetPerturbation(juliaSet, centerRe, centerIm, step),
+                new JuliaSetPerturbation(juliaSet, centerRe, centerIm, step, radius), step, size);
+    }
+
+    @Test
+    public void testJuliaSetPerturbation() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testJuliaSetPerturbation()");
+
+        // the step is much greater than the precision of double, so the direct calculation is exact enough
+        double centerRe = 0.1;
+        double centerIm = 0.2;
+        double step = 1e-7;
+        JuliaSet fractal = new JuliaSet(new ComplexNumber(0.2, -0.1), new ComplexNumber(-0.75, 0.1), 1000, 2.0);
+        JuliaSetPerturbation perturbation = new JuliaSetPerturbation(fractal, new BigDecimal(centerRe), new BigDecimal(centerIm), step);
+        int[] iters = new int[gridSize];
+        int[] itersPerturbation = new int[gridSize];
+        int mismatches = 0;
+        for (int j = 0; j < gridSize; j++) {
+            double y = (j - gridSize / 2) * step;
+            fractal.numberIter(centerRe - gridSize / 2 * step, centerIm + y, step, 0.0, iters, 0, gridSize);
+            perturbation.numberIter(-gridSize / 2 * step, y, step, 0.0, itersPerturbation, 0, gridSize);
+            for (int i = 0; i < gridSize; i++)
+                if (iters[i] != itersPerturbation[i])
+                    mismatches++;
+        }
+        Assert.assertTrue(mismatches <= gridSize * gridSize / 100);
+    }
+
+    @Test
+    public void testPerturbationExtendedExponent() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testPerturbationExtendedExponent()");
+
+        // the scaled offsets in the range of double give same results
+        int size = 20;
+        double step = 1e-28;
+        BigDecimal centerRe = new BigDecimal("0.0000000000000000000000000000123");
+        BigDecimal centerIm = new BigDecimal("1.0000000000000000000000000000456");
+        MandelbrotSet fractal = new MandelbrotSet(3000, 2.0, false, false);
+        MandelbrotSetPerturbation plain = new MandelbrotSetPerturbation(fractal, centerRe, centerIm, step, size * step);
+        MandelbrotSetPerturbation scaled = new MandelbrotSetPerturbation(fractal, centerRe, centerIm, step * 0x1p100, size * step * 0x1p100, -100);
+        int[] iters = new int[size];
+        int[] itersScaled = new int[size];
+        for (int j = 0; j < size; j++) {
+            double y = (j - size / 2) * step;
+            plain.numberIter(-size / 2 * step, y, step, 0.0, iters, 0, size);
+            scaled.numberIter(-size / 2 * step * 0x1p100, y * 0x1p100, step * 0x1p100, 0.0, itersScaled, 0, size);
+            Assert.assertArrayEquals(iters, itersScaled);
+        }
+
+        // the step is less than the minimal double value (the center is near the Misiurewicz point i)
+        int scaleExponent = -1400;
+        BigDecimal unit = FloatExp.ONE.scalb(scaleExponent).toBigDecimal();
+        centerRe = unit.multiply(new BigDecimal("123.0"));
+        centerIm = BigDecimal.ONE.add(unit.multiply(new BigDecimal("456.0")));
+        step = 5.0;
+        size = 12;
+        MathContext mc = new MathContext(460);
+        MandelbrotSetPerturbation perturbation = new MandelbrotSetPerturbation(fractal, centerRe, centerIm, step, size * step, scaleExponent);
+        Assert.assertTrue(perturbation.getNumberSkippedIter() > 0);
+        iters = new int[size];
+        int mismatches = 0;
+        boolean differentIters = false;
+        for (int j = 0; j < size; j++) {
+            double y = (j - size / 2) * step;
+            perturbation.numberIter(-size / 2 * step, y, step, 0.0, iters, 0, size);
+            // the reference with 460 digits is slow, so only the diagonal is checked with it
+            int expected = mandelbrotSetNumberIter(centerRe.add(new BigDecimal((j - size / 2) * step).multiply(unit), mc),
+                    centerIm.add(new BigDecimal(y).multiply(unit), mc), 3000, 2.0, mc);
+            if (expected != iters[j])
+                mismatches++;
+            for (int i = 0; i < size; i++)
+                differentIters |= (iters[i] != iters[0]);
+        }
+        Assert.assertTrue(differentIters);
+        Assert.assertTrue(mismatches <= 1);
+    }
+
+    /**
+     * Checks that the double-double kernel gives same results as the double kernel (up to few points) for the grid.
+     *
+     * @param fractal fractal for test
+     */
+    private static void assertDoubleDoubleNearDouble(ComplexFractal fractal) {
+        int[] iters = new int[gridSize];
+        int[] itersDoubleDouble = new int[gridSize];
+        double[] values = new double[gridSize];
+        double dx = 3.2 / gridSize;
+        int mismatches = 0;
+        for (int j = 0; j < gridSize; j++) {
+            fractal.numberIter(gridX(0), gridY(j), dx, 0.0, iters, 0, gridSize);
+            fractal.numberIterDoubleDouble(gridX(0), 0.0, gridY(j), 0.0, dx, 0.0, itersDoubleDouble, 0, gridSize);
+            fractal.smoothNumberIterDoubleDouble(gridX(0), 0.0, gridY(j), 0.0, dx, 0.0, values, 0, gridSize);
+            for (int i = 0; i < gridSize; i++) {
+                if (iters[i] != itersDoubleDouble[i])
+                    mismatches++;
+                Assert.assertEquals(itersDoubleDouble[i], (int) Math.floor(values[i]));
+            }
+        }
+        Assert.assertTrue(mismatches <= gridSize * gridSize / 100);
+    }
+
+    @Test
+    public void testDoubleDouble() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testDoubleDouble()");
+
+        assertDoubleDoubleNearDouble(new MandelbrotSet(500, 2.0, false, false));
+        assertDoubleDoubleNearDouble(new MandelbrotSet(500, 2.0, false, true));
+        assertDoubleDoubleNearDouble(new JuliaSet(new ComplexNumber(0.2, -0.1), new ComplexNumber(-0.75, 0.1), 500, 2.0, true));
+        assertDoubleDoubleNearDouble(new ComplexFractalVersion1(3, -1, 200, 2.0));
+        assertDoubleDoubleNearDouble(new ComplexFractalVersion1(6, 1, 200, 2.0));
+    }
+
+    @Test
+    public void testDoubleDoubleDeepZoom() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testDoubleDoubleDeepZoom()");
+
+        // the step is much less than the precision of double (the center is near the Misiurewicz point i)
+        BigDecimal centerRe = new BigDecimal("0.0000000000000000000000123");
+        BigDecimal centerIm = new BigDecimal("1.0000000000000000000000456");
+        ComplexDoubleDouble center = ComplexDoubleDouble.valueOf(centerRe, centerIm);
+        double step = 1e-24;
+        MathContext mc = new MathContext(60);
+        MandelbrotSet fractal = new MandelbrotSet(3000, 2.0, false, false);
+        int size = 20;
+        int[] iters = new int[size];
+        int mismatches = 0;
+        boolean differentIters = false;
+        for (int j = 0; j < size; j++) {
+            ComplexDoubleDouble origin = center.add(new ComplexDoubleDouble(-size / 2 * 5 * step, (j - size / 2) * 5 * step));
+            fractal.numberIterDoubleDouble(origin.getReal(), origin.getRealLow(), origin.getImag(), origin.getImagLow(), 5 * step, 0.0, iters, 0, size);
+            for (int i = 0; i < size; i++) {
+                int expected = mandelbrotSetNumberIter(origin.getRealBigDecimal().add(new BigDecimal(i * 5 * step), mc),
+                        origin.getImagBigDecimal(), 3000, 2.0, mc);
+                if (expected != iters[i])
+                    mismatches++;
+                differentIters |= (iters[i] != iters[0]);
+            }
+        }
+        Assert.assertTrue(differentIters);
+        Assert.assertTrue(mismatches <= size * size / 100);
+    }
+
+    /**
+     * Checks that the fixed-point kernel gives same results as the reference implementation with {@code BigDecimal}
+     * (up to few points) for the grid near the center.
+     *
+     * @param fractal   fractal for test
+     * @param reference reference implementation
+     * @param centerRe  x coordinate of the center of the grid
+     * @param centerIm  y coordinate of the center of the grid
+     * @param step      step of the grid
+     */
+    private static void assertFixedPointNearReference(ComplexFractal fractal, BigDecimalReference reference, BigDecimal centerRe, BigDecimal centerIm, double step) {
+        MathContext mc = new MathContext(60);
+        int size = 20;
+        int[] iters = new int[size];
+        double[] values = new double[size];
+        int mismatches = 0;
+        boolean differentIters = false;
+        for (int j = 0; j < size; j++) {
+            ComplexDoubleDouble origin = ComplexDoubleDouble.valueOf(centerRe, centerIm).addAndAsg(-size / 2 * step, (j - size / 2) * step);
+            fractal.numberIterFixedPoint(origin.getReal(), origin.getRealLow(), origin.getImag(), origin.getImagLow(), step, 0.0, iters, 0, size);
+            fractal.smoothNumberIterFixedPoint(origin.getReal(), origin.getRealLow(), origin.getImag(), origin.getImagLow(), step, 0.0, values, 0, size);
+            for (int i = 0; i < size; i++) {
+                int expected = reference.numberIter(origin.getRealBigDecimal().add(new BigDecimal(i * step), mc), origin.getImagBigDecimal(), mc);
+                if (expected != iters[i])
+                    mismatches++;
+                differentIters |= (iters[i] != iters[0]);
+                Assert.assertEquals(iters[i], (int) Math.floor(values[i]));
+            }
+        }
+        Assert.assertTrue(differentIters);
+        Assert.assertTrue(mismatches <= size * size / 100);
+    }
+
+    /**
+     * Reference implementation of the fractal using {@code BigDecimal}.
+     */
+    @FunctionalInterface
+    private interface BigDecimalReference {
+        int numberIter(BigDecimal x, BigDecimal y, MathContext mc);
+    }
+
+    @Test
+    public void testFixedPoint() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testFixedPoint()");
+
+        // the grid with the step much greater than the precision of double
+        MandelbrotSet mandelbrotSet = new MandelbrotSet(500, 2.0, false, false);
+        int[] iters = new int[gridSize];
+        int[] itersFixedPoint = new int[gridSize];
+        double dx = 3.2 / gridSize;
+        int mismatches = 0;
+        for (int j = 0; j < gridSize; j++) {
+            mandelbrotSet.numberIter(gridX(0), gridY(j), dx, 0.0, iters, 0, gridSize);
+            mandelbrotSet.numberIterFixedPoint(gridX(0), 0.0, gridY(j), 0.0, dx, 0.0, itersFixedPoint, 0, gridSize);
+            for (int i = 0; i < gridSize; i++)
+                if (iters[i] != itersFixedPoint[i])
+                    mismatches++;
+        }
+        Assert.assertTrue(mismatches <= gridSize * gridSize / 100);
+
+        // the step is much less than the precision of double-double (the center is near the Misiurewicz point i)
+        MandelbrotSet deepMandelbrotSet = new MandelbrotSet(3000, 2.0, false, false);
+        assertFixedPointNearReference(deepMandelbrotSet,
+                (x, y, mc) -> mandelbrotSetNumberIter(x, y, 3000, 2.0, mc),
+                new BigDecimal("0.000000000000000000000000000000000123"), new BigDecimal("1.000000000000000000000000000000000456"), 5e-33);
+        // the Julia set of z^2 + i is dendrite, the point i belongs to it
+        JuliaSet juliaSet = new JuliaSet(new ComplexNumber(0.0, 0.0), new ComplexNumber(0.0, 1.0), 3000, 2.0, true);
+        assertFixedPointNearReference(juliaSet,
+                (x, y, mc) -> juliaSetNumberIter(x, y, juliaSet, mc),
+                new BigDecimal("0.000000000000000000000000000000000789"), new BigDecimal("1.000000000000000000000000000000000123"), 5e-33);
+
+        // the fractal with large bound is checked with double-double precision
+        MandelbrotSet largeBound = new MandelbrotSet(500, 20.0, false, false);
+        largeBound.numberIterDoubleDouble(gridX(0), 0.0, gridY(50), 0.0, dx, 0.0, iters, 0, gridSize);
+        largeBound.numberIterFixedPoint(gridX(0), 0.0, gridY(50), 0.0, dx, 0.0, itersFixedPoint, 0, gridSize);
+        Assert.assertArrayEquals(iters, itersFixedPoint);
+    }
+
+    @Test
+    public void testMandelbrotSetCardioidCheck() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testMandelbrotSetCardioidCheck()");
+
+        MandelbrotSet fractal = new MandelbrotSet(2000, 2.0, true);
+        MandelbrotSet plainFractal = new MandelbrotSet(2000, 2.0, false);
+        for (int i = 0; i < gridSize; i++)
+            for (int j = 0; j < gridSize; j++)
+                Assert.assertEquals(plainFractal.numberIter(new Point2D(gridX(i), gridY(j))),
+                        fractal.numberIter(new Point2D(gridX(i), gridY(j))));
+        Assert.assertTrue(fractal.getNumberCardioidPoints() > 0);
+        Assert.assertEquals(0, plainFractal.getNumberCardioidPoints());
+        fractal.resetNumberCardioidPoints();
+        Assert.assertEquals(0, fractal.getNumberCardioidPoints());
+        assertSegmentEqualsPoints(fractal);
+        Assert.assertFalse(fractal.equals(plainFractal));
+    }
+
+    /**
+     * Checks that the fractal with the periodicity check gives same results as the fractal without it for the
+     * segments.
+     *
+     * @param plainFractal    fractal without the periodicity check
+     * @param periodicFractal fractal with the periodicity check
+     */
+    private static void assertPeriodicityCheckEqualsPlain(ComplexFractal plainFractal, ComplexFractal periodicFractal) {
+        int[] iters = new int[gridSize];
+        int[] itersPeriodic = new int[gridSize];
+        int[] itersLanes = new int[gridSize];
+        double dx = 3.2 / gridSize;
+        for (int j = 0; j < gridSize; j++) {
+            plainFractal.numberIter(gridX(0), gridY(j), dx, 0.0, iters, 0, gridSize);
+            periodicFractal.numberIter(gridX(0), gridY(j), dx, 0.0, itersPeriodic, 0, gridSize);
+            periodicFractal.numberIterLanes(gridX(0), gridY(j), dx, 0.0, itersLanes, 0, gridSize);
+            Assert.assertArrayEquals(iters, itersPeriodic);
+            Assert.assertArrayEquals(iters, itersLanes);
+        }
+    }
+
+    @Test
+    public void testPeriodicityCheck() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testPeriodicityCheck()");
+
+        assertPeriodicityCheckEqualsPlain(new MandelbrotSet(2000, 2.0, false, false),
+                new MandelbrotSet(2000, 2.0, false, true));
+        ComplexNumber c1 = new ComplexNumber(0.0, 0.0);
+        ComplexNumber c2 = new ComplexNumber(-0.12, 0.75);
+        assertPeriodicityCheckEqualsPlain(new JuliaSet(c1, c2, 2000, 2.0, false), new JuliaSet(c1, c2, 2000, 2.0, true));
+        assertPeriodicityCheckEqualsPlain(new ComplexFractalVersion1(6, 1, 2000, 2.0, false),
+                new ComplexFractalVersion1(6, 1, 2000, 2.0, true));
+
+        Assert.assertTrue(new MandelbrotSet().isPeriodicityCheck());
+        Assert.assertFalse(new MandelbrotSet(2000, 2.0).isPeriodicityCheck());
+        Assert.assertFalse(new MandelbrotSet(2000, 2.0, true, true).equals(new MandelbrotSet(2000, 2.0, true, false)));
+    }
+
+    /**
+     * Checks that continuous numbers of the iteration agree with numbers of the iteration and {@code smoothNumberIter}
+     * for the point, {@code smoothNumberIter} and {@code smoothNumberIterLanes} for the segment give same results.
+     *
+     * @param fractal fractal for test
+     */
+    private static void assertSmoothEqualsNumberIter(ComplexFractal fractal) {
+        int[] iters = new int[gridSize];
+        double[] values = new double[gridSize];
+        double[] valuesLanes = new double[gridSize];
+        double dx = 3.2 / gridSize;
+        for (int j = 0; j < gridSize; j++) {
+            fractal.numberIter(gridX(0), gridY(j), dx, 0.0, iters, 0, gridSize);
+            fractal.smoothNumberIter(gridX(0), gridY(j), dx, 0.0, values, 0, gridSize);
+            fractal.smoothNumberIterLanes(gridX(0), gridY(j), dx, 0.0, valuesLanes, 0, gridSize);
+            Assert.assertArrayEquals(values, valuesLanes, 0.0);
+            for (int i = 0; i < gridSize; i++) {
+                Assert.assertEquals(fractal.smoothNumberIter(new Point2D(gridX(0) + i * dx, gridY(j))), values[i], 0.0);
+                if (iters[i] == 0) {
+                    Assert.assertEquals(0.0, values[i], 0.0);
+                } else {
+                    Assert.assertTrue(values[i] >= iters[i]);
+                    Assert.assertTrue(values[i] <= iters[i] + 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSmoothNumberIter() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testSmoothNumberIter()");
+
+        assertSmoothEqualsNumberIter(new MandelbrotSet(500, 2.0));
+        assertSmoothEqualsNumberIter(new MandelbrotSet(500, 1000.0));
+        assertSmoothEqualsNumberIter(new JuliaSet(new ComplexNumber(0.3, -0.2), new ComplexNumber(-0.7, 0.27), 500, 3.0));
+        assertSmoothEqualsNumberIter(new ComplexFractalVersion1(6, 1, 200, 2.0));
+        assertSmoothEqualsNumberIter(new ComplexFractalVersion1(-2, 3, 200, 2.0));
+
+        // continuous number of the iteration is monotonic along the real axis outside of the Mandelbrot set
+        MandelbrotSet fractal = new MandelbrotSet(500, 1000.0);
+        double previous = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < gridSize; i++) {
+            double value = fractal.smoothNumberIter(new Point2D(0.3 + 2.0 * i / gridSize, 0.0));
+            Assert.assertTrue(value <= previous);
+            previous = value;
+        }
+    }
+
+    /**
+     * Checks that {@code distanceEstimate} gives same numbers of the iteration as {@code numberIter} (for the points and
+     * the segments) and zero distance for the points of the fractal.
+     *
+     * @param fractal fractal for test
+     */
+    private static void assertDistanceEstimateEqualsNumberIter(ComplexFractal fractal) {
+        int[] iters = new int[gridSize];
+        int[] itersEstimate = new int[gridSize];
+        double[] distances = new double[gridSize];
+        double dx = 3.2 / gridSize;
+        for (int j = 0; j < gridSize; j++) {
+            fractal.numberIter(gridX(0), gridY(j), dx, 0.0, iters, 0, gridSize);
+            fractal.distanceEstimate(gridX(0), gridY(j), dx, 0.0, itersEstimate, distances, 0, gridSize);
+            for (int i = 0; i < gridSize; i++) {
+                Assert.assertEquals(iters[i], itersEstimate[i]);
+                Assert.assertEquals(iters[i] == 0, distances[i] == 0.0);
+                Assert.assertTrue(distances[i] >= 0.0);
+            }
+            DistanceEstimate estimate = fractal.distanceEstimate(new Point2D(gridX(7), gridY(j)));
+            Assert.assertEquals(iters[7], estimate.getNumberIter());
+        }
+    }
+
+    /**
+     * Checks that the distance to the fractal is in the range {@code (estimate / 4, estimate)}.
+     */
+    private static void assertDistanceInRange(ComplexFractalChecker fractal, Point2D p, double distance) {
+        DistanceEstimate estimate = fractal.distanceEstimate(p);
+        Assert.assertTrue(estimate.toString(), estimate.getLowerBound() < distance && distance < estimate.getDistance());
+        Assert.assertTrue(estimate.isFartherThan(0.9 * estimate.getLowerBound()));
+        Assert.assertFalse(estimate.isFartherThan(distance));
+    }
+
+    @Test
+    public void testDistanceEstimate() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testDistanceEstimate()");
+
+        assertDistanceEstimateEqualsNumberIter(new MandelbrotSet(500, 2.0));
+        assertDistanceEstimateEqualsNumberIter(new MandelbrotSet(500, 2.0, false));
+        assertDistanceEstimateEqualsNumberIter(new MandelbrotSet());
+        assertDistanceEstimateEqualsNumberIter(new JuliaSet(new ComplexNumber(0.3, -0.2), new ComplexNumber(-0.7, 0.27), 500, 3.0));
+        assertDistanceEstimateEqualsNumberIter(new JuliaSet());
+
+        // the Mandelbrot set is inside the circle with radius 2 and contains the points -2 and 0.25
+        MandelbrotSet mandelbrotSet = new MandelbrotSet(500, 2.0);
+        assertDistanceInRange(mandelbrotSet, new Point2D(-2.5, 0.0), 0.5);
+        assertDistanceInRange(mandelbrotSet, new Point2D(-3.0, 0.0), 1.0);
+        DistanceEstimate estimate = mandelbrotSet.distanceEstimate(new Point2D(0.3, 0.0));
+        Assert.assertTrue(estimate.getLowerBound() < 0.05);
+        // the Julia set of z^2 is the unit circle, the Julia set of z^2 + 0.4 * z - 0.16 is the circle |z + 0.2| = 1
+        JuliaSet circle = new JuliaSet(new ComplexNumber(0.0, 0.0), new ComplexNumber(0.0, 0.0), 500, 2.0);
+        assertDistanceInRange(circle, new Point2D(1.5, 0.0), 0.5);
+        assertDistanceInRange(circle, new Point2D(0.0, -1.1), 0.1);
+        JuliaSet shiftedCircle = new JuliaSet(new ComplexNumber(0.4, 0.0), new ComplexNumber(-0.16, 0.0), 500, 2.0);
+        assertDistanceInRange(shiftedCircle, new Point2D(1.3, 0.0), 0.5);
+        assertDistanceInRange(shiftedCircle, new Point2D(-0.2, 1.2), 0.2);
+
+        // the fractals without the estimate
+        ComplexFractalVersion1 fractal = new ComplexFractalVersion1(3, 2, 100, 2.0);
+        for (int i = 0; i < gridSize; i++) {
+            Point2D p = new Point2D(gridX(i), gridY(i));
+            estimate = fractal.distanceEstimate(p);
+            Assert.assertEquals(fractal.numberIter(p), estimate.getNumberIter());
+            Assert.assertTrue(estimate.getNumberIter() == 0 ? estimate.getDistance() == 0.0 : Double.isNaN(estimate.getDistance()));
+            Assert.assertFalse(estimate.isFartherThan(0.0) && estimate.getNumberIter() != 0);
+        }
+    }
+
+    @Test
+    public void testJuliaSet() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testJuliaSet()");
+
+        ComplexNumber c1 = new ComplexNumber(0.3, -0.2);
+        ComplexNumber c2 = new ComplexNumber(-0.7, 0.27);
+        JuliaSet fractal = new JuliaSet(c1, c2, 500, 3.0);
+        for (int i = 0; i < gridSize; i++)
+            for (int j = 0; j < gridSize; j++)
+                Assert.assertEquals(juliaSetNumberIter(gridX(i), gridY(j), c1, c2, 500, 3.0),
+                        fractal.numberIter(new Point2D(gridX(i), gridY(j))));
+        assertSegmentEqualsPoints(fractal);
+        assertSegmentEqualsPoints(new JuliaSet());
+    }
+
+    @Test
+    public void testJuliaSetCanonicalForm() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testJuliaSetCanonicalForm()");
+
+        // c1 = 0: canonical form is the function itself
+        ComplexNumber zero = new ComplexNumber(0.0, 0.0);
+        ComplexNumber c2 = new ComplexNumber(-0.8, 0.156);
+        JuliaSet fractal = new JuliaSet(zero, c2, 1000, 2.0);
+        for (int i = 0; i < gridSize; i++)
+            for (int j = 0; j < gridSize; j++)
+                Assert.assertEquals(juliaSetNumberIter(gridX(i), gridY(j), zero, c2, 1000, 2.0),
+                        fractal.numberIter(new Point2D(gridX(i), gridY(j))));
+
+        // c1 != 0: the numbers of the iterations differ only because of rounding errors
+        ComplexNumber[] c1 = {new ComplexNumber(1.5, -0.7), new ComplexNumber(-0.9, 0.4), new ComplexNumber(0.01, 2.0)};
+        for (ComplexNumber c : c1) {
+            fractal = new JuliaSet(c, c2, 1000, 4.0);
+            int mismatches = 0;
+            for (int i = 0; i < gridSize; i++)
+                for (int j = 0; j < gridSize; j++)
+                    if (juliaSetNumberIter(gridX(i), gridY(j), c, c2, 1000, 4.0) != fractal.numberIter(new Point2D(gridX(i), gridY(j))))
+                        mismatches++;
+            Assert.assertTrue(mismatches <= gridSize * gridSize / 1000);
+        }
+    }
+
+    /**
+     * Gets parameter {@code c} of the quadratic polynomial {@code w^2 + c}, which has the fixed point with the
+     * multiplier {@code r * e^(2 pi i angle)}: the fixed point is half of the multiplier.
+     */
+    private static ComplexNumber nearParabolicParameter(double r, double angle) {
+        double re = 0.5 * r * Math.cos(2.0 * Math.PI * angle);
+        double im = 0.5 * r * Math.sin(2.0 * Math.PI * angle);
+        return new ComplexNumber(re - (re * re - im * im), im - 2.0 * re * im);
+    }
+
+    @Test
+    public void testJuliaSetAttractingCycle() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testJuliaSetAttractingCycle()");
+
+        ComplexNumber zero = new ComplexNumber(0.0, 0.0);
+        // z^2 (fixed point 0), basilica (cycle 0, -1), rabbit, airplane and the shifted basilica
+        Assert.assertEquals(1, new JuliaSet(zero, zero, 1000, 2.0).getCyclePeriod());
+        Assert.assertEquals(2, new JuliaSet(zero, new ComplexNumber(-1.0, 0.0), 1000, 2.0).getCyclePeriod());
+        Assert.assertEquals(3, new JuliaSet(zero, new ComplexNumber(-0.12, 0.75), 1000, 2.0).getCyclePeriod());
+        Assert.assertEquals(4, new JuliaSet(zero, new ComplexNumber(-1.3, 0.0), 1000, 2.0).getCyclePeriod());
+        JuliaSet shifted = new JuliaSet(new ComplexNumber(0.4, 0.0), new ComplexNumber(-1.16, 0.0), 1000, 2.0);
+        Assert.assertEquals(2, shifted.getCyclePeriod());
+        Assert.assertEquals(0.0, Math.hypot(shifted.getCycleRe(), shifted.getCycleIm()) * Math.hypot(shifted.getCycleRe() + 1.0, shifted.getCycleIm()), 1e-12);
+        // the Julia sets without the interior and with the parabolic point
+        Assert.assertEquals(0, new JuliaSet(zero, new ComplexNumber(0.3, 0.0), 1000, 2.0).getCyclePeriod());
+        Assert.assertEquals(0.0, new JuliaSet(zero, new ComplexNumber(0.3, 0.0), 1000, 2.0).getCycleRadius(), 0.0);
+        Assert.assertEquals(0, new JuliaSet(zero, new ComplexNumber(-0.8, 0.156), 1000, 2.0).getCyclePeriod());
+        Assert.assertEquals(0, new JuliaSet(zero, new ComplexNumber(0.25, 0.0), 1000, 2.0).getCyclePeriod());
+        // the near-parabolic fixed points with the multipliers 0.998 * e^(2 pi i / 3) and 0.997 * i: the orbit of the
+        // critical point hasn't converged, but it returns near itself after 3 and 4 iterations
+        ComplexNumber nearParabolic3 = nearParabolicParameter(0.998, 1.0 / 3.0);
+        ComplexNumber nearParabolic4 = nearParabolicParameter(0.997, 0.25);
+        Assert.assertEquals(0, new JuliaSet(zero, nearParabolic3, 1000, 2.0).getCyclePeriod());
+        Assert.assertEquals(0.0, new JuliaSet(zero, nearParabolic3, 1000, 2.0).getCycleRadius(), 0.0);
+        JuliaSet nearParabolic = new JuliaSet(zero, nearParabolic4, 1000, 2.0);
+        Assert.assertEquals(1, nearParabolic.getCyclePeriod());
+        Assert.assertEquals(0.0, nearParabolic.getCycleRe(), 1e-12);
+        Assert.assertEquals(0.4985, nearParabolic.getCycleIm(), 1e-12);
+
+        // the point of the cycle is refined: G^p(w) = w
+        JuliaSet rabbit = new JuliaSet(zero, new ComplexNumber(-0.12, 0.75), 1000, 2.0);
+        ComplexNumber c = new ComplexNumber(-0.12, 0.75);
+        ComplexNumber w = new ComplexNumber(rabbit.getCycleRe(), rabbit.getCycleIm());
+        for (int k = 0; k < rabbit.getCyclePeriod(); k++)
+            w.mulAndAsg(w).addAndAsg(c);
+        Assert.assertEquals(rabbit.getCycleRe(), w.getReal(), 1e-12);
+        Assert.assertEquals(rabbit.getCycleIm(), w.getImag(), 1e-12);
+        Assert.assertTrue(rabbit.getCycleRadius() > 0.0);
+
+        // the numbers of the iterations are same as without the detection of the cycle
+        for (ComplexNumber c2 : new ComplexNumber[]{new ComplexNumber(-1.0, 0.0), c, new ComplexNumber(-1.3, 0.0), nearParabolic3, nearParabolic4}) {
+            JuliaSet fractal = new JuliaSet(zero, c2, 1000, 2.0);
+            for (int i = 0; i < gridSize; i++)
+                for (int j = 0; j < gridSize; j++)
+                    Assert.assertEquals(juliaSetNumberIter(gridX(i), gridY(j), zero, c2, 1000, 2.0),
+                            fractal.numberIter(new Point2D(gridX(i), gridY(j))));
+            assertSegmentEqualsPoints(fractal);
+            assertDistanceEstimateEqualsNumberIter(fractal);
+            assertDoubleDoubleNearDouble(fractal);
+        }
+    }
+
+    /**
+     * Checks that the pixels, which are hit by the inverse iteration, are near the boundary of the Julia set (the
+     * distance estimate doesn't prove that the pixel is far from it), and the most of the pixels of the boundary by the
+     * numbers of the iteration are hit. The image is the square {@code 3.2 x 3.2} with the center {@code center}.
+     */
+    private static void assertInverseIterationOnBoundary(JuliaSet fractal, Point2D center, int maxHits) {
+        double step = 3.2 / gridSize;
+        Point2D origin = new Point2D(center.getX() - 1.6, center.getY() + 1.6);
+        int[] hits = new int[gridSize * gridSize];
+        new JuliaSetInverseIteration(fractal, maxHits).countHits(origin, new Point2D(step, 0.0), new Point2D(0.0, -step), gridSize, gridSize, hits);
+
+        int[] iters = new int[gridSize * gridSize];
+        for (int j = 0; j < gridSize; j++)
+            fractal.numberIter(origin.getX(), origin.getY() - j * step, step, 0.0, iters, j * gridSize, (j + 1) * gridSize);
+        int numHits = 0;
+        int numBoundary = 0;
+        int numCovered = 0;
+        for (int j = 1; j < gridSize - 1; j++)
+            for (int i = 1; i < gridSize - 1; i++) {
+                int k = j * gridSize + i;
+                Assert.assertTrue(hits[k] >= 0 && hits[k] <= maxHits);
+                if (hits[k] > 0) {
+                    numHits++;
+                    DistanceEstimate estimate = fractal.distanceEstimate(new Point2D(origin.getX() + i * step, origin.getY() - j * step));
+                    Assert.assertFalse(estimate.toString(), estimate.isFartherThan(2.0 * step));
+                }
+                // the pixel of the filled Julia set with the escaping neighbor
+                if (iters[k] == 0 && (iters[k - 1] != 0 || iters[k + 1] != 0 || iters[k - gridSize] != 0 || iters[k + gridSize] != 0)) {
+                    numBoundary++;
+                    boolean covered = false;
+                    for (int dj = -2; dj <= 2; dj++)
+                        for (int di = -2; di <= 2; di++) {
+                            int ni = i + di;
+                            int nj = j + dj;
+                            if (ni >= 0 && ni < gridSize && nj >= 0 && nj < gridSize && hits[nj * gridSize + ni] > 0)
+                                covered = true;
+                        }
+                    if (covered)
+                        numCovered++;
+                }
+            }
+        Assert.assertTrue(numHits > 0);
+        Assert.assertTrue(numCovered + " of " + numBoundary, numCovered >= 0.9 * numBoundary);
+    }
+
+    @Test
+    public void testJuliaSetInverseIteration() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testJuliaSetInverseIteration()");
+
+        // the Julia set of z^2 is the unit circle
+        JuliaSet circle = new JuliaSet(new ComplexNumber(0.0, 0.0), new ComplexNumber(0.0, 0.0), 500, 2.0);
+        double step = 3.2 / gridSize;
+        int[] hits = new int[gridSize * gridSize];
+        new JuliaSetInverseIteration(circle, 4).countHits(new Point2D(-1.6, 1.6), new Point2D(step, 0.0), new Point2D(0.0, -step), gridSize, gridSize, hits);
+        for (int j = 0; j < gridSize; j++)
+            for (int i = 0; i < gridSize; i++)
+                if (hits[j * gridSize + i] > 0)
+                    Assert.assertEquals(1.0, Math.hypot(-1.6 + i * step, 1.6 - j * step), step);
+        for (int n = 0; n < 1000; n++) {
+            double angle = 2.0 * Math.PI * n / 1000;
+            int i = (int) Math.floor((Math.cos(angle) + 1.6) / step + 0.5);
+            int j = (int) Math.floor((1.6 - Math.sin(angle)) / step + 0.5);
+            // the pixels, which the circle only crosses near the corner, may be missed
+            int k = j * gridSize + i;
+            Assert.assertTrue(hits[k] > 0 || hits[k - 1] > 0 || hits[k + 1] > 0 || hits[k - gridSize] > 0 || hits[k + gridSize] > 0);
+        }
+
+        // the basilica (c = -1) and the same set in the shifted form: z^2 + 0.4 * z - 1.16 = (z + 0.2)^2 - 1.2
+        assertInverseIterationOnBoundary(new JuliaSet(new ComplexNumber(0.0, 0.0), new ComplexNumber(-1.0, 0.0), 500, 2.0), new Point2D(0.0, 0.0), 10);
+        assertInverseIterationOnBoundary(new JuliaSet(new ComplexNumber(0.4, 0.0), new ComplexNumber(-1.16, 0.0), 500, 2.0), new Point2D(-0.2, 0.0), 10);
+        assertInverseIterationOnBoundary(new JuliaSet(new ComplexNumber(0.3, -0.2), new ComplexNumber(-0.7, 0.27), 500, 3.0), new Point2D(-0.15, 0.1), 10);
+        // zoomed and rotated image
+        hits = new int[100 * 100];
+        Point2D stepX = new Point2D(0.002 * Math.cos(0.3), 0.002 * Math.sin(0.3));
+        Point2D stepY = new Point2D(0.002 * Math.sin(0.3), -0.002 * Math.cos(0.3));
+        new JuliaSetInverseIteration(circle, 4).countHits(new Point2D(0.9, 0.1), stepX, stepY, 100, 100, hits);
+        int numHits = 0;
+        for (int j = 0; j < 100; j++)
+            for (int i = 0; i < 100; i++)
+                if (hits[j * 100 + i] > 0) {
+                    numHits++;
+                    Assert.assertEquals(1.0, Math.hypot(0.9 + i * stepX.getX() + j * stepY.getX(), 0.1 + i * stepX.getY() + j * stepY.getY()), 0.004);
+                }
+        Assert.assertTrue(numHits >= 50);
+    }
+
+    @Test
+    public void testComplexFractalVersion1() throws Exception {
+        System.out.println("* ComplexFractalJUnit4Test: testComplexFractalVersion1()");
+
+        // the numbers of the iteration are same as the numbers calculated with ComplexNumber for all powers
+        int[][] powers = {{6, 1}, {-2, 3}, {2, 0}, {0, 0}, {-3, -1}, {5, 3}, {7, 2}, {15, 14}, {-7, 5}, {1, 1}};
+        for (int[] n : powers) {
+            ComplexFractalVersion1 fractal = new ComplexFractalVersion1(n[0], n[1], 200, 2.0);
+            for (int i = 0; i < gridSize; i++)
+                for (int j = 0; j < gridSize; j++)
+                    Assert.assertEquals(complexFractalVersion1NumberIter(gridX(i), gridY(j), n[0], n[1], 200, 2.0),
+                            fractal.numberIter(new Point2D(gridX(i), gridY(j))));
+            assertSegmentEqualsPoints(fractal);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package local.complexfractal.util;
+
+import javafx.beans.value.ChangeListener;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import local.complexfractal.model.ComplexFractalVersion1;
+import local.complexfractal.model.ComplexNumber;
+import local.complexfractal.model.FloatExp;
+import local.complexfractal.model.JuliaSet;
+import local.complexfractal.model.MandelbrotSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The {@code ComplexFractalDrawerJUnit4Test} represents units test for class {@code ComplexFractalDrawer}.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public class ComplexFractalDrawerJUnit4Test {
+
+    @Test
+    public void testTier() throws Exception {
+        System.out.println("* ComplexFractalDrawerJUnit4Test: testTier()");
+
+        IterativePalette pl = new IterativePaletteSin();
+        MandelbrotSet mandelbrotSet = new MandelbrotSet(200, 2.0);
+        ComplexPlaneView defaultView = ComplexPlaneView.DEFAULT;
+        ComplexPlaneView zoomView = new ComplexPlaneView(new BigDecimal("-0.75"), new BigDecimal("0.1"), FloatExp.valueOf(1e-4), 0.0);
+        ComplexPlaneView deepView = new ComplexPlaneView(new BigDecimal("-0.75"), new BigDecimal("0.1"), FloatExp.valueOf(1e-20), 0.0);
+        ComplexFractalEngine lanes = ComplexFractalEngine.LANES;
+        ComplexFractalPrecision auto = ComplexFractalPrecision.AUTO;
+
+        // the tier is selected for the step between the pixels
+        Assert.assertEquals(ComplexFractalTier.DOUBLE, ComplexFractalDrawer.drawFractal(new WritableImage(40, 30), defaultView, mandelbrotSet, pl, lanes, true, auto));
+        Assert.assertEquals(ComplexFractalTier.DOUBLE, ComplexFractalDrawer.drawFractal(new WritableImage(40, 30), zoomView, mandelbrotSet, pl, lanes, true, auto));
+        Assert.assertEquals(ComplexFractalTier.PERTURBATION, ComplexFractalDrawer.drawFractal(new WritableImage(40, 30), deepView, mandelbrotSet, pl, lanes, true, auto));
+        Assert.assertEquals(ComplexFractalTier.PERTURBATION, ComplexFractalDrawer.drawFractal(new WritableImage(40, 30), deepView, new JuliaSet(new ComplexNumber(0.0, 0.0), new ComplexNumber(-0.8, 0.2), 200, 2.0), pl, lanes, true, auto));
+        Assert.assertEquals(ComplexFractalTier.DOUBLE_DOUBLE, ComplexFractalDrawer.drawFractal(new WritableImage(40, 30), deepView, new ComplexFractalVersion1(3, 2, 100, 2.0), pl, lanes, true, auto));
+        Assert.assertEquals(ComplexFractalTier.DOUBLE, ComplexFractalDrawer.drawFractal(new WritableImage(40, 30), ComplexFractalDrawer.calculateInitialTransform(40, 30), mandelbrotSet, pl, ComplexFractalEngine.SCALAR));
+        // forced precision
+        Assert.assertEquals(ComplexFractalTier.FLOAT, ComplexFractalDrawer.drawFractal(new WritableImage(40, 30), defaultView, mandelbrotSet, pl, lanes, true, ComplexFractalPrecision.FLOAT));
+        Assert.assertEquals(ComplexFractalTier.DOUBLE, ComplexFractalDrawer.drawFractal(new WritableImage(40, 30), deepView, mandelbrotSet, pl, lanes, true, ComplexFractalPrecision.DOUBLE));
+        Assert.assertEquals(ComplexFractalTier.FIXED_POINT, ComplexFractalDrawer.drawFractal(new WritableImage(40, 30), deepView, mandelbrotSet, pl, lanes, true, ComplexFractalPrecision.FIXED_POINT));
+
+        // the tier of the last drawing is recorded
+        ComplexFractalDrawer drawer = new ComplexFractalDrawer();
+        Assert.assertNull(drawer.getTier());
+        drawer.setImage(new WritableImage(40, 30));
+        drawer.setEngine(lanes);
+        drawer.drawFractal(deepView, mandelbrotSet, pl);
+        Assert.assertEquals(ComplexFractalTier.PERTURBATION, drawer.getTier());
+        drawer.drawFractal(defaultView, mandelbrotSet, pl);
+        Assert.assertEquals(ComplexFractalTier.DOUBLE, drawer.getTier());
+    }
+
+    @Test
+    public void testDeepZoomByDefault() throws Exception {
+        System.out.println("* ComplexFractalDrawerJUnit4Test: testDeepZoomByDefault()");
+
+        // the view near the Misiurewicz point c = i, where the details are at any zoom, and the step between the
+        // pixels is much less than the precision of double
+        IterativePalette pl = new IterativePaletteSin();
+        MandelbrotSet mandelbrotSet = new MandelbrotSet(1000, 2.0);
+        ComplexPlaneView deepView = new ComplexPlaneView(new BigDecimal("0.0"), new BigDecimal("1.0"), FloatExp.valueOf(1e-20), 0.0);
+        // the canvas drawer and the save dialog use the default precision
+        Assert.assertTrue(ComplexFractalDrawer.defaultPrecision.usePerturbation(deepView.toTransformer(40, 30), 40, 30));
+
+        ComplexFractalDrawer drawer = new ComplexFractalDrawer();
+        WritableImage image = new WritableImage(40, 30);
+        drawer.setImage(image);
+        drawer.drawFractal(deepView, mandelbrotSet, pl);
+        Assert.assertEquals(ComplexFractalTier.PERTURBATION, drawer.getTier());
+        // the image isn't uniform, as it would be with the points rounded to double
+        Assert.assertTrue(countColors(image) > 20);
+        WritableImage rounded = new WritableImage(40, 30);
+        ComplexFractalDrawer.drawFractal(rounded, deepView, mandelbrotSet, pl, ComplexFractalDrawer.defaultEngine,
+                ComplexFractalDrawer.defaultSmoothColoring, ComplexFractalPrecision.DOUBLE);
+        Assert.assertTrue(countColors(rounded) <= 2);
+    }
+
+    @Test
+    public void testTierByZoom() throws Exception {
+        System.out.println("* ComplexFractalDrawerJUnit4Test: testTierByZoom()");
+
+        IterativePalette pl = new IterativePaletteSin();
+        MandelbrotSet mandelbrotSet = new MandelbrotSet(300, 2.0);
+        ComplexFractalDrawer drawer = new ComplexFractalDrawer();
+        drawer.setImage(new WritableImage(40, 30));
+        // the tier label of the main window observes the property
+        int[] numberChanges = {0};
+        drawer.tierProperty().addListener((obj, oldVal, newVal) -> numberChanges[0]++);
+        // the step, which is comparable with the precision of double near c = i
+        double threshold = ComplexFractalPrecision.doubleStepRatio * Math.ulp(ComplexFractalPrecision.minCoordinate);
+        for (int k = 4; k <= 20; k++) {
+            ComplexPlaneView view = new ComplexPlaneView(new BigDecimal("0.0"), new BigDecimal("1.0"), FloatExp.valueOf(Math.pow(10.0, -k)), 0.0);
+            drawer.drawFractal(view, mandelbrotSet, pl);
+            double step = view.getStep(40, 30).doubleValue();
+            Assert.assertEquals(step < threshold ? ComplexFractalTier.PERTURBATION : ComplexFractalTier.DOUBLE, drawer.getTier());
+        }
+        // the tier has been set by the first drawing and changed once by zooming past the threshold
+        Assert.assertEquals(2, numberChanges[0]);
+    }
+
+    @Test
+    public void testJuliaSetBoundary() throws Exception {
+        System.out.println("* ComplexFractalDrawerJUnit4Test: testJuliaSetBoundary()");
+
+        // the Julia set of z^2 is the unit circle
+        JuliaSet circle = new JuliaSet(new ComplexNumber(0.0, 0.0), new ComplexNumber(0.0, 0.0), 200, 2.0);
+        Point2DTransformer resTr = ComplexFractalDrawer.calculateInitialTransform(80, 60);
+        WritableImage image = new WritableImage(80, 60);
+        ComplexFractalDrawer.drawJuliaSetBoundary(image, resTr, circle, 4, Color.WHITE, Color.BLACK);
+        PixelReader pr = image.getPixelReader();
+        double step = Math.abs(resTr.applyToVector(new Point2D(1, 0)).getX());
+        int numBoundary = 0;
+        for (int y = 0; y < 60; y++)
+            for (int x = 0; x < 80; x++) {
+                Point2D p = resTr.apply(new Point2D(x, y));
+                if (pr.getArgb(x, y) == 0xFFFFFFFF) {
+                    numBoundary++;
+                    Assert.assertEquals(1.0, Math.hypot(p.getX(), p.getY()), step);
+                } else {
+                    Assert.assertEquals(0xFF000000, pr.getArgb(x, y));
+                }
+            }
+        // the circle with the radius 29 pixels
+        Assert.assertTrue(numBoundary >= 150);
+    }
+
+    @Test
+    public void testTiles() throws Exception {
+        System.out.println("* ComplexFractalDrawerJUnit4Test: testTiles()");
+
+        // the size of the image isn't multiple of the size of the tiles
+        int w = 150;
+        int h = 37;
+        IterativePalette pl = new IterativePaletteSin();
+        MandelbrotSet mandelbrotSet = new MandelbrotSet(200, 2.0);
+        Point2DTransformer resTr = ComplexFractalDrawer.calculateInitialTransform(w, h);
+        WritableImage expected = new WritableImage(w, h);
+        for (int y = 0; y < h; y++)
+            for (int x = 0; x < w; x++)
+                expected.getPixelWriter().setColor(x, y, pl.numIterToColor(mandelbrotSet.numberIter(resTr.apply(new Point2D(x, y)))));
+
+        WritableImage image = new WritableImage(w, h);
+        ComplexFractalDrawer.drawFractal(image, resTr, mandelbrotSet, pl, ComplexFractalEngine.SCALAR, false, ComplexFractalPrecision.DOUBLE);
+        assertImageEquals(expected, image);
+
+        // the small image is colored by the palette without the lookup table, which is larger than the image
+        WritableImage small = new WritableImage(5, 3);
+        Point2DTransformer smallTr = ComplexFractalDrawer.calculateInitialTransform(5, 3);
+        ComplexFractalDrawer.drawFractal(small, smallTr, mandelbrotSet, pl, ComplexFractalEngine.SCALAR, false, ComplexFractalPrecision.DOUBLE);
+        for (int y = 0; y < 3; y++)
+            for (int x = 0; x < 5; x++)
+                Assert.assertEquals(pl.numIterToArgb(mandelbrotSet.numberIter(smallTr.apply(new Point2D(x, y)))),
+                        small.getPixelReader().getArgb(x, y));
+
+        // the drawer publishes the progress and the number of the drawn rows
+        ComplexFractalDrawer drawer = new ComplexFractalDrawer();
+        drawer.setImage(image = new WritableImage(w, h));
+        drawer.setEngine(ComplexFractalEngine.SCALAR);
+        drawer.setSmoothColoring(false);
+        drawer.setPrecision(ComplexFractalPrecision.DOUBLE);
+        double[] lastProgress = {0.0};
+        int[] lastRows = {0};
+        ChangeListener<Number> progressListener = (obj, oldVal, newVal) -> {
+            synchronized (lastProgress) {
+                Assert.assertTrue(newVal.doubleValue() >= lastProgress[0]);
+                lastProgress[0] = newVal.doubleValue();
+            }
+        };
+        ChangeListener<Number> rowsListener = (obj, oldVal, newVal) -> {
+            synchronized (lastRows) {
+                Assert.assertTrue(newVal.intValue() >= lastRows[0]);
+                lastRows[0] = newVal.intValue();
+            }
+        };
+        drawer.progressProperty().addListener(progressListener);
+        drawer.numberDrawnRowsProperty().addListener(rowsListener);
+        drawer.drawFractal(resTr, mandelbrotSet, pl);
+        assertImageEquals(expected, image);
+        Assert.assertEquals(1.0, drawer.getProgress(), 0.0);
+        Assert.assertEquals(h, drawer.getNumberDrawnRows());
+        Assert.assertEquals(1.0, lastProgress[0], 0.0);
+        Assert.assertEquals(h, lastRows[0]);
+        // the next drawing resets the progress
+        drawer.progressProperty().removeListener(progressListener);
+        drawer.numberDrawnRowsProperty().removeListener(rowsListener);
+
+        // the canceled drawing doesn't draw the tiles and resets the progress
+        drawer.setImage(image = new WritableImage(w, h));
+        drawer.setPermitWork(false);
+        drawer.drawFractal(resTr, mandelbrotSet, pl);
+        Assert.assertEquals(0.0, drawer.getProgress(), 0.0);
+        Assert.assertEquals(0, drawer.getNumberDrawnRows());
+        for (int y = 0; y < h; y++)
+            for (int x = 0; x < w; x++)
+                Assert.assertEquals(0, image.getPixelReader().getArgb(x, y));
+    }
+
+    @Test
+    public void testRecolor() throws Exception {
+        System.out.println("* ComplexFractalDrawerJUnit4Test: testRecolor()");
+
+        int w = 150;
+        int h = 37;
+        MandelbrotSet mandelbrotSet = new MandelbrotSet(500, 2.0);
+        Point2DTransformer resTr = ComplexFractalDrawer.calculateInitialTransform(w, h);
+        IterativePalette pl1 = new IterativePaletteSin();
+        IterativePalette pl2 = new IterativePaletteSin(Color.WHITE, 30.0, 70.0, 110.0, 0.0, 1.0, 2.0);
+        for (boolean smooth : new boolean[]{false, true}) {
+            ComplexFractalDrawer drawer = new ComplexFractalDrawer();
+            WritableImage expected = new WritableImage(w, h);
+            drawer.setImage(expected);
+            drawer.setSmoothColoring(smooth);
+            drawer.drawFractal(resTr, mandelbrotSet, pl2);
+
+            // the numbers of the iteration are unknown before drawing
+            WritableImage image = new WritableImage(w, h);
+            drawer.setImage(image);
+            Assert.assertFalse(drawer.recolor(pl2));
+            // the recolored image is same as the image drawn with the palette
+            drawer.drawFractal(resTr, mandelbrotSet, pl1);
+            Assert.assertTrue(drawer.recolor(pl2));
+            assertImageEquals(expected, image);
+            Assert.assertEquals(1.0, drawer.getProgress(), 0.0);
+            Assert.assertEquals(h, drawer.getNumberDrawnRows());
+            Assert.assertTrue(drawer.recolor(pl1));
+            Assert.assertTrue(drawer.recolor(pl2));
+            assertImageEquals(expected, image);
+
+            // the numbers of the iteration are unknown after the canceled drawing
+            drawer.setPermitWork(false);
+            drawer.drawFractal(resTr, mandelbrotSet, pl1);
+            drawer.setPermitWork(true);
+            Assert.assertFalse(drawer.recolor(pl2));
+        }
+    }
+
+    @Test
+    public void testSubdivision() throws Exception {
+        System.out.println("* ComplexFractalDrawerJUnit4Test: testSubdivision()");
+
+        int w = 150;
+        int h = 37;
+        MandelbrotSet mandelbrotSet = new MandelbrotSet(500, 2.0);
+        Point2DTransformer resTr = ComplexFractalDrawer.calculateInitialTransform(w, h);
+        IterativePalette pl = new IterativePaletteSin();
+        for (boolean smooth : new boolean[]{false, true}) {
+            // the subdivision doesn't lose details of the image
+            WritableImage expected = new WritableImage(w, h);
+            ComplexFractalDrawer.drawFractal(expected, resTr, mandelbrotSet, pl, ComplexFractalEngine.LANES, smooth, ComplexFractalPrecision.DOUBLE);
+            WritableImage image = new WritableImage(w, h);
+            ComplexFractalDrawer.drawFractal(image, resTr, mandelbrotSet, pl, ComplexFractalEngine.LANES, smooth, ComplexFractalPrecision.DOUBLE,
+                    ComplexFractalSubdivision.MARIANI_SILVER);
+            assertImageEquals(expected, image);
+
+            ComplexFractalDrawer drawer = new ComplexFractalDrawer();
+            image = new WritableImage(w, h);
+            drawer.setImage(image);
+            drawer.setSmoothColoring(smooth);
+            drawer.setPrecision(ComplexFractalPrecision.DOUBLE);
+            drawer.setSubdivision(ComplexFractalSubdivision.AUDIT);
+            drawer.drawFractal(resTr, mandelbrotSet, pl);
+            assertImageEquals(expected, image);
+            Assert.assertEquals(0, drawer.getNumberMismatchedPoints());
+            Assert.assertEquals(h, drawer.getNumberDrawnRows());
+
+            // the inner points of the uniform rectangles aren't checked
+            int[] numberChecked = {0};
+            drawer.setEngine(ComplexFractalEngine.SCALAR);
+            drawer.setSubdivision(ComplexFractalSubdivision.MARIANI_SILVER);
+            drawer.drawFractal(resTr, p -> {
+                synchronized (numberChecked) {
+                    numberChecked[0]++;
+                }
+                return mandelbrotSet.numberIter(p);
+            }, pl);
+            Assert.assertTrue(numberChecked[0] < w * h * 3 / 4);
+        }
+
+        // the island inside the tile isn't found by the subdivision, but it's found by the audit
+        ComplexFractalDrawer drawer = new ComplexFractalDrawer();
+        WritableImage image = new WritableImage(w, h);
+        drawer.setImage(image);
+        drawer.setSmoothColoring(false);
+        drawer.setSubdivision(ComplexFractalSubdivision.AUDIT);
+        drawer.drawFractal(Point2DTransformer.CLEAR, p -> (Math.hypot(p.getX() - 20.0, p.getY() - 7.0) < 2.0 ? 0 : 1), pl);
+        // the points with integer coordinates at distance less than 2 from (20, 7)
+        Assert.assertEquals(9, drawer.getNumberMismatchedPoints());
+        for (int y = 0; y < h; y++)
+            for (int x = 0; x < w; x++)
+                Assert.assertEquals(pl.numIterToArgb(1), image.getPixelReader().getArgb(x, y));
+        drawer.setSubdivision(ComplexFractalSubdivision.NONE);
+        drawer.drawFractal(Point2DTransformer.CLEAR, p -> (Math.hypot(p.getX() - 20.0, p.getY() - 7.0) < 2.0 ? 0 : 1), pl);
+        Assert.assertEquals(0, drawer.getNumberMismatchedPoints());
+        Assert.assertEquals(pl.numIterToArgb(0), image.getPixelReader().getArgb(20, 7));
+    }
+
+    /**
+     * Counts different colors of the image.
+     */
+    private static int countColors(WritableImage image) {
+        Set<Integer> colors = new HashSet<>();
+        for (int y = 0; y < (int) image.getHeight(); y++)
+            for (int x = 0; x < (int) image.getWidth(); x++)
+                colors.add(image.getPixelReader().getArgb(x, y));
+        return colors.size();
+    }
+
+    /**
+     * Checks that images have same pixels.
+     */
+    private static void assertImageEquals(WritableImage expected, WritableImage actual) {
+        Assert.assertEquals(expected.getWidth(), actual.getWidth(), 0.0);
+        Assert.assertEquals(expected.getHeight(), actual.getHeight(), 0.0);
+        for (int y = 0; y < (int) expected.getHeight(); y++)
+            for (int x = 0; x < (int) expected.getWidth(); x++)
+                Assert.assertEquals(expected.getPixelReader().getArgb(x, y), actual.getPixelReader().getArgb(x, y));
+    }
+}
@@ -0,0 +1,55 @@
+package local.complexfractal.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The {@code ComplexFractalPrecisionJUnit4Test} represents units test for enum {@code ComplexFractalPrecision}.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public class ComplexFractalPrecisionJUnit4Test {
+
+    @Test
+    public void testSelectEngine() throws Exception {
+        System.out.println("* ComplexFractalPrecisionJUnit4Test: testSelectEngine()");
+
+        // default scale and preview image
+        Point2DTransformer defaultTr = ComplexFractalDrawer.calculateInitialTransform(800, 600);
+        Point2DTransformer previewTr = ComplexFractalDrawer.calculateInitialTransform(80, 60);
+        // zoomed image
+        Point2DTransformer zoomTr = defaultTr.scale(1e-4, 1e-4, new Point2D(-0.75, 0.1));
+
+        // single precision isn't selected automatically
+        Assert.assertEquals(ComplexFractalEngine.LANES, ComplexFractalPrecision.AUTO.selectEngine(ComplexFractalEngine.LANES, defaultTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.LANES, ComplexFractalPrecision.AUTO.selectEngine(ComplexFractalEngine.LANES, previewTr, 80, 60));
+        Assert.assertEquals(ComplexFractalEngine.LANES, ComplexFractalPrecision.AUTO.selectEngine(ComplexFractalEngine.FLOAT_LANES, defaultTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.LANES, ComplexFractalPrecision.AUTO.selectEngine(ComplexFractalEngine.LANES, zoomTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.SCALAR, ComplexFractalPrecision.AUTO.selectEngine(ComplexFractalEngine.SCALAR, defaultTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.SCALAR, ComplexFractalPrecision.AUTO.selectEngine(ComplexFractalEngine.SCALAR, zoomTr, 800, 600));
+        // forced precision
+        Assert.assertEquals(ComplexFractalEngine.LANES, ComplexFractalPrecision.DOUBLE.selectEngine(ComplexFractalEngine.LANES, defaultTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.LANES, ComplexFractalPrecision.DOUBLE.selectEngine(ComplexFractalEngine.FLOAT_LANES, defaultTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.FLOAT_LANES, ComplexFractalPrecision.FLOAT.selectEngine(ComplexFractalEngine.LANES, zoomTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.FLOAT_LANES, ComplexFractalPrecision.FLOAT.selectEngine(ComplexFractalEngine.SCALAR, defaultTr, 800, 600));
+    }
+
+    @Test
+    public void testDeepZoom() throws Exception {
+        System.out.println("* ComplexFractalPrecisionJUnit4Test: testDeepZoom()");
+
+        Point2DTransformer defaultTr = ComplexFractalDrawer.calculateInitialTransform(800, 600);
+        Point2DTransformer deepTr = Point2DTransformer.CLEAR.scale(1e-20, 1e-20).addAfter(defaultTr);
+
+        Assert.assertTrue(ComplexFractalPrecision.AUTO.usePerturbation(deepTr, 800, 600));
+        Assert.assertFalse(ComplexFractalPrecision.AUTO.usePerturbation(defaultTr, 800, 600));
+        Assert.assertFalse(ComplexFractalPrecision.DOUBLE.usePerturbation(deepTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.DOUBLE_DOUBLE, ComplexFractalPrecision.AUTO.selectEngine(ComplexFractalEngine.LANES, deepTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.DOUBLE_DOUBLE, ComplexFractalPrecision.AUTO.selectEngine(ComplexFractalEngine.SCALAR, deepTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.DOUBLE_DOUBLE, ComplexFractalPrecision.DOUBLE_DOUBLE.selectEngine(ComplexFractalEngine.LANES, defaultTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.LANES, ComplexFractalPrecision.DOUBLE.selectEngine(ComplexFractalEngine.DOUBLE_DOUBLE, deepTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.FIXED_POINT, ComplexFractalPrecision.FIXED_POINT.selectEngine(ComplexFractalEngine.LANES, deepTr, 800, 600));
+        Assert.assertFalse(ComplexFractalPrecision.FIXED_POINT.usePerturbation(deepTr, 800, 600));
+        Assert.assertEquals(ComplexFractalEngine.LANES, ComplexFractalPrecision.DOUBLE.selectEngine(ComplexFractalEngine.FIXED_POINT, deepTr, 800, 600));
+    }
+}
@@ -0,0 +1,134 @@
+package local.complexfractal.util;
+
+import local.complexfractal.model.FloatExp;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * The {@code ComplexPlaneViewJUnit4Test} represents units test for class {@code ComplexPlaneView}.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public class ComplexPlaneViewJUnit4Test {
+
+    /**
+     * Compare coordinate of two points.
+     *
+     * @param p1        first point
+     * @param p2        second point
+     * @param exactness exactness of the compare
+     * @return true if coordinates of the points equal with exactness {@code exactness}, otherwise false
+     */
+    private static boolean pointEq(Point2D p1, Point2D p2, double exactness) {
+        return Math.pow(p1.getX() - p2.getX(), 2) + Math.pow(p1.getY() - p2.getY(), 2) < exactness * exactness;
+    }
+
+    /**
+     * Gets the distance between the points of the complex plane divided by the scale of the view.
+     */
+    private static double relativeDistance(BigDecimal[] p1, BigDecimal[] p2, ComplexPlaneView view) {
+        FloatExp dx = FloatExp.valueOf(p1[0].subtract(p2[0]));
+        FloatExp dy = FloatExp.valueOf(p1[1].subtract(p2[1]));
+        return dx.abs().add(dy.abs()).divide(view.getScale()).doubleValue();
+    }
+
+    @Test
+    public void testDefault() throws Exception {
+        System.out.println("* ComplexPlaneViewJUnit4Test: testDefault()");
+
+        int[][] sizes = {{800, 600}, {600, 800}, {100, 100}};
+        for (int[] size : sizes) {
+            int w = size[0];
+            int h = size[1];
+            Point2DTransformer initTr = ComplexFractalDrawer.calculateInitialTransform(w, h);
+            Point2DTransformer viewTr = ComplexPlaneView.DEFAULT.toTransformer(w, h);
+            Point2D[] pixels = {new Point2D(0, 0), new Point2D(w, h), new Point2D(w / 3.0, h / 7.0)};
+            for (Point2D p : pixels)
+                Assert.assertTrue(pointEq(initTr.apply(p), viewTr.apply(p), 1e-12));
+        }
+        Assert.assertEquals(Math.scalb(1.0, -8), ComplexPlaneView.DEFAULT.getStep(1024, 512).doubleValue(), 0.0);
+        Assert.assertEquals(-8, ComplexPlaneView.DEFAULT.getStepExponent(1024, 512));
+    }
+
+    @Test
+    public void testOperations() throws Exception {
+        System.out.println("* ComplexPlaneViewJUnit4Test: testOperations()");
+
+        int w = 800;
+        int h = 600;
+        ComplexPlaneView view = new ComplexPlaneView(new BigDecimal("-0.75"), new BigDecimal("0.1"), FloatExp.valueOf(0.5), 0.3);
+        Point2DTransformer tr = view.toTransformer(w, h);
+        // the point under the fixed pixel doesn't move
+        BigDecimal[] fixed = view.applyHighPrecision(100, 200, w, h);
+        ComplexPlaneView scaled = view.scale(0.25, 100, 200, w, h);
+        Assert.assertEquals(0.125, scaled.getScale().doubleValue(), 0.0);
+        Assert.assertTrue(relativeDistance(fixed, scaled.applyHighPrecision(100, 200, w, h), scaled) < 1e-14);
+        // the point moves with the image
+        ComplexPlaneView moved = view.translate(30, -40, w, h);
+        Assert.assertTrue(relativeDistance(fixed, moved.applyHighPrecision(130, 160, w, h), moved) < 1e-14);
+        // rotation around the center
+        ComplexPlaneView rotated = view.rotate(Math.PI / 2);
+        Assert.assertTrue(pointEq(tr.apply(new Point2D(w / 2.0 + 10, h / 2.0)),
+                rotated.toTransformer(w, h).apply(new Point2D(w / 2.0, h / 2.0 + 10)), 1e-12));
+        Assert.assertEquals(view.rotate(2 * Math.PI).getAngle(), view.getAngle(), 1e-15);
+        // the high precision transform agrees with the double transform
+        Point2D p = tr.apply(new Point2D(5, 7));
+        BigDecimal[] hp = view.applyHighPrecision(5, 7, w, h);
+        Assert.assertEquals(p.getX(), hp[0].doubleValue(), 1e-15);
+        Assert.assertEquals(p.getY(), hp[1].doubleValue(), 1e-15);
+        Assert.assertEquals(view, new ComplexPlaneView(new BigDecimal("-0.750"), new BigDecimal("0.10"), FloatExp.valueOf(0.5), 0.3));
+        Assert.assertEquals(view.hashCode(), new ComplexPlaneView(new BigDecimal("-0.750"), new BigDecimal("0.10"), FloatExp.valueOf(0.5), 0.3).hashCode());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        System.out.println("* ComplexPlaneViewJUnit4Test: testRoundTrip()");
+
+        // many operations and the inverse operations don't move the center
+        int w = 640;
+        int h = 480;
+        Random random = new Random(3);
+        ComplexPlaneView view = new ComplexPlaneView(new BigDecimal("-1.7490812"), new BigDecimal("0.0000001"), FloatExp.valueOf(1e-6), 0.0);
+        ComplexPlaneView current = view;
+        for (int k = 0; k < 1000; k++) {
+            double x = random.nextDouble() * w;
+            double y = random.nextDouble() * h;
+            double dx = random.nextDouble() * 100 - 50;
+            double dy = random.nextDouble() * 100 - 50;
+            double angle = random.nextDouble() - 0.5;
+            current = current.scale(0.5, x, y, w, h).translate(dx, dy, w, h).rotate(angle)
+                    .rotate(-angle).translate(-dx, -dy, w, h).scale(2.0, x, y, w, h);
+        }
+        Assert.assertEquals(view.getScale(), current.getScale());
+        Assert.assertEquals(0.0, current.getAngle(), 1e-12);
+        BigDecimal[] center = {view.getCenterX(), view.getCenterY()};
+        BigDecimal[] currentCenter = {current.getCenterX(), current.getCenterY()};
+        Assert.assertTrue(relativeDistance(center, currentCenter, view) < 1e-9);
+    }
+
+    @Test
+    public void testDeepZoom() throws Exception {
+        System.out.println("* ComplexPlaneViewJUnit4Test: testDeepZoom()");
+
+        // the zoom beyond 1e-308 to the fixed pixel
+        int w = 400;
+        int h = 300;
+        ComplexPlaneView view = new ComplexPlaneView(new BigDecimal("-1.25"), new BigDecimal("0.25"), FloatExp.ONE, 0.1);
+        int stepExponent = view.getStepExponent(w, h);
+        for (int k = 1; k <= 1100; k++) {
+            // the point under the fixed pixel moves much less than the step between the pixels
+            BigDecimal[] fixed = view.applyHighPrecision(123, 45, w, h);
+            view = view.scale(0.5, 123, 45, w, h);
+            Assert.assertEquals(stepExponent - k, view.getStepExponent(w, h));
+            Assert.assertTrue(relativeDistance(fixed, view.applyHighPrecision(123, 45, w, h), view) < 1e-12);
+        }
+        Assert.assertEquals(-1100, view.getScale().getExponent());
+        // the offsets are in units of the step
+        Point2D offset = view.offset(w / 2.0 + 1, h / 2.0, w, h);
+        double step = view.getStep(w, h).getMantissa();
+        Assert.assertTrue(pointEq(offset, new Point2D(step * Math.cos(0.1), step * Math.sin(0.1)), 1e-12));
+    }
+}
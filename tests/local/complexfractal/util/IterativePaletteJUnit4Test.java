@@ -0,0 +1,72 @@
+package local.complexfractal.util;
+
+import javafx.scene.paint.Color;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The {@code IterativePaletteJUnit4Test} represents units test for interface {@code IterativePalette} and class {@code
+ * IterativePaletteSin}.
+ *
+ * @author Kochin Konstantin Alexandrovich
+ */
+public class IterativePaletteJUnit4Test {
+
+    @Test
+    public void testArgb() throws Exception {
+        System.out.println("* IterativePaletteJUnit4Test: testArgb()");
+
+        Assert.assertEquals(0xFF000000, IterativePalette.toArgb(Color.BLACK));
+        Assert.assertEquals(0xFFFFFFFF, IterativePalette.toArgb(Color.WHITE));
+        Assert.assertEquals(0x80FF8000, IterativePalette.toArgb(Color.color(1.0, 0.5, 0.0, 0.5)));
+
+        // the sinusoidal palette calculates same values without creating colors
+        IterativePaletteSin palette = new IterativePaletteSin(Color.color(0.2, 0.4, 0.6), 100.0, 37.5, 211.0, 0.1, -1.3, 2.0);
+        for (int numIter = 0; numIter < 5000; numIter++) {
+            Assert.assertEquals(IterativePalette.toArgb(palette.numIterToColor(numIter)), palette.numIterToArgb(numIter));
+            double smoothNumIter = numIter * 0.37;
+            Assert.assertEquals(IterativePalette.toArgb(palette.smoothNumIterToColor(smoothNumIter)), palette.smoothNumIterToArgb(smoothNumIter));
+        }
+
+        // default implementation for the custom palette
+        IterativePalette gray = numIter -> Color.gray(numIter == 0 ? 0.0 : 1.0 / numIter);
+        Assert.assertEquals(0xFF000000, gray.numIterToArgb(0));
+        Assert.assertEquals(0xFFFFFFFF, gray.numIterToArgb(1));
+        Assert.assertEquals(IterativePalette.toArgb(gray.smoothNumIterToColor(1.5)), gray.smoothNumIterToArgb(1.5));
+    }
+
+    @Test
+    public void testArgbTable() throws Exception {
+        System.out.println("* IterativePaletteJUnit4Test: testArgbTable()");
+
+        IterativePalette[] palettes = {new IterativePaletteSin(),
+                numIter -> Color.gray(numIter == 0 ? 0.0 : 1.0 / numIter)};
+        for (IterativePalette palette : palettes) {
+            int[] table = palette.createArgbTable(1000);
+            Assert.assertEquals(1001, table.length);
+            for (int numIter = 0; numIter <= 1000; numIter++)
+                Assert.assertEquals(palette.numIterToArgb(numIter), table[numIter]);
+            Assert.assertEquals(1, palette.createArgbTable(0).length);
+
+            // the bulk conversion with the table (small numbers) and without it (large numbers)
+            int[] small = new int[500];
+            int[] large = new int[500];
+            for (int i = 0; i < 500; i++) {
+                small[i] = (i * 7) % 300;
+                large[i] = i * 1000;
+            }
+            for (int[] iters : new int[][]{small, large, new int[0]}) {
+                int[] argb = palette.numIterToArgb(iters);
+                Assert.assertEquals(iters.length, argb.length);
+                for (int i = 0; i < iters.length; i++)
+                    Assert.assertEquals(palette.numIterToArgb(iters[i]), argb[i]);
+            }
+        }
+        try {
+            new IterativePaletteSin().createArgbTable(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
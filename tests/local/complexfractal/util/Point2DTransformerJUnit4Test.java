@@ -4,6 +4,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
 
 /**
  * The {@code Point2DTransformerJUnit4Test} represents units test for class {@code Point2DTransformer}.
@@ -154,6 +155,27 @@ public class Point2DTransformerJUnit4Test {
         ));
     }
 
+    @Test
+    public void testApplyToVector() throws Exception {
+        System.out.println("* Point2DTransformerJUnit4Test: testApplyToVector()");
+
+        Point2DTransformer tr = Point2DTransformer.CLEAR
+                .translation(1, 1)
+                .rotate(Math.PI / 2, new Point2D(-1, -1))
+                .scale(2, 2, new Point2D(1, 1));
+        Point2D v = tr.applyToVector(new Point2D(1, 0));
+        Point2D p1 = tr.apply(new Point2D(3, 5));
+        Point2D p2 = tr.apply(new Point2D(4, 5));
+        Assert.assertTrue(pointEq(
+                v,
+                new Point2D(p2.getX() - p1.getX(), p2.getY() - p1.getY())
+        ));
+        Assert.assertTrue(pointEq(
+                v,
+                new Point2D(0, 2)
+        ));
+    }
+
     @Test
     public void testClear() throws Exception {
         System.out.println("* Point2DTransformerJUnit4Test: testClear()");
@@ -179,4 +201,49 @@ public class Point2DTransformerJUnit4Test {
         Assert.assertTrue(tr1.equals(tr2));
         Assert.assertTrue(tr1.equals(tr1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testHighPrecisionTranslation() throws Exception {
+        System.out.println("* Point2DTransformerJUnit4Test: testHighPrecisionTranslation()");
+
+        // translation to the point, which can't be represented in double, and the deep zoom around the origin
+        BigDecimal x = new BigDecimal("-0.7436438870371587047521915061147");
+        BigDecimal y = new BigDecimal("0.1318259042053119704931320563812");
+        Point2DTransformer tr = Point2DTransformer.CLEAR.translation(x, y);
+        for (int k = 0; k < 10; k++)
+            tr = Point2DTransformer.CLEAR.scale(1e-5, 1e-5).addAfter(tr);
+        BigDecimal[] center = tr.applyHighPrecision(new Point2D(0, 0));
+        Assert.assertTrue(center[0].subtract(x).abs().compareTo(new BigDecimal("1e-60")) < 0);
+        Assert.assertTrue(center[1].subtract(y).abs().compareTo(new BigDecimal("1e-60")) < 0);
+        Assert.assertTrue(pointEq(
+                tr.applyToVector(new Point2D(1e50, 0)),
+                new Point2D(1, 0)
+        ));
+        // the offset of the point from the center
+        Point2DTransformer offsetTr = tr.translation(center[0].negate(), center[1].negate());
+        Assert.assertTrue(pointEq(
+                offsetTr.apply(new Point2D(2e50, 3e50)),
+                new Point2D(2, 3)
+        ));
+    }
+
+    @Test
+    public void testApplyDoubleDouble() throws Exception {
+        System.out.println("* Point2DTransformerJUnit4Test: testApplyDoubleDouble()");
+
+        BigDecimal x = new BigDecimal("-0.7436438870371587047521915061147");
+        BigDecimal y = new BigDecimal("0.1318259042053119704931320563812");
+        Point2DTransformer tr = Point2DTransformer.CLEAR.rotate(0.3).scale(1e-25, 1e-25).addAfter(Point2DTransformer.CLEAR.translation(x, y));
+        for (Point2D p : new Point2D[]{new Point2D(0, 0), new Point2D(123, -45), new Point2D(800, 600)}) {
+            BigDecimal[] expected = tr.applyHighPrecision(p);
+            Point2DDoubleDouble actual = tr.applyDoubleDouble(p);
+            BigDecimal actualX = new BigDecimal(actual.getX()).add(new BigDecimal(actual.getXLow()));
+            BigDecimal actualY = new BigDecimal(actual.getY()).add(new BigDecimal(actual.getYLow()));
+            // the error must be much less than the step between the pixels
+            Assert.assertTrue(actualX.subtract(expected[0]).abs().compareTo(new BigDecimal("1e-30")) < 0);
+            Assert.assertTrue(actualY.subtract(expected[1]).abs().compareTo(new BigDecimal("1e-30")) < 0);
+            Assert.assertEquals(expected[0].doubleValue(), actual.getX(), 0.0);
+            Assert.assertEquals(expected[1].doubleValue(), actual.getY(), 0.0);
+        }
+    }
+}